@@ -69,6 +69,14 @@ abstract class AbstractPersistentAdapter extends AbstractAdapter {
         return StoreFactory.getInstance().createStore(backend, mergedConfig);
     }
 
+    @Nonnull
+    @Override
+    public Backend createBackend(URI uri, ImmutableConfig config) {
+        ImmutableConfig mergedConfig = new BaseConfig<>().merge(config).merge(createConfig());
+
+        return getBackendFactory().createBackend(uri, mergedConfig);
+    }
+
     /**
      * Creates a new configuration.
      *
@@ -9,6 +9,7 @@
 package fr.inria.atlanmod.neoemf.benchmarks.adapter;
 
 import fr.inria.atlanmod.neoemf.config.ImmutableConfig;
+import fr.inria.atlanmod.neoemf.data.Backend;
 import fr.inria.atlanmod.neoemf.data.mapping.DataMapper;
 
 import org.eclipse.emf.common.util.URI;
@@ -129,6 +130,18 @@ public interface Adapter {
             throw new UnsupportedOperationException("This adapter does not support DataMapper creation");
         }
 
+        /**
+         * Creates a new {@link Backend} in the given {@code file}, without any store.
+         *
+         * @return a new {@link Backend}
+         *
+         * @throws UnsupportedOperationException if this {@code Adapter} does not support {@link Backend} creation
+         */
+        @Nonnull
+        default Backend createBackend(URI uri, ImmutableConfig config) {
+            throw new UnsupportedOperationException("This adapter does not support Backend creation");
+        }
+
         /**
          * Returns the extension of the adapted {@link Resource}, used to create the stores.
          *
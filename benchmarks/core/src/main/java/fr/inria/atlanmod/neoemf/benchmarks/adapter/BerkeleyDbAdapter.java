@@ -58,4 +58,17 @@ public abstract class BerkeleyDbAdapter extends AbstractPersistentLocalAdapter {
             return new BerkeleyDbConfig().withLists();
         }
     }
+
+    /**
+     * A {@link BerkeleyDbAdapter} with a mapping with chunks.
+     */
+    @AdapterName("berkeleydb-c")
+    public static final class WithChunks extends BerkeleyDbAdapter {
+
+        @Nonnull
+        @Override
+        protected ImmutableConfig createConfig() {
+            return new BerkeleyDbConfig().withChunks();
+        }
+    }
 }
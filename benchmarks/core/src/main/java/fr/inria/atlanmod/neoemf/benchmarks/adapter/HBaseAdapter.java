@@ -16,18 +16,14 @@ import javax.annotation.ParametersAreNonnullByDefault;
 
 /**
  * An {@link Adapter} on top of a {@link fr.inria.atlanmod.neoemf.data.hbase.HBaseBackend}.
+ * <p>
+ * Running the same benchmark with {@code -p a=hbase,hbase-b} compares the throughput of individual and batched
+ * operations.
  *
  * @see "https://hub.docker.com/r/harisekhon/hbase/"
  */
-@AdapterName("hbase")
 @ParametersAreNonnullByDefault
-public class HBaseAdapter extends AbstractPersistentRemoteAdapter {
-
-    @Nonnull
-    @Override
-    protected ImmutableConfig createConfig() {
-        return new HBaseConfig();
-    }
+public abstract class HBaseAdapter extends AbstractPersistentRemoteAdapter {
 
     @Nonnull
     @Override
@@ -39,4 +35,43 @@ public class HBaseAdapter extends AbstractPersistentRemoteAdapter {
     protected int getPort() {
         return 2181;
     }
+
+    /**
+     * A {@link HBaseAdapter} where every operation is sent individually.
+     */
+    @AdapterName("hbase")
+    public static final class Default extends HBaseAdapter {
+
+        @Nonnull
+        @Override
+        protected ImmutableConfig createConfig() {
+            return new HBaseConfig();
+        }
+    }
+
+    /**
+     * A {@link HBaseAdapter} where all modifications are batched.
+     */
+    @AdapterName("hbase-b")
+    public static final class Batched extends HBaseAdapter {
+
+        @Nonnull
+        @Override
+        protected ImmutableConfig createConfig() {
+            return new HBaseConfig().batched();
+        }
+    }
+
+    /**
+     * A {@link HBaseAdapter} where multi-valued references are merged in a binary representation.
+     */
+    @AdapterName("hbase-bin")
+    public static final class Binary extends HBaseAdapter {
+
+        @Nonnull
+        @Override
+        protected ImmutableConfig createConfig() {
+            return new HBaseConfig().withBinaryReferences();
+        }
+    }
 }
@@ -58,4 +58,17 @@ public abstract class MapDbAdapter extends AbstractPersistentLocalAdapter {
             return new MapDbConfig().withLists();
         }
     }
+
+    /**
+     * A {@link MapDbAdapter} with a mapping with chunks.
+     */
+    @AdapterName("mapdb-c")
+    public static final class WithChunks extends MapDbAdapter {
+
+        @Nonnull
+        @Override
+        protected ImmutableConfig createConfig() {
+            return new MapDbConfig().withChunks();
+        }
+    }
 }
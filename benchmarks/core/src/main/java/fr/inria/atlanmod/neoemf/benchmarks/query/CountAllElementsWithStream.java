@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.benchmarks.query;
+
+import fr.inria.atlanmod.commons.collect.MoreIterables;
+import fr.inria.atlanmod.neoemf.resource.PersistentResource;
+
+import org.eclipse.emf.ecore.resource.Resource;
+
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * A {@link Query} that counts the number of elements in a {@link Resource} by using {@link
+ * PersistentResource#allContentsStream(boolean)}.
+ * <p>
+ * If the {@code resource} is not a {@link PersistentResource}, the elements are counted sequentially with {@link
+ * Resource#getAllContents()}.
+ */
+@ParametersAreNonnullByDefault
+class CountAllElementsWithStream extends AbstractQuery<Long> {
+
+    /**
+     * {@code true} if the elements are counted in parallel.
+     */
+    private final boolean parallel;
+
+    /**
+     * Constructs a new {@code CountAllElementsWithStream}.
+     *
+     * @param parallel {@code true} if the elements are counted in parallel
+     */
+    public CountAllElementsWithStream(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    @Nonnull
+    @Override
+    public Long executeOn(Resource resource) {
+        if (PersistentResource.isPersistent(resource)) {
+            return PersistentResource.class.cast(resource).allContentsStream(parallel).count();
+        }
+
+        return MoreIterables.stream(resource::getAllContents).count();
+    }
+}
@@ -48,6 +48,28 @@ public class QueryFactory {
         return new CountAllElements();
     }
 
+    /**
+     * Counts the number of elements in a {@link Resource} by using a sequential {@link
+     * fr.inria.atlanmod.neoemf.resource.PersistentResource#allContentsStream(boolean)}.
+     *
+     * @return a new query
+     */
+    @Nonnull
+    public static Query<Long> countAllElementsWithStream() {
+        return new CountAllElementsWithStream(false);
+    }
+
+    /**
+     * Counts the number of elements in a {@link Resource} by using a parallel {@link
+     * fr.inria.atlanmod.neoemf.resource.PersistentResource#allContentsStream(boolean)}.
+     *
+     * @return a new query
+     */
+    @Nonnull
+    public static Query<Long> countAllElementsInParallel() {
+        return new CountAllElementsWithStream(true);
+    }
+
     /**
      * Returns the orphan and non-primitive types of a {@link Model}. This is a common query to all both standard and
      * customized methods.
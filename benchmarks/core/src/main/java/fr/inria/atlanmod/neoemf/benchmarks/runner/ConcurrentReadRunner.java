@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.benchmarks.runner;
+
+import fr.inria.atlanmod.neoemf.benchmarks.query.QueryFactory;
+import fr.inria.atlanmod.neoemf.benchmarks.runner.state.ConcurrentReadResourceState;
+
+import org.eclipse.gmt.modisco.java.ClassDeclaration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * A {@link BaseRunner} that provides benchmark methods for read-only queries executed by several threads on the same
+ * resource, in order to measure how the read throughput scales with the number of threads.
+ * <p>
+ * Each query is benchmarked with 1, 2 and 4 threads, and with as many threads as available processors. The shared
+ * resource is loaded in read-only mode: the adapter must support concurrent reads, such as {@code mapdb-i} or {@code
+ * berkeleydb-i} ({@code -p a=mapdb-i,berkeleydb-i}).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MINUTES)
+@ParametersAreNonnullByDefault
+public class ConcurrentReadRunner extends BaseRunner {
+
+    // region Traversal
+
+    @Benchmark
+    @Threads(1)
+    public Long traverse1(ConcurrentReadResourceState state) {
+        return QueryFactory.countAllElements().executeOn(state.resource());
+    }
+
+    @Benchmark
+    @Threads(2)
+    public Long traverse2(ConcurrentReadResourceState state) {
+        return QueryFactory.countAllElements().executeOn(state.resource());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Long traverse4(ConcurrentReadResourceState state) {
+        return QueryFactory.countAllElements().executeOn(state.resource());
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Long traverseMax(ConcurrentReadResourceState state) {
+        return QueryFactory.countAllElements().executeOn(state.resource());
+    }
+
+    // endregion
+
+    // region Grabats
+
+    @Benchmark
+    @Threads(1)
+    public Collection<ClassDeclaration> grabats1(ConcurrentReadResourceState state) {
+        return QueryFactory.grabats().executeOn(state.resource());
+    }
+
+    @Benchmark
+    @Threads(2)
+    public Collection<ClassDeclaration> grabats2(ConcurrentReadResourceState state) {
+        return QueryFactory.grabats().executeOn(state.resource());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Collection<ClassDeclaration> grabats4(ConcurrentReadResourceState state) {
+        return QueryFactory.grabats().executeOn(state.resource());
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Collection<ClassDeclaration> grabatsMax(ConcurrentReadResourceState state) {
+        return QueryFactory.grabats().executeOn(state.resource());
+    }
+
+    // endregion
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.benchmarks.runner;
+
+import fr.inria.atlanmod.neoemf.benchmarks.io.LocalWorkspace;
+import fr.inria.atlanmod.neoemf.config.BaseConfig;
+import fr.inria.atlanmod.neoemf.config.ImmutableConfig;
+import fr.inria.atlanmod.neoemf.core.Id;
+import fr.inria.atlanmod.neoemf.data.Backend;
+import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
+import fr.inria.atlanmod.neoemf.data.berkeleydb.BerkeleyDbBackendFactory;
+import fr.inria.atlanmod.neoemf.data.berkeleydb.config.BerkeleyDbConfig;
+import fr.inria.atlanmod.neoemf.data.berkeleydb.util.BerkeleyDbUriFactory;
+import fr.inria.atlanmod.neoemf.data.im.DefaultInMemoryBackend;
+import fr.inria.atlanmod.neoemf.data.mapdb.MapDbBackendFactory;
+import fr.inria.atlanmod.neoemf.data.mapdb.config.MapDbConfig;
+import fr.inria.atlanmod.neoemf.data.mapdb.util.MapDbUriFactory;
+import fr.inria.atlanmod.neoemf.data.store.Store;
+import fr.inria.atlanmod.neoemf.data.store.StoreFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * A micro-benchmark of the feature accesses made by several threads on the same store, with or without the {@code
+ * concurrent} mode ({@link fr.inria.atlanmod.neoemf.data.store.LockingStore}).
+ * <p>
+ * The {@code read} benchmarks measure how the read throughput scales with the number of readers, and the {@code
+ * readWrite} group measures the throughput of readers running alongside a writer. Without locks, the back-ends only
+ * guarantee the atomicity of single-valued accesses, so only these are benchmarked.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Dfile.encoding=utf-8", "-server"})
+@ParametersAreNonnullByDefault
+public class ConcurrentStoreRunner {
+
+    @Benchmark
+    @Threads(1)
+    public Optional<String> read1(StoreState state) {
+        return state.store.valueOf(state.nextFeature());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Optional<String> read4(StoreState state) {
+        return state.store.valueOf(state.nextFeature());
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Optional<String> readMax(StoreState state) {
+        return state.store.valueOf(state.nextFeature());
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(3)
+    public Optional<String> reader(StoreState state) {
+        return state.store.valueOf(state.nextFeature());
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(1)
+    public Optional<String> writer(StoreState state) {
+        return state.store.valueFor(state.nextFeature(), "value" + ThreadLocalRandom.current().nextInt());
+    }
+
+    /**
+     * The state holding a store shared by all the threads, in front of a back-end filled with objects having a
+     * single-valued attribute.
+     */
+    @State(Scope.Benchmark)
+    public static class StoreState {
+
+        /**
+         * The identifier of the single-valued attribute.
+         */
+        static final int FEATURE = 0;
+
+        /**
+         * The number of objects in the back-end.
+         */
+        static final int OBJECTS = 10_000;
+
+        /**
+         * The back-end to benchmark.
+         */
+        @Param({"im", "mapdb-i", "berkeleydb-i"})
+        public String type;
+
+        /**
+         * {@code "true"} if the {@code concurrent} mode is enabled.
+         */
+        @Param({"false", "true"})
+        public String concurrent;
+
+        Store store;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            ImmutableConfig config = Boolean.parseBoolean(concurrent)
+                    ? new BaseConfig<>().concurrent()
+                    : new BaseConfig<>();
+
+            store = StoreFactory.getInstance().createStore(createBackend(), config);
+
+            for (int i = 0; i < OBJECTS; i++) {
+                store.valueFor(SingleFeatureBean.of(Id.getProvider().fromLong(i), FEATURE), "value" + i);
+            }
+
+            store.save();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            store.close();
+            LocalWorkspace.cleanTempDirectory();
+        }
+
+        SingleFeatureBean nextFeature() {
+            return SingleFeatureBean.of(Id.getProvider().fromLong(ThreadLocalRandom.current().nextInt(OBJECTS)), FEATURE);
+        }
+
+        private Backend createBackend() throws IOException {
+            switch (type) {
+                case "im":
+                    return new DefaultInMemoryBackend();
+                case "mapdb-i":
+                    return new MapDbBackendFactory().createBackend(
+                            new MapDbUriFactory().createLocalUri(LocalWorkspace.newTempDirectory().toFile()),
+                            new MapDbConfig().withIndices());
+                case "berkeleydb-i":
+                    return new BerkeleyDbBackendFactory().createBackend(
+                            new BerkeleyDbUriFactory().createLocalUri(LocalWorkspace.newTempDirectory().toFile()),
+                            new BerkeleyDbConfig().withIndices());
+                default:
+                    throw new IllegalArgumentException(String.format("Unknown back-end type: %s", type));
+            }
+        }
+    }
+}
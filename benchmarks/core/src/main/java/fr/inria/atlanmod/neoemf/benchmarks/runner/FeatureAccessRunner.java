@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.benchmarks.runner;
+
+import fr.inria.atlanmod.neoemf.benchmarks.io.LocalWorkspace;
+import fr.inria.atlanmod.neoemf.core.Id;
+import fr.inria.atlanmod.neoemf.data.Backend;
+import fr.inria.atlanmod.neoemf.data.bean.ManyFeatureBean;
+import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
+import fr.inria.atlanmod.neoemf.data.berkeleydb.BerkeleyDbBackendFactory;
+import fr.inria.atlanmod.neoemf.data.berkeleydb.config.BerkeleyDbConfig;
+import fr.inria.atlanmod.neoemf.data.berkeleydb.util.BerkeleyDbUriFactory;
+import fr.inria.atlanmod.neoemf.data.im.DefaultInMemoryBackend;
+import fr.inria.atlanmod.neoemf.data.im.PrimitiveInMemoryBackend;
+import fr.inria.atlanmod.neoemf.data.mapdb.MapDbBackendFactory;
+import fr.inria.atlanmod.neoemf.data.mapdb.config.MapDbConfig;
+import fr.inria.atlanmod.neoemf.data.mapdb.util.MapDbUriFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * A micro-benchmark of single feature accesses on the local back-ends.
+ * <p>
+ * This benchmark is intended to be run with the GC profiler ({@code -prof gc}), to measure the allocation rate per
+ * access ({@code gc.alloc.rate.norm}).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Dfile.encoding=utf-8", "-server"})
+@ParametersAreNonnullByDefault
+public class FeatureAccessRunner {
+
+    @Benchmark
+    public Optional<String> valueOf(BackendState state) {
+        return state.backend.valueOf(SingleFeatureBean.of(state.nextOwner(), BackendState.SINGLE_FEATURE));
+    }
+
+    @Benchmark
+    public Optional<String> valueOfMany(BackendState state) {
+        return state.backend.valueOf(ManyFeatureBean.of(state.nextOwner(), BackendState.MANY_FEATURE, state.nextPosition()));
+    }
+
+    @Benchmark
+    public Optional<Integer> sizeOfValue(BackendState state) {
+        return state.backend.sizeOfValue(SingleFeatureBean.of(state.nextOwner(), BackendState.MANY_FEATURE));
+    }
+
+    /**
+     * The state holding a back-end filled with objects having a single-valued and a multi-valued attribute.
+     */
+    @State(Scope.Thread)
+    public static class BackendState {
+
+        /**
+         * The identifier of the single-valued attribute.
+         */
+        static final int SINGLE_FEATURE = 0;
+
+        /**
+         * The identifier of the multi-valued attribute.
+         */
+        static final int MANY_FEATURE = 1;
+
+        /**
+         * The number of objects in the back-end.
+         */
+        static final int OBJECTS = 10_000;
+
+        /**
+         * The size of the multi-valued attribute.
+         */
+        static final int VALUES = 10;
+
+        /**
+         * The back-end to benchmark.
+         */
+        @Param({"im", "im-p", "mapdb-i", "mapdb-a", "berkeleydb-i", "berkeleydb-a"})
+        public String type;
+
+        Backend backend;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            backend = createBackend();
+
+            for (int i = 0; i < OBJECTS; i++) {
+                Id owner = Id.getProvider().fromLong(i);
+
+                backend.valueFor(SingleFeatureBean.of(owner, SINGLE_FEATURE), "value" + i);
+
+                for (int j = 0; j < VALUES; j++) {
+                    backend.appendValue(SingleFeatureBean.of(owner, MANY_FEATURE), "value" + i + '/' + j);
+                }
+            }
+
+            backend.save();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            backend.close();
+            LocalWorkspace.cleanTempDirectory();
+        }
+
+        Id nextOwner() {
+            return Id.getProvider().fromLong(ThreadLocalRandom.current().nextInt(OBJECTS));
+        }
+
+        int nextPosition() {
+            return ThreadLocalRandom.current().nextInt(VALUES);
+        }
+
+        private Backend createBackend() throws IOException {
+            switch (type) {
+                case "im":
+                    return new DefaultInMemoryBackend();
+                case "im-p":
+                    return new PrimitiveInMemoryBackend();
+                case "mapdb-i":
+                    return new MapDbBackendFactory().createBackend(
+                            new MapDbUriFactory().createLocalUri(LocalWorkspace.newTempDirectory().toFile()),
+                            new MapDbConfig().withIndices());
+                case "mapdb-a":
+                    return new MapDbBackendFactory().createBackend(
+                            new MapDbUriFactory().createLocalUri(LocalWorkspace.newTempDirectory().toFile()),
+                            new MapDbConfig().withArrays());
+                case "berkeleydb-i":
+                    return new BerkeleyDbBackendFactory().createBackend(
+                            new BerkeleyDbUriFactory().createLocalUri(LocalWorkspace.newTempDirectory().toFile()),
+                            new BerkeleyDbConfig().withIndices());
+                case "berkeleydb-a":
+                    return new BerkeleyDbBackendFactory().createBackend(
+                            new BerkeleyDbUriFactory().createLocalUri(LocalWorkspace.newTempDirectory().toFile()),
+                            new BerkeleyDbConfig().withArrays());
+                default:
+                    throw new IllegalArgumentException(String.format("Unknown back-end type: %s", type));
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.benchmarks.runner;
+
+import fr.inria.atlanmod.neoemf.benchmarks.adapter.Adapter;
+import fr.inria.atlanmod.neoemf.benchmarks.data.resource.Resources;
+import fr.inria.atlanmod.neoemf.benchmarks.io.LocalWorkspace;
+import fr.inria.atlanmod.neoemf.benchmarks.runner.state.ResourceState;
+import fr.inria.atlanmod.neoemf.data.Backend;
+import fr.inria.atlanmod.neoemf.data.mapping.DataMapper;
+import fr.inria.atlanmod.neoemf.io.Migrator;
+
+import org.eclipse.emf.common.util.URI;
+import org.openjdk.jmh.annotations.Benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * A {@link BaseRunner} that provides benchmark methods for the direct import of resources into a {@link DataMapper},
+ * with a single-threaded, a pipelined or a bulk {@link Migrator}, and with XPath references resolved in the default
+ * or in compact mode.
+ * <p>
+ * <b>NOTE:</b> Only the adapters that support the creation of {@link DataMapper}s can be used.
+ */
+@ParametersAreNonnullByDefault
+public class ImportRunner extends BaseRunner {
+
+    /**
+     * Imports the resource in a new store, in a single thread.
+     */
+    @Benchmark
+    public void importXmi(ResourceState state) throws IOException {
+        importXmi(state, false, false);
+    }
+
+    /**
+     * Imports the resource in a new store, with a pipeline.
+     *
+     * @see Migrator#withPipeline()
+     */
+    @Benchmark
+    public void importXmiWithPipeline(ResourceState state) throws IOException {
+        importXmi(state, true, false);
+    }
+
+    /**
+     * Imports the resource in a new store, in a single thread, with XPath references resolved in compact mode.
+     *
+     * @see Migrator#withCompactXPath()
+     */
+    @Benchmark
+    public void importXmiWithCompactXPath(ResourceState state) throws IOException {
+        importXmi(state, false, true);
+    }
+
+    /**
+     * Imports the resource in a new back-end, in bulk.
+     *
+     * @see Migrator#toMapper(DataMapper, boolean)
+     */
+    @Benchmark
+    public void importXmiInBulk(ResourceState state) throws IOException {
+        final Adapter.Internal adapter = (Adapter.Internal) state.adapter();
+        adapter.initAndGetEPackage();
+
+        final URI uri = adapter.createUri(LocalWorkspace.newTempDirectory(), Resources.getFileName(state.resourceFile(), adapter, true));
+
+        try (Backend backend = adapter.createBackend(uri, state.baseConfig())) {
+            Migrator.fromXmi(state.resourceFile()).toMapper(backend, true).migrate();
+        }
+    }
+
+    /**
+     * Imports the resource of the {@code state} in a new store.
+     *
+     * @param state        the state of the benchmark
+     * @param pipelined    {@code true} if the import is pipelined
+     * @param compactXPath {@code true} if the XPath references are resolved in compact mode
+     */
+    private void importXmi(ResourceState state, boolean pipelined, boolean compactXPath) throws IOException {
+        final Adapter.Internal adapter = (Adapter.Internal) state.adapter();
+        adapter.initAndGetEPackage();
+
+        final URI uri = adapter.createUri(LocalWorkspace.newTempDirectory(), Resources.getFileName(state.resourceFile(), adapter, true));
+
+        try (DataMapper mapper = adapter.createMapper(uri, state.baseConfig())) {
+            Migrator<InputStream> migrator = Migrator.fromXmi(state.resourceFile()).toMapper(mapper);
+
+            if (pipelined) {
+                migrator.withPipeline();
+            }
+
+            if (compactXPath) {
+                migrator.withCompactXPath();
+            }
+
+            migrator.migrate();
+        }
+    }
+}
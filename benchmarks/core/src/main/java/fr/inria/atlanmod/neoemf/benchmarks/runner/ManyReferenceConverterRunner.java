@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.benchmarks.runner;
+
+import fr.inria.atlanmod.commons.function.Converter;
+import fr.inria.atlanmod.neoemf.core.Id;
+import fr.inria.atlanmod.neoemf.data.hbase.util.ManyReferenceConverters;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * A micro-benchmark that compares the encoding and decoding throughput of the converters used to merge multi-valued
+ * references.
+ *
+ * @see ManyReferenceConverters
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Dfile.encoding=utf-8", "-server"})
+@ParametersAreNonnullByDefault
+public class ManyReferenceConverterRunner {
+
+    @Benchmark
+    public String encodeHexString(ReferencesState state) {
+        return state.hexConverter.convert(state.references);
+    }
+
+    @Benchmark
+    public List<Id> decodeHexString(ReferencesState state) {
+        return state.hexConverter.revert(state.hexReferences);
+    }
+
+    @Benchmark
+    public byte[] encodeBytes(ReferencesState state) {
+        return state.bytesConverter.convert(state.references);
+    }
+
+    @Benchmark
+    public List<Id> decodeBytes(ReferencesState state) {
+        return state.bytesConverter.revert(state.bytesReferences);
+    }
+
+    /**
+     * The state holding the references to convert, in all their representations.
+     */
+    @State(Scope.Thread)
+    public static class ReferencesState {
+
+        /**
+         * The number of references in the multi-valued reference.
+         */
+        @Param({"10", "100", "10000"})
+        public int size;
+
+        final Converter<List<Id>, String> hexConverter = ManyReferenceConverters.withHexString();
+
+        final Converter<List<Id>, byte[]> bytesConverter = ManyReferenceConverters.withBytes();
+
+        List<Id> references;
+
+        String hexReferences;
+
+        byte[] bytesReferences;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            references = IntStream.range(0, size)
+                    .mapToObj(i -> Id.getProvider().generate())
+                    .collect(Collectors.toList());
+
+            hexReferences = hexConverter.convert(references);
+            bytesReferences = bytesConverter.convert(references);
+        }
+    }
+}
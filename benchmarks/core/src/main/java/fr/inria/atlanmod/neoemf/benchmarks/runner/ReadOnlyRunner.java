@@ -37,6 +37,16 @@ public class ReadOnlyRunner extends BaseRunner {
         return QueryFactory.countAllElements().executeOn(state.resource());
     }
 
+    @Benchmark
+    public Long traverseWithStream(ReadOnlyResourceState state) {
+        return QueryFactory.countAllElementsWithStream().executeOn(state.resource());
+    }
+
+    @Benchmark
+    public Long traverseInParallel(ReadOnlyResourceState state) {
+        return QueryFactory.countAllElementsInParallel().executeOn(state.resource());
+    }
+
     @Benchmark
     public Map<String, Iterable<NamedElement>> classDeclarationAttributes(ReadOnlyResourceState state) {
         return QueryFactory.getClassFields().executeOn(state.resource());
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.benchmarks.runner;
+
+import fr.inria.atlanmod.neoemf.benchmarks.io.LocalWorkspace;
+import fr.inria.atlanmod.neoemf.benchmarks.runner.state.SnapshotState;
+import fr.inria.atlanmod.neoemf.data.im.DefaultInMemoryBackend;
+import fr.inria.atlanmod.neoemf.data.mapping.DataMapper;
+import fr.inria.atlanmod.neoemf.io.Migrator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+
+import java.io.File;
+import java.io.IOException;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * A {@link BaseRunner} that compares the throughput of the export and the import of resources as XMI, compressed
+ * XMI and binary snapshots, from and into a {@link DefaultInMemoryBackend}.
+ * <p>
+ * The size of each format is logged by the {@link SnapshotState}.
+ */
+@ParametersAreNonnullByDefault
+public class SnapshotRunner extends BaseRunner {
+
+    /**
+     * Exports the resource as XMI.
+     */
+    @Benchmark
+    public void exportXmi(SnapshotState state) throws IOException {
+        final File file = LocalWorkspace.newTempDirectory().resolve("resource.xmi").toFile();
+        Migrator.fromMapper(state.mapper()).toXmi(file, false).migrate();
+    }
+
+    /**
+     * Exports the resource as compressed XMI.
+     */
+    @Benchmark
+    public void exportZxmi(SnapshotState state) throws IOException {
+        final File file = LocalWorkspace.newTempDirectory().resolve("resource.zxmi").toFile();
+        Migrator.fromMapper(state.mapper()).toXmi(file, true).migrate();
+    }
+
+    /**
+     * Exports the resource as a binary snapshot.
+     */
+    @Benchmark
+    public void exportSnapshot(SnapshotState state) throws IOException {
+        final File file = LocalWorkspace.newTempDirectory().resolve("resource.snapshot").toFile();
+        Migrator.fromMapper(state.mapper()).toSnapshot(file).migrate();
+    }
+
+    /**
+     * Imports the resource from XMI.
+     */
+    @Benchmark
+    public void importXmi(SnapshotState state) throws IOException {
+        try (DataMapper mapper = new DefaultInMemoryBackend()) {
+            Migrator.fromXmi(state.xmiFile()).toMapper(mapper).migrate();
+        }
+    }
+
+    /**
+     * Imports the resource from a binary snapshot.
+     */
+    @Benchmark
+    public void importSnapshot(SnapshotState state) throws IOException {
+        try (DataMapper mapper = new DefaultInMemoryBackend()) {
+            Migrator.fromSnapshot(state.snapshotFile()).toMapper(mapper).migrate();
+        }
+    }
+}
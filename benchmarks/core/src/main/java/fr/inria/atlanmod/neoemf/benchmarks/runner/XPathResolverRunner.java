@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.benchmarks.runner;
+
+import fr.inria.atlanmod.neoemf.io.bean.BasicElement;
+import fr.inria.atlanmod.neoemf.io.bean.BasicReference;
+import fr.inria.atlanmod.neoemf.io.bean.Data;
+import fr.inria.atlanmod.neoemf.io.processor.NoopProcessor;
+import fr.inria.atlanmod.neoemf.io.processor.XPathResolver;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * A micro-benchmark of the resolution of XPath identifiers and references, on a wide document of several millions of
+ * elements without identifiers.
+ * <p>
+ * The events are generated without reading any file, to only measure the {@link XPathResolver}. This benchmark is
+ * intended to be run with the GC profiler ({@code -prof gc}), to measure the allocation rate, and with a bounded heap
+ * ({@code -jvmArgs -Xmx...}), to compare the memory retained by each mode.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Dfile.encoding=utf-8", "-server"})
+@ParametersAreNonnullByDefault
+public class XPathResolverRunner {
+
+    /**
+     * Resolves a document made of a root, containing {@link DocumentState#containers} elements that each contain
+     * {@link DocumentState#children} elements. Each child references its previous sibling.
+     */
+    @Benchmark
+    public long resolve(DocumentState state) throws IOException {
+        final XPathResolver resolver = new XPathResolver(state.compact);
+        resolver.addNext(new NoopProcessor(Collections.emptyList()));
+
+        resolver.onInitialize();
+        resolver.onStartElement(new BasicElement().setName("Model").setRoot(true));
+
+        long count = 1;
+        for (int i = 0; i < state.containers; i++) {
+            resolver.onStartElement(new BasicElement().setName("elements"));
+            count++;
+
+            for (int j = 0; j < state.children; j++) {
+                resolver.onStartElement(new BasicElement().setName("children"));
+                count++;
+
+                if (j > 0) {
+                    resolver.onReference(new BasicReference().setValue(Data.raw("//@elements." + i + "/@children." + (j - 1))));
+                }
+
+                resolver.onEndElement();
+            }
+
+            resolver.onEndElement();
+        }
+
+        resolver.onEndElement();
+        resolver.onComplete();
+
+        return count;
+    }
+
+    /**
+     * The state defining the shape of the document, and the resolution mode.
+     */
+    @State(Scope.Benchmark)
+    public static class DocumentState {
+
+        /**
+         * {@code true} if the references are resolved in compact mode.
+         */
+        @Param({"false", "true"})
+        public boolean compact;
+
+        /**
+         * The number of elements contained by the root.
+         */
+        @Param({"100000"})
+        public int containers;
+
+        /**
+         * The number of elements contained by each container.
+         */
+        @Param({"20"})
+        public int children;
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.benchmarks.runner.state;
+
+import fr.inria.atlanmod.neoemf.config.BaseConfig;
+import fr.inria.atlanmod.neoemf.config.ImmutableConfig;
+
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * A {@link ReadOnlyResourceState} that loads its resource in read-only mode, with the caching stores, in order to be
+ * navigated by several threads at the same time.
+ * <p>
+ * The resource is shared by all the threads of a benchmark: the adapter must support concurrent reads.
+ */
+@ParametersAreNonnullByDefault
+public class ConcurrentReadResourceState extends ReadOnlyResourceState {
+
+    @Nonnull
+    @Override
+    protected ImmutableConfig loadConfig() {
+        return new BaseConfig<>().merge(baseConfig())
+                .cacheSizes()
+                .cacheFeatures()
+                .cacheContainers()
+                .cacheMetaClasses()
+                .readOnly();
+    }
+}
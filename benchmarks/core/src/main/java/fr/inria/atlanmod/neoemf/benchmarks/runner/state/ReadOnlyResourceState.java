@@ -10,6 +10,7 @@ package fr.inria.atlanmod.neoemf.benchmarks.runner.state;
 
 import fr.inria.atlanmod.neoemf.benchmarks.adapter.Adapter;
 import fr.inria.atlanmod.neoemf.benchmarks.io.LocalWorkspace;
+import fr.inria.atlanmod.neoemf.config.ImmutableConfig;
 
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.resource.Resource;
@@ -65,7 +66,15 @@ public class ReadOnlyResourceState extends ResourceState {
     @Setup(Level.Iteration)
     public void loadResource() throws IOException {
         resourceUri = adapter().getOrCreateStore(resourceFile(), baseConfig(), useDirectImport());
-        resource = adapter().load(resourceUri(), baseConfig());
+        resource = adapter().load(resourceUri(), loadConfig());
+    }
+
+    /**
+     * Returns the configuration used to load the current resource. By default, it is the base configuration.
+     */
+    @Nonnull
+    protected ImmutableConfig loadConfig() {
+        return baseConfig();
     }
 
     /**
@@ -142,6 +142,16 @@ public class ResourceState extends BaseState {
          */
         private static final String AUTO_SAVE = "A";
 
+        /**
+         * The option for batching writes.
+         */
+        private static final String BATCH_WRITES = "W";
+
+        /**
+         * The option for read-only resources.
+         */
+        private static final String READ_ONLY = "R";
+
         /**
          * Parses the given {@code text} and returns the associated configuration.
          *
@@ -184,6 +194,16 @@ public class ResourceState extends BaseState {
                 options.autoSave();
             }
 
+            // Write batching
+            if (upperText.contains(BATCH_WRITES)) {
+                options.batchWrites();
+            }
+
+            // Read-only
+            if (upperText.contains(READ_ONLY)) {
+                options.readOnly();
+            }
+
             return options;
         }
     }
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.benchmarks.runner.state;
+
+import fr.inria.atlanmod.commons.log.Log;
+import fr.inria.atlanmod.neoemf.benchmarks.io.LocalWorkspace;
+import fr.inria.atlanmod.neoemf.data.im.DefaultInMemoryBackend;
+import fr.inria.atlanmod.neoemf.data.mapping.DataMapper;
+import fr.inria.atlanmod.neoemf.io.Migrator;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * A {@link ResourceState} that provides the preloaded resource in a {@link DataMapper}, and its XMI, compressed XMI
+ * and binary snapshot exports.
+ * <p>
+ * The size of each export is logged when the state is initialized.
+ */
+@ParametersAreNonnullByDefault
+public class SnapshotState extends ResourceState {
+
+    /**
+     * The mapper containing the preloaded resource.
+     */
+    private DataMapper mapper;
+
+    /**
+     * The export of the resource as XMI.
+     */
+    private File xmiFile;
+
+    /**
+     * The export of the resource as a binary snapshot.
+     */
+    private File snapshotFile;
+
+    // region Getters
+
+    /**
+     * Returns the mapper containing the preloaded resource.
+     */
+    @Nonnull
+    public DataMapper mapper() {
+        return mapper;
+    }
+
+    /**
+     * Returns the export of the resource as XMI.
+     */
+    @Nonnull
+    public File xmiFile() {
+        return xmiFile;
+    }
+
+    /**
+     * Returns the export of the resource as a binary snapshot.
+     */
+    @Nonnull
+    public File snapshotFile() {
+        return snapshotFile;
+    }
+
+    // endregion
+
+    /**
+     * Loads the resource in memory, and exports it in each format.
+     */
+    @Setup(Level.Trial)
+    public void initFiles() throws IOException {
+        adapter().initAndGetEPackage();
+
+        mapper = new DefaultInMemoryBackend();
+        Migrator.fromXmi(resourceFile()).toMapper(mapper).migrate();
+
+        final Path directory = LocalWorkspace.newTempDirectory();
+
+        xmiFile = directory.resolve("resource.xmi").toFile();
+        Migrator.fromMapper(mapper).toXmi(xmiFile, false).migrate();
+
+        final File zxmiFile = directory.resolve("resource.zxmi").toFile();
+        Migrator.fromMapper(mapper).toXmi(zxmiFile, true).migrate();
+
+        snapshotFile = directory.resolve("resource.snapshot").toFile();
+        Migrator.fromMapper(mapper).toSnapshot(snapshotFile).migrate();
+
+        Log.info("Size of {0}: xmi = {1} bytes, zxmi = {2} bytes, snapshot = {3} bytes",
+                resourceFile().getName(), xmiFile.length(), zxmiFile.length(), snapshotFile.length());
+    }
+
+    /**
+     * Releases the preloaded resource, and cleans the workspace.
+     */
+    @TearDown(Level.Trial)
+    public void closeMapper() {
+        mapper.close();
+
+        LocalWorkspace.cleanTempDirectory();
+    }
+}
@@ -13,15 +13,19 @@ import fr.inria.atlanmod.commons.log.Log;
 import fr.inria.atlanmod.neoemf.bind.Bindings;
 import fr.inria.atlanmod.neoemf.data.mapping.DataMapper;
 import fr.inria.atlanmod.neoemf.data.store.AutoSavingStore;
+import fr.inria.atlanmod.neoemf.data.store.CachePolicy;
 import fr.inria.atlanmod.neoemf.data.store.ClassCachingStore;
 import fr.inria.atlanmod.neoemf.data.store.ContainerCachingStore;
 import fr.inria.atlanmod.neoemf.data.store.FeatureCachingStore;
+import fr.inria.atlanmod.neoemf.data.store.InstrumentedStore;
+import fr.inria.atlanmod.neoemf.data.store.ListCachingStore;
 import fr.inria.atlanmod.neoemf.data.store.ListeningStore;
+import fr.inria.atlanmod.neoemf.data.store.LockingStore;
 import fr.inria.atlanmod.neoemf.data.store.ReadOnlyStore;
 import fr.inria.atlanmod.neoemf.data.store.SizeCachingStore;
 import fr.inria.atlanmod.neoemf.data.store.Store;
+import fr.inria.atlanmod.neoemf.data.store.WriteBatchingStore;
 import fr.inria.atlanmod.neoemf.data.store.listener.LoggingStoreListener;
-import fr.inria.atlanmod.neoemf.data.store.listener.RecordingStoreListener;
 import fr.inria.atlanmod.neoemf.data.store.listener.StoreListener;
 import fr.inria.atlanmod.neoemf.data.store.listener.StoreStats;
 
@@ -86,6 +90,33 @@ public class BaseConfig<C extends BaseConfig<C>> implements Config {
      */
     static final String BACKEND_MAPPING = createKey(BACKEND, "mapping");
 
+    /**
+     * The key identifying whether the created {@link fr.inria.atlanmod.neoemf.data.Backend} must maintain an index of
+     * its instances, grouped by meta-class.
+     */
+    static final String BACKEND_INDEX_INSTANCES = createKey(BACKEND, "index", "instances");
+
+    // endregion
+
+    // region Object cache configuration
+
+    /**
+     * The base prefix for all internal options related to the cache of {@link fr.inria.atlanmod.neoemf.core.PersistentEObject}s.
+     */
+    static final String OBJECT_CACHE = createKey(BASE_PREFIX, "objects", "cache");
+
+    /**
+     * The key identifying the maximum number of {@link fr.inria.atlanmod.neoemf.core.PersistentEObject}s kept in
+     * memory.
+     */
+    static final String OBJECT_CACHE_SIZE = createKey(OBJECT_CACHE, "size");
+
+    /**
+     * The key identifying whether the released {@link fr.inria.atlanmod.neoemf.core.PersistentEObject}s must be softly
+     * referenced.
+     */
+    static final String OBJECT_CACHE_SOFT = createKey(OBJECT_CACHE, "soft");
+
     // endregion
 
     // region Store/Listener configuration
@@ -216,6 +247,31 @@ public class BaseConfig<C extends BaseConfig<C>> implements Config {
         return setMappingWithCheck(mappingType, true);
     }
 
+    @Nonnull
+    @Override
+    public C indexInstances() {
+        // Stored as a string to be comparable with the value loaded from a configuration file
+        return addOption(BACKEND_INDEX_INSTANCES, Boolean.toString(true));
+    }
+
+    @Nonnull
+    @Override
+    public C cacheObjects(long maximumSize) {
+        return cacheObjects(maximumSize, false);
+    }
+
+    @Nonnull
+    @Override
+    public C cacheObjects(long maximumSize, boolean softFallback) {
+        if (maximumSize < 0) {
+            throw new InvalidConfigException(String.format("The object cache size cannot be lower than 0 (but it was %d)", maximumSize));
+        }
+
+        // Stored as strings to be comparable with the values loaded from a configuration file
+        addOption(OBJECT_CACHE_SIZE, Long.toString(maximumSize));
+        return addOption(OBJECT_CACHE_SOFT, Boolean.toString(softFallback));
+    }
+
     @Nonnull
     @Override
     public <T> C addOption(String key, T value) {
@@ -254,30 +310,82 @@ public class BaseConfig<C extends BaseConfig<C>> implements Config {
         return addStore(new FeatureCachingStore());
     }
 
+    @Nonnull
+    @Override
+    public C cacheFeatures(CachePolicy policy) {
+        return addStore(new FeatureCachingStore(policy));
+    }
+
     @Nonnull
     @Override
     public C cacheContainers() {
         return addStore(new ContainerCachingStore());
     }
 
+    @Nonnull
+    @Override
+    public C cacheContainers(CachePolicy policy) {
+        return addStore(new ContainerCachingStore(policy));
+    }
+
     @Nonnull
     @Override
     public C cacheMetaClasses() {
         return addStore(new ClassCachingStore());
     }
 
+    @Nonnull
+    @Override
+    public C cacheMetaClasses(CachePolicy policy) {
+        return addStore(new ClassCachingStore(policy));
+    }
+
     @Nonnull
     @Override
     public C cacheSizes() {
         return addStore(new SizeCachingStore());
     }
 
+    @Nonnull
+    @Override
+    public C cacheSizes(CachePolicy policy) {
+        return addStore(new SizeCachingStore(policy));
+    }
+
+    @Nonnull
+    @Override
+    public C cacheLists() {
+        return addStore(new ListCachingStore());
+    }
+
+    @Nonnull
+    @Override
+    public C cacheLists(CachePolicy policy) {
+        return addStore(new ListCachingStore(policy));
+    }
+
     @Nonnull
     @Override
     public C readOnly() {
         return addStore(new ReadOnlyStore());
     }
 
+    @Nonnull
+    @Override
+    public C concurrent() {
+        return addStore(new LockingStore());
+    }
+
+    @Nonnull
+    @Override
+    public C concurrent(int stripes) {
+        if (stripes < 1 || stripes > LockingStore.MAX_STRIPES) {
+            throw new InvalidConfigException(String.format("The number of stripes must be between 1 and %d (but it was %d)", LockingStore.MAX_STRIPES, stripes));
+        }
+
+        return addStore(new LockingStore(stripes));
+    }
+
     @Nonnull
     @Override
     public C autoSave() {
@@ -294,6 +402,31 @@ public class BaseConfig<C extends BaseConfig<C>> implements Config {
         return addStore(new AutoSavingStore(chunk));
     }
 
+    @Nonnull
+    @Override
+    public C batchWrites() {
+        return addStore(new WriteBatchingStore());
+    }
+
+    @Nonnull
+    @Override
+    public C batchWrites(long chunk) {
+        return batchWrites(chunk, 0);
+    }
+
+    @Nonnull
+    @Override
+    public C batchWrites(long chunk, long delay) {
+        if (chunk < 0) {
+            throw new InvalidConfigException(String.format("The batch chunk cannot be lower than 0 (but it was %d)", chunk));
+        }
+        if (delay < 0) {
+            throw new InvalidConfigException(String.format("The batch delay cannot be lower than 0 (but it was %d)", delay));
+        }
+
+        return addStore(new WriteBatchingStore(chunk, delay));
+    }
+
     // endregion
 
     // region Listeners
@@ -325,7 +458,13 @@ public class BaseConfig<C extends BaseConfig<C>> implements Config {
     @Nonnull
     @Override
     public C recordStats(StoreStats stats) {
-        return addListener(new RecordingStoreListener(stats));
+        return addStore(new InstrumentedStore(stats));
+    }
+
+    @Nonnull
+    @Override
+    public C recordStats(StoreStats stats, boolean recordIo) {
+        return addStore(new InstrumentedStore(stats, recordIo));
     }
 
     // endregion
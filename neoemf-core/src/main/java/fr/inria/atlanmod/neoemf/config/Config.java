@@ -10,6 +10,7 @@ package fr.inria.atlanmod.neoemf.config;
 
 import fr.inria.atlanmod.commons.log.Level;
 import fr.inria.atlanmod.neoemf.bind.Bindings;
+import fr.inria.atlanmod.neoemf.data.store.CachePolicy;
 import fr.inria.atlanmod.neoemf.data.store.Store;
 import fr.inria.atlanmod.neoemf.data.store.listener.StoreListener;
 import fr.inria.atlanmod.neoemf.data.store.listener.StoreStats;
@@ -139,6 +140,53 @@ public interface Config extends ImmutableConfig {
     @Nonnull
     Config setMapping(String mapping);
 
+    /**
+     * Defines that the created {@link fr.inria.atlanmod.neoemf.data.Backend} must maintain an index of its instances,
+     * grouped by meta-class, in order to speed up {@link fr.inria.atlanmod.neoemf.data.mapping.ClassMapper#allInstancesOf(java.util.Set)}.
+     * <p>
+     * Once defined, this option is persisted with the back-end, and the index will be maintained for all future uses.
+     * If the back-end already exists without any index, the index is built when opening it. This option is ignored by
+     * back-ends that do not support it.
+     *
+     * @return this configuration (for chaining)
+     */
+    @Nonnull
+    Config indexInstances();
+
+    /**
+     * Defines the maximum number of {@link fr.inria.atlanmod.neoemf.core.PersistentEObject}s that are kept in memory
+     * by a {@link fr.inria.atlanmod.neoemf.resource.PersistentResource}, instead of using an unbounded soft cache.
+     * <p>
+     * When this size is exceeded, the least recently used objects are released: they are garbage-collected as soon as
+     * they are no longer referenced, and rebuilt from the back-end when they are accessed again.
+     *
+     * @param maximumSize the maximum number of objects to keep in memory
+     *
+     * @return this configuration (for chaining)
+     *
+     * @throws InvalidConfigException if the {@code maximumSize} is {@code &lt; 0}
+     * @see #cacheObjects(long, boolean)
+     */
+    @Nonnull
+    Config cacheObjects(@Nonnegative long maximumSize);
+
+    /**
+     * Defines the maximum number of {@link fr.inria.atlanmod.neoemf.core.PersistentEObject}s that are kept in memory
+     * by a {@link fr.inria.atlanmod.neoemf.resource.PersistentResource}, instead of using an unbounded soft cache.
+     * <p>
+     * When this size is exceeded, the least recently used objects are released. If {@code softFallback} is {@code
+     * true}, the released objects are softly referenced, and are only garbage-collected when the memory is needed.
+     *
+     * @param maximumSize  the maximum number of objects to keep in memory
+     * @param softFallback {@code true} if the released objects must be softly referenced
+     *
+     * @return this configuration (for chaining)
+     *
+     * @throws InvalidConfigException if the {@code maximumSize} is {@code &lt; 0}
+     */
+    @Nonnull
+    Config cacheObjects(@Nonnegative long maximumSize, boolean softFallback);
+
     /**
      * Adds a key/value in this configuration. A custom configuration, which is not part of NeoEMF, can be added.
      *
@@ -173,6 +221,18 @@ public interface Config extends ImmutableConfig {
     @Nonnull
     Config cacheFeatures();
 
+    /**
+     * Adds the {@code cache-features} feature, with a defined cache {@code policy}, in this configuration.
+     *
+     * @param policy the policy of the cache
+     *
+     * @return this configuration (for chaining)
+     *
+     * @throws NullPointerException if the {@code policy} is {@code null}
+     */
+    @Nonnull
+    Config cacheFeatures(CachePolicy policy);
+
     /**
      * Adds the {@code cache-containers} feature in this configuration.
      *
@@ -181,6 +241,18 @@ public interface Config extends ImmutableConfig {
     @Nonnull
     Config cacheContainers();
 
+    /**
+     * Adds the {@code cache-containers} feature, with a defined cache {@code policy}, in this configuration.
+     *
+     * @param policy the policy of the cache
+     *
+     * @return this configuration (for chaining)
+     *
+     * @throws NullPointerException if the {@code policy} is {@code null}
+     */
+    @Nonnull
+    Config cacheContainers(CachePolicy policy);
+
     /**
      * Adds the {@code cache-metaclasses} feature in this configuration.
      *
@@ -189,6 +261,18 @@ public interface Config extends ImmutableConfig {
     @Nonnull
     Config cacheMetaClasses();
 
+    /**
+     * Adds the {@code cache-metaclasses} feature, with a defined cache {@code policy}, in this configuration.
+     *
+     * @param policy the policy of the cache
+     *
+     * @return this configuration (for chaining)
+     *
+     * @throws NullPointerException if the {@code policy} is {@code null}
+     */
+    @Nonnull
+    Config cacheMetaClasses(CachePolicy policy);
+
     /**
      * Adds the {@code cache-sizes} feature in this configuration.
      *
@@ -197,14 +281,86 @@ public interface Config extends ImmutableConfig {
     @Nonnull
     Config cacheSizes();
 
+    /**
+     * Adds the {@code cache-sizes} feature, with a defined cache {@code policy}, in this configuration.
+     *
+     * @param policy the policy of the cache
+     *
+     * @return this configuration (for chaining)
+     *
+     * @throws NullPointerException if the {@code policy} is {@code null}
+     */
+    @Nonnull
+    Config cacheSizes(CachePolicy policy);
+
+    /**
+     * Adds the {@code cache-lists} feature in this configuration.
+     * <p>
+     * All the values of multi-valued features are cached as a whole, and indexed for membership.
+     *
+     * @return this configuration (for chaining)
+     */
+    @Nonnull
+    Config cacheLists();
+
+    /**
+     * Adds the {@code cache-lists} feature, with a defined cache {@code policy}, in this configuration.
+     *
+     * @param policy the policy of the cache
+     *
+     * @return this configuration (for chaining)
+     *
+     * @throws NullPointerException if the {@code policy} is {@code null}
+     */
+    @Nonnull
+    Config cacheLists(CachePolicy policy);
+
     /**
      * Adds the {@code read-only} feature in this configuration.
+     * <p>
+     * A read-only resource can be navigated by several threads at the same time, if its back-end supports concurrent
+     * reads.
      *
      * @return this configuration (for chaining)
+     *
+     * @see fr.inria.atlanmod.neoemf.resource.PersistentResource
      */
     @Nonnull
     Config readOnly();
 
+    /**
+     * Adds the {@code concurrent} feature in this configuration.
+     * <p>
+     * A concurrent resource can be read and modified by several threads at the same time: each database operation is
+     * guarded by a read-write lock associated with the object it concerns, so that readers do not block each other
+     * and writers only block the readers of the same objects. This feature cannot be combined with {@link
+     * #batchWrites()}.
+     * <p>
+     * The back-end must support concurrent reads and writes: this feature is supported by the default in-memory, MapDB
+     * and BerkeleyDB back-ends, the primitive in-memory back-end serializes all its accesses, and the HBase and
+     * Blueprints back-ends are not supported.
+     *
+     * @return this configuration (for chaining)
+     *
+     * @see fr.inria.atlanmod.neoemf.data.store.LockingStore
+     */
+    @Nonnull
+    Config concurrent();
+
+    /**
+     * Adds the {@code concurrent} feature, with a defined number of {@code stripes}, in this configuration.
+     *
+     * @param stripes the number of read-write locks shared by the objects
+     *
+     * @return this configuration (for chaining)
+     *
+     * @throws InvalidConfigException if the {@code stripes} is {@code &lt; 1} or {@code &gt;} {@link
+     *                                fr.inria.atlanmod.neoemf.data.store.LockingStore#MAX_STRIPES}
+     * @see #concurrent()
+     */
+    @Nonnull
+    Config concurrent(@Nonnegative int stripes);
+
     /**
      * Adds the {@code autoSave} feature in this configuration.
      *
@@ -227,6 +383,42 @@ public interface Config extends ImmutableConfig {
     @Nonnull
     Config autoSave(@Nonnegative long chunk);
 
+    /**
+     * Adds the {@code batch-writes} feature in this configuration.
+     *
+     * @return this configuration (for chaining)
+     */
+    @Nonnull
+    Config batchWrites();
+
+    /**
+     * Adds the {@code batch-writes} feature, with a defined {@code chunk}, in this configuration.
+     * <p>
+     * <b>WARNING:</b> When {@code chunk} is zero, the modifications will be written at each call.
+     *
+     * @param chunk the maximum number of pending modifications before writing them
+     *
+     * @return this configuration (for chaining)
+     *
+     * @throws InvalidConfigException if the {@code chunk} is {@code &lt; 0}
+     */
+    @Nonnull
+    Config batchWrites(@Nonnegative long chunk);
+
+    /**
+     * Adds the {@code batch-writes} feature, with a defined {@code chunk} and {@code delay}, in this configuration.
+     *
+     * @param chunk the maximum number of pending modifications before writing them
+     * @param delay the maximum age, in milliseconds, of the oldest pending modification before writing them, or
+     *              {@code 0} to only write them according to the {@code chunk}
+     *
+     * @return this configuration (for chaining)
+     *
+     * @throws InvalidConfigException if the {@code chunk} or the {@code delay} is {@code &lt; 0}
+     */
+    @Nonnull
+    Config batchWrites(@Nonnegative long chunk, @Nonnegative long delay);
+
     // endregion
 
     // region Listeners
@@ -263,6 +455,9 @@ public interface Config extends ImmutableConfig {
 
     /**
      * Adds the {@code stats} feature in this configuration.
+     * <p>
+     * The number and the duration of the calls made on the store chain are recorded by an {@link
+     * fr.inria.atlanmod.neoemf.data.store.InstrumentedStore}, with a low overhead.
      *
      * @param stats the stats that will be updated
      *
@@ -271,5 +466,21 @@ public interface Config extends ImmutableConfig {
     @Nonnull
     Config recordStats(StoreStats stats);
 
+    /**
+     * Adds the {@code stats} feature in this configuration, and optionally records the input/output work of the
+     * back-end.
+     * <p>
+     * If {@code recordIo} is {@code true}, the round trips to the database and the (de)serializations made by the
+     * back-end are recorded in {@link StoreStats#io()}, and attributed to the calls of the store chain. This has an
+     * additional cost on each call.
+     *
+     * @param stats    the stats that will be updated
+     * @param recordIo {@code true} if the input/output work of the back-end must be recorded
+     *
+     * @return this configuration (for chaining)
+     */
+    @Nonnull
+    Config recordStats(StoreStats stats, boolean recordIo);
+
     // endregion
 }
@@ -8,11 +8,17 @@
 
 package fr.inria.atlanmod.neoemf.config;
 
+import fr.inria.atlanmod.neoemf.data.store.InstrumentedStore;
+import fr.inria.atlanmod.neoemf.data.store.LockingStore;
 import fr.inria.atlanmod.neoemf.data.store.ReadOnlyStore;
 import fr.inria.atlanmod.neoemf.data.store.Store;
+import fr.inria.atlanmod.neoemf.data.store.listener.RecordingStoreListener;
+import fr.inria.atlanmod.neoemf.data.store.listener.StoreListener;
+import fr.inria.atlanmod.neoemf.data.store.listener.StoreStats;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
@@ -78,6 +84,81 @@ public interface ImmutableConfig {
     @Nonnull
     String getMapping();
 
+    /**
+     * Returns {@code true} if the created {@link fr.inria.atlanmod.neoemf.data.Backend} must maintain an index of its
+     * instances, grouped by meta-class.
+     *
+     * @return {@code true} if the instances must be indexed
+     *
+     * @see Config#indexInstances()
+     */
+    default boolean isIndexingInstances() {
+        return this.<Object>getOption(BaseConfig.BACKEND_INDEX_INSTANCES)
+                .map(String::valueOf)
+                .map(Boolean::parseBoolean)
+                .orElse(false);
+    }
+
+    /**
+     * Returns the maximum number of {@link fr.inria.atlanmod.neoemf.core.PersistentEObject}s kept in memory by a
+     * {@link fr.inria.atlanmod.neoemf.resource.PersistentResource}.
+     *
+     * @return an {@link Optional} containing the maximum size, or {@link Optional#empty()} if the objects are kept in an
+     * unbounded soft cache
+     *
+     * @see Config#cacheObjects(long, boolean)
+     */
+    @Nonnull
+    default Optional<Long> getObjectCacheSize() {
+        return this.<Object>getOption(BaseConfig.OBJECT_CACHE_SIZE)
+                .map(String::valueOf)
+                .map(Long::parseLong);
+    }
+
+    /**
+     * Returns {@code true} if the {@link fr.inria.atlanmod.neoemf.core.PersistentEObject}s released from a bounded
+     * object cache must be softly referenced.
+     *
+     * @return {@code true} if the released objects must be softly referenced
+     *
+     * @see Config#cacheObjects(long, boolean)
+     */
+    default boolean isObjectCacheSoft() {
+        return this.<Object>getOption(BaseConfig.OBJECT_CACHE_SOFT)
+                .map(String::valueOf)
+                .map(Boolean::parseBoolean)
+                .orElse(false);
+    }
+
+    /**
+     * Returns the {@link StoreStats} to update, if any.
+     *
+     * @return an {@link Optional} containing the stats, or {@link Optional#empty()} if no stats are recorded
+     *
+     * @see Config#recordStats(StoreStats)
+     */
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    default Optional<StoreStats> getStats() {
+        Optional<StoreStats> stats = Optional.ofNullable((Collection<Store>) toMap().get(BaseConfig.STORE_TYPES))
+                .flatMap(s -> s.stream()
+                        .filter(InstrumentedStore.class::isInstance)
+                        .map(InstrumentedStore.class::cast)
+                        .map(InstrumentedStore::stats)
+                        .findAny());
+
+        if (stats.isPresent()) {
+            return stats;
+        }
+
+        return Optional.ofNullable((Collection<StoreListener>) toMap().get(BaseConfig.STORE_LISTENERS))
+                .flatMap(l -> l.stream()
+                        .filter(RecordingStoreListener.class::isInstance)
+                        .map(RecordingStoreListener.class::cast)
+                        .map(RecordingStoreListener::stats)
+                        .findAny());
+    }
+
     /**
      * Returns {@code true} if the {@code key} is defined.
      *
@@ -141,4 +222,13 @@ public interface ImmutableConfig {
     default boolean isReadOnly() {
         return getStores().stream().anyMatch(c -> ReadOnlyStore.class == c.getClass());
     }
+
+    /**
+     * Returns {@code true} if the "concurrent" mode is defined.
+     *
+     * @return {@code true} if the "concurrent" mode is defined
+     */
+    default boolean isConcurrent() {
+        return getStores().stream().anyMatch(c -> LockingStore.class == c.getClass());
+    }
 }
@@ -8,8 +8,6 @@
 
 package fr.inria.atlanmod.neoemf.core;
 
-import fr.inria.atlanmod.commons.Lazy;
-import fr.inria.atlanmod.commons.LazyReference;
 import fr.inria.atlanmod.commons.annotation.VisibleForTesting;
 import fr.inria.atlanmod.neoemf.config.BaseConfig;
 import fr.inria.atlanmod.neoemf.config.ImmutableConfig;
@@ -37,6 +35,8 @@ import org.eclipse.emf.ecore.impl.MinimalEStoreEObjectImpl;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.util.FeatureMapUtil;
 
+import java.lang.ref.Reference;
+import java.lang.ref.SoftReference;
 import java.util.Collection;
 import java.util.Objects;
 import java.util.Optional;
@@ -47,6 +47,7 @@ import javax.annotation.ParametersAreNonnullByDefault;
 
 import static fr.inria.atlanmod.commons.Preconditions.checkInstanceOf;
 import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 
 /**
@@ -67,28 +68,48 @@ import static java.util.Objects.nonNull;
 public class DefaultPersistentEObject extends MinimalEStoreEObjectImpl implements PersistentEObject {
 
     /**
-     * The {@link StoreAdapter} where this object is stored.
+     * The reference used to cache the absence of container, after a call to {@link #eBasicSetContainer(InternalEObject,
+     * int)}.
      */
     @Nonnull
-    private final Lazy<StoreAdapter> lazyStore = Lazy.with(() -> getOrCreateStore(resource()));
+    private static final Reference<PersistentEObject> NO_CONTAINER = new SoftReference<>(null);
 
     /**
-     * The cached container of this object.
+     * The {@link StoreAdapter} where this object is stored, or {@code null} if it is not created yet.
+     * <p>
+     * This field is {@code volatile} and is created under the lock of this object, so that it is created only once
+     * when this object is navigated by several threads.
+     *
+     * @see #eStore()
      */
-    @Nonnull
-    private final LazyReference<PersistentEObject> lazyContainer = LazyReference.soft(() -> eStore().getContainer(this));
+    @Nullable
+    private volatile StoreAdapter store;
+
+    /**
+     * The cached container of this object, or {@code null} if it is not loaded yet.
+     * <p>
+     * The container is softly referenced, and is reloaded from the store when the reference has been cleared. A
+     * concurrent reload is harmless: all threads load the same container.
+     *
+     * @see #eInternalContainer()
+     */
+    @Nullable
+    private volatile Reference<PersistentEObject> container;
 
     /**
      * The identifier of this object.
      */
     @Nonnull
-    private Id id;
+    private volatile Id id;
 
     /**
      * The resource containing this object.
+     * <p>
+     * This field is {@code volatile} because the same object can be resolved by several threads, for example during a
+     * parallel traversal of its resource.
      */
     @Nullable
-    private Resource.Internal resource;
+    private volatile Resource.Internal resource;
 
     /**
      * {@code true} if this object is being attached to a resource. This avoids an infinite loop when copying a fully
@@ -125,10 +146,16 @@ public class DefaultPersistentEObject extends MinimalEStoreEObjectImpl implement
     @Nonnull
     @Override
     public Id id() {
-        if (id == Id.UNDEFINED) { // Id#UNDEFINED is immutable
-            id(Id.getProvider().generate());
+        Id currentId = id;
+        if (currentId == Id.UNDEFINED) { // Id#UNDEFINED is immutable
+            synchronized (this) {
+                if (id == Id.UNDEFINED) {
+                    id(Id.getProvider().generate());
+                }
+                currentId = id;
+            }
         }
-        return id;
+        return currentId;
     }
 
     @Override
@@ -144,23 +171,30 @@ public class DefaultPersistentEObject extends MinimalEStoreEObjectImpl implement
 
     @Override
     public void resource(@Nullable Resource.Internal newResource) {
-        if (locked || resource == newResource) {
+        // Fast path: resolving an object already attached to its resource must not contend on its lock
+        if (resource == newResource) {
             return;
         }
 
-        locked = true;
-        resource = newResource;
+        synchronized (this) {
+            if (locked || resource == newResource) {
+                return;
+            }
 
-        // Refresh the container if necessary
-        if (lazyStore.isLoaded()) {
-            lazyContainer.get();
-        }
+            locked = true;
+            resource = newResource;
 
-        // Define and copy the store if necessary
-        StoreAdapter newStore = getOrCreateStore(newResource);
-        refreshStore(newStore);
+            // Refresh the container if necessary
+            if (nonNull(store)) {
+                eInternalContainer();
+            }
+
+            // Define and copy the store if necessary
+            StoreAdapter newStore = getOrCreateStore(newResource);
+            refreshStore(newStore);
 
-        locked = false;
+            locked = false;
+        }
     }
 
     @Override
@@ -169,12 +203,12 @@ public class DefaultPersistentEObject extends MinimalEStoreEObjectImpl implement
             PersistentEObject container = PersistentEObject.from(newContainer);
             EReference containmentFeature = eContainmentFeature(this, container, newContainerFeatureID);
 
-            lazyContainer.update(container);
+            updateContainer(container);
             eStore().updateContainment(this, containmentFeature, container);
             resource(container.resource());
         }
         else {
-            lazyContainer.update(null);
+            this.container = NO_CONTAINER;
             eStore().removeContainment(this);
             resource(null);
         }
@@ -240,7 +274,17 @@ public class DefaultPersistentEObject extends MinimalEStoreEObjectImpl implement
     @Nonnull
     @Override
     public StoreAdapter eStore() {
-        return lazyStore.get();
+        StoreAdapter currentStore = store;
+        if (isNull(currentStore)) {
+            synchronized (this) {
+                currentStore = store;
+                if (isNull(currentStore)) {
+                    currentStore = getOrCreateStore(resource());
+                    store = currentStore;
+                }
+            }
+        }
+        return currentStore;
     }
 
     @Nullable
@@ -285,7 +329,26 @@ public class DefaultPersistentEObject extends MinimalEStoreEObjectImpl implement
 
     @Override
     public PersistentEObject eInternalContainer() {
-        return lazyContainer.get();
+        Reference<PersistentEObject> reference = container;
+        if (reference == NO_CONTAINER) {
+            return null;
+        }
+
+        PersistentEObject currentContainer = nonNull(reference) ? reference.get() : null;
+        if (isNull(currentContainer)) {
+            currentContainer = eStore().getContainer(this);
+            updateContainer(currentContainer);
+        }
+        return currentContainer;
+    }
+
+    /**
+     * Caches the {@code newContainer} of this object.
+     *
+     * @param newContainer the container of this object, or {@code null} if it has not been found
+     */
+    private void updateContainer(@Nullable PersistentEObject newContainer) {
+        container = nonNull(newContainer) ? new SoftReference<>(newContainer) : null;
     }
 
     /**
@@ -300,13 +363,14 @@ public class DefaultPersistentEObject extends MinimalEStoreEObjectImpl implement
      */
     @Nonnull
     private StoreAdapter getOrCreateStore(@Nullable Resource.Internal resource) {
+        StoreAdapter currentStore = store;
+
         // Use the store of the resource
         if (PersistentResource.class.isInstance(resource)) {
             return PersistentResource.class.cast(resource).eStore();
         }
         // Adapt the current store
-        else if (lazyStore.isLoaded()) {
-            StoreAdapter currentStore = lazyStore.get();
+        else if (nonNull(currentStore)) {
             currentStore.resource(resource);
             return currentStore;
         }
@@ -330,9 +394,8 @@ public class DefaultPersistentEObject extends MinimalEStoreEObjectImpl implement
     private void refreshStore(StoreAdapter newStore) {
         checkNotNull(newStore, "newStore");
 
-        if (lazyStore.isLoaded()) {
-            StoreAdapter currentStore = lazyStore.get();
-
+        StoreAdapter currentStore = store;
+        if (nonNull(currentStore)) {
             if (!Objects.equals(currentStore.store().backend(), newStore.store().backend())) {
                 // Copy if the resource is not being unloaded
                 if (nonNull(resource)) {
@@ -346,7 +409,7 @@ public class DefaultPersistentEObject extends MinimalEStoreEObjectImpl implement
             }
         }
 
-        lazyStore.update(newStore);
+        store = newStore;
     }
 
     @Override
@@ -10,8 +10,6 @@ package fr.inria.atlanmod.neoemf.core.internal;
 
 import fr.inria.atlanmod.neoemf.core.Id;
 
-import java.util.Objects;
-
 import javax.annotation.Nonnull;
 import javax.annotation.ParametersAreNonnullByDefault;
 import javax.annotation.concurrent.Immutable;
@@ -75,7 +73,8 @@ public class LongId implements Id {
 
     @Override
     public int hashCode() {
-        return Objects.hash(value);
+        // Same as Objects.hash(value) without boxing: hashes are persisted by some back-ends
+        return 31 + Long.hashCode(value);
     }
 
     @Override
@@ -24,6 +24,9 @@ import static java.util.Objects.nonNull;
 /**
  * A {@link org.eclipse.emf.common.util.TreeIterator} that iterates recursively over all the contents of an {@link
  * Iterable} and its content.
+ * <p>
+ * An iterator is not thread-safe, but it holds no state shared with other iterators: several threads can traverse the
+ * same read-only content at the same time, each one with its own iterator.
  *
  * @param <R> the type of the root
  * @param <E> the type of elements contained in the root
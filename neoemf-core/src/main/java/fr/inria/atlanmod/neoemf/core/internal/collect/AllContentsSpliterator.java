@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.core.internal.collect;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+
+/**
+ * A {@link Spliterator} that traverses recursively all the contents of an {@link Iterable} and its content, in the same
+ * order as the {@link AllContentsIterator}.
+ * <p>
+ * This spliterator is split by subtrees: each part traverses a set of subtrees that do not overlap, so the containment
+ * tree can be traversed in parallel. When a single subtree remains, its root is prepared to be returned first and its
+ * children are used to split.
+ *
+ * @param <E> the type of elements contained in the root
+ */
+@ParametersAreNonnullByDefault
+public class AllContentsSpliterator<E extends Iterable<E>> implements Spliterator<E> {
+
+    /**
+     * The elements to return before traversing the {@link #subtrees}, without their content.
+     */
+    @Nonnull
+    private final Deque<E> elements;
+
+    /**
+     * The roots of the subtrees to traverse, with their content. The first element is the next to return.
+     */
+    @Nonnull
+    private final Deque<E> subtrees;
+
+    /**
+     * Constructs a new {@code AllContentsSpliterator}.
+     *
+     * @param root the root of this spliterator, that is not returned
+     */
+    public AllContentsSpliterator(Iterable<E> root) {
+        this(new ArrayDeque<>(), new ArrayDeque<>());
+
+        root.forEach(subtrees::offerLast);
+    }
+
+    /**
+     * Constructs a new {@code AllContentsSpliterator} on the given elements.
+     *
+     * @param elements the elements to return first, without their content
+     * @param subtrees the roots of the subtrees to traverse, with their content
+     */
+    private AllContentsSpliterator(Deque<E> elements, Deque<E> subtrees) {
+        this.elements = elements;
+        this.subtrees = subtrees;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super E> action) {
+        checkNotNull(action, "action");
+
+        if (!elements.isEmpty()) {
+            action.accept(elements.pollFirst());
+            return true;
+        }
+
+        if (!subtrees.isEmpty()) {
+            final E next = subtrees.pollFirst();
+            pushChildren(next);
+            action.accept(next);
+            return true;
+        }
+
+        return false;
+    }
+
+    @Nullable
+    @Override
+    public Spliterator<E> trySplit() {
+        // Go down the tree while a single subtree remains
+        while (subtrees.size() == 1) {
+            final E root = subtrees.pollFirst();
+            elements.offerLast(root);
+            pushChildren(root);
+        }
+
+        if (subtrees.size() < 2) {
+            return null;
+        }
+
+        // The prefix is returned: it contains the pending elements and the first half of the subtrees
+        final Deque<E> prefixSubtrees = new ArrayDeque<>();
+        for (int i = subtrees.size() / 2; i > 0; i--) {
+            prefixSubtrees.offerLast(subtrees.pollFirst());
+        }
+
+        final Deque<E> prefixElements = new ArrayDeque<>(elements);
+        elements.clear();
+
+        return new AllContentsSpliterator<>(prefixElements, prefixSubtrees);
+    }
+
+    @Override
+    public long estimateSize() {
+        return subtrees.isEmpty() ? elements.size() : Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL;
+    }
+
+    /**
+     * Pushes the children of the {@code element} in front of the {@link #subtrees}, to traverse them before its next
+     * siblings.
+     *
+     * @param element the element
+     */
+    private void pushChildren(E element) {
+        final Iterator<E> children = element.iterator();
+        if (!children.hasNext()) {
+            return;
+        }
+
+        final Deque<E> reversed = new ArrayDeque<>();
+        children.forEachRemaining(reversed::offerFirst);
+        reversed.forEach(subtrees::offerFirst);
+    }
+}
@@ -8,6 +8,7 @@
 
 package fr.inria.atlanmod.neoemf.data;
 
+import fr.inria.atlanmod.commons.io.serializer.BinarySerializer;
 import fr.inria.atlanmod.commons.log.Log;
 import fr.inria.atlanmod.commons.service.ServiceDefinition;
 import fr.inria.atlanmod.commons.service.ServiceProvider;
@@ -18,6 +19,7 @@ import fr.inria.atlanmod.neoemf.data.mapping.AbstractDataMapper;
 import fr.inria.atlanmod.neoemf.data.mapping.DataMapper;
 import fr.inria.atlanmod.neoemf.data.store.Store;
 import fr.inria.atlanmod.neoemf.data.store.StoreFactory;
+import fr.inria.atlanmod.neoemf.data.store.listener.IoStats;
 
 import java.io.IOException;
 import java.util.Collections;
@@ -25,11 +27,14 @@ import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
 
+import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 
 import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 
 /**
  * An abstract {@link Backend} that provides a global behavior about the closure.
@@ -48,6 +53,12 @@ public abstract class AbstractBackend extends AbstractDataMapper implements Back
      */
     private boolean isClosed;
 
+    /**
+     * The stats where to record the input/output work of this back-end, or {@code null} if it is not recorded.
+     */
+    @Nullable
+    private volatile IoStats ioStats;
+
     /**
      * Constructs a new {@code AbstractBackend}.
      */
@@ -139,6 +150,115 @@ public abstract class AbstractBackend extends AbstractDataMapper implements Back
         return allInstancesOf(allInstances);
     }
 
+    // region Input/Output
+
+    /**
+     * Defines the stats where to record the input/output work of this back-end.
+     * <p>
+     * The work is recorded by the implementations calling {@link #serialize(BinarySerializer, Object)}, {@link
+     * #deserialize(BinarySerializer, byte[])} and {@link #recordRoundTrip()}.
+     *
+     * @param stats the stats to update, or {@code null} to stop recording
+     */
+    public void recordIo(@Nullable IoStats stats) {
+        this.ioStats = stats;
+    }
+
+    /**
+     * Returns {@code true} if the input/output work of this back-end is recorded.
+     *
+     * @return {@code true} if the work is recorded
+     */
+    protected final boolean isRecordingIo() {
+        return nonNull(ioStats);
+    }
+
+    /**
+     * Serializes the {@code value} with the given {@code serializer}, and records the serialization.
+     *
+     * @param serializer the serializer to use
+     * @param value      the value to serialize
+     * @param <T>        the type of the value
+     *
+     * @return the serialized value
+     *
+     * @throws IOException if an I/O error occurs during the serialization
+     */
+    @Nonnull
+    protected final <T> byte[] serialize(BinarySerializer<T> serializer, T value) throws IOException {
+        final IoStats stats = ioStats;
+        if (isNull(stats)) {
+            return serializer.serialize(value);
+        }
+
+        final long start = System.nanoTime();
+        final byte[] bytes = serializer.serialize(value);
+        stats.recordSerialization(bytes.length, System.nanoTime() - start);
+        return bytes;
+    }
+
+    /**
+     * Deserializes the {@code bytes} with the given {@code serializer}, and records the deserialization.
+     *
+     * @param serializer the serializer to use
+     * @param bytes      the bytes to deserialize
+     * @param <T>        the type of the value
+     *
+     * @return the deserialized value
+     *
+     * @throws IOException if an I/O error occurs during the deserialization
+     */
+    @Nonnull
+    protected final <T> T deserialize(BinarySerializer<T> serializer, byte[] bytes) throws IOException {
+        final IoStats stats = ioStats;
+        if (isNull(stats)) {
+            return serializer.deserialize(bytes);
+        }
+
+        final long start = System.nanoTime();
+        final T value = serializer.deserialize(bytes);
+        stats.recordDeserialization(bytes.length, System.nanoTime() - start);
+        return value;
+    }
+
+    /**
+     * Records a serialization made by a serializer that writes directly into the database.
+     *
+     * @param bytes    the size of the serialized value, in bytes
+     * @param duration the duration of the serialization, in nanoseconds
+     */
+    protected final void recordSerialization(@Nonnegative long bytes, @Nonnegative long duration) {
+        final IoStats stats = ioStats;
+        if (nonNull(stats)) {
+            stats.recordSerialization(bytes, duration);
+        }
+    }
+
+    /**
+     * Records a deserialization made by a serializer that reads directly from the database.
+     *
+     * @param bytes    the size of the serialized value, in bytes
+     * @param duration the duration of the deserialization, in nanoseconds
+     */
+    protected final void recordDeserialization(@Nonnegative long bytes, @Nonnegative long duration) {
+        final IoStats stats = ioStats;
+        if (nonNull(stats)) {
+            stats.recordDeserialization(bytes, duration);
+        }
+    }
+
+    /**
+     * Records a round trip to the database.
+     */
+    protected final void recordRoundTrip() {
+        final IoStats stats = ioStats;
+        if (nonNull(stats)) {
+            stats.recordRoundTrip();
+        }
+    }
+
+    // endregion
+
     // region Copy
 
     @Override
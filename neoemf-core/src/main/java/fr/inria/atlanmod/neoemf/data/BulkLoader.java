@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data;
+
+import fr.inria.atlanmod.neoemf.core.Id;
+import fr.inria.atlanmod.neoemf.data.bean.ClassBean;
+import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
+
+import java.util.List;
+import java.util.SortedMap;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * An object able to load large amounts of new data at once, by using the fastest write path of its underlying
+ * storage.
+ * <p>
+ * Data are given in batches sorted by key. All the values of a multi-valued feature are given at once, in a list of
+ * their final size. The loaded elements and features must not be already defined: a loader can write them without
+ * reading the current state, and without checking whether they exist.
+ *
+ * @see Backend
+ */
+@ParametersAreNonnullByDefault
+public interface BulkLoader {
+
+    /**
+     * Defines the meta-class of new elements.
+     *
+     * @param metaClasses the meta-classes, identified by the element {@link Id}
+     *
+     * @throws NullPointerException if the {@code metaClasses} is {@code null}
+     */
+    void loadMetaClasses(SortedMap<Id, ClassBean> metaClasses);
+
+    /**
+     * Defines the container of new elements.
+     *
+     * @param containers the containers, identified by the element {@link Id}
+     *
+     * @throws NullPointerException if the {@code containers} is {@code null}
+     */
+    void loadContainers(SortedMap<Id, SingleFeatureBean> containers);
+
+    /**
+     * Defines the value of new single-valued attributes.
+     *
+     * @param values the values, identified by their feature
+     *
+     * @throws NullPointerException if the {@code values} is {@code null}
+     */
+    void loadValues(SortedMap<SingleFeatureBean, Object> values);
+
+    /**
+     * Defines all the values of new multi-valued attributes.
+     *
+     * @param values the ordered values, identified by their feature
+     *
+     * @throws NullPointerException if the {@code values} is {@code null}
+     */
+    void loadAllValues(SortedMap<SingleFeatureBean, List<Object>> values);
+
+    /**
+     * Defines the reference of new single-valued references.
+     *
+     * @param references the references, identified by their feature
+     *
+     * @throws NullPointerException if the {@code references} is {@code null}
+     */
+    void loadReferences(SortedMap<SingleFeatureBean, Id> references);
+
+    /**
+     * Defines all the references of new multi-valued references.
+     *
+     * @param references the ordered references, identified by their feature
+     *
+     * @throws NullPointerException if the {@code references} is {@code null}
+     */
+    void loadAllReferences(SortedMap<SingleFeatureBean, List<Id>> references);
+}
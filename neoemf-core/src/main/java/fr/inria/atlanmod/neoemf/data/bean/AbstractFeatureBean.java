@@ -10,8 +10,6 @@ package fr.inria.atlanmod.neoemf.data.bean;
 
 import fr.inria.atlanmod.neoemf.core.Id;
 
-import java.util.Objects;
-
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -140,7 +138,10 @@ public abstract class AbstractFeatureBean implements FeatureBean {
 
     @Override
     public int hashCode() {
-        return Objects.hash(owner, id, position);
+        // Same as Objects.hash(owner, id, position) without boxing: hashes are persisted by some back-ends
+        int result = 31 + owner.hashCode();
+        result = 31 * result + id;
+        return 31 * result + position;
     }
 
     @Override
@@ -155,7 +156,7 @@ public abstract class AbstractFeatureBean implements FeatureBean {
         AbstractFeatureBean that = AbstractFeatureBean.class.cast(o);
         return isMany() == that.isMany()
                 && position == that.position
-                && Objects.equals(owner, that.owner)
-                && Objects.equals(id, that.id);
+                && id == that.id
+                && owner.equals(that.owner);
     }
 }
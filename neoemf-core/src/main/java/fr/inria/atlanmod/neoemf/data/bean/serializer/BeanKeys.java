@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.bean.serializer;
+
+import fr.inria.atlanmod.commons.Throwables;
+import fr.inria.atlanmod.commons.annotation.Static;
+import fr.inria.atlanmod.neoemf.core.Id;
+import fr.inria.atlanmod.neoemf.data.bean.ManyFeatureBean;
+import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Static utility methods to encode {@link Id}s and features as binary keys, without any intermediate stream.
+ * <p>
+ * The result is identical to the serialization of the {@link BeanSerializerFactory} serializers, but is written
+ * directly in an array of the exact size from the primitive values of the bean. These methods are intended for back-ends
+ * that use binary keys on each access.
+ *
+ * @see BeanSerializerFactory#forId()
+ * @see BeanSerializerFactory#forSingleFeature()
+ * @see BeanSerializerFactory#forManyFeature()
+ */
+@Static
+@ParametersAreNonnullByDefault
+public final class BeanKeys {
+
+    private BeanKeys() {
+        throw Throwables.notInstantiableClass(getClass());
+    }
+
+    /**
+     * Encodes the {@code id}.
+     *
+     * @param id the identifier to encode
+     *
+     * @return a new array of {@link Long#BYTES} bytes
+     */
+    @Nonnull
+    public static byte[] of(Id id) {
+        byte[] key = new byte[Long.BYTES];
+        putLong(key, 0, id.toLong());
+        return key;
+    }
+
+    /**
+     * Encodes the {@code feature}.
+     *
+     * @param feature the feature to encode
+     *
+     * @return a new array of {@link Long#BYTES} {@code +} {@link Integer#BYTES} bytes
+     */
+    @Nonnull
+    public static byte[] of(SingleFeatureBean feature) {
+        byte[] key = new byte[Long.BYTES + Integer.BYTES];
+        putInt(key, putLong(key, 0, feature.owner().toLong()), feature.id());
+        return key;
+    }
+
+    /**
+     * Encodes the {@code feature}.
+     *
+     * @param feature the feature to encode
+     *
+     * @return a new array of {@link Long#BYTES} {@code +} 2 {@code *} {@link Integer#BYTES} bytes
+     */
+    @Nonnull
+    public static byte[] of(ManyFeatureBean feature) {
+        byte[] key = new byte[Long.BYTES + Integer.BYTES * 2];
+        putInt(key, putInt(key, putLong(key, 0, feature.owner().toLong()), feature.id()), feature.position());
+        return key;
+    }
+
+    /**
+     * Writes the {@code value} in the {@code bytes} at the given {@code offset}, in big-endian order.
+     *
+     * @param bytes  the array where to write
+     * @param offset the position of the first byte to write
+     * @param value  the value to write
+     *
+     * @return the position following the written bytes
+     */
+    @Nonnegative
+    private static int putLong(byte[] bytes, @Nonnegative int offset, long value) {
+        for (int i = Long.BYTES - 1; i >= 0; i--) {
+            bytes[offset + i] = (byte) value;
+            value >>>= Byte.SIZE;
+        }
+        return offset + Long.BYTES;
+    }
+
+    /**
+     * Writes the {@code value} in the {@code bytes} at the given {@code offset}, in big-endian order.
+     *
+     * @param bytes  the array where to write
+     * @param offset the position of the first byte to write
+     * @param value  the value to write
+     *
+     * @return the position following the written bytes
+     */
+    @Nonnegative
+    private static int putInt(byte[] bytes, @Nonnegative int offset, int value) {
+        for (int i = Integer.BYTES - 1; i >= 0; i--) {
+            bytes[offset + i] = (byte) value;
+            value >>>= Byte.SIZE;
+        }
+        return offset + Integer.BYTES;
+    }
+}
@@ -15,6 +15,7 @@ import fr.inria.atlanmod.commons.io.serializer.BinarySerializer;
 import fr.inria.atlanmod.neoemf.core.Id;
 import fr.inria.atlanmod.neoemf.core.IdConverters;
 import fr.inria.atlanmod.neoemf.data.AbstractBackend;
+import fr.inria.atlanmod.neoemf.data.BulkLoader;
 import fr.inria.atlanmod.neoemf.data.bean.ClassBean;
 import fr.inria.atlanmod.neoemf.data.bean.FeatureBean;
 import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
@@ -27,9 +28,13 @@ import net.openhft.chronicle.hash.serialization.BytesReader;
 import net.openhft.chronicle.hash.serialization.BytesWriter;
 
 import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nonnull;
@@ -44,7 +49,7 @@ import static java.util.Objects.isNull;
  * An abstract {@link InMemoryBackend} that provides the default behavior of containers and meta-classes management.
  */
 @ParametersAreNonnullByDefault
-public abstract class AbstractInMemoryBackend extends AbstractBackend implements InMemoryBackend, ManyValueWithLists, AllReferenceAs<Long> {
+public abstract class AbstractInMemoryBackend extends AbstractBackend implements InMemoryBackend, ManyValueWithLists, AllReferenceAs<Long>, BulkLoader {
 
     /**
      * The {@link BeanSerializerFactory} to use for creating the {@link BinarySerializer} instances.
@@ -113,6 +118,19 @@ public abstract class AbstractInMemoryBackend extends AbstractBackend implements
     @Nonnull
     protected abstract Map<SingleFeatureBean, Object> features();
 
+    /**
+     * Returns the map that indexes the instances by meta-class.
+     * <p>
+     * By default, instances are not indexed.
+     *
+     * @return an {@link Optional} containing the mutable index, or {@link Optional#empty()} if the instances are not
+     * indexed
+     */
+    @Nonnull
+    protected Optional<Map<ClassBean, Set<Id>>> instancesIndex() {
+        return Optional.empty();
+    }
+
     /**
      * Checks the specified {@code feature} before using it.
      *
@@ -158,12 +176,26 @@ public abstract class AbstractInMemoryBackend extends AbstractBackend implements
         checkNotNull(id, "id");
         checkNotNull(metaClass, "metaClass");
 
-        return isNull(instances().putIfAbsent(id, metaClass));
+        final boolean notDefined = isNull(instances().putIfAbsent(id, metaClass));
+
+        if (notDefined) {
+            instancesIndex().ifPresent(m -> m.computeIfAbsent(metaClass, c -> ConcurrentHashMap.newKeySet()).add(id));
+        }
+
+        return notDefined;
     }
 
     @Nonnull
     @Override
     public Iterable<Id> allInstancesOf(Set<ClassBean> metaClasses) {
+        Optional<Map<ClassBean, Set<Id>>> index = instancesIndex();
+        if (index.isPresent()) {
+            return metaClasses.stream()
+                    .map(c -> index.get().getOrDefault(c, Collections.emptySet()))
+                    .flatMap(Set::stream)
+                    .collect(Collectors.toSet());
+        }
+
         return instances().entrySet().stream()
                 .filter(e -> metaClasses.contains(e.getValue()))
                 .map(Map.Entry::getKey)
@@ -194,6 +226,50 @@ public abstract class AbstractInMemoryBackend extends AbstractBackend implements
         features().remove(feature);
     }
 
+    @Override
+    public void loadMetaClasses(SortedMap<Id, ClassBean> metaClasses) {
+        checkNotNull(metaClasses, "metaClasses");
+
+        instances().putAll(metaClasses);
+
+        instancesIndex().ifPresent(m -> metaClasses.forEach((id, c) -> m.computeIfAbsent(c, k -> ConcurrentHashMap.newKeySet()).add(id)));
+    }
+
+    @Override
+    public void loadContainers(SortedMap<Id, SingleFeatureBean> containers) {
+        checkNotNull(containers, "containers");
+
+        containers().putAll(containers);
+    }
+
+    @Override
+    public void loadValues(SortedMap<SingleFeatureBean, Object> values) {
+        checkNotNull(values, "values");
+
+        values.forEach(this::valueFor);
+    }
+
+    @Override
+    public void loadAllValues(SortedMap<SingleFeatureBean, List<Object>> values) {
+        checkNotNull(values, "values");
+
+        values.forEach(this::allValuesFor);
+    }
+
+    @Override
+    public void loadReferences(SortedMap<SingleFeatureBean, Id> references) {
+        checkNotNull(references, "references");
+
+        references.forEach(this::referenceFor);
+    }
+
+    @Override
+    public void loadAllReferences(SortedMap<SingleFeatureBean, List<Id>> references) {
+        checkNotNull(references, "references");
+
+        references.forEach(this::allReferencesFor);
+    }
+
     @Nonnull
     @Override
     public Converter<Id, Long> referenceConverter() {
@@ -282,4 +358,46 @@ public abstract class AbstractInMemoryBackend extends AbstractBackend implements
             }
         }
     }
+
+    /**
+     * A ChronicleMap serializer of {@link Id}s, that writes their primitive value directly without any intermediate
+     * stream.
+     */
+    @Immutable
+    @ParametersAreNonnullByDefault
+    static final class IdMarshaller implements BytesWriter<Id>, BytesReader<Id> {
+
+        @Nonnull
+        @Override
+        public Id read(@SuppressWarnings("rawtypes") Bytes in, @Nullable Id using) {
+            return Id.getProvider().fromLong(in.readLong());
+        }
+
+        @Override
+        public void write(@SuppressWarnings("rawtypes") Bytes out, @Nonnull Id value) {
+            out.writeLong(value.toLong());
+        }
+    }
+
+    /**
+     * A ChronicleMap serializer of {@link SingleFeatureBean}s, that writes their primitive values directly without any
+     * intermediate stream.
+     */
+    @Immutable
+    @ParametersAreNonnullByDefault
+    static final class FeatureMarshaller implements BytesWriter<SingleFeatureBean>, BytesReader<SingleFeatureBean> {
+
+        @Nonnull
+        @Override
+        public SingleFeatureBean read(@SuppressWarnings("rawtypes") Bytes in, @Nullable SingleFeatureBean using) {
+            Id owner = Id.getProvider().fromLong(in.readLong());
+            return SingleFeatureBean.of(owner, in.readInt());
+        }
+
+        @Override
+        public void write(@SuppressWarnings("rawtypes") Bytes out, @Nonnull SingleFeatureBean value) {
+            out.writeLong(value.owner().toLong());
+            out.writeInt(value.id());
+        }
+    }
 }
@@ -217,8 +217,8 @@ public final class BoundInMemoryBackend extends AbstractInMemoryBackend {
                     .entries(Sizes.ENTRIES)
                     .averageKeySize(Sizes.ID)
                     .averageValueSize(Sizes.FEATURE)
-                    .keyMarshaller(new BeanMarshaller<>(SERIALIZER_FACTORY.forId()))
-                    .valueMarshaller(new BeanMarshaller<>(SERIALIZER_FACTORY.forSingleFeature()))
+                    .keyMarshaller(new IdMarshaller())
+                    .valueMarshaller(new FeatureMarshaller())
                     .create();
 
             instances = ChronicleMapBuilder.of(Id.class, ClassBean.class)
@@ -226,7 +226,7 @@ public final class BoundInMemoryBackend extends AbstractInMemoryBackend {
                     .entries(Sizes.ENTRIES)
                     .averageKeySize(Sizes.ID)
                     .averageValueSize(Sizes.CLASS)
-                    .keyMarshaller(new BeanMarshaller<>(SERIALIZER_FACTORY.forId()))
+                    .keyMarshaller(new IdMarshaller())
                     .valueMarshaller(new BeanMarshaller<>(SERIALIZER_FACTORY.forClass()))
                     .create();
 
@@ -235,7 +235,7 @@ public final class BoundInMemoryBackend extends AbstractInMemoryBackend {
                     .entries(Sizes.ENTRIES)
                     .averageKeySize(Sizes.FEATURE)
                     .averageValueSize(Sizes.FEATURE_VALUE)
-                    .keyMarshaller(new BeanMarshaller<>(SERIALIZER_FACTORY.forSingleFeature()))
+                    .keyMarshaller(new FeatureMarshaller())
                     .create();
 
             featuresById = new ConcurrentHashMap<>();
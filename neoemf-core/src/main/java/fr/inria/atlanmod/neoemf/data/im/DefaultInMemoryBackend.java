@@ -16,12 +16,18 @@ import net.openhft.chronicle.map.ChronicleMap;
 import net.openhft.chronicle.map.ChronicleMapBuilder;
 
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 
+import static java.util.Objects.nonNull;
+
 /**
  * A {@link InMemoryBackend} that stores all elements in {@link Map}s.
  */
@@ -56,10 +62,26 @@ public class DefaultInMemoryBackend extends AbstractInMemoryBackend {
     @Nonnull
     private final ChronicleMap<SingleFeatureBean, Object> features;
 
+    /**
+     * An in-memory map that indexes the {@link Id} of {@link fr.inria.atlanmod.neoemf.core.PersistentEObject}s by
+     * meta-class, or {@code null} if instances are not indexed.
+     */
+    @Nullable
+    private final Map<ClassBean, Set<Id>> instancesIndex;
+
     /**
      * Constructs a new {@code DefaultInMemoryBackend}.
      */
     public DefaultInMemoryBackend() {
+        this(false);
+    }
+
+    /**
+     * Constructs a new {@code DefaultInMemoryBackend}.
+     *
+     * @param indexInstances {@code true} if the instances must be indexed by meta-class
+     */
+    public DefaultInMemoryBackend(boolean indexInstances) {
         final int id = COUNTER.getAndIncrement();
         final String prefix = "default";
 
@@ -68,8 +90,8 @@ public class DefaultInMemoryBackend extends AbstractInMemoryBackend {
                 .entries(Sizes.ENTRIES)
                 .averageKeySize(Sizes.ID)
                 .averageValueSize(Sizes.FEATURE)
-                .keyMarshaller(new BeanMarshaller<>(SERIALIZER_FACTORY.forId()))
-                .valueMarshaller(new BeanMarshaller<>(SERIALIZER_FACTORY.forSingleFeature()))
+                .keyMarshaller(new IdMarshaller())
+                .valueMarshaller(new FeatureMarshaller())
                 .create();
 
         instances = ChronicleMapBuilder.of(Id.class, ClassBean.class)
@@ -77,7 +99,7 @@ public class DefaultInMemoryBackend extends AbstractInMemoryBackend {
                 .entries(Sizes.ENTRIES)
                 .averageKeySize(Sizes.ID)
                 .averageValueSize(Sizes.CLASS)
-                .keyMarshaller(new BeanMarshaller<>(SERIALIZER_FACTORY.forId()))
+                .keyMarshaller(new IdMarshaller())
                 .valueMarshaller(new BeanMarshaller<>(SERIALIZER_FACTORY.forClass()))
                 .create();
 
@@ -86,8 +108,10 @@ public class DefaultInMemoryBackend extends AbstractInMemoryBackend {
                 .entries(Sizes.ENTRIES)
                 .averageKeySize(Sizes.FEATURE)
                 .averageValueSize(Sizes.FEATURE_VALUE)
-                .keyMarshaller(new BeanMarshaller<>(SERIALIZER_FACTORY.forSingleFeature()))
+                .keyMarshaller(new FeatureMarshaller())
                 .create();
+
+        instancesIndex = indexInstances ? new ConcurrentHashMap<>() : null;
     }
 
     @Override
@@ -100,6 +124,10 @@ public class DefaultInMemoryBackend extends AbstractInMemoryBackend {
 
         features.clear();
         features.close();
+
+        if (nonNull(instancesIndex)) {
+            instancesIndex.clear();
+        }
     }
 
     @Nonnull
@@ -119,4 +147,10 @@ public class DefaultInMemoryBackend extends AbstractInMemoryBackend {
     protected Map<SingleFeatureBean, Object> features() {
         return features;
     }
+
+    @Nonnull
+    @Override
+    protected Optional<Map<ClassBean, Set<Id>>> instancesIndex() {
+        return Optional.ofNullable(instancesIndex);
+    }
 }
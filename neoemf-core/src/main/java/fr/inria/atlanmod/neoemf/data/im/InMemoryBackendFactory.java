@@ -38,6 +38,13 @@ public class InMemoryBackendFactory extends AbstractBackendFactory<InMemoryConfi
     @Nonnull
     @Override
     public Backend createBackend(URI uri, ImmutableConfig baseConfig) {
-        return new DefaultInMemoryBackend();
+        final boolean usePrimitiveTables = baseConfig.<Object>getOption(InMemoryConfig.IM_PRIMITIVE)
+                .map(String::valueOf)
+                .map(Boolean::parseBoolean)
+                .orElse(false);
+
+        return usePrimitiveTables
+                ? new PrimitiveInMemoryBackend(baseConfig.isIndexingInstances())
+                : new DefaultInMemoryBackend(baseConfig.isIndexingInstances());
     }
 }
@@ -0,0 +1,420 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.im;
+
+import fr.inria.atlanmod.commons.function.Converter;
+import fr.inria.atlanmod.neoemf.core.Id;
+import fr.inria.atlanmod.neoemf.core.IdConverters;
+import fr.inria.atlanmod.neoemf.data.AbstractBackend;
+import fr.inria.atlanmod.neoemf.data.BulkLoader;
+import fr.inria.atlanmod.neoemf.data.bean.ClassBean;
+import fr.inria.atlanmod.neoemf.data.bean.ManyFeatureBean;
+import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
+import fr.inria.atlanmod.neoemf.data.mapping.AllReferenceAs;
+import fr.inria.atlanmod.neoemf.data.mapping.ManyValueWithLists;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.annotation.concurrent.ThreadSafe;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * A {@link InMemoryBackend} that stores all elements in {@link PrimitiveTable}s, identified by the primitive value of
+ * their {@link Id}.
+ * <p>
+ * Unlike the {@link DefaultInMemoryBackend}, this back-end does not serialize its keys and values, and does not create
+ * any object for each entry: containers and meta-classes are stored as primitive values, and feature values are stored
+ * as they are. This reduces the footprint and the access time for models that fit in memory.
+ * <p>
+ * This class is thread-safe: all accesses are synchronized on the back-end. Since the values of multi-valued features
+ * are stored as mutable {@link List}s, they are only modified while holding the lock, and {@link
+ * #allValuesOf(SingleFeatureBean)} returns a stream over a copy of the list.
+ */
+@ThreadSafe
+@ParametersAreNonnullByDefault
+public class PrimitiveInMemoryBackend extends AbstractBackend implements InMemoryBackend, ManyValueWithLists, AllReferenceAs<Long>, BulkLoader {
+
+    /**
+     * The sub-key used in tables identified by an {@link Id} only.
+     */
+    private static final int NO_SUB_KEY = 0;
+
+    /**
+     * A table that stores the container of {@link fr.inria.atlanmod.neoemf.core.PersistentEObject}s, identified by the
+     * object {@link Id}: the {@code long} value is the owner, and the {@code int} value is the feature.
+     */
+    @Nonnull
+    private final PrimitiveTable containers = new PrimitiveTable(true, true, false);
+
+    /**
+     * A table that stores the meta-class for {@link fr.inria.atlanmod.neoemf.core.PersistentEObject}s, identified by
+     * the object {@link Id}: the {@code int} value is the index of the meta-class in {@link #classes}.
+     */
+    @Nonnull
+    private final PrimitiveTable instances = new PrimitiveTable(false, true, false);
+
+    /**
+     * A table that stores all feature values for {@link fr.inria.atlanmod.neoemf.core.PersistentEObject}s, identified
+     * by the owner {@link Id} and the feature identifier. Many-feature values are grouped in collections.
+     */
+    @Nonnull
+    private final PrimitiveTable features = new PrimitiveTable(false, false, true);
+
+    /**
+     * All the meta-classes used in {@link #instances}, in their order of registration.
+     */
+    @Nonnull
+    private final List<ClassBean> classes = new ArrayList<>();
+
+    /**
+     * The index of each meta-class in {@link #classes}.
+     */
+    @Nonnull
+    private final Map<ClassBean, Integer> classIndices = new HashMap<>();
+
+    /**
+     * An in-memory map that indexes the {@link Id} of {@link fr.inria.atlanmod.neoemf.core.PersistentEObject}s by
+     * meta-class, or {@code null} if instances are not indexed.
+     */
+    @Nullable
+    private final Map<ClassBean, Set<Id>> instancesIndex;
+
+    /**
+     * Constructs a new {@code PrimitiveInMemoryBackend}.
+     */
+    public PrimitiveInMemoryBackend() {
+        this(false);
+    }
+
+    /**
+     * Constructs a new {@code PrimitiveInMemoryBackend}.
+     *
+     * @param indexInstances {@code true} if the instances must be indexed by meta-class
+     */
+    public PrimitiveInMemoryBackend(boolean indexInstances) {
+        instancesIndex = indexInstances ? new HashMap<>() : null;
+    }
+
+    /**
+     * Casts the {@code value} as expected.
+     *
+     * @param value the value to be cast
+     * @param <V>   the expected type of the value
+     *
+     * @return the {@code value} after casting, or {@code null} if the {@code value} is {@code null}
+     *
+     * @throws ClassCastException if the {@code value} is not {@code null} and is not assignable to the type {@code V}
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private static <V> V cast(@Nullable Object value) {
+        return (V) value;
+    }
+
+    @Override
+    protected synchronized void internalClose() {
+        containers.clear();
+        instances.clear();
+        features.clear();
+
+        classes.clear();
+        classIndices.clear();
+
+        if (nonNull(instancesIndex)) {
+            instancesIndex.clear();
+        }
+    }
+
+    @Override
+    protected void internalSave() {
+        // No need to save anything
+    }
+
+    @Nonnull
+    @Override
+    public synchronized Optional<SingleFeatureBean> containerOf(Id id) {
+        checkNotNull(id, "id");
+
+        final int slot = containers.find(id.toLong(), NO_SUB_KEY);
+        if (slot == PrimitiveTable.NO_SLOT) {
+            return Optional.empty();
+        }
+
+        final Id owner = Id.getProvider().fromLong(containers.longAt(slot));
+        return Optional.of(SingleFeatureBean.of(owner, containers.intAt(slot)));
+    }
+
+    @Override
+    public synchronized void containerFor(Id id, SingleFeatureBean container) {
+        checkNotNull(id, "id");
+        checkNotNull(container, "container");
+
+        final int slot = containers.insert(id.toLong(), NO_SUB_KEY);
+        containers.longAt(slot, container.owner().toLong());
+        containers.intAt(slot, container.id());
+    }
+
+    @Override
+    public synchronized void removeContainer(Id id) {
+        checkNotNull(id, "id");
+
+        final int slot = containers.find(id.toLong(), NO_SUB_KEY);
+        if (slot != PrimitiveTable.NO_SLOT) {
+            containers.removeAt(slot);
+        }
+    }
+
+    @Nonnull
+    @Override
+    public synchronized Optional<ClassBean> metaClassOf(Id id) {
+        checkNotNull(id, "id");
+
+        final int slot = instances.find(id.toLong(), NO_SUB_KEY);
+        if (slot == PrimitiveTable.NO_SLOT) {
+            return Optional.empty();
+        }
+
+        return Optional.of(classes.get(instances.intAt(slot)));
+    }
+
+    @Override
+    public synchronized boolean metaClassFor(Id id, ClassBean metaClass) {
+        checkNotNull(id, "id");
+        checkNotNull(metaClass, "metaClass");
+
+        if (instances.find(id.toLong(), NO_SUB_KEY) != PrimitiveTable.NO_SLOT) {
+            return false;
+        }
+
+        insertMetaClass(id, metaClass);
+
+        return true;
+    }
+
+    @Nonnull
+    @Override
+    public synchronized Iterable<Id> allInstancesOf(Set<ClassBean> metaClasses) {
+        if (nonNull(instancesIndex)) {
+            return metaClasses.stream()
+                    .map(c -> instancesIndex.getOrDefault(c, Collections.emptySet()))
+                    .flatMap(Set::stream)
+                    .collect(Collectors.toSet());
+        }
+
+        final Set<Integer> indices = metaClasses.stream()
+                .map(classIndices::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        final Set<Id> allInstances = new HashSet<>();
+        if (indices.isEmpty()) {
+            return allInstances;
+        }
+
+        for (int slot = 0; slot < instances.capacity(); slot++) {
+            if (instances.isUsed(slot) && indices.contains(instances.intAt(slot))) {
+                allInstances.add(Id.getProvider().fromLong(instances.keyAt(slot)));
+            }
+        }
+
+        return allInstances;
+    }
+
+    @Nonnull
+    @Override
+    public synchronized <V> Optional<V> valueOf(SingleFeatureBean feature) {
+        checkNotNull(feature, "feature");
+
+        final int slot = features.find(feature.owner().toLong(), feature.id());
+        if (slot == PrimitiveTable.NO_SLOT) {
+            return Optional.empty();
+        }
+
+        return Optional.ofNullable(cast(features.objectAt(slot)));
+    }
+
+    @Nonnull
+    @Override
+    public synchronized <V> Optional<V> valueFor(SingleFeatureBean feature, V value) {
+        checkNotNull(feature, "feature");
+        checkNotNull(value, "value");
+
+        final int slot = features.insert(feature.owner().toLong(), feature.id());
+        final Optional<V> previousValue = Optional.ofNullable(cast(features.objectAt(slot)));
+        features.objectAt(slot, value);
+
+        return previousValue;
+    }
+
+    @Override
+    public synchronized void removeValue(SingleFeatureBean feature) {
+        checkNotNull(feature, "feature");
+
+        final int slot = features.find(feature.owner().toLong(), feature.id());
+        if (slot != PrimitiveTable.NO_SLOT) {
+            features.removeAt(slot);
+        }
+    }
+
+    @Nonnull
+    @Override
+    public synchronized <V> Optional<V> valueOf(ManyFeatureBean feature) {
+        return ManyValueWithLists.super.valueOf(feature);
+    }
+
+    @Nonnull
+    @Override
+    public <V> Stream<V> allValuesOf(SingleFeatureBean feature) {
+        checkNotNull(feature, "feature");
+
+        final List<V> values;
+        synchronized (this) {
+            values = this.<List<V>>valueOf(feature)
+                    .<List<V>>map(ArrayList::new)
+                    .orElse(null);
+        }
+
+        return nonNull(values) ? values.stream() : Stream.empty();
+    }
+
+    @Nonnull
+    @Override
+    public synchronized <V> Optional<V> valueFor(ManyFeatureBean feature, V value) {
+        return ManyValueWithLists.super.valueFor(feature, value);
+    }
+
+    @Override
+    public synchronized <V> void addValue(ManyFeatureBean feature, V value) {
+        ManyValueWithLists.super.addValue(feature, value);
+    }
+
+    @Override
+    public synchronized <V> void addAllValues(ManyFeatureBean feature, List<? extends V> collection) {
+        ManyValueWithLists.super.addAllValues(feature, collection);
+    }
+
+    @Override
+    public synchronized <V> int appendValue(SingleFeatureBean feature, V value) {
+        return ManyValueWithLists.super.appendValue(feature, value);
+    }
+
+    @Override
+    public synchronized <V> int appendAllValues(SingleFeatureBean feature, List<? extends V> collection) {
+        return ManyValueWithLists.super.appendAllValues(feature, collection);
+    }
+
+    @Override
+    public synchronized <V> void allValuesFor(SingleFeatureBean feature, List<? extends V> collection) {
+        ManyValueWithLists.super.allValuesFor(feature, collection);
+    }
+
+    @Nonnull
+    @Override
+    public synchronized <V> Optional<V> removeValue(ManyFeatureBean feature) {
+        return ManyValueWithLists.super.removeValue(feature);
+    }
+
+    @Override
+    public synchronized void removeAllValues(SingleFeatureBean feature) {
+        ManyValueWithLists.super.removeAllValues(feature);
+    }
+
+    @Nonnull
+    @Override
+    public synchronized Optional<Integer> sizeOfValue(SingleFeatureBean feature) {
+        return ManyValueWithLists.super.sizeOfValue(feature);
+    }
+
+    @Override
+    public synchronized void loadMetaClasses(SortedMap<Id, ClassBean> metaClasses) {
+        checkNotNull(metaClasses, "metaClasses");
+
+        metaClasses.forEach(this::insertMetaClass);
+    }
+
+    @Override
+    public synchronized void loadContainers(SortedMap<Id, SingleFeatureBean> containers) {
+        checkNotNull(containers, "containers");
+
+        containers.forEach(this::containerFor);
+    }
+
+    @Override
+    public synchronized void loadValues(SortedMap<SingleFeatureBean, Object> values) {
+        checkNotNull(values, "values");
+
+        values.forEach(this::valueFor);
+    }
+
+    @Override
+    public synchronized void loadAllValues(SortedMap<SingleFeatureBean, List<Object>> values) {
+        checkNotNull(values, "values");
+
+        values.forEach(this::allValuesFor);
+    }
+
+    @Override
+    public synchronized void loadReferences(SortedMap<SingleFeatureBean, Id> references) {
+        checkNotNull(references, "references");
+
+        references.forEach(this::referenceFor);
+    }
+
+    @Override
+    public synchronized void loadAllReferences(SortedMap<SingleFeatureBean, List<Id>> references) {
+        checkNotNull(references, "references");
+
+        references.forEach(this::allReferencesFor);
+    }
+
+    @Nonnull
+    @Override
+    public Converter<Id, Long> referenceConverter() {
+        return IdConverters.withLong();
+    }
+
+    /**
+     * Inserts the meta-class of the given {@code id}, without checking whether it is already defined.
+     *
+     * @param id        the identifier of the element
+     * @param metaClass the meta-class of the element
+     */
+    private void insertMetaClass(Id id, ClassBean metaClass) {
+        Integer index = classIndices.get(metaClass);
+        if (isNull(index)) {
+            index = classes.size();
+            classes.add(metaClass);
+            classIndices.put(metaClass, index);
+        }
+
+        final int slot = instances.insert(id.toLong(), NO_SUB_KEY);
+        instances.intAt(slot, index);
+
+        if (nonNull(instancesIndex)) {
+            instancesIndex.computeIfAbsent(metaClass, c -> new HashSet<>()).add(id);
+        }
+    }
+}
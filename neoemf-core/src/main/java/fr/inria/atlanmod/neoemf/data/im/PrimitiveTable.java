@@ -0,0 +1,419 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.im;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * An open-addressing hash table, with linear probing, where each entry is identified by a primitive key composed of a
+ * {@code long} and an {@code int}.
+ * <p>
+ * Keys and values are stored in parallel arrays: an entry is identified by its slot in these arrays, and can hold a
+ * {@code long}, an {@code int} and/or an {@link Object} value, depending on the arrays allocated at construction. No
+ * object is created for each entry, and nothing is serialized.
+ */
+@NotThreadSafe
+@ParametersAreNonnullByDefault
+final class PrimitiveTable {
+
+    /**
+     * The value returned when a key is not in this table.
+     */
+    static final int NO_SLOT = -1;
+
+    /**
+     * The initial number of slots.
+     */
+    @Nonnegative
+    private static final int INITIAL_CAPACITY = 1 << 10;
+
+    /**
+     * The maximal ratio of used slots before growing.
+     */
+    private static final float LOAD_FACTOR = 0.6f;
+
+    /**
+     * Whether this table holds a {@code long} value for each entry.
+     */
+    private final boolean hasLongValues;
+
+    /**
+     * Whether this table holds an {@code int} value for each entry.
+     */
+    private final boolean hasIntValues;
+
+    /**
+     * Whether this table holds an {@link Object} value for each entry.
+     */
+    private final boolean hasObjectValues;
+
+    /**
+     * The first part of the key of each slot.
+     */
+    private long[] keys;
+
+    /**
+     * The second part of the key of each slot.
+     */
+    private int[] subKeys;
+
+    /**
+     * Whether each slot is used.
+     */
+    private boolean[] used;
+
+    /**
+     * The {@code long} value of each slot, or {@code null} if this table does not hold {@code long} values.
+     */
+    @Nullable
+    private long[] longValues;
+
+    /**
+     * The {@code int} value of each slot, or {@code null} if this table does not hold {@code int} values.
+     */
+    @Nullable
+    private int[] intValues;
+
+    /**
+     * The {@link Object} value of each slot, or {@code null} if this table does not hold {@link Object} values.
+     */
+    @Nullable
+    private Object[] objectValues;
+
+    /**
+     * The number of used slots.
+     */
+    @Nonnegative
+    private int size;
+
+    /**
+     * Constructs a new {@code PrimitiveTable}.
+     *
+     * @param hasLongValues   {@code true} if this table holds a {@code long} value for each entry
+     * @param hasIntValues    {@code true} if this table holds an {@code int} value for each entry
+     * @param hasObjectValues {@code true} if this table holds an {@link Object} value for each entry
+     */
+    PrimitiveTable(boolean hasLongValues, boolean hasIntValues, boolean hasObjectValues) {
+        this.hasLongValues = hasLongValues;
+        this.hasIntValues = hasIntValues;
+        this.hasObjectValues = hasObjectValues;
+
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Computes the preferred slot of a key.
+     *
+     * @param key    the first part of the key
+     * @param subKey the second part of the key
+     * @param mask   the mask to apply on the hash, i.e. the number of slots minus one
+     *
+     * @return the preferred slot
+     */
+    private static int slotOf(long key, int subKey, int mask) {
+        long h = (key ^ (subKey * 0x9E3779B97F4A7C15L)) * 0xBF58476D1CE4E5B9L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    /**
+     * Returns the number of entries in this table.
+     *
+     * @return the number of entries
+     */
+    @Nonnegative
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of slots of this table, used to iterate over all slots.
+     *
+     * @return the number of slots
+     *
+     * @see #isUsed(int)
+     */
+    @Nonnegative
+    int capacity() {
+        return keys.length;
+    }
+
+    /**
+     * Returns the slot of the given key.
+     *
+     * @param key    the first part of the key
+     * @param subKey the second part of the key
+     *
+     * @return the slot, or {@link #NO_SLOT} if the key is not in this table
+     */
+    int find(long key, int subKey) {
+        int mask = keys.length - 1;
+
+        for (int slot = slotOf(key, subKey, mask); used[slot]; slot = (slot + 1) & mask) {
+            if (keys[slot] == key && subKeys[slot] == subKey) {
+                return slot;
+            }
+        }
+
+        return NO_SLOT;
+    }
+
+    /**
+     * Returns the slot of the given key, after creating it if it is not in this table.
+     * <p>
+     * The slot of existing entries can change when an entry is inserted.
+     *
+     * @param key    the first part of the key
+     * @param subKey the second part of the key
+     *
+     * @return the slot
+     */
+    int insert(long key, int subKey) {
+        if (size + 1 > keys.length * LOAD_FACTOR) {
+            grow();
+        }
+
+        int mask = keys.length - 1;
+
+        int slot = slotOf(key, subKey, mask);
+        for (; used[slot]; slot = (slot + 1) & mask) {
+            if (keys[slot] == key && subKeys[slot] == subKey) {
+                return slot;
+            }
+        }
+
+        used[slot] = true;
+        keys[slot] = key;
+        subKeys[slot] = subKey;
+        size++;
+
+        return slot;
+    }
+
+    /**
+     * Removes the entry at the given slot.
+     * <p>
+     * The slot of existing entries can change when an entry is removed.
+     *
+     * @param slot the slot to remove
+     */
+    void removeAt(int slot) {
+        int mask = keys.length - 1;
+
+        // Shift back the following entries of the same cluster, to keep the probing sequences valid
+        int free = slot;
+        for (int next = (free + 1) & mask; used[next]; next = (next + 1) & mask) {
+            int preferred = slotOf(keys[next], subKeys[next], mask);
+
+            boolean canMove = free <= next
+                    ? preferred <= free || preferred > next
+                    : preferred <= free && preferred > next;
+
+            if (canMove) {
+                move(next, free);
+                free = next;
+            }
+        }
+
+        clear(free);
+        size--;
+    }
+
+    /**
+     * Removes all entries.
+     */
+    void clear() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Returns whether the given slot is used.
+     *
+     * @param slot the slot
+     *
+     * @return {@code true} if the slot is used
+     */
+    boolean isUsed(int slot) {
+        return used[slot];
+    }
+
+    /**
+     * Returns the first part of the key at the given slot.
+     *
+     * @param slot the slot
+     *
+     * @return the first part of the key
+     */
+    long keyAt(int slot) {
+        return keys[slot];
+    }
+
+    /**
+     * Returns the second part of the key at the given slot.
+     *
+     * @param slot the slot
+     *
+     * @return the second part of the key
+     */
+    int subKeyAt(int slot) {
+        return subKeys[slot];
+    }
+
+    /**
+     * Returns the {@code long} value at the given slot.
+     *
+     * @param slot the slot
+     *
+     * @return the value
+     */
+    long longAt(int slot) {
+        return longValues[slot];
+    }
+
+    /**
+     * Defines the {@code long} value at the given slot.
+     *
+     * @param slot  the slot
+     * @param value the value
+     */
+    void longAt(int slot, long value) {
+        longValues[slot] = value;
+    }
+
+    /**
+     * Returns the {@code int} value at the given slot.
+     *
+     * @param slot the slot
+     *
+     * @return the value
+     */
+    int intAt(int slot) {
+        return intValues[slot];
+    }
+
+    /**
+     * Defines the {@code int} value at the given slot.
+     *
+     * @param slot  the slot
+     * @param value the value
+     */
+    void intAt(int slot, int value) {
+        intValues[slot] = value;
+    }
+
+    /**
+     * Returns the {@link Object} value at the given slot.
+     *
+     * @param slot the slot
+     *
+     * @return the value
+     */
+    @Nullable
+    Object objectAt(int slot) {
+        return objectValues[slot];
+    }
+
+    /**
+     * Defines the {@link Object} value at the given slot.
+     *
+     * @param slot  the slot
+     * @param value the value
+     */
+    void objectAt(int slot, @Nullable Object value) {
+        objectValues[slot] = value;
+    }
+
+    /**
+     * Allocates empty arrays of the given capacity.
+     *
+     * @param capacity the number of slots, as a power of two
+     */
+    private void allocate(@Nonnegative int capacity) {
+        keys = new long[capacity];
+        subKeys = new int[capacity];
+        used = new boolean[capacity];
+        longValues = hasLongValues ? new long[capacity] : null;
+        intValues = hasIntValues ? new int[capacity] : null;
+        objectValues = hasObjectValues ? new Object[capacity] : null;
+        size = 0;
+    }
+
+    /**
+     * Doubles the number of slots, and re-inserts all entries.
+     */
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldSubKeys = subKeys;
+        boolean[] oldUsed = used;
+        long[] oldLongValues = longValues;
+        int[] oldIntValues = intValues;
+        Object[] oldObjectValues = objectValues;
+
+        allocate(oldKeys.length << 1);
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                int slot = insert(oldKeys[i], oldSubKeys[i]);
+
+                if (hasLongValues) {
+                    longValues[slot] = oldLongValues[i];
+                }
+                if (hasIntValues) {
+                    intValues[slot] = oldIntValues[i];
+                }
+                if (hasObjectValues) {
+                    objectValues[slot] = oldObjectValues[i];
+                }
+            }
+        }
+    }
+
+    /**
+     * Moves the entry from a slot to another.
+     *
+     * @param from the slot to move
+     * @param to   the destination slot
+     */
+    private void move(int from, int to) {
+        keys[to] = keys[from];
+        subKeys[to] = subKeys[from];
+        used[to] = true;
+
+        if (hasLongValues) {
+            longValues[to] = longValues[from];
+        }
+        if (hasIntValues) {
+            intValues[to] = intValues[from];
+        }
+        if (hasObjectValues) {
+            objectValues[to] = objectValues[from];
+        }
+    }
+
+    /**
+     * Clears the entry at the given slot.
+     *
+     * @param slot the slot to clear
+     */
+    private void clear(int slot) {
+        used[slot] = false;
+
+        if (hasObjectValues) {
+            // Release the reference
+            objectValues[slot] = null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PrimitiveTable {size=%d, capacity=%d}", size, keys.length);
+    }
+}
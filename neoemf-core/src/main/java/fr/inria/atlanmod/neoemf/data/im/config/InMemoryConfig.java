@@ -18,6 +18,7 @@ import org.osgi.service.component.annotations.ServiceScope;
 
 import java.nio.file.Path;
 
+import javax.annotation.Nonnull;
 import javax.annotation.ParametersAreNonnullByDefault;
 
 /**
@@ -31,6 +32,18 @@ import javax.annotation.ParametersAreNonnullByDefault;
 @ParametersAreNonnullByDefault
 public class InMemoryConfig extends BaseConfig<InMemoryConfig> {
 
+    /**
+     * The prefix of all in-memory options.
+     */
+    static final String IM_PREFIX = "im";
+
+    /**
+     * The key that defines whether the created back-end uses primitive tables.
+     *
+     * @see #withPrimitiveTables()
+     */
+    public static final String IM_PRIMITIVE = createKey(IM_PREFIX, "primitive");
+
     /**
      * Constructs a new {@code InMemoryConfig} with default settings.
      */
@@ -38,6 +51,21 @@ public class InMemoryConfig extends BaseConfig<InMemoryConfig> {
         // Don't set a default mapping for a multi-mapping configuration.
     }
 
+    /**
+     * Defines that the created {@link fr.inria.atlanmod.neoemf.data.im.InMemoryBackend} stores its elements in primitive
+     * open-addressing tables, identified by the primitive value of the {@link fr.inria.atlanmod.neoemf.core.Id}s,
+     * instead of serialized maps.
+     *
+     * @return this configuration (for chaining)
+     *
+     * @see fr.inria.atlanmod.neoemf.data.im.PrimitiveInMemoryBackend
+     */
+    @Nonnull
+    public InMemoryConfig withPrimitiveTables() {
+        // Stored as a string to be comparable with the value loaded from a configuration file
+        return addOption(IM_PRIMITIVE, Boolean.toString(true));
+    }
+
     @Override
     public void save(Path directory) {
         throw new UnsupportedOperationException("An in-memory backend cannot be stored locally");
@@ -174,6 +174,20 @@ public abstract class AbstractMapperDecorator<M extends DataMapper> extends Abst
         return next.allValuesOf(feature);
     }
 
+    @Nonnull
+    @Override
+    @OverridingMethodsMustInvokeSuper
+    public <V> Optional<Integer> indexOfValue(SingleFeatureBean feature, V value) {
+        return next.indexOfValue(feature, value);
+    }
+
+    @Nonnull
+    @Override
+    @OverridingMethodsMustInvokeSuper
+    public <V> Optional<Integer> lastIndexOfValue(SingleFeatureBean feature, V value) {
+        return next.lastIndexOfValue(feature, value);
+    }
+
     @Nonnull
     @Override
     @OverridingMethodsMustInvokeSuper
@@ -241,6 +255,20 @@ public abstract class AbstractMapperDecorator<M extends DataMapper> extends Abst
         return next.allReferencesOf(feature);
     }
 
+    @Nonnull
+    @Override
+    @OverridingMethodsMustInvokeSuper
+    public Optional<Integer> indexOfReference(SingleFeatureBean feature, Id reference) {
+        return next.indexOfReference(feature, reference);
+    }
+
+    @Nonnull
+    @Override
+    @OverridingMethodsMustInvokeSuper
+    public Optional<Integer> lastIndexOfReference(SingleFeatureBean feature, Id reference) {
+        return next.lastIndexOfReference(feature, reference);
+    }
+
     @Nonnull
     @Override
     @OverridingMethodsMustInvokeSuper
@@ -8,6 +8,7 @@
 
 package fr.inria.atlanmod.neoemf.data.mapping;
 
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Arrays;
@@ -101,7 +102,8 @@ public abstract class AbstractMapperFactory {
     }
 
     /**
-     * Checks that the {@code constructor} declares the given {@code parameterTypes} in the same order.
+     * Checks that the {@code constructor} declares the given {@code parameterTypes} in the same order. Primitive
+     * parameters are compared with their wrapper type.
      *
      * @param constructor    the constructor to check
      * @param parameterTypes the expected parameter types of the constructor
@@ -110,7 +112,19 @@ public abstract class AbstractMapperFactory {
      */
     private boolean checkConstructor(Constructor<?> constructor, Class<?>... parameterTypes) {
         Class<?>[] realParameterTypes = constructor.getParameterTypes();
-        return IntStream.range(0, parameterTypes.length).allMatch(i -> realParameterTypes[i].isAssignableFrom(parameterTypes[i]));
+        return IntStream.range(0, parameterTypes.length).allMatch(i -> wrap(realParameterTypes[i]).isAssignableFrom(parameterTypes[i]));
+    }
+
+    /**
+     * Returns the wrapper type of the {@code type} if it is primitive.
+     *
+     * @param type the type to wrap
+     *
+     * @return the wrapper type, or the {@code type} itself if it is not primitive
+     */
+    @Nonnull
+    private Class<?> wrap(Class<?> type) {
+        return type.isPrimitive() ? MethodType.methodType(type).wrap().returnType() : type;
     }
 
     /**
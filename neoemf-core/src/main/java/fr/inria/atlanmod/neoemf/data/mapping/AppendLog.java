@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.mapping;
+
+import fr.inria.atlanmod.commons.Throwables;
+import fr.inria.atlanmod.commons.annotation.Static;
+import fr.inria.atlanmod.commons.function.Converter;
+import fr.inria.atlanmod.neoemf.core.Id;
+import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Static utility methods to manage the elements appended to a multi-valued feature that is stored as a single value,
+ * as used by {@link ManyValueWithArrays} and {@link ManyReferenceMergedAs}.
+ * <p>
+ * Instead of rewriting the whole value on each append, appended elements are first written in a small tail, stored as
+ * the value of a dedicated {@link SingleFeatureBean} (see {@link #tailOf(SingleFeatureBean)}). A tail is an {@code
+ * Object[]} where the first element is the size of the base value when the tail was created, followed by the appended
+ * elements: values are stored as is, and references as the {@code long} value of their identifier.
+ * <p>
+ * A tail is merged into the base value when it is {@link #isFull(Object[]) full}, or before any other modification of
+ * the feature. Its capacity grows with the square root of the base value, so appending {@code n} elements rewrites
+ * {@code O(n*sqrt(n))} elements instead of {@code O(n^2)}: an append costs {@code O(sqrt(n))} amortized, and not
+ * {@code O(1)}. Since each write of a value rewrites it entirely, a constant cost would require to split the appended
+ * elements in several records, as {@link ManyValueWithChunks} does. The tail is itself a second record of the feature,
+ * that back-ends store next to the base value.
+ */
+@Static
+@ParametersAreNonnullByDefault
+final class AppendLog {
+
+    /**
+     * The minimum number of elements in a tail before merging it.
+     */
+    @Nonnegative
+    private static final int MIN_CAPACITY = 16;
+
+    private AppendLog() {
+        throw Throwables.notInstantiableClass(getClass());
+    }
+
+    /**
+     * Returns the bean identifying the tail of the given {@code feature}.
+     * <p>
+     * The tail is identified by a negative identifier, that cannot be used by any {@link
+     * org.eclipse.emf.ecore.EStructuralFeature}.
+     *
+     * @param feature the bean identifying the multi-valued feature
+     *
+     * @return the bean identifying the tail
+     */
+    @Nonnull
+    static SingleFeatureBean tailOf(SingleFeatureBean feature) {
+        return SingleFeatureBean.of(feature.owner(), -1 - feature.id());
+    }
+
+    /**
+     * Creates a new tail with the given {@code elements}, following a base value of the given size.
+     *
+     * @param baseSize the size of the base value
+     * @param elements the elements to append
+     *
+     * @return a new tail
+     */
+    @Nonnull
+    static Object[] newTail(@Nonnegative int baseSize, List<?> elements) {
+        return append(new Object[]{baseSize}, elements);
+    }
+
+    /**
+     * Appends the given {@code elements} to the {@code tail}.
+     *
+     * @param tail     the tail
+     * @param elements the elements to append
+     *
+     * @return a new tail
+     */
+    @Nonnull
+    static Object[] append(Object[] tail, List<?> elements) {
+        Object[] newTail = Arrays.copyOf(tail, tail.length + elements.size());
+
+        for (int i = 0; i < elements.size(); i++) {
+            newTail[tail.length + i] = elements.get(i);
+        }
+
+        return newTail;
+    }
+
+    /**
+     * Returns the size of the base value when the {@code tail} was created.
+     *
+     * @param tail the tail
+     *
+     * @return the size of the base value
+     */
+    @Nonnegative
+    static int baseSizeOf(Object[] tail) {
+        return (Integer) tail[0];
+    }
+
+    /**
+     * Returns the size of the multi-valued feature, including the base value and the {@code tail}.
+     *
+     * @param tail the tail
+     *
+     * @return the size of the multi-valued feature
+     */
+    @Nonnegative
+    static int sizeOf(Object[] tail) {
+        return baseSizeOf(tail) + tail.length - 1;
+    }
+
+    /**
+     * Returns the element of the {@code tail} at the given {@code position} of the multi-valued feature.
+     *
+     * @param tail     the tail
+     * @param position the position in the multi-valued feature
+     *
+     * @return the element, or {@code null} if the position is not in the {@code tail}
+     */
+    @Nullable
+    static Object elementAt(Object[] tail, @Nonnegative int position) {
+        int tailPosition = position - baseSizeOf(tail) + 1;
+
+        return tailPosition > 0 && tailPosition < tail.length ? tail[tailPosition] : null;
+    }
+
+    /**
+     * Returns all the elements of the {@code tail}, in their mapped form.
+     *
+     * @param tail the tail
+     *
+     * @return a stream of the elements
+     */
+    @Nonnull
+    static Stream<Object> elementsOf(Object[] tail) {
+        return Arrays.stream(tail, 1, tail.length);
+    }
+
+    /**
+     * Returns whether the {@code tail} must be merged into the base value.
+     *
+     * @param tail the tail
+     *
+     * @return {@code true} if the {@code tail} must be merged
+     */
+    static boolean isFull(Object[] tail) {
+        return tail.length - 1 >= Math.max(MIN_CAPACITY, (int) Math.sqrt(baseSizeOf(tail)));
+    }
+
+    /**
+     * Returns the {@code base} array followed by the elements of the {@code tail}.
+     *
+     * @param base the base value
+     * @param tail the tail
+     * @param <V>  the type of elements
+     *
+     * @return a new array
+     */
+    @Nonnull
+    static <V> V[] mergeArray(V[] base, Object[] tail) {
+        V[] values = Arrays.copyOf(base, base.length + tail.length - 1);
+        System.arraycopy(tail, 1, values, base.length, tail.length - 1);
+        return values;
+    }
+
+    /**
+     * Merges the tail of the {@code feature} into its base value, stored as an array, and removes the tail.
+     *
+     * @param mapper  the mapper where the {@code feature} is stored
+     * @param feature the bean identifying the multi-valued feature
+     */
+    static void compactArray(ValueMapper mapper, SingleFeatureBean feature) {
+        Optional<Object[]> tail = mapper.valueOf(tailOf(feature));
+
+        if (tail.isPresent()) {
+            Object[] base = mapper.<Object[]>valueOf(feature).orElseGet(() -> new Object[0]);
+
+            mapper.valueFor(feature, mergeArray(base, tail.get()));
+            mapper.removeValue(tailOf(feature));
+        }
+    }
+
+    /**
+     * Returns the given {@code references} in the form they are stored in a tail.
+     *
+     * @param references the references to append
+     *
+     * @return a list of the {@code long} value of each reference
+     */
+    @Nonnull
+    static List<Long> toElements(List<Id> references) {
+        List<Long> elements = new ArrayList<>(references.size());
+        for (Id reference : references) {
+            elements.add(reference.toLong());
+        }
+        return elements;
+    }
+
+    /**
+     * Returns the reference stored as the given {@code element} of a tail.
+     *
+     * @param element the element of the tail
+     *
+     * @return the reference
+     */
+    @Nonnull
+    static Id toReference(Object element) {
+        return Id.getProvider().fromLong((Long) element);
+    }
+
+    /**
+     * Returns the {@code base} list followed by the references of the {@code tail}.
+     *
+     * @param base the base value
+     * @param tail the tail, where each element is a reference stored as a {@code long}
+     *
+     * @return a new list
+     */
+    @Nonnull
+    static List<Id> mergeList(List<Id> base, Object[] tail) {
+        List<Id> ids = new ArrayList<>(base.size() + tail.length - 1);
+        ids.addAll(base);
+        for (int i = 1; i < tail.length; i++) {
+            ids.add(toReference(tail[i]));
+        }
+        return ids;
+    }
+
+    /**
+     * Merges the tail of the {@code feature} into its base value, stored as a list of references converted with the
+     * {@code converter}, and removes the tail.
+     *
+     * @param mapper    the mapper where the {@code feature} is stored
+     * @param feature   the bean identifying the multi-valued reference
+     * @param converter the converter used to map references
+     * @param <M>       the type of the references after mapping
+     */
+    static <M> void compactList(ValueMapper mapper, SingleFeatureBean feature, Converter<List<Id>, M> converter) {
+        Optional<Object[]> tail = mapper.valueOf(tailOf(feature));
+
+        if (tail.isPresent()) {
+            List<Id> base = mapper.<M>valueOf(feature).map(converter::revert).orElseGet(ArrayList::new);
+
+            mapper.valueFor(feature, converter.convert(mergeList(base, tail.get())));
+            mapper.removeValue(tailOf(feature));
+        }
+    }
+}
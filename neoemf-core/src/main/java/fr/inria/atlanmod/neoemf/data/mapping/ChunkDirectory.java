@@ -0,0 +1,279 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.mapping;
+
+import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
+
+import java.util.Arrays;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkArgument;
+import static java.util.Objects.isNull;
+
+/**
+ * The directory of a multi-valued feature stored by chunks, as used by {@link ManyValueWithChunks}.
+ * <p>
+ * A directory is an ordered list of chunks, each of them being identified by a stable identifier and having a size.
+ * It is persisted as a single {@code int[]}, alternating the identifier and the size of each chunk.
+ * <p>
+ * The position of the first value of each chunk is computed once, and kept until the directory is modified: the total
+ * size is then returned in constant time, and a position is located with a binary search.
+ */
+@ParametersAreNonnullByDefault
+final class ChunkDirectory {
+
+    /**
+     * The identifiers of the chunks, in order.
+     */
+    @Nonnull
+    private int[] ids;
+
+    /**
+     * The size of each chunk, in the same order as {@link #ids}.
+     */
+    @Nonnull
+    private int[] sizes;
+
+    /**
+     * The number of chunks.
+     */
+    @Nonnegative
+    private int count;
+
+    /**
+     * The position of the first value of each chunk, followed by the total size, or {@code null} if they must be
+     * computed.
+     */
+    @Nullable
+    private int[] offsets;
+
+    /**
+     * Constructs a new empty {@code ChunkDirectory}.
+     */
+    ChunkDirectory() {
+        this(new int[0]);
+    }
+
+    /**
+     * Constructs a new {@code ChunkDirectory} from its persisted form.
+     *
+     * @param encoded the persisted form of the directory
+     *
+     * @see #encode()
+     */
+    ChunkDirectory(int[] encoded) {
+        checkArgument(encoded.length % 2 == 0, "Malformed chunk directory");
+
+        this.count = encoded.length / 2;
+        this.ids = new int[Math.max(count, 1)];
+        this.sizes = new int[Math.max(count, 1)];
+
+        for (int i = 0; i < count; i++) {
+            ids[i] = encoded[i * 2];
+            sizes[i] = encoded[i * 2 + 1];
+        }
+    }
+
+    /**
+     * Reads the directory of the given {@code feature}.
+     *
+     * @param mapper  the mapper where to read the directory
+     * @param feature the bean identifying the multi-valued feature
+     *
+     * @return the directory, or an empty directory if the {@code feature} has no value
+     */
+    @Nonnull
+    static ChunkDirectory of(ValueMapper mapper, SingleFeatureBean feature) {
+        return new ChunkDirectory(mapper.<int[]>valueOf(feature).orElseGet(() -> new int[0]));
+    }
+
+    /**
+     * Writes this directory as the value of the given {@code feature}, or removes it if it has no chunk.
+     *
+     * @param mapper  the mapper where to write the directory
+     * @param feature the bean identifying the multi-valued feature
+     */
+    void write(ValueMapper mapper, SingleFeatureBean feature) {
+        if (count > 0) {
+            mapper.valueFor(feature, encode());
+        }
+        else {
+            mapper.removeValue(feature);
+        }
+    }
+
+    /**
+     * Returns the persisted form of this directory.
+     *
+     * @return an {@code int[]}, alternating the identifier and the size of each chunk
+     */
+    @Nonnull
+    int[] encode() {
+        int[] encoded = new int[count * 2];
+
+        for (int i = 0; i < count; i++) {
+            encoded[i * 2] = ids[i];
+            encoded[i * 2 + 1] = sizes[i];
+        }
+
+        return encoded;
+    }
+
+    /**
+     * Returns the number of chunks.
+     *
+     * @return the number of chunks
+     */
+    @Nonnegative
+    int count() {
+        return count;
+    }
+
+    /**
+     * Returns the total number of values in all chunks.
+     *
+     * @return the number of values
+     */
+    @Nonnegative
+    int totalSize() {
+        return offsets()[count];
+    }
+
+    /**
+     * Returns the identifier of the chunk at the given {@code index}.
+     *
+     * @param index the index of the chunk in this directory
+     *
+     * @return the identifier of the chunk
+     */
+    int idAt(@Nonnegative int index) {
+        return ids[index];
+    }
+
+    /**
+     * Returns the size of the chunk at the given {@code index}.
+     *
+     * @param index the index of the chunk in this directory
+     *
+     * @return the size of the chunk
+     */
+    @Nonnegative
+    int sizeAt(@Nonnegative int index) {
+        return sizes[index];
+    }
+
+    /**
+     * Defines the size of the chunk at the given {@code index}.
+     *
+     * @param index the index of the chunk in this directory
+     * @param size  the new size of the chunk
+     */
+    void sizeAt(@Nonnegative int index, @Nonnegative int size) {
+        sizes[index] = size;
+        offsets = null;
+    }
+
+    /**
+     * Returns the index of the chunk that contains the value at the given {@code position}, and the offset of this value
+     * in the chunk.
+     * <p>
+     * If {@code position} is equal to the {@link #totalSize() total size}, the last chunk is returned, with an offset
+     * equal to its size.
+     *
+     * @param position the position of the value in the multi-valued feature
+     *
+     * @return an array containing the index of the chunk, and the offset in this chunk
+     */
+    @Nonnull
+    int[] locate(@Nonnegative int position) {
+        final int[] starts = offsets();
+
+        if (count == 0 || position < 0 || position > starts[count]) {
+            throw new IndexOutOfBoundsException(String.format("position (%d) must be lower than the size (%d)", position, starts[count]));
+        }
+
+        if (position == starts[count]) {
+            return new int[]{count - 1, sizes[count - 1]};
+        }
+
+        // The last chunk starting at or before the position, skipping the empty chunks starting at the same position
+        int index = Arrays.binarySearch(starts, 0, count, position);
+        if (index < 0) {
+            index = -index - 2;
+        }
+        while (sizes[index] == 0) {
+            index++;
+        }
+
+        return new int[]{index, position - starts[index]};
+    }
+
+    /**
+     * Creates a new chunk of the given {@code size}, and inserts it at the given {@code index}.
+     *
+     * @param index the index of the chunk in this directory
+     * @param size  the size of the chunk
+     *
+     * @return the identifier of the new chunk
+     */
+    int insert(@Nonnegative int index, @Nonnegative int size) {
+        int id = 0;
+        for (int i = 0; i < count; i++) {
+            id = Math.max(id, ids[i] + 1);
+        }
+
+        if (count == ids.length) {
+            ids = Arrays.copyOf(ids, count * 2);
+            sizes = Arrays.copyOf(sizes, count * 2);
+        }
+
+        System.arraycopy(ids, index, ids, index + 1, count - index);
+        System.arraycopy(sizes, index, sizes, index + 1, count - index);
+
+        ids[index] = id;
+        sizes[index] = size;
+        count++;
+        offsets = null;
+
+        return id;
+    }
+
+    /**
+     * Removes the chunk at the given {@code index}.
+     *
+     * @param index the index of the chunk in this directory
+     */
+    void remove(@Nonnegative int index) {
+        System.arraycopy(ids, index + 1, ids, index, count - index - 1);
+        System.arraycopy(sizes, index + 1, sizes, index, count - index - 1);
+        count--;
+        offsets = null;
+    }
+
+    /**
+     * Returns the position of the first value of each chunk, followed by the total size, computing them if needed.
+     *
+     * @return an array of {@code count + 1} positions
+     */
+    @Nonnull
+    private int[] offsets() {
+        if (isNull(offsets)) {
+            int[] starts = new int[count + 1];
+            for (int i = 0; i < count; i++) {
+                starts[i + 1] = starts[i] + sizes[i];
+            }
+            offsets = starts;
+        }
+        return offsets;
+    }
+}
@@ -85,6 +85,13 @@ public interface ManyReferenceAs<M> extends ManyValueMapper, ManyReferenceMapper
         return this.appendAllValues(feature, collection.stream().map(converter::convert).collect(Collectors.toList()));
     }
 
+    @Override
+    default void allReferencesFor(SingleFeatureBean feature, List<Id> collection) {
+        Converter<Id, M> converter = manyReferenceConverter();
+
+        this.allValuesFor(feature, collection.stream().map(converter::convert).collect(Collectors.toList()));
+    }
+
     @Nonnull
     @Override
     default Optional<Id> removeReference(ManyFeatureBean feature) {
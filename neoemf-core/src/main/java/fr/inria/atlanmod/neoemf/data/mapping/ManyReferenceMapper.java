@@ -8,6 +8,7 @@
 
 package fr.inria.atlanmod.neoemf.data.mapping;
 
+import fr.inria.atlanmod.commons.collect.MoreStreams;
 import fr.inria.atlanmod.neoemf.core.Id;
 import fr.inria.atlanmod.neoemf.data.bean.ManyFeatureBean;
 import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
@@ -54,6 +55,48 @@ public interface ManyReferenceMapper extends ReferenceMapper {
     @Nonnull
     Stream<Id> allReferencesOf(SingleFeatureBean feature);
 
+    /**
+     * Returns the position of the first occurrence of the {@code reference} in the specified {@code feature}.
+     * <p>
+     * By default, this method looks for the {@code reference} in {@link #allReferencesOf(SingleFeatureBean)}.
+     *
+     * @param feature   the bean identifying the multi-valued reference
+     * @param reference the reference to look for
+     *
+     * @return an {@link Optional} containing the position of the {@code reference}, or {@link Optional#empty()} if the
+     * {@code feature} does not contain the {@code reference}
+     *
+     * @throws NullPointerException if any parameter is {@code null}
+     */
+    @Nonnull
+    default Optional<Integer> indexOfReference(SingleFeatureBean feature, Id reference) {
+        checkNotNull(feature, "feature");
+        checkNotNull(reference, "reference");
+
+        return MoreStreams.indexOf(allReferencesOf(feature), reference);
+    }
+
+    /**
+     * Returns the position of the last occurrence of the {@code reference} in the specified {@code feature}.
+     * <p>
+     * By default, this method looks for the {@code reference} in {@link #allReferencesOf(SingleFeatureBean)}.
+     *
+     * @param feature   the bean identifying the multi-valued reference
+     * @param reference the reference to look for
+     *
+     * @return an {@link Optional} containing the position of the {@code reference}, or {@link Optional#empty()} if the
+     * {@code feature} does not contain the {@code reference}
+     *
+     * @throws NullPointerException if any parameter is {@code null}
+     */
+    @Nonnull
+    default Optional<Integer> lastIndexOfReference(SingleFeatureBean feature, Id reference) {
+        checkNotNull(feature, "feature");
+        checkNotNull(reference, "reference");
+
+        return MoreStreams.lastIndexOf(allReferencesOf(feature), reference);
+    }
+
     /**
      * Defines the {@code reference} of the specified {@code feature} at a defined position.
      *
@@ -141,6 +184,22 @@ public interface ManyReferenceMapper extends ReferenceMapper {
         return firstPosition;
     }
 
+    /**
+     * Defines all the references of the specified {@code feature}, that has no reference yet.
+     * <p>
+     * Unlike {@link #appendAllReferences(SingleFeatureBean, List)}, this method does not read the current size of the
+     * {@code feature}. By default, this method calls {@link #appendAllReferences(SingleFeatureBean, List)}.
+     *
+     * @param feature    the bean identifying the multi-valued reference
+     * @param collection the references to define
+     *
+     * @throws NullPointerException if any parameter is {@code null}
+     * @see #appendAllReferences(SingleFeatureBean, List)
+     */
+    default void allReferencesFor(SingleFeatureBean feature, List<Id> collection) {
+        appendAllReferences(feature, collection);
+    }
+
     /**
      * Removes the reference of the specified {@code feature} at a defined position.
      *
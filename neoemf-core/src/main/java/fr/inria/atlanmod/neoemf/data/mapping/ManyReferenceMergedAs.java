@@ -14,6 +14,7 @@ import fr.inria.atlanmod.neoemf.data.bean.ManyFeatureBean;
 import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
@@ -27,12 +28,15 @@ import static fr.inria.atlanmod.commons.Preconditions.checkNotContainsNull;
 import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
 import static fr.inria.atlanmod.commons.Preconditions.checkPositionIndex;
 import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 
 /**
  * A {@link ManyReferenceMapper} that provides a default behavior to use {@code M} instead of a set of {@link Id} for
  * multi-valued references.
  * <p>
- * This mapper merges the multi-valued references into a single value.
+ * This mapper merges the multi-valued references into a single value. Appended references are first stored in a small
+ * tail, merged into the single value when it is full or before any other modification, to avoid rewriting all the
+ * references on each append.
  *
  * @param <M> the type of the multi-valued reference after mapping
  */
@@ -44,10 +48,18 @@ public interface ManyReferenceMergedAs<M> extends ValueMapper, ManyReferenceMapp
     default Optional<Id> referenceOf(ManyFeatureBean feature) {
         Converter<List<Id>, M> converter = manyReferenceMerger();
 
-        return this.<M>valueOf(feature.withoutPosition())
+        Optional<Id> reference = this.<M>valueOf(feature.withoutPosition())
                 .map(converter::revert)
                 .filter(ids -> feature.position() < ids.size())
                 .map(ids -> ids.get(feature.position()));
+
+        if (!reference.isPresent()) {
+            reference = this.<Object[]>valueOf(AppendLog.tailOf(feature.withoutPosition()))
+                    .map(tail -> AppendLog.elementAt(tail, feature.position()))
+                    .map(AppendLog::toReference);
+        }
+
+        return reference;
     }
 
     @Nonnull
@@ -55,8 +67,16 @@ public interface ManyReferenceMergedAs<M> extends ValueMapper, ManyReferenceMapp
     default Stream<Id> allReferencesOf(SingleFeatureBean feature) {
         Converter<List<Id>, M> converter = manyReferenceMerger();
 
-        return this.<M>valueOf(feature)
-                .map(converter::revert)
+        Optional<List<Id>> ids = this.<M>valueOf(feature)
+                .map(converter::revert);
+
+        Optional<Object[]> tail = this.<Object[]>valueOf(AppendLog.tailOf(feature));
+
+        if (tail.isPresent()) {
+            ids = Optional.of(AppendLog.mergeList(ids.orElseGet(ArrayList::new), tail.get()));
+        }
+
+        return ids
                 .map(List::stream)
                 .orElseGet(Stream::empty);
     }
@@ -69,6 +89,8 @@ public interface ManyReferenceMergedAs<M> extends ValueMapper, ManyReferenceMapp
 
         Converter<List<Id>, M> converter = manyReferenceMerger();
 
+        AppendLog.compactList(this, feature.withoutPosition(), converter);
+
         List<Id> ids = this.<M>valueOf(feature.withoutPosition())
                 .map(converter::revert)
                 .<NoSuchElementException>orElseThrow(NoSuchElementException::new);
@@ -91,8 +113,15 @@ public interface ManyReferenceMergedAs<M> extends ValueMapper, ManyReferenceMapp
         checkNotNull(feature, "feature");
         checkNotNull(reference, "reference");
 
+        if (feature.position() == sizeOfReference(feature.withoutPosition()).orElse(0)) {
+            appendReference(feature.withoutPosition(), reference);
+            return;
+        }
+
         Converter<List<Id>, M> converter = manyReferenceMerger();
 
+        AppendLog.compactList(this, feature.withoutPosition(), converter);
+
         List<Id> ids = this.<M>valueOf(feature.withoutPosition())
                 .map(converter::revert)
                 .orElseGet(ArrayList::new);
@@ -114,8 +143,15 @@ public interface ManyReferenceMergedAs<M> extends ValueMapper, ManyReferenceMapp
             return;
         }
 
+        if (feature.position() == sizeOfReference(feature.withoutPosition()).orElse(0)) {
+            appendAllReferences(feature.withoutPosition(), collection);
+            return;
+        }
+
         Converter<List<Id>, M> converter = manyReferenceMerger();
 
+        AppendLog.compactList(this, feature.withoutPosition(), converter);
+
         List<Id> ids = this.<M>valueOf(feature.withoutPosition())
                 .map(converter::revert)
                 .orElseGet(ArrayList::new);
@@ -135,6 +171,8 @@ public interface ManyReferenceMergedAs<M> extends ValueMapper, ManyReferenceMapp
 
         Converter<List<Id>, M> converter = manyReferenceMerger();
 
+        AppendLog.compactList(this, feature.withoutPosition(), converter);
+
         List<Id> ids = this.<M>valueOf(feature.withoutPosition())
                 .map(converter::revert)
                 .orElse(null);
@@ -159,8 +197,73 @@ public interface ManyReferenceMergedAs<M> extends ValueMapper, ManyReferenceMapp
         return previousId;
     }
 
+    @Override
+    default int appendReference(SingleFeatureBean feature, Id reference) {
+        checkNotNull(reference, "reference");
+
+        return appendAllReferences(feature, Collections.singletonList(reference));
+    }
+
+    @Override
+    default int appendAllReferences(SingleFeatureBean feature, List<Id> collection) {
+        checkNotNull(feature, "feature");
+        checkNotNull(collection, "collection");
+        checkNotContainsNull(collection, "collection");
+
+        Converter<List<Id>, M> converter = manyReferenceMerger();
+
+        SingleFeatureBean tailFeature = AppendLog.tailOf(feature);
+
+        Object[] tail = this.<Object[]>valueOf(tailFeature)
+                .orElse(null);
+
+        int firstPosition = nonNull(tail)
+                ? AppendLog.sizeOf(tail)
+                : sizeOfReference(feature).orElse(0);
+
+        if (collection.isEmpty()) {
+            return firstPosition;
+        }
+
+        List<Long> references = AppendLog.toElements(collection);
+
+        tail = nonNull(tail)
+                ? AppendLog.append(tail, references)
+                : AppendLog.newTail(firstPosition, references);
+
+        if (AppendLog.isFull(tail)) {
+            List<Id> ids = this.<M>valueOf(feature)
+                    .map(converter::revert)
+                    .orElseGet(ArrayList::new);
+
+            valueFor(feature, converter.convert(AppendLog.mergeList(ids, tail)));
+            removeValue(tailFeature);
+        }
+        else {
+            valueFor(tailFeature, tail);
+        }
+
+        return firstPosition;
+    }
+
+    @Override
+    default void allReferencesFor(SingleFeatureBean feature, List<Id> collection) {
+        checkNotNull(feature, "feature");
+        checkNotNull(collection, "collection");
+        checkNotContainsNull(collection, "collection");
+
+        if (collection.isEmpty()) {
+            return;
+        }
+
+        Converter<List<Id>, M> converter = manyReferenceMerger();
+
+        valueFor(feature, converter.convert(collection));
+    }
+
     @Override
     default void removeAllReferences(SingleFeatureBean feature) {
+        removeValue(AppendLog.tailOf(feature));
         removeReference(feature);
     }
 
@@ -170,10 +273,16 @@ public interface ManyReferenceMergedAs<M> extends ValueMapper, ManyReferenceMapp
     default Optional<Integer> sizeOfReference(SingleFeatureBean feature) {
         Converter<List<Id>, M> converter = manyReferenceMerger();
 
-        return this.<M>valueOf(feature)
-                .map(converter::revert)
-                .map(List::size)
-                .filter(s -> s != 0);
+        Optional<Integer> size = this.<Object[]>valueOf(AppendLog.tailOf(feature))
+                .map(AppendLog::sizeOf);
+
+        if (!size.isPresent()) {
+            size = this.<M>valueOf(feature)
+                    .map(converter::revert)
+                    .map(List::size);
+        }
+
+        return size.filter(s -> s != 0);
     }
 
     /**
@@ -8,6 +8,7 @@
 
 package fr.inria.atlanmod.neoemf.data.mapping;
 
+import fr.inria.atlanmod.commons.collect.MoreStreams;
 import fr.inria.atlanmod.neoemf.data.bean.ManyFeatureBean;
 import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
 
@@ -53,6 +54,50 @@ public interface ManyValueMapper extends ValueMapper {
     @Nonnull
     <V> Stream<V> allValuesOf(SingleFeatureBean feature);
 
+    /**
+     * Returns the position of the first occurrence of the {@code value} in the specified {@code feature}.
+     * <p>
+     * By default, this method looks for the {@code value} in {@link #allValuesOf(SingleFeatureBean)}.
+     *
+     * @param feature the bean identifying the multi-valued attribute
+     * @param value   the value to look for
+     * @param <V>     the type of value
+     *
+     * @return an {@link Optional} containing the position of the {@code value}, or {@link Optional#empty()} if the
+     * {@code feature} does not contain the {@code value}
+     *
+     * @throws NullPointerException if any parameter is {@code null}
+     */
+    @Nonnull
+    default <V> Optional<Integer> indexOfValue(SingleFeatureBean feature, V value) {
+        checkNotNull(feature, "feature");
+        checkNotNull(value, "value");
+
+        return MoreStreams.indexOf(allValuesOf(feature), value);
+    }
+
+    /**
+     * Returns the position of the last occurrence of the {@code value} in the specified {@code feature}.
+     * <p>
+     * By default, this method looks for the {@code value} in {@link #allValuesOf(SingleFeatureBean)}.
+     *
+     * @param feature the bean identifying the multi-valued attribute
+     * @param value   the value to look for
+     * @param <V>     the type of value
+     *
+     * @return an {@link Optional} containing the position of the {@code value}, or {@link Optional#empty()} if the
+     * {@code feature} does not contain the {@code value}
+     *
+     * @throws NullPointerException if any parameter is {@code null}
+     */
+    @Nonnull
+    default <V> Optional<Integer> lastIndexOfValue(SingleFeatureBean feature, V value) {
+        checkNotNull(feature, "feature");
+        checkNotNull(value, "value");
+
+        return MoreStreams.lastIndexOf(allValuesOf(feature), value);
+    }
+
     /**
      * Defines the {@code value} of the specified {@code feature} at a defined position.
      *
@@ -146,6 +191,24 @@ public interface ManyValueMapper extends ValueMapper {
         return firstPosition;
     }
 
+    /**
+     * Defines all the values of the specified {@code feature}, that has no value yet.
+     * <p>
+     * Unlike {@link #appendAllValues(SingleFeatureBean, List)}, this method does not read the current size of the
+     * {@code feature}, so that mappings that store the values of a feature as a whole can write them in a single
+     * operation. By default, this method calls {@link #appendAllValues(SingleFeatureBean, List)}.
+     *
+     * @param feature    the bean identifying the multi-valued attribute
+     * @param collection the values to define
+     * @param <V>        the type of values
+     *
+     * @throws NullPointerException if any parameter is {@code null}
+     * @see #appendAllValues(SingleFeatureBean, List)
+     */
+    default <V> void allValuesFor(SingleFeatureBean feature, List<? extends V> collection) {
+        appendAllValues(feature, collection);
+    }
+
     /**
      * Removes the value of the specified {@code feature} at a defined position.
      *
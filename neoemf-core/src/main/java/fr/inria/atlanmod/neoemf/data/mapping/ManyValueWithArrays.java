@@ -13,6 +13,7 @@ import fr.inria.atlanmod.neoemf.data.bean.ManyFeatureBean;
 import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
@@ -26,22 +27,35 @@ import static fr.inria.atlanmod.commons.Preconditions.checkNotContainsNull;
 import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
 import static fr.inria.atlanmod.commons.Preconditions.checkPositionIndex;
 import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 
 /**
  * A {@link ManyValueMapper} that provides a default behavior to represent the "multi-valued" characteristic as {@link
  * Object}[].
+ * <p>
+ * Appended values are first stored in a small tail, merged into the array when it is full or before any other
+ * modification, to avoid rewriting the whole array on each append. An append costs {@code O(sqrt(n))} amortized: see
+ * {@link AppendLog} for the details.
  */
 @ParametersAreNonnullByDefault
 public interface ManyValueWithArrays extends ManyValueMapper {
 
     @Nonnull
     @Override
+    @SuppressWarnings("unchecked")
     default <V> Optional<V> valueOf(ManyFeatureBean feature) {
         checkNotNull(feature, "feature");
 
-        return this.<V[]>valueOf(feature.withoutPosition())
+        Optional<V> value = this.<V[]>valueOf(feature.withoutPosition())
                 .filter(values -> feature.position() < values.length)
                 .map(values -> values[feature.position()]);
+
+        if (!value.isPresent()) {
+            value = this.<Object[]>valueOf(AppendLog.tailOf(feature.withoutPosition()))
+                    .map(tail -> (V) AppendLog.elementAt(tail, feature.position()));
+        }
+
+        return value;
     }
 
     @Nonnull
@@ -49,7 +63,15 @@ public interface ManyValueWithArrays extends ManyValueMapper {
     default <V> Stream<V> allValuesOf(SingleFeatureBean feature) {
         checkNotNull(feature, "feature");
 
-        return this.<V[]>valueOf(feature)
+        Optional<V[]> values = this.<V[]>valueOf(feature);
+        Optional<Object[]> tail = this.<Object[]>valueOf(AppendLog.tailOf(feature));
+
+        if (tail.isPresent()) {
+            V[] base = values.orElseGet(() -> MoreArrays.newArray(Object.class, 0));
+            values = Optional.of(AppendLog.mergeArray(base, tail.get()));
+        }
+
+        return values
                 .map(Arrays::stream)
                 .orElseGet(Stream::empty);
     }
@@ -60,6 +82,8 @@ public interface ManyValueWithArrays extends ManyValueMapper {
         checkNotNull(feature, "feature");
         checkNotNull(value, "value");
 
+        AppendLog.compactArray(this, feature.withoutPosition());
+
         V[] values = this.<V[]>valueOf(feature.withoutPosition())
                 .<NoSuchElementException>orElseThrow(NoSuchElementException::new);
 
@@ -81,6 +105,13 @@ public interface ManyValueWithArrays extends ManyValueMapper {
         checkNotNull(feature, "feature");
         checkNotNull(value, "value");
 
+        if (feature.position() == sizeOfValue(feature.withoutPosition()).orElse(0)) {
+            appendValue(feature.withoutPosition(), value);
+            return;
+        }
+
+        AppendLog.compactArray(this, feature.withoutPosition());
+
         V[] values = this.<V[]>valueOf(feature.withoutPosition())
                 .orElseGet(() -> MoreArrays.newArray(Object.class, 0));
 
@@ -101,6 +132,13 @@ public interface ManyValueWithArrays extends ManyValueMapper {
             return;
         }
 
+        if (feature.position() == sizeOfValue(feature.withoutPosition()).orElse(0)) {
+            appendAllValues(feature.withoutPosition(), collection);
+            return;
+        }
+
+        AppendLog.compactArray(this, feature.withoutPosition());
+
         V[] valuesArray = this.<V[]>valueOf(feature.withoutPosition())
                 .orElseGet(() -> MoreArrays.newArray(Object.class, 0));
 
@@ -117,6 +155,8 @@ public interface ManyValueWithArrays extends ManyValueMapper {
     default <V> Optional<V> removeValue(ManyFeatureBean feature) {
         checkNotNull(feature, "feature");
 
+        AppendLog.compactArray(this, feature.withoutPosition());
+
         V[] values = this.<V[]>valueOf(feature.withoutPosition())
                 .orElse(null);
 
@@ -142,8 +182,66 @@ public interface ManyValueWithArrays extends ManyValueMapper {
         return previousValue;
     }
 
+    @Override
+    default <V> int appendValue(SingleFeatureBean feature, V value) {
+        checkNotNull(value, "value");
+
+        return appendAllValues(feature, Collections.singletonList(value));
+    }
+
+    @Override
+    default <V> int appendAllValues(SingleFeatureBean feature, List<? extends V> collection) {
+        checkNotNull(feature, "feature");
+        checkNotNull(collection, "collection");
+        checkNotContainsNull(collection, "collection");
+
+        SingleFeatureBean tailFeature = AppendLog.tailOf(feature);
+
+        Object[] tail = this.<Object[]>valueOf(tailFeature)
+                .orElse(null);
+
+        int firstPosition = nonNull(tail)
+                ? AppendLog.sizeOf(tail)
+                : sizeOfValue(feature).orElse(0);
+
+        if (collection.isEmpty()) {
+            return firstPosition;
+        }
+
+        tail = nonNull(tail)
+                ? AppendLog.append(tail, collection)
+                : AppendLog.newTail(firstPosition, collection);
+
+        if (AppendLog.isFull(tail)) {
+            V[] values = this.<V[]>valueOf(feature)
+                    .orElseGet(() -> MoreArrays.newArray(Object.class, 0));
+
+            valueFor(feature, AppendLog.mergeArray(values, tail));
+            removeValue(tailFeature);
+        }
+        else {
+            valueFor(tailFeature, tail);
+        }
+
+        return firstPosition;
+    }
+
+    @Override
+    default <V> void allValuesFor(SingleFeatureBean feature, List<? extends V> collection) {
+        checkNotNull(feature, "feature");
+        checkNotNull(collection, "collection");
+        checkNotContainsNull(collection, "collection");
+
+        if (collection.isEmpty()) {
+            return;
+        }
+
+        valueFor(feature, collection.toArray(new Object[collection.size()]));
+    }
+
     @Override
     default void removeAllValues(SingleFeatureBean feature) {
+        this.removeValue(AppendLog.tailOf(feature));
         this.removeValue(feature);
     }
 
@@ -151,8 +249,14 @@ public interface ManyValueWithArrays extends ManyValueMapper {
     @Nonnegative
     @Override
     default Optional<Integer> sizeOfValue(SingleFeatureBean feature) {
-        return this.<Object[]>valueOf(feature)
-                .map(a -> a.length)
-                .filter(s -> s > 0);
+        Optional<Integer> size = this.<Object[]>valueOf(AppendLog.tailOf(feature))
+                .map(AppendLog::sizeOf);
+
+        if (!size.isPresent()) {
+            size = this.<Object[]>valueOf(feature)
+                    .map(a -> a.length);
+        }
+
+        return size.filter(s -> s > 0);
     }
 }
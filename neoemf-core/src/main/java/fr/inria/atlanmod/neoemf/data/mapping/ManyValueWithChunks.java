@@ -0,0 +1,269 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.mapping;
+
+import fr.inria.atlanmod.commons.collect.MoreArrays;
+import fr.inria.atlanmod.neoemf.data.bean.ManyFeatureBean;
+import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkNotContainsNull;
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static fr.inria.atlanmod.commons.Preconditions.checkPositionIndex;
+
+/**
+ * A {@link ManyValueMapper} that provides a default behavior to represent the "multi-valued" as a sequence of chunks.
+ * <p>
+ * Values are persisted in arrays of at most {@link #chunkCapacity()} elements, each of them being identified by a
+ * {@link ManyFeatureBean} where the position is the identifier of the chunk. A small directory, stored as the value of
+ * the {@link SingleFeatureBean}, keeps the order and the size of the chunks. Using this approach, any value is
+ * retrieved with two reads, and inserting or removing a value only rewrites one chunk and the directory, instead of
+ * shifting all subsequent values as {@link ManyValueWithIndices}, or rewriting the entire collection as {@link
+ * ManyValueWithArrays}.
+ */
+@ParametersAreNonnullByDefault
+public interface ManyValueWithChunks extends ManyValueMapper {
+
+    /**
+     * The default maximum number of values in a chunk.
+     */
+    @Nonnegative
+    int DEFAULT_CHUNK_CAPACITY = 256;
+
+    @Nonnull
+    @Override
+    default <V> Optional<V> valueOf(ManyFeatureBean feature) {
+        checkNotNull(feature, "feature");
+
+        ChunkDirectory directory = ChunkDirectory.of(this, feature.withoutPosition());
+        if (feature.position() >= directory.totalSize()) {
+            return Optional.empty();
+        }
+
+        int[] location = directory.locate(feature.position());
+
+        return this.<V>chunkOf(feature.withPosition(directory.idAt(location[0])))
+                .filter(values -> location[1] < values.length)
+                .map(values -> values[location[1]]);
+    }
+
+    @Nonnull
+    @Override
+    default <V> Stream<V> allValuesOf(SingleFeatureBean feature) {
+        checkNotNull(feature, "feature");
+
+        ChunkDirectory directory = ChunkDirectory.of(this, feature);
+
+        return IntStream.range(0, directory.count())
+                .mapToObj(i -> this.<V>chunkOf(feature.withPosition(directory.idAt(i))).<IllegalStateException>orElseThrow(IllegalStateException::new))
+                .flatMap(Arrays::stream);
+    }
+
+    @Nonnull
+    @Override
+    default <V> Optional<V> valueFor(ManyFeatureBean feature, V value) {
+        checkNotNull(feature, "feature");
+        checkNotNull(value, "value");
+
+        ChunkDirectory directory = ChunkDirectory.of(this, feature.withoutPosition());
+        if (feature.position() >= directory.totalSize()) {
+            throw new NoSuchElementException();
+        }
+
+        int[] location = directory.locate(feature.position());
+        ManyFeatureBean chunk = feature.withPosition(directory.idAt(location[0]));
+
+        V[] values = this.<V>chunkOf(chunk)
+                .<IllegalStateException>orElseThrow(IllegalStateException::new);
+
+        Optional<V> previousValue = Optional.of(values[location[1]]);
+
+        values[location[1]] = value;
+
+        chunkForNullable(chunk, values);
+
+        return previousValue;
+    }
+
+    @Override
+    default <V> void addValue(ManyFeatureBean feature, V value) {
+        checkNotNull(value, "value");
+
+        addAllValues(feature, Collections.singletonList(value));
+    }
+
+    @Override
+    default <V> void addAllValues(ManyFeatureBean feature, List<? extends V> collection) {
+        checkNotNull(feature, "feature");
+        checkNotNull(collection, "collection");
+        checkNotContainsNull(collection, "collection");
+
+        if (collection.isEmpty()) {
+            return;
+        }
+
+        SingleFeatureBean key = feature.withoutPosition();
+        ChunkDirectory directory = ChunkDirectory.of(this, key);
+
+        final int size = directory.totalSize();
+        checkPositionIndex(feature.position(), size);
+
+        final int capacity = chunkCapacity();
+        final boolean isAppending = feature.position() == size;
+
+        int index = 0;
+        Object[] previousValues = new Object[0];
+        int offset = 0;
+
+        if (directory.count() == 0) {
+            directory.insert(0, 0);
+        }
+        else {
+            int[] location = directory.locate(feature.position());
+            index = location[0];
+            offset = location[1];
+
+            previousValues = this.chunkOf(key.withPosition(directory.idAt(index)))
+                    .<IllegalStateException>orElseThrow(IllegalStateException::new);
+        }
+
+        Object[] values = new Object[previousValues.length + collection.size()];
+        System.arraycopy(previousValues, 0, values, 0, offset);
+        System.arraycopy(collection.toArray(), 0, values, offset, collection.size());
+        System.arraycopy(previousValues, offset, values, offset + collection.size(), previousValues.length - offset);
+
+        // Split the new values in chunks: when appending, fill the chunks to optimize the next appends
+        final int count = (values.length + capacity - 1) / capacity;
+        for (int i = 0; i < count; i++) {
+            int from = isAppending ? i * capacity : (int) ((long) values.length * i / count);
+            int to = isAppending ? Math.min(from + capacity, values.length) : (int) ((long) values.length * (i + 1) / count);
+
+            int chunkId;
+            if (i == 0) {
+                // The first chunk is not modified when appending after a full chunk
+                if (isAppending && to == previousValues.length) {
+                    continue;
+                }
+
+                chunkId = directory.idAt(index);
+                directory.sizeAt(index, to - from);
+            }
+            else {
+                chunkId = directory.insert(index + i, to - from);
+            }
+
+            chunkForNullable(key.withPosition(chunkId), Arrays.copyOfRange(values, from, to));
+        }
+
+        directory.write(this, key);
+    }
+
+    @Nonnull
+    @Override
+    default <V> Optional<V> removeValue(ManyFeatureBean feature) {
+        checkNotNull(feature, "feature");
+
+        SingleFeatureBean key = feature.withoutPosition();
+        ChunkDirectory directory = ChunkDirectory.of(this, key);
+
+        if (feature.position() >= directory.totalSize()) {
+            return Optional.empty();
+        }
+
+        int[] location = directory.locate(feature.position());
+        ManyFeatureBean chunk = key.withPosition(directory.idAt(location[0]));
+
+        V[] values = this.<V>chunkOf(chunk)
+                .<IllegalStateException>orElseThrow(IllegalStateException::new);
+
+        Optional<V> previousValue = Optional.of(values[location[1]]);
+
+        if (values.length == 1) {
+            chunkForNullable(chunk, null);
+            directory.remove(location[0]);
+        }
+        else {
+            chunkForNullable(chunk, MoreArrays.remove(values, location[1]));
+            directory.sizeAt(location[0], values.length - 1);
+        }
+
+        directory.write(this, key);
+
+        return previousValue;
+    }
+
+    @Override
+    default void removeAllValues(SingleFeatureBean feature) {
+        checkNotNull(feature, "feature");
+
+        ChunkDirectory directory = ChunkDirectory.of(this, feature);
+
+        IntStream.range(0, directory.count())
+                .forEachOrdered(i -> chunkForNullable(feature.withPosition(directory.idAt(i)), null));
+
+        removeValue(feature);
+    }
+
+    @Nonnull
+    @Nonnegative
+    @Override
+    default Optional<Integer> sizeOfValue(SingleFeatureBean feature) {
+        checkNotNull(feature, "feature");
+
+        return Optional.of(ChunkDirectory.of(this, feature).totalSize())
+                .filter(s -> s > 0);
+    }
+
+    /**
+     * Returns the maximum number of values in a chunk.
+     *
+     * @return the capacity of the chunks
+     */
+    @Nonnegative
+    default int chunkCapacity() {
+        return DEFAULT_CHUNK_CAPACITY;
+    }
+
+    /**
+     * Retrieves the values of the specified {@code chunk}.
+     *
+     * @param chunk the bean identifying the chunk, where the position is the identifier of the chunk
+     * @param <V>   the type of values
+     *
+     * @return an {@link Optional} containing the values of the chunk, or {@link Optional#empty()} if the chunk doesn't
+     * exist
+     *
+     * @throws NullPointerException if the {@code chunk} is {@code null}
+     */
+    @Nonnull
+    <V> Optional<V[]> chunkOf(ManyFeatureBean chunk);
+
+    /**
+     * Defines the {@code values} of the specified {@code chunk}. If {@code values == null}, the chunk is removed.
+     *
+     * @param chunk  the bean identifying the chunk, where the position is the identifier of the chunk
+     * @param values the values to set
+     * @param <V>    the type of values
+     *
+     * @throws NullPointerException if the {@code chunk} is {@code null}
+     */
+    <V> void chunkForNullable(ManyFeatureBean chunk, @Nullable V[] values);
+}
@@ -119,6 +119,22 @@ public interface ManyValueWithIndices extends ManyValueMapper {
         return previousValue;
     }
 
+    @Override
+    default <V> void allValuesFor(SingleFeatureBean feature, List<? extends V> collection) {
+        checkNotNull(feature, "feature");
+        checkNotNull(collection, "collection");
+        checkNotContainsNull(collection, "collection");
+
+        if (collection.isEmpty()) {
+            return;
+        }
+
+        IntStream.range(0, collection.size())
+                .forEachOrdered(i -> valueForNullable(feature.withPosition(i), collection.get(i)));
+
+        sizeForValue(feature, collection.size());
+    }
+
     @Override
     default void removeAllValues(SingleFeatureBean feature) {
         IntStream.range(0, sizeOfValue(feature).orElse(0))
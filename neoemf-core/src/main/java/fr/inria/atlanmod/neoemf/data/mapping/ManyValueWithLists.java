@@ -109,6 +109,22 @@ public interface ManyValueWithLists extends ManyValueMapper {
         valueFor(feature.withoutPosition(), valuesList);
     }
 
+    @Override
+    default <V> void allValuesFor(SingleFeatureBean feature, List<? extends V> collection) {
+        checkNotNull(feature, "feature");
+        checkNotNull(collection, "collection");
+        checkNotContainsNull(collection, "collection");
+
+        if (collection.isEmpty()) {
+            return;
+        }
+
+        List<V> valuesList = getOrCreateList(feature);
+        valuesList.addAll(collection);
+
+        valueFor(feature, valuesList);
+    }
+
     @Nonnull
     @Override
     default <V> Optional<V> removeValue(ManyFeatureBean feature) {
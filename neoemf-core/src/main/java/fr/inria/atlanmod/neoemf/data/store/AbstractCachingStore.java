@@ -8,13 +8,11 @@
 
 package fr.inria.atlanmod.neoemf.data.store;
 
-import fr.inria.atlanmod.commons.cache.Cache;
-import fr.inria.atlanmod.commons.cache.CacheBuilder;
-
+import javax.annotation.Nonnull;
 import javax.annotation.ParametersAreNonnullByDefault;
 
 /**
- * An abstract {@link Store} that provides a pre-loaded {@link fr.inria.atlanmod.commons.cache.Cache}.
+ * An abstract {@link Store} that provides a pre-loaded {@link StoreCache}.
  *
  * @param <K> the type of keys maintained by the cache
  * @param <V> the type of cached values
@@ -25,15 +23,25 @@ public abstract class AbstractCachingStore<K, V> extends AbstractStore {
     /**
      * In-memory cache that holds loaded values, identified by their key.
      */
-    protected final Cache<K, V> cache = CacheBuilder.builder()
-            .softValues()
-            .build();
+    @Nonnull
+    protected final StoreCache<K, V> cache;
 
     /**
-     * Constructs a new {@code AbstractCachingStore}.
+     * Constructs a new {@code AbstractCachingStore} with the default {@link CachePolicy}.
      */
     protected AbstractCachingStore() {
+        this(CachePolicy.defaultPolicy());
+    }
+
+    /**
+     * Constructs a new {@code AbstractCachingStore} with the given {@code policy}.
+     *
+     * @param policy the policy of the cache
+     */
+    protected AbstractCachingStore(CachePolicy policy) {
         super(100);
+
+        this.cache = new StoreCache<>(policy);
     }
 
     @Override
@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.store;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.annotation.concurrent.Immutable;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkArgument;
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * The policy of the cache of an {@link AbstractCachingStore}.
+ * <p>
+ * The default policy defines an unbounded cache with soft values, which are only released by the garbage collector
+ * when the memory is needed. A bounded policy releases the least recently used entries instead, in a predictable way:
+ * <pre>{@code
+ * CachePolicy policy = CachePolicy.defaultPolicy()
+ *     .withMaximumSize(100_000)
+ *     .withSoftValues(false)
+ *     .withExpireAfterAccess(10, TimeUnit.MINUTES)
+ *     .withStats(stats);
+ *
+ * Map<String, Object> options = new BaseConfig<>()
+ *     .cacheFeatures(policy)
+ *     .toMap();
+ * }</pre>
+ *
+ * @see StoreCacheStats
+ */
+@Immutable
+@ParametersAreNonnullByDefault
+public final class CachePolicy {
+
+    /**
+     * The value used when there is no limit.
+     */
+    static final long UNLIMITED = -1;
+
+    /**
+     * The default policy.
+     */
+    @Nonnull
+    private static final CachePolicy DEFAULT = new CachePolicy(UNLIMITED, UNLIMITED, true, null);
+
+    /**
+     * The maximum number of entries, or {@link #UNLIMITED}.
+     */
+    private final long maximumSize;
+
+    /**
+     * The duration after which an entry expires after its last access, in nanoseconds, or {@link #UNLIMITED}.
+     */
+    private final long expireAfterAccess;
+
+    /**
+     * {@code true} if the values are softly referenced.
+     */
+    private final boolean softValues;
+
+    /**
+     * The stats to update, or {@code null} if no stats are recorded.
+     */
+    @Nullable
+    private final StoreCacheStats stats;
+
+    /**
+     * Constructs a new {@code CachePolicy}.
+     *
+     * @param maximumSize       the maximum number of entries, or {@link #UNLIMITED}
+     * @param expireAfterAccess the duration after which an entry expires after its last access, in nanoseconds, or
+     *                          {@link #UNLIMITED}
+     * @param softValues        {@code true} if the values are softly referenced
+     * @param stats             the stats to update
+     */
+    private CachePolicy(long maximumSize, long expireAfterAccess, boolean softValues, @Nullable StoreCacheStats stats) {
+        this.maximumSize = maximumSize;
+        this.expireAfterAccess = expireAfterAccess;
+        this.softValues = softValues;
+        this.stats = stats;
+    }
+
+    /**
+     * Returns the default policy: an unbounded cache with soft values, that does not record any stats.
+     *
+     * @return the default policy
+     */
+    @Nonnull
+    public static CachePolicy defaultPolicy() {
+        return DEFAULT;
+    }
+
+    /**
+     * Returns a copy of this policy that limits the number of entries of the cache. When this size is exceeded, the
+     * least recently used entry is evicted.
+     *
+     * @param maximumSize the maximum number of entries
+     *
+     * @return a new policy
+     *
+     * @throws IllegalArgumentException if {@code maximumSize < 0}
+     */
+    @Nonnull
+    public CachePolicy withMaximumSize(@Nonnegative long maximumSize) {
+        checkArgument(maximumSize >= 0, "maximumSize must not be negative");
+
+        return new CachePolicy(maximumSize, expireAfterAccess, softValues, stats);
+    }
+
+    /**
+     * Returns a copy of this policy that evicts the entries that have not been accessed for the given {@code duration}.
+     *
+     * @param duration the duration after which an entry expires
+     * @param unit     the unit of the {@code duration}
+     *
+     * @return a new policy
+     *
+     * @throws IllegalArgumentException if {@code duration < 0}
+     */
+    @Nonnull
+    public CachePolicy withExpireAfterAccess(@Nonnegative long duration, TimeUnit unit) {
+        checkArgument(duration >= 0, "duration must not be negative");
+        checkNotNull(unit, "unit");
+
+        return new CachePolicy(maximumSize, unit.toNanos(duration), softValues, stats);
+    }
+
+    /**
+     * Returns a copy of this policy that defines whether the values of the cache are softly referenced.
+     *
+     * @param softValues {@code true} if the values must be softly referenced
+     *
+     * @return a new policy
+     */
+    @Nonnull
+    public CachePolicy withSoftValues(boolean softValues) {
+        return new CachePolicy(maximumSize, expireAfterAccess, softValues, stats);
+    }
+
+    /**
+     * Returns a copy of this policy that records the usage of the cache in the given {@code stats}.
+     *
+     * @param stats the stats to update
+     *
+     * @return a new policy
+     */
+    @Nonnull
+    public CachePolicy withStats(StoreCacheStats stats) {
+        checkNotNull(stats, "stats");
+
+        return new CachePolicy(maximumSize, expireAfterAccess, softValues, stats);
+    }
+
+    /**
+     * Returns the maximum number of entries.
+     *
+     * @return the maximum number of entries, or {@link #UNLIMITED}
+     */
+    long maximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Returns the duration after which an entry expires after its last access.
+     *
+     * @return the duration in nanoseconds, or {@link #UNLIMITED}
+     */
+    long expireAfterAccess() {
+        return expireAfterAccess;
+    }
+
+    /**
+     * Returns {@code true} if the values are softly referenced.
+     *
+     * @return {@code true} if the values are softly referenced
+     */
+    boolean softValues() {
+        return softValues;
+    }
+
+    /**
+     * Returns the stats to update.
+     *
+     * @return the stats, or {@code null} if no stats are recorded
+     */
+    @Nullable
+    StoreCacheStats stats() {
+        return stats;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CachePolicy {maximumSize=%d, expireAfterAccess=%dns, softValues=%s, stats=%s}",
+                maximumSize, expireAfterAccess, softValues, nonNull(stats));
+    }
+}
@@ -0,0 +1,254 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.store;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * The cached values of a multi-valued feature, used by {@link FeatureCachingStore}.
+ * <p>
+ * The values are stored by position in a single array, where {@code null} means that the value at a position is not
+ * known. When all the values of the feature are known, the list is <i>complete</i>: it can serve the size and all the
+ * values of the feature, and is updated in place when values are added or removed. Otherwise, a shift invalidates the
+ * following positions at once, without knowing the size of the feature.
+ * <p>
+ * This class is thread-safe: the same list can be loaded and read by several threads navigating the same resource.
+ */
+@ThreadSafe
+@ParametersAreNonnullByDefault
+final class CachedList {
+
+    /**
+     * An empty array.
+     */
+    @Nonnull
+    private static final Object[] EMPTY = new Object[0];
+
+    /**
+     * The values by position. All positions from {@link #length} are {@code null}.
+     */
+    @Nonnull
+    private Object[] values = EMPTY;
+
+    /**
+     * The position following the last known value.
+     */
+    @Nonnegative
+    private int length;
+
+    /**
+     * {@code true} if all the values of the feature are known, i.e. if {@link #length} is the size of the feature.
+     */
+    private boolean complete;
+
+    /**
+     * Creates a new complete list, containing the given {@code values}.
+     *
+     * @param values all the values of the feature
+     *
+     * @return a new list
+     */
+    @Nonnull
+    static CachedList of(List<?> values) {
+        CachedList list = new CachedList();
+        list.values = values.toArray();
+        list.length = list.values.length;
+        list.complete = true;
+        return list;
+    }
+
+    /**
+     * Returns {@code true} if all the values of the feature are known.
+     *
+     * @return {@code true} if the list is complete
+     */
+    synchronized boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Returns the size of the feature. Only relevant for a complete list.
+     *
+     * @return the size of the feature
+     */
+    @Nonnegative
+    synchronized int size() {
+        return length;
+    }
+
+    /**
+     * Returns the value at the given {@code position}.
+     *
+     * @param position the position of the value
+     *
+     * @return the value, or {@code null} if it is not known
+     */
+    @Nullable
+    synchronized Object get(@Nonnegative int position) {
+        return position < length ? values[position] : null;
+    }
+
+    /**
+     * Returns all the values of the feature. Only relevant for a complete list.
+     *
+     * @param <V> the type of values
+     *
+     * @return an ordered stream over a copy of the values
+     */
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    synchronized <V> Stream<V> all() {
+        return (Stream<V>) Arrays.stream(Arrays.copyOf(values, length));
+    }
+
+    /**
+     * Returns the position of the first occurrence of the {@code value}. Only relevant for a complete list.
+     *
+     * @param value the value to look for
+     *
+     * @return the position of the value, or {@code -1} if the feature does not contain it
+     */
+    synchronized int indexOf(Object value) {
+        for (int i = 0; i < length; i++) {
+            if (value.equals(values[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the position of the last occurrence of the {@code value}. Only relevant for a complete list.
+     *
+     * @param value the value to look for
+     *
+     * @return the position of the value, or {@code -1} if the feature does not contain it
+     */
+    synchronized int lastIndexOf(Object value) {
+        for (int i = length - 1; i >= 0; i--) {
+            if (value.equals(values[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Defines the value at the given {@code position}, without shifting the other values.
+     *
+     * @param position the position of the value
+     * @param value    the value
+     */
+    synchronized void set(@Nonnegative int position, Object value) {
+        ensureCapacity(position + 1);
+
+        values[position] = value;
+        length = Math.max(length, position + 1);
+    }
+
+    /**
+     * Inserts the {@code value} at the given {@code position}, and shifts the following values.
+     *
+     * @param position the position of the value
+     * @param value    the value
+     */
+    synchronized void insert(@Nonnegative int position, Object value) {
+        if (complete && position <= length) {
+            ensureCapacity(length + 1);
+            System.arraycopy(values, position, values, position + 1, length - position);
+            values[position] = value;
+            length++;
+        }
+        else {
+            truncate(position);
+            set(position, value);
+        }
+    }
+
+    /**
+     * Inserts all the {@code values} from the given {@code position}, and shifts the following values.
+     *
+     * @param position  the position of the first value
+     * @param newValues the values to insert
+     */
+    synchronized void insertAll(@Nonnegative int position, List<?> newValues) {
+        final int count = newValues.size();
+
+        if (complete && position <= length) {
+            ensureCapacity(length + count);
+            System.arraycopy(values, position, values, position + count, length - position);
+            length += count;
+        }
+        else {
+            truncate(position);
+            ensureCapacity(position + count);
+            length = position + count;
+        }
+
+        for (int i = 0; i < count; i++) {
+            values[position + i] = newValues.get(i);
+        }
+    }
+
+    /**
+     * Removes the value at the given {@code position}, and shifts the following values.
+     *
+     * @param position the position of the value
+     */
+    synchronized void remove(@Nonnegative int position) {
+        if (complete && position < length) {
+            System.arraycopy(values, position + 1, values, position, length - position - 1);
+            values[--length] = null;
+        }
+        else {
+            truncate(position);
+        }
+    }
+
+    /**
+     * Removes all the values: the feature is known to be empty.
+     */
+    synchronized void clear() {
+        values = EMPTY;
+        length = 0;
+        complete = true;
+    }
+
+    /**
+     * Forgets all the values from the given {@code position}. The list is no longer complete.
+     *
+     * @param position the first position to forget
+     */
+    private void truncate(@Nonnegative int position) {
+        if (position < length) {
+            Arrays.fill(values, position, length, null);
+            length = position;
+        }
+        complete = false;
+    }
+
+    /**
+     * Ensures that the {@link #values} can hold at least {@code minCapacity} values.
+     *
+     * @param minCapacity the minimum capacity
+     */
+    private void ensureCapacity(@Nonnegative int minCapacity) {
+        if (minCapacity > values.length) {
+            values = Arrays.copyOf(values, Math.max(minCapacity, values.length + (values.length >> 1) + 1));
+        }
+    }
+}
@@ -22,6 +22,22 @@ import javax.annotation.ParametersAreNonnullByDefault;
 @ParametersAreNonnullByDefault
 public class ClassCachingStore extends AbstractCachingStore<Id, Optional<ClassBean>> {
 
+    /**
+     * Constructs a new {@code ClassCachingStore} with the default {@link CachePolicy}.
+     */
+    public ClassCachingStore() {
+        super();
+    }
+
+    /**
+     * Constructs a new {@code ClassCachingStore} with the given {@code policy}.
+     *
+     * @param policy the policy of the cache
+     */
+    public ClassCachingStore(CachePolicy policy) {
+        super(policy);
+    }
+
     @Nonnull
     @Override
     public Optional<ClassBean> metaClassOf(Id id) {
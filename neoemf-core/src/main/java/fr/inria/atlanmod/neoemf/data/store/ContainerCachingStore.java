@@ -24,6 +24,22 @@ import static java.util.Objects.nonNull;
 @ParametersAreNonnullByDefault
 public class ContainerCachingStore extends AbstractCachingStore<Id, Optional<SingleFeatureBean>> {
 
+    /**
+     * Constructs a new {@code ContainerCachingStore} with the default {@link CachePolicy}.
+     */
+    public ContainerCachingStore() {
+        super();
+    }
+
+    /**
+     * Constructs a new {@code ContainerCachingStore} with the given {@code policy}.
+     *
+     * @param policy the policy of the cache
+     */
+    public ContainerCachingStore(CachePolicy policy) {
+        super(policy);
+    }
+
     @Nonnull
     @Override
     public Optional<SingleFeatureBean> containerOf(Id id) {
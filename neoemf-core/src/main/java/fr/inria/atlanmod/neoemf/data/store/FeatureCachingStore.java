@@ -9,23 +9,48 @@
 package fr.inria.atlanmod.neoemf.data.store;
 
 import fr.inria.atlanmod.neoemf.core.Id;
-import fr.inria.atlanmod.neoemf.data.bean.FeatureBean;
 import fr.inria.atlanmod.neoemf.data.bean.ManyFeatureBean;
 import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.IntStream;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
 /**
  * A {@link Store} wrapper that caches {@link org.eclipse.emf.ecore.EStructuralFeature} values.
+ * <p>
+ * The values of a multi-valued feature are cached together, in a {@link CachedList} identified by the owner and the
+ * feature: when the values are shifted, the following positions are updated or invalidated at once, without querying
+ * the size of the feature. Once all the values of a feature have been loaded, its size, its values and the position
+ * of its values are served from the cache.
  */
 @ParametersAreNonnullByDefault
-public class FeatureCachingStore extends AbstractCachingStore<FeatureBean, Object> {
+public class FeatureCachingStore extends AbstractCachingStore<SingleFeatureBean, Object> {
+
+    /**
+     * Constructs a new {@code FeatureCachingStore} with the default {@link CachePolicy}.
+     */
+    public FeatureCachingStore() {
+        super();
+    }
+
+    /**
+     * Constructs a new {@code FeatureCachingStore} with the given {@code policy}.
+     *
+     * @param policy the policy of the cache
+     */
+    public FeatureCachingStore(CachePolicy policy) {
+        super(policy);
+    }
 
     @Nonnull
     @Override
@@ -74,38 +99,71 @@ public class FeatureCachingStore extends AbstractCachingStore<FeatureBean, Objec
     @Override
     @SuppressWarnings("unchecked")
     public <V> Optional<V> valueOf(ManyFeatureBean feature) {
-        return Optional.ofNullable((V) cache.get(feature, k -> super.valueOf(ManyFeatureBean.class.cast(k)).orElse(null)));
+        CachedList list = listOf(feature.withoutPosition());
+
+        Object value = list.get(feature.position());
+        if (isNull(value)) {
+            Optional<V> loaded = super.valueOf(feature);
+            loaded.ifPresent(v -> list.set(feature.position(), v));
+            return loaded;
+        }
+        return Optional.of((V) value);
     }
 
     @Nonnull
     @Override
-    public <V> Optional<V> valueFor(ManyFeatureBean feature, V value) {
-        cache.put(feature, value);
+    public <V> Stream<V> allValuesOf(SingleFeatureBean feature) {
+        CachedList list = existingListOf(feature);
+        if (nonNull(list) && list.isComplete()) {
+            return list.all();
+        }
+
+        List<V> values = this.<V>cacheAll(feature, super.allValuesOf(feature));
+        return values.stream();
+    }
 
-        return super.valueFor(feature, value);
+    @Nonnull
+    @Override
+    public <V> Optional<Integer> indexOfValue(SingleFeatureBean feature, V value) {
+        CachedList list = existingListOf(feature);
+        if (nonNull(list) && list.isComplete()) {
+            return positionOf(list.indexOf(value));
+        }
+        return super.indexOfValue(feature, value);
     }
 
+    @Nonnull
     @Override
-    public <V> void addValue(ManyFeatureBean feature, V value) {
-        cache.put(feature, value);
+    public <V> Optional<Integer> lastIndexOfValue(SingleFeatureBean feature, V value) {
+        CachedList list = existingListOf(feature);
+        if (nonNull(list) && list.isComplete()) {
+            return positionOf(list.lastIndexOf(value));
+        }
+        return super.lastIndexOfValue(feature, value);
+    }
 
-        IntStream.range(feature.position() + 1, sizeOfValue(feature.withoutPosition()).orElseGet(() -> feature.position() + 1))
-                .forEachOrdered(i -> cache.invalidate(feature.withPosition(i)));
+    @Nonnull
+    @Override
+    public <V> Optional<V> valueFor(ManyFeatureBean feature, V value) {
+        Optional<V> previous = super.valueFor(feature, value);
 
-        super.addValue(feature, value);
+        listOf(feature.withoutPosition()).set(feature.position(), value);
+
+        return previous;
     }
 
     @Override
-    public <V> void addAllValues(ManyFeatureBean feature, List<? extends V> collection) {
-        int firstPosition = feature.position();
-
-        IntStream.range(0, collection.size())
-                .forEachOrdered(i -> cache.put(feature.withPosition(firstPosition + i), collection.get(i)));
+    public <V> void addValue(ManyFeatureBean feature, V value) {
+        super.addValue(feature, value);
 
-        IntStream.range(firstPosition + collection.size(), sizeOfValue(feature.withoutPosition()).orElseGet(() -> firstPosition + collection.size()))
-                .forEachOrdered(i -> cache.invalidate(feature.withPosition(i)));
+        listOf(feature.withoutPosition()).insert(feature.position(), value);
+    }
 
+    @Override
+    public <V> void addAllValues(ManyFeatureBean feature, List<? extends V> collection) {
         super.addAllValues(feature, collection);
+
+        listOf(feature.withoutPosition()).insertAll(feature.position(), collection);
     }
 
     @Nonnegative
@@ -113,7 +171,7 @@ public class FeatureCachingStore extends AbstractCachingStore<FeatureBean, Objec
     public <V> int appendValue(SingleFeatureBean feature, V value) {
         int position = super.appendValue(feature, value);
 
-        cache.put(feature.withPosition(position), value);
+        listOf(feature).insert(position, value);
 
         return position;
     }
@@ -123,8 +181,7 @@ public class FeatureCachingStore extends AbstractCachingStore<FeatureBean, Objec
     public <V> int appendAllValues(SingleFeatureBean feature, List<? extends V> collection) {
         int firstPosition = super.appendAllValues(feature, collection);
 
-        IntStream.range(0, collection.size())
-                .forEachOrdered(i -> cache.put(feature.withPosition(firstPosition + i), collection.get(i)));
+        listOf(feature).insertAll(firstPosition, collection);
 
         return firstPosition;
     }
@@ -132,55 +189,98 @@ public class FeatureCachingStore extends AbstractCachingStore<FeatureBean, Objec
     @Nonnull
     @Override
     public <V> Optional<V> removeValue(ManyFeatureBean feature) {
-        IntStream.range(feature.position(), sizeOfValue(feature.withoutPosition()).orElseGet(feature::position))
-                .forEachOrdered(i -> cache.invalidate(feature.withPosition(i)));
+        Optional<V> previous = super.removeValue(feature);
+
+        listOf(feature.withoutPosition()).remove(feature.position());
 
-        return super.removeValue(feature);
+        return previous;
     }
 
     @Override
     public void removeAllValues(SingleFeatureBean feature) {
-        IntStream.range(0, sizeOfValue(feature).orElse(0))
-                .forEachOrdered(i -> cache.invalidate(feature.withPosition(i)));
-
         super.removeAllValues(feature);
+
+        listOf(feature).clear();
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Integer> sizeOfValue(SingleFeatureBean feature) {
+        CachedList list = existingListOf(feature);
+        if (nonNull(list) && list.isComplete()) {
+            return list.size() > 0 ? Optional.of(list.size()) : Optional.empty();
+        }
+        return super.sizeOfValue(feature);
     }
 
     @Nonnull
     @Override
     public Optional<Id> referenceOf(ManyFeatureBean feature) {
-        return Optional.ofNullable(Id.class.cast(cache.get(feature, k -> super.referenceOf(ManyFeatureBean.class.cast(k)).orElse(null))));
+        CachedList list = listOf(feature.withoutPosition());
+
+        Object reference = list.get(feature.position());
+        if (isNull(reference)) {
+            Optional<Id> loaded = super.referenceOf(feature);
+            loaded.ifPresent(r -> list.set(feature.position(), r));
+            return loaded;
+        }
+        return Optional.of(Id.class.cast(reference));
     }
 
     @Nonnull
     @Override
-    public Optional<Id> referenceFor(ManyFeatureBean feature, Id reference) {
-        cache.put(feature, reference);
+    public Stream<Id> allReferencesOf(SingleFeatureBean feature) {
+        CachedList list = existingListOf(feature);
+        if (nonNull(list) && list.isComplete()) {
+            return list.all();
+        }
+
+        List<Id> references = cacheAll(feature, super.allReferencesOf(feature));
+        return references.stream();
+    }
 
-        return super.referenceFor(feature, reference);
+    @Nonnull
+    @Override
+    public Optional<Integer> indexOfReference(SingleFeatureBean feature, Id reference) {
+        CachedList list = existingListOf(feature);
+        if (nonNull(list) && list.isComplete()) {
+            return positionOf(list.indexOf(reference));
+        }
+        return super.indexOfReference(feature, reference);
     }
 
+    @Nonnull
     @Override
-    public void addReference(ManyFeatureBean feature, Id reference) {
-        cache.put(feature, reference);
+    public Optional<Integer> lastIndexOfReference(SingleFeatureBean feature, Id reference) {
+        CachedList list = existingListOf(feature);
+        if (nonNull(list) && list.isComplete()) {
+            return positionOf(list.lastIndexOf(reference));
+        }
+        return super.lastIndexOfReference(feature, reference);
+    }
 
-        IntStream.range(feature.position() + 1, sizeOfReference(feature.withoutPosition()).orElseGet(() -> feature.position() + 1))
-                .forEachOrdered(i -> cache.invalidate(feature.withPosition(i)));
+    @Nonnull
+    @Override
+    public Optional<Id> referenceFor(ManyFeatureBean feature, Id reference) {
+        Optional<Id> previous = super.referenceFor(feature, reference);
 
-        super.addReference(feature, reference);
+        listOf(feature.withoutPosition()).set(feature.position(), reference);
+
+        return previous;
     }
 
     @Override
-    public void addAllReferences(ManyFeatureBean feature, List<Id> collection) {
-        int firstPosition = feature.position();
-
-        IntStream.range(0, collection.size())
-                .forEachOrdered(i -> cache.put(feature.withPosition(firstPosition + i), collection.get(i)));
+    public void addReference(ManyFeatureBean feature, Id reference) {
+        super.addReference(feature, reference);
 
-        IntStream.range(firstPosition + collection.size(), sizeOfReference(feature.withoutPosition()).orElseGet(() -> firstPosition + collection.size()))
-                .forEachOrdered(i -> cache.invalidate(feature.withPosition(i)));
+        listOf(feature.withoutPosition()).insert(feature.position(), reference);
+    }
 
+    @Override
+    public void addAllReferences(ManyFeatureBean feature, List<Id> collection) {
         super.addAllReferences(feature, collection);
+
+        listOf(feature.withoutPosition()).insertAll(feature.position(), collection);
     }
 
     @Nonnegative
@@ -188,7 +288,7 @@ public class FeatureCachingStore extends AbstractCachingStore<FeatureBean, Objec
     public int appendReference(SingleFeatureBean feature, Id reference) {
         int position = super.appendReference(feature, reference);
 
-        cache.put(feature.withPosition(position), reference);
+        listOf(feature).insert(position, reference);
 
         return position;
     }
@@ -198,8 +298,7 @@ public class FeatureCachingStore extends AbstractCachingStore<FeatureBean, Objec
     public int appendAllReferences(SingleFeatureBean feature, List<Id> collection) {
         int firstPosition = super.appendAllReferences(feature, collection);
 
-        IntStream.range(0, collection.size())
-                .forEachOrdered(i -> cache.put(feature.withPosition(firstPosition + i), collection.get(i)));
+        listOf(feature).insertAll(firstPosition, collection);
 
         return firstPosition;
     }
@@ -207,17 +306,79 @@ public class FeatureCachingStore extends AbstractCachingStore<FeatureBean, Objec
     @Nonnull
     @Override
     public Optional<Id> removeReference(ManyFeatureBean feature) {
-        IntStream.range(feature.position(), sizeOfReference(feature.withoutPosition()).orElseGet(feature::position))
-                .forEachOrdered(i -> cache.invalidate(feature.withPosition(i)));
+        Optional<Id> previous = super.removeReference(feature);
+
+        listOf(feature.withoutPosition()).remove(feature.position());
 
-        return super.removeReference(feature);
+        return previous;
     }
 
     @Override
     public void removeAllReferences(SingleFeatureBean feature) {
-        IntStream.range(0, sizeOfReference(feature).orElse(0))
-                .forEachOrdered(i -> cache.invalidate(feature.withPosition(i)));
-
         super.removeAllReferences(feature);
+
+        listOf(feature).clear();
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Integer> sizeOfReference(SingleFeatureBean feature) {
+        CachedList list = existingListOf(feature);
+        if (nonNull(list) && list.isComplete()) {
+            return list.size() > 0 ? Optional.of(list.size()) : Optional.empty();
+        }
+        return super.sizeOfReference(feature);
+    }
+
+    /**
+     * Returns the cached values of the multi-valued {@code feature}, or creates them if they are not cached yet.
+     *
+     * @param feature the bean identifying the feature
+     *
+     * @return the cached values
+     */
+    @Nonnull
+    private CachedList listOf(SingleFeatureBean feature) {
+        return CachedList.class.cast(cache.get(feature, k -> new CachedList()));
+    }
+
+    /**
+     * Returns the cached values of the multi-valued {@code feature}, if they are cached.
+     *
+     * @param feature the bean identifying the feature
+     *
+     * @return the cached values, or {@code null} if they are not cached
+     */
+    @Nullable
+    private CachedList existingListOf(SingleFeatureBean feature) {
+        return CachedList.class.cast(cache.get(feature));
+    }
+
+    /**
+     * Converts a position returned by a {@link CachedList} search.
+     *
+     * @param position the position, or {@code -1} if the value has not been found
+     *
+     * @return an {@link Optional} containing the position, or {@link Optional#empty()} if the value has not been found
+     */
+    @Nonnull
+    private static Optional<Integer> positionOf(int position) {
+        return position != -1 ? Optional.of(position) : Optional.empty();
+    }
+
+    /**
+     * Collects all the {@code values} of the multi-valued {@code feature}, and caches them.
+     *
+     * @param feature the bean identifying the feature
+     * @param values  the values loaded from the underlying store
+     * @param <V>     the type of values
+     *
+     * @return the collected values
+     */
+    @Nonnull
+    private <V> List<V> cacheAll(SingleFeatureBean feature, Stream<V> values) {
+        List<V> collected = values.collect(Collectors.toList());
+        cache.put(feature, CachedList.of(collected));
+        return collected;
     }
 }
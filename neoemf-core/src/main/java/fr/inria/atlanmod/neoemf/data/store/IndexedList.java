@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.store;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.annotation.concurrent.Immutable;
+
+import static java.util.Objects.isNull;
+
+/**
+ * All the values of a multi-valued feature, used by {@link ListCachingStore}.
+ * <p>
+ * The values are stored in a single array. When a list has at least {@link #INDEX_THRESHOLD} values, the position of
+ * the first occurrence of each value is indexed by hash on the first look-up, so that membership is tested in constant
+ * time; smaller lists are scanned.
+ */
+@Immutable
+@ParametersAreNonnullByDefault
+final class IndexedList {
+
+    /**
+     * The minimum number of values for which a hash index is built.
+     */
+    @Nonnegative
+    static final int INDEX_THRESHOLD = 16;
+
+    /**
+     * The values, in order.
+     */
+    @Nonnull
+    private final Object[] values;
+
+    /**
+     * The position of the first occurrence of each value, built on the first look-up.
+     */
+    @Nullable
+    private volatile Map<Object, Integer> index;
+
+    /**
+     * Constructs a new {@code IndexedList}.
+     *
+     * @param values the values, in order
+     */
+    private IndexedList(Object[] values) {
+        this.values = values;
+    }
+
+    /**
+     * Creates a new list from all the {@code values} of a feature.
+     *
+     * @param values an ordered stream over all the values
+     *
+     * @return a new list
+     */
+    @Nonnull
+    static IndexedList of(Stream<?> values) {
+        return new IndexedList(values.toArray());
+    }
+
+    /**
+     * Returns the number of values.
+     *
+     * @return the size of the feature
+     */
+    @Nonnegative
+    int size() {
+        return values.length;
+    }
+
+    /**
+     * Returns the value at the given {@code position}.
+     *
+     * @param position the position of the value
+     *
+     * @return an {@link Optional} containing the value, or {@link Optional#empty()} if the {@code position} is out of
+     * bounds
+     */
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    <V> Optional<V> get(@Nonnegative int position) {
+        return position < values.length ? Optional.ofNullable((V) values[position]) : Optional.empty();
+    }
+
+    /**
+     * Returns all the values.
+     *
+     * @param <V> the type of values
+     *
+     * @return an ordered stream over all the values
+     */
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    <V> Stream<V> all() {
+        return (Stream<V>) Arrays.stream(values);
+    }
+
+    /**
+     * Returns the position of the first occurrence of the {@code value}.
+     *
+     * @param value the value to look for
+     *
+     * @return an {@link Optional} containing the position, or {@link Optional#empty()} if the list does not contain
+     * the {@code value}
+     */
+    @Nonnull
+    Optional<Integer> indexOf(Object value) {
+        if (values.length >= INDEX_THRESHOLD) {
+            return Optional.ofNullable(index().get(value));
+        }
+
+        for (int i = 0; i < values.length; i++) {
+            if (value.equals(values[i])) {
+                return Optional.of(i);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Returns the position of the last occurrence of the {@code value}.
+     *
+     * @param value the value to look for
+     *
+     * @return an {@link Optional} containing the position, or {@link Optional#empty()} if the list does not contain
+     * the {@code value}
+     */
+    @Nonnull
+    Optional<Integer> lastIndexOf(Object value) {
+        int first = 0;
+        if (values.length >= INDEX_THRESHOLD) {
+            Integer position = index().get(value);
+            if (isNull(position)) {
+                return Optional.empty();
+            }
+            first = position;
+        }
+
+        for (int i = values.length - 1; i >= first; i--) {
+            if (value.equals(values[i])) {
+                return Optional.of(i);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Returns the hash index of the values, and builds it if necessary.
+     *
+     * @return the position of the first occurrence of each value
+     */
+    @Nonnull
+    private Map<Object, Integer> index() {
+        Map<Object, Integer> result = index;
+
+        if (isNull(result)) {
+            result = new HashMap<>(values.length * 4 / 3 + 1);
+            for (int i = values.length - 1; i >= 0; i--) {
+                result.put(values[i], i);
+            }
+            index = result;
+        }
+
+        return result;
+    }
+}
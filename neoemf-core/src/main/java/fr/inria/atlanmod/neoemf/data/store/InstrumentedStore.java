@@ -0,0 +1,710 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.store;
+
+import fr.inria.atlanmod.commons.log.Log;
+import fr.inria.atlanmod.neoemf.core.Id;
+import fr.inria.atlanmod.neoemf.data.AbstractBackend;
+import fr.inria.atlanmod.neoemf.data.Backend;
+import fr.inria.atlanmod.neoemf.data.bean.ClassBean;
+import fr.inria.atlanmod.neoemf.data.bean.ManyFeatureBean;
+import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
+import fr.inria.atlanmod.neoemf.data.mapping.DataMapper;
+import fr.inria.atlanmod.neoemf.data.store.listener.IoStats;
+import fr.inria.atlanmod.neoemf.data.store.listener.StoreOperation;
+import fr.inria.atlanmod.neoemf.data.store.listener.StoreStats;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * A {@link Store} that records the number and the duration of the calls made on this store chain in a {@link
+ * StoreStats}.
+ * <p>
+ * Unlike a {@link ListeningStore}, this store does not create any report and does not inspect the results of the
+ * calls: each call is identified by a {@link StoreOperation}, and its duration is recorded in a lock-free histogram.
+ * The returned {@link Stream}s are not consumed, so the duration of their creation only is recorded.
+ * <p>
+ * If enabled, the input/output work of the back-end is also recorded in the {@link IoStats} of the stats, and
+ * attributed to the operation being processed. The returned {@link Stream}s are wrapped, so that the work done by the
+ * back-end while they are lazily consumed is still attributed to the operation that created them.
+ */
+@ParametersAreNonnullByDefault
+public class InstrumentedStore extends AbstractStore {
+
+    /**
+     * The stats to update.
+     */
+    @Nonnull
+    private final StoreStats stats;
+
+    /**
+     * Whether the input/output work of the back-end is recorded.
+     */
+    private final boolean recordIo;
+
+    /**
+     * Constructs a new {@code InstrumentedStore}, without recording the input/output work of the back-end.
+     *
+     * @param stats the stats to update
+     */
+    public InstrumentedStore(StoreStats stats) {
+        this(stats, false);
+    }
+
+    /**
+     * Constructs a new {@code InstrumentedStore}.
+     *
+     * @param stats    the stats to update
+     * @param recordIo {@code true} if the input/output work of the back-end must be recorded
+     */
+    public InstrumentedStore(StoreStats stats, boolean recordIo) {
+        super(5);
+        this.stats = checkNotNull(stats, "stats");
+        this.recordIo = recordIo;
+    }
+
+    /**
+     * Returns the stats updated by this store.
+     *
+     * @return the stats
+     */
+    @Nonnull
+    public StoreStats stats() {
+        return stats;
+    }
+
+    @Override
+    public void next(Store next) {
+        super.next(next);
+        stats.attach();
+
+        if (recordIo) {
+            Backend backend = backend();
+            if (AbstractBackend.class.isInstance(backend)) {
+                AbstractBackend.class.cast(backend).recordIo(stats.io());
+            }
+            else {
+                Log.warn("{0} does not record its input/output work", backend.getClass().getSimpleName());
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        super.close();
+        stats.detach();
+    }
+
+    /**
+     * Starts the recording of an {@code operation}.
+     *
+     * @param operation the operation
+     *
+     * @return the start time, in nanoseconds
+     */
+    private long begin(StoreOperation operation) {
+        if (recordIo) {
+            stats.io().enter(operation);
+        }
+        return System.nanoTime();
+    }
+
+    /**
+     * Ends the recording of an {@code operation}.
+     *
+     * @param operation the operation
+     * @param start     the start time, in nanoseconds
+     */
+    private void end(StoreOperation operation, long start) {
+        stats.recordOperation(operation, System.nanoTime() - start);
+
+        if (recordIo) {
+            stats.io().exit();
+        }
+    }
+
+    /**
+     * Attributes the input/output work done while consuming the {@code stream} to the {@code operation}.
+     *
+     * @param operation the operation that created the stream
+     * @param stream    the stream returned by the operation
+     * @param <T>       the type of elements
+     *
+     * @return the stream to return to the caller
+     */
+    @Nonnull
+    private <T> Stream<T> attribute(StoreOperation operation, Stream<T> stream) {
+        if (!recordIo) {
+            return stream;
+        }
+
+        return StreamSupport.stream(new AttributingSpliterator<>(stream.spliterator(), stats.io(), operation), stream.isParallel())
+                .onClose(stream::close);
+    }
+
+    @Override
+    public void save() {
+        final long start = begin(StoreOperation.SAVE);
+        try {
+            super.save();
+        }
+        finally {
+            end(StoreOperation.SAVE, start);
+        }
+    }
+
+    @Override
+    public void copyTo(DataMapper target) {
+        final long start = begin(StoreOperation.COPY_TO);
+        try {
+            super.copyTo(target);
+        }
+        finally {
+            end(StoreOperation.COPY_TO, start);
+        }
+    }
+
+    @Nonnull
+    @Override
+    public Optional<SingleFeatureBean> containerOf(Id id) {
+        final long start = begin(StoreOperation.CONTAINER_OF);
+        try {
+            return super.containerOf(id);
+        }
+        finally {
+            end(StoreOperation.CONTAINER_OF, start);
+        }
+    }
+
+    @Override
+    public void containerFor(Id id, SingleFeatureBean container) {
+        final long start = begin(StoreOperation.CONTAINER_FOR);
+        try {
+            super.containerFor(id, container);
+        }
+        finally {
+            end(StoreOperation.CONTAINER_FOR, start);
+        }
+    }
+
+    @Override
+    public void removeContainer(Id id) {
+        final long start = begin(StoreOperation.REMOVE_CONTAINER);
+        try {
+            super.removeContainer(id);
+        }
+        finally {
+            end(StoreOperation.REMOVE_CONTAINER, start);
+        }
+    }
+
+    @Nonnull
+    @Override
+    public Optional<ClassBean> metaClassOf(Id id) {
+        final long start = begin(StoreOperation.META_CLASS_OF);
+        try {
+            return super.metaClassOf(id);
+        }
+        finally {
+            end(StoreOperation.META_CLASS_OF, start);
+        }
+    }
+
+    @Override
+    public boolean metaClassFor(Id id, ClassBean metaClass) {
+        final long start = begin(StoreOperation.META_CLASS_FOR);
+        try {
+            return super.metaClassFor(id, metaClass);
+        }
+        finally {
+            end(StoreOperation.META_CLASS_FOR, start);
+        }
+    }
+
+    @Nonnull
+    @Override
+    public <V> Optional<V> valueOf(SingleFeatureBean feature) {
+        final long start = begin(StoreOperation.VALUE_OF);
+        try {
+            return super.valueOf(feature);
+        }
+        finally {
+            end(StoreOperation.VALUE_OF, start);
+        }
+    }
+
+    @Nonnull
+    @Override
+    public <V> Optional<V> valueFor(SingleFeatureBean feature, V value) {
+        final long start = begin(StoreOperation.VALUE_FOR);
+        try {
+            return super.valueFor(feature, value);
+        }
+        finally {
+            end(StoreOperation.VALUE_FOR, start);
+        }
+    }
+
+    @Override
+    public void removeValue(SingleFeatureBean feature) {
+        final long start = begin(StoreOperation.REMOVE_VALUE);
+        try {
+            super.removeValue(feature);
+        }
+        finally {
+            end(StoreOperation.REMOVE_VALUE, start);
+        }
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Id> referenceOf(SingleFeatureBean feature) {
+        final long start = begin(StoreOperation.REFERENCE_OF);
+        try {
+            return super.referenceOf(feature);
+        }
+        finally {
+            end(StoreOperation.REFERENCE_OF, start);
+        }
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Id> referenceFor(SingleFeatureBean feature, Id reference) {
+        final long start = begin(StoreOperation.REFERENCE_FOR);
+        try {
+            return super.referenceFor(feature, reference);
+        }
+        finally {
+            end(StoreOperation.REFERENCE_FOR, start);
+        }
+    }
+
+    @Override
+    public void removeReference(SingleFeatureBean feature) {
+        final long start = begin(StoreOperation.REMOVE_REFERENCE);
+        try {
+            super.removeReference(feature);
+        }
+        finally {
+            end(StoreOperation.REMOVE_REFERENCE, start);
+        }
+    }
+
+    @Nonnull
+    @Override
+    public <V> Optional<V> valueOf(ManyFeatureBean feature) {
+        final long start = begin(StoreOperation.VALUE_OF);
+        try {
+            return super.valueOf(feature);
+        }
+        finally {
+            end(StoreOperation.VALUE_OF, start);
+        }
+    }
+
+    @Nonnull
+    @Override
+    public <V> Stream<V> allValuesOf(SingleFeatureBean feature) {
+        final long start = begin(StoreOperation.ALL_VALUES_OF);
+        try {
+            return attribute(StoreOperation.ALL_VALUES_OF, super.allValuesOf(feature));
+        }
+        finally {
+            end(StoreOperation.ALL_VALUES_OF, start);
+        }
+    }
+
+    @Nonnull
+    @Override
+    public <V> Optional<Integer> indexOfValue(SingleFeatureBean feature, V value) {
+        final long start = begin(StoreOperation.INDEX_OF_VALUE);
+        try {
+            return super.indexOfValue(feature, value);
+        }
+        finally {
+            end(StoreOperation.INDEX_OF_VALUE, start);
+        }
+    }
+
+    @Nonnull
+    @Override
+    public <V> Optional<Integer> lastIndexOfValue(SingleFeatureBean feature, V value) {
+        final long start = begin(StoreOperation.LAST_INDEX_OF_VALUE);
+        try {
+            return super.lastIndexOfValue(feature, value);
+        }
+        finally {
+            end(StoreOperation.LAST_INDEX_OF_VALUE, start);
+        }
+    }
+
+    @Nonnull
+    @Override
+    public <V> Optional<V> valueFor(ManyFeatureBean feature, V value) {
+        final long start = begin(StoreOperation.VALUE_FOR);
+        try {
+            return super.valueFor(feature, value);
+        }
+        finally {
+            end(StoreOperation.VALUE_FOR, start);
+        }
+    }
+
+    @Override
+    public <V> void addValue(ManyFeatureBean feature, V value) {
+        final long start = begin(StoreOperation.ADD_VALUE);
+        try {
+            super.addValue(feature, value);
+        }
+        finally {
+            end(StoreOperation.ADD_VALUE, start);
+        }
+    }
+
+    @Override
+    public <V> void addAllValues(ManyFeatureBean feature, List<? extends V> collection) {
+        final long start = begin(StoreOperation.ADD_ALL_VALUES);
+        try {
+            super.addAllValues(feature, collection);
+        }
+        finally {
+            end(StoreOperation.ADD_ALL_VALUES, start);
+        }
+    }
+
+    @Nonnegative
+    @Override
+    public <V> int appendValue(SingleFeatureBean feature, V value) {
+        final long start = begin(StoreOperation.APPEND_VALUE);
+        try {
+            return super.appendValue(feature, value);
+        }
+        finally {
+            end(StoreOperation.APPEND_VALUE, start);
+        }
+    }
+
+    @Nonnegative
+    @Override
+    public <V> int appendAllValues(SingleFeatureBean feature, List<? extends V> collection) {
+        final long start = begin(StoreOperation.APPEND_ALL_VALUES);
+        try {
+            return super.appendAllValues(feature, collection);
+        }
+        finally {
+            end(StoreOperation.APPEND_ALL_VALUES, start);
+        }
+    }
+
+    @Nonnull
+    @Override
+    public <V> Optional<V> removeValue(ManyFeatureBean feature) {
+        final long start = begin(StoreOperation.REMOVE_VALUE);
+        try {
+            return super.removeValue(feature);
+        }
+        finally {
+            end(StoreOperation.REMOVE_VALUE, start);
+        }
+    }
+
+    @Override
+    public void removeAllValues(SingleFeatureBean feature) {
+        final long start = begin(StoreOperation.REMOVE_ALL_VALUES);
+        try {
+            super.removeAllValues(feature);
+        }
+        finally {
+            end(StoreOperation.REMOVE_ALL_VALUES, start);
+        }
+    }
+
+    @Nonnull
+    @Nonnegative
+    @Override
+    public Optional<Integer> sizeOfValue(SingleFeatureBean feature) {
+        final long start = begin(StoreOperation.SIZE_OF_VALUE);
+        try {
+            return super.sizeOfValue(feature);
+        }
+        finally {
+            end(StoreOperation.SIZE_OF_VALUE, start);
+        }
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Id> referenceOf(ManyFeatureBean feature) {
+        final long start = begin(StoreOperation.REFERENCE_OF);
+        try {
+            return super.referenceOf(feature);
+        }
+        finally {
+            end(StoreOperation.REFERENCE_OF, start);
+        }
+    }
+
+    @Nonnull
+    @Override
+    public Stream<Id> allReferencesOf(SingleFeatureBean feature) {
+        final long start = begin(StoreOperation.ALL_REFERENCES_OF);
+        try {
+            return attribute(StoreOperation.ALL_REFERENCES_OF, super.allReferencesOf(feature));
+        }
+        finally {
+            end(StoreOperation.ALL_REFERENCES_OF, start);
+        }
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Integer> indexOfReference(SingleFeatureBean feature, Id reference) {
+        final long start = begin(StoreOperation.INDEX_OF_REFERENCE);
+        try {
+            return super.indexOfReference(feature, reference);
+        }
+        finally {
+            end(StoreOperation.INDEX_OF_REFERENCE, start);
+        }
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Integer> lastIndexOfReference(SingleFeatureBean feature, Id reference) {
+        final long start = begin(StoreOperation.LAST_INDEX_OF_REFERENCE);
+        try {
+            return super.lastIndexOfReference(feature, reference);
+        }
+        finally {
+            end(StoreOperation.LAST_INDEX_OF_REFERENCE, start);
+        }
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Id> referenceFor(ManyFeatureBean feature, Id reference) {
+        final long start = begin(StoreOperation.REFERENCE_FOR);
+        try {
+            return super.referenceFor(feature, reference);
+        }
+        finally {
+            end(StoreOperation.REFERENCE_FOR, start);
+        }
+    }
+
+    @Override
+    public void addReference(ManyFeatureBean feature, Id reference) {
+        final long start = begin(StoreOperation.ADD_REFERENCE);
+        try {
+            super.addReference(feature, reference);
+        }
+        finally {
+            end(StoreOperation.ADD_REFERENCE, start);
+        }
+    }
+
+    @Override
+    public void addAllReferences(ManyFeatureBean feature, List<Id> collection) {
+        final long start = begin(StoreOperation.ADD_ALL_REFERENCES);
+        try {
+            super.addAllReferences(feature, collection);
+        }
+        finally {
+            end(StoreOperation.ADD_ALL_REFERENCES, start);
+        }
+    }
+
+    @Nonnegative
+    @Override
+    public int appendReference(SingleFeatureBean feature, Id reference) {
+        final long start = begin(StoreOperation.APPEND_REFERENCE);
+        try {
+            return super.appendReference(feature, reference);
+        }
+        finally {
+            end(StoreOperation.APPEND_REFERENCE, start);
+        }
+    }
+
+    @Nonnegative
+    @Override
+    public int appendAllReferences(SingleFeatureBean feature, List<Id> collection) {
+        final long start = begin(StoreOperation.APPEND_ALL_REFERENCES);
+        try {
+            return super.appendAllReferences(feature, collection);
+        }
+        finally {
+            end(StoreOperation.APPEND_ALL_REFERENCES, start);
+        }
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Id> removeReference(ManyFeatureBean feature) {
+        final long start = begin(StoreOperation.REMOVE_REFERENCE);
+        try {
+            return super.removeReference(feature);
+        }
+        finally {
+            end(StoreOperation.REMOVE_REFERENCE, start);
+        }
+    }
+
+    @Override
+    public void removeAllReferences(SingleFeatureBean feature) {
+        final long start = begin(StoreOperation.REMOVE_ALL_REFERENCES);
+        try {
+            super.removeAllReferences(feature);
+        }
+        finally {
+            end(StoreOperation.REMOVE_ALL_REFERENCES, start);
+        }
+    }
+
+    @Nonnull
+    @Nonnegative
+    @Override
+    public Optional<Integer> sizeOfReference(SingleFeatureBean feature) {
+        final long start = begin(StoreOperation.SIZE_OF_REFERENCE);
+        try {
+            return super.sizeOfReference(feature);
+        }
+        finally {
+            end(StoreOperation.SIZE_OF_REFERENCE, start);
+        }
+    }
+
+    /**
+     * A {@link Spliterator} that attributes the input/output work of the underlying spliterator to an operation.
+     * <p>
+     * Only the work done to produce the elements is attributed: the operation previously processed by the calling
+     * thread, if any, is resumed while the elements are consumed.
+     *
+     * @param <T> the type of elements
+     */
+    @ParametersAreNonnullByDefault
+    private static final class AttributingSpliterator<T> implements Spliterator<T> {
+
+        /**
+         * The underlying spliterator.
+         */
+        @Nonnull
+        private final Spliterator<T> spliterator;
+
+        /**
+         * The stats to update.
+         */
+        @Nonnull
+        private final IoStats io;
+
+        /**
+         * The operation that created the stream.
+         */
+        @Nonnull
+        private final StoreOperation operation;
+
+        /**
+         * Constructs a new {@code AttributingSpliterator}.
+         *
+         * @param spliterator the underlying spliterator
+         * @param io          the stats to update
+         * @param operation   the operation that created the stream
+         */
+        AttributingSpliterator(Spliterator<T> spliterator, IoStats io, StoreOperation operation) {
+            this.spliterator = spliterator;
+            this.io = io;
+            this.operation = operation;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            final StoreOperation previous = io.enter(operation);
+            try {
+                return spliterator.tryAdvance(resuming(action, previous));
+            }
+            finally {
+                io.exit(previous);
+            }
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            final StoreOperation previous = io.enter(operation);
+            try {
+                spliterator.forEachRemaining(resuming(action, previous));
+            }
+            finally {
+                io.exit(previous);
+            }
+        }
+
+        @Nullable
+        @Override
+        public Spliterator<T> trySplit() {
+            Spliterator<T> split = spliterator.trySplit();
+            return nonNull(split) ? new AttributingSpliterator<>(split, io, operation) : null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return spliterator.estimateSize();
+        }
+
+        @Override
+        public long getExactSizeIfKnown() {
+            return spliterator.getExactSizeIfKnown();
+        }
+
+        @Override
+        public int characteristics() {
+            return spliterator.characteristics();
+        }
+
+        @Override
+        public Comparator<? super T> getComparator() {
+            return spliterator.getComparator();
+        }
+
+        /**
+         * Wraps the {@code action}, so that the {@code previous} operation is resumed while it is running.
+         *
+         * @param action   the action consuming the elements
+         * @param previous the operation to resume, or {@code null} if there is none
+         *
+         * @return the wrapped action
+         */
+        @Nonnull
+        private Consumer<T> resuming(Consumer<? super T> action, @Nullable StoreOperation previous) {
+            return t -> {
+                io.exit(previous);
+                try {
+                    action.accept(t);
+                }
+                finally {
+                    io.enter(operation);
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,294 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.store;
+
+import fr.inria.atlanmod.neoemf.core.Id;
+import fr.inria.atlanmod.neoemf.data.bean.ManyFeatureBean;
+import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * A {@link Store} wrapper that caches all the values of multi-valued
+ * {@link org.eclipse.emf.ecore.EStructuralFeature}s as a whole.
+ * <p>
+ * A feature is loaded entirely the first time all its values are read, or a value is looked for. Then, its values,
+ * its size and the position of its values are served from the cache, until the feature is modified.
+ *
+ * @see IndexedList
+ */
+@ParametersAreNonnullByDefault
+public class ListCachingStore extends AbstractCachingStore<SingleFeatureBean, IndexedList> {
+
+    /**
+     * Constructs a new {@code ListCachingStore} with the default {@link CachePolicy}.
+     */
+    public ListCachingStore() {
+        super();
+    }
+
+    /**
+     * Constructs a new {@code ListCachingStore} with the given {@code policy}.
+     *
+     * @param policy the policy of the cache
+     */
+    public ListCachingStore(CachePolicy policy) {
+        super(policy);
+    }
+
+    @Override
+    public void removeValue(SingleFeatureBean feature) {
+        super.removeValue(feature);
+
+        cache.invalidate(feature);
+    }
+
+    @Override
+    public void removeReference(SingleFeatureBean feature) {
+        super.removeReference(feature);
+
+        cache.invalidate(feature);
+    }
+
+    @Nonnull
+    @Override
+    public <V> Optional<V> valueOf(ManyFeatureBean feature) {
+        IndexedList list = cache.get(feature.withoutPosition());
+        if (nonNull(list)) {
+            return list.get(feature.position());
+        }
+
+        return super.valueOf(feature);
+    }
+
+    @Nonnull
+    @Override
+    public <V> Stream<V> allValuesOf(SingleFeatureBean feature) {
+        return loadValues(feature).all();
+    }
+
+    @Nonnull
+    @Override
+    public <V> Optional<Integer> indexOfValue(SingleFeatureBean feature, V value) {
+        return loadValues(feature).indexOf(value);
+    }
+
+    @Nonnull
+    @Override
+    public <V> Optional<Integer> lastIndexOfValue(SingleFeatureBean feature, V value) {
+        return loadValues(feature).lastIndexOf(value);
+    }
+
+    @Nonnull
+    @Override
+    public <V> Optional<V> valueFor(ManyFeatureBean feature, V value) {
+        Optional<V> previous = super.valueFor(feature, value);
+
+        cache.invalidate(feature.withoutPosition());
+
+        return previous;
+    }
+
+    @Override
+    public <V> void addValue(ManyFeatureBean feature, V value) {
+        super.addValue(feature, value);
+
+        cache.invalidate(feature.withoutPosition());
+    }
+
+    @Override
+    public <V> void addAllValues(ManyFeatureBean feature, List<? extends V> collection) {
+        super.addAllValues(feature, collection);
+
+        cache.invalidate(feature.withoutPosition());
+    }
+
+    @Nonnegative
+    @Override
+    public <V> int appendValue(SingleFeatureBean feature, V value) {
+        int position = super.appendValue(feature, value);
+
+        cache.invalidate(feature);
+
+        return position;
+    }
+
+    @Nonnegative
+    @Override
+    public <V> int appendAllValues(SingleFeatureBean feature, List<? extends V> collection) {
+        int firstPosition = super.appendAllValues(feature, collection);
+
+        cache.invalidate(feature);
+
+        return firstPosition;
+    }
+
+    @Nonnull
+    @Override
+    public <V> Optional<V> removeValue(ManyFeatureBean feature) {
+        Optional<V> previous = super.removeValue(feature);
+
+        cache.invalidate(feature.withoutPosition());
+
+        return previous;
+    }
+
+    @Override
+    public void removeAllValues(SingleFeatureBean feature) {
+        super.removeAllValues(feature);
+
+        cache.invalidate(feature);
+    }
+
+    @Nonnull
+    @Nonnegative
+    @Override
+    public Optional<Integer> sizeOfValue(SingleFeatureBean feature) {
+        IndexedList list = cache.get(feature);
+        if (nonNull(list)) {
+            return Optional.of(list.size()).filter(s -> s > 0);
+        }
+
+        return super.sizeOfValue(feature);
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Id> referenceOf(ManyFeatureBean feature) {
+        IndexedList list = cache.get(feature.withoutPosition());
+        if (nonNull(list)) {
+            return list.get(feature.position());
+        }
+
+        return super.referenceOf(feature);
+    }
+
+    @Nonnull
+    @Override
+    public Stream<Id> allReferencesOf(SingleFeatureBean feature) {
+        return loadReferences(feature).all();
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Integer> indexOfReference(SingleFeatureBean feature, Id reference) {
+        return loadReferences(feature).indexOf(reference);
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Integer> lastIndexOfReference(SingleFeatureBean feature, Id reference) {
+        return loadReferences(feature).lastIndexOf(reference);
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Id> referenceFor(ManyFeatureBean feature, Id reference) {
+        Optional<Id> previous = super.referenceFor(feature, reference);
+
+        cache.invalidate(feature.withoutPosition());
+
+        return previous;
+    }
+
+    @Override
+    public void addReference(ManyFeatureBean feature, Id reference) {
+        super.addReference(feature, reference);
+
+        cache.invalidate(feature.withoutPosition());
+    }
+
+    @Override
+    public void addAllReferences(ManyFeatureBean feature, List<Id> collection) {
+        super.addAllReferences(feature, collection);
+
+        cache.invalidate(feature.withoutPosition());
+    }
+
+    @Nonnegative
+    @Override
+    public int appendReference(SingleFeatureBean feature, Id reference) {
+        int position = super.appendReference(feature, reference);
+
+        cache.invalidate(feature);
+
+        return position;
+    }
+
+    @Nonnegative
+    @Override
+    public int appendAllReferences(SingleFeatureBean feature, List<Id> collection) {
+        int firstPosition = super.appendAllReferences(feature, collection);
+
+        cache.invalidate(feature);
+
+        return firstPosition;
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Id> removeReference(ManyFeatureBean feature) {
+        Optional<Id> previous = super.removeReference(feature);
+
+        cache.invalidate(feature.withoutPosition());
+
+        return previous;
+    }
+
+    @Override
+    public void removeAllReferences(SingleFeatureBean feature) {
+        super.removeAllReferences(feature);
+
+        cache.invalidate(feature);
+    }
+
+    @Nonnull
+    @Nonnegative
+    @Override
+    public Optional<Integer> sizeOfReference(SingleFeatureBean feature) {
+        IndexedList list = cache.get(feature);
+        if (nonNull(list)) {
+            return Optional.of(list.size()).filter(s -> s > 0);
+        }
+
+        return super.sizeOfReference(feature);
+    }
+
+    /**
+     * Returns all the values of the multi-valued attribute, and loads them if they are not cached yet.
+     *
+     * @param feature the bean identifying the attribute
+     *
+     * @return the cached values
+     */
+    @Nonnull
+    private IndexedList loadValues(SingleFeatureBean feature) {
+        return cache.get(feature, k -> IndexedList.of(super.allValuesOf(k)));
+    }
+
+    /**
+     * Returns all the references of the multi-valued reference, and loads them if they are not cached yet.
+     *
+     * @param feature the bean identifying the reference
+     *
+     * @return the cached references
+     */
+    @Nonnull
+    private IndexedList loadReferences(SingleFeatureBean feature) {
+        return cache.get(feature, k -> IndexedList.of(super.allReferencesOf(k)));
+    }
+}
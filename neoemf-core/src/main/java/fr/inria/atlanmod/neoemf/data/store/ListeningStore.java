@@ -17,6 +17,7 @@ import fr.inria.atlanmod.neoemf.data.mapping.DataMapper;
 import fr.inria.atlanmod.neoemf.data.store.listener.BackendReport;
 import fr.inria.atlanmod.neoemf.data.store.listener.FailureCallReport;
 import fr.inria.atlanmod.neoemf.data.store.listener.StoreListener;
+import fr.inria.atlanmod.neoemf.data.store.listener.StoreOperation;
 import fr.inria.atlanmod.neoemf.data.store.listener.SuccessCallReport;
 
 import java.util.ArrayList;
@@ -85,198 +86,223 @@ public class ListeningStore extends AbstractStore {
 
     @Override
     public void save() {
-        onCall(super::save);
+        onCall(StoreOperation.SAVE, super::save);
     }
 
     @Override
     public void copyTo(DataMapper target) {
-        onCall(super::copyTo, target);
+        onCall(StoreOperation.COPY_TO, super::copyTo, target);
     }
 
     @Nonnull
     @Override
     public Optional<SingleFeatureBean> containerOf(Id id) {
-        return onCallResult(super::containerOf, id);
+        return onCallResult(StoreOperation.CONTAINER_OF, super::containerOf, id);
     }
 
     @Override
     public void containerFor(Id id, SingleFeatureBean container) {
-        onCall(super::containerFor, id, container);
+        onCall(StoreOperation.CONTAINER_FOR, super::containerFor, id, container);
     }
 
     @Override
     public void removeContainer(Id id) {
-        onCall(super::removeContainer, id);
+        onCall(StoreOperation.REMOVE_CONTAINER, super::removeContainer, id);
     }
 
     @Nonnull
     @Override
     public Optional<ClassBean> metaClassOf(Id id) {
-        return onCallResult(super::metaClassOf, id);
+        return onCallResult(StoreOperation.META_CLASS_OF, super::metaClassOf, id);
     }
 
     @Override
     public boolean metaClassFor(Id id, ClassBean metaClass) {
-        return onCallResult(super::metaClassFor, id, metaClass);
+        return onCallResult(StoreOperation.META_CLASS_FOR, super::metaClassFor, id, metaClass);
     }
 
     @Nonnull
     @Override
     public <V> Optional<V> valueOf(SingleFeatureBean feature) {
-        return onCallResult(super::valueOf, feature);
+        return onCallResult(StoreOperation.VALUE_OF, super::valueOf, feature);
     }
 
     @Nonnull
     @Override
     public <V> Optional<V> valueFor(SingleFeatureBean feature, V value) {
-        return onCallResult(super::valueFor, feature, value);
+        return onCallResult(StoreOperation.VALUE_FOR, super::valueFor, feature, value);
     }
 
     @Override
     public void removeValue(SingleFeatureBean feature) {
-        onCall(super::removeValue, feature);
+        onCall(StoreOperation.REMOVE_VALUE, super::removeValue, feature);
     }
 
     @Nonnull
     @Override
     public Optional<Id> referenceOf(SingleFeatureBean feature) {
-        return onCallResult(super::referenceOf, feature);
+        return onCallResult(StoreOperation.REFERENCE_OF, super::referenceOf, feature);
     }
 
     @Nonnull
     @Override
     public Optional<Id> referenceFor(SingleFeatureBean feature, Id reference) {
-        return onCallResult(super::referenceFor, feature, reference);
+        return onCallResult(StoreOperation.REFERENCE_FOR, super::referenceFor, feature, reference);
     }
 
     @Override
     public void removeReference(SingleFeatureBean feature) {
-        onCall(super::removeReference, feature);
+        onCall(StoreOperation.REMOVE_REFERENCE, super::removeReference, feature);
     }
 
     @Nonnull
     @Override
     public <V> Optional<V> valueOf(ManyFeatureBean feature) {
-        return onCallResult(super::valueOf, feature);
+        return onCallResult(StoreOperation.VALUE_OF, super::valueOf, feature);
     }
 
     @Nonnull
     @Override
     public <V> Stream<V> allValuesOf(SingleFeatureBean feature) {
-        return onCallResult(super::allValuesOf, feature);
+        return onCallResult(StoreOperation.ALL_VALUES_OF, super::allValuesOf, feature);
+    }
+
+    @Nonnull
+    @Override
+    public <V> Optional<Integer> indexOfValue(SingleFeatureBean feature, V value) {
+        return onCallResult(StoreOperation.INDEX_OF_VALUE, super::indexOfValue, feature, value);
+    }
+
+    @Nonnull
+    @Override
+    public <V> Optional<Integer> lastIndexOfValue(SingleFeatureBean feature, V value) {
+        return onCallResult(StoreOperation.LAST_INDEX_OF_VALUE, super::lastIndexOfValue, feature, value);
     }
 
     @Nonnull
     @Override
     public <V> Optional<V> valueFor(ManyFeatureBean feature, V value) {
-        return onCallResult(super::valueFor, feature, value);
+        return onCallResult(StoreOperation.VALUE_FOR, super::valueFor, feature, value);
     }
 
     @Override
     public <V> void addValue(ManyFeatureBean feature, V value) {
-        onCall(super::addValue, feature, value);
+        onCall(StoreOperation.ADD_VALUE, super::addValue, feature, value);
     }
 
     @Override
     public <V> void addAllValues(ManyFeatureBean feature, List<? extends V> collection) {
-        onCall(super::addAllValues, feature, collection);
+        onCall(StoreOperation.ADD_ALL_VALUES, super::addAllValues, feature, collection);
     }
 
     @Nonnegative
     @Override
     public <V> int appendValue(SingleFeatureBean feature, V value) {
-        return onCallResult(super::appendValue, feature, value);
+        return onCallResult(StoreOperation.APPEND_VALUE, super::appendValue, feature, value);
     }
 
     @Nonnegative
     @Override
     public <V> int appendAllValues(SingleFeatureBean feature, List<? extends V> collection) {
-        return onCallResult(super::appendAllValues, feature, collection);
+        return onCallResult(StoreOperation.APPEND_ALL_VALUES, super::appendAllValues, feature, collection);
     }
 
     @Nonnull
     @Override
     public <V> Optional<V> removeValue(ManyFeatureBean feature) {
-        return onCallResult(super::removeValue, feature);
+        return onCallResult(StoreOperation.REMOVE_VALUE, super::removeValue, feature);
     }
 
     @Override
     public void removeAllValues(SingleFeatureBean feature) {
-        onCall(super::removeAllValues, feature);
+        onCall(StoreOperation.REMOVE_ALL_VALUES, super::removeAllValues, feature);
     }
 
     @Nonnull
     @Nonnegative
     @Override
     public Optional<Integer> sizeOfValue(SingleFeatureBean feature) {
-        return onCallResult(super::sizeOfValue, feature);
+        return onCallResult(StoreOperation.SIZE_OF_VALUE, super::sizeOfValue, feature);
     }
 
     @Nonnull
     @Override
     public Optional<Id> referenceOf(ManyFeatureBean feature) {
-        return onCallResult(super::referenceOf, feature);
+        return onCallResult(StoreOperation.REFERENCE_OF, super::referenceOf, feature);
     }
 
     @Nonnull
     @Override
     public Stream<Id> allReferencesOf(SingleFeatureBean feature) {
-        return onCallResult(super::allReferencesOf, feature);
+        return onCallResult(StoreOperation.ALL_REFERENCES_OF, super::allReferencesOf, feature);
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Integer> indexOfReference(SingleFeatureBean feature, Id reference) {
+        return onCallResult(StoreOperation.INDEX_OF_REFERENCE, super::indexOfReference, feature, reference);
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Integer> lastIndexOfReference(SingleFeatureBean feature, Id reference) {
+        return onCallResult(StoreOperation.LAST_INDEX_OF_REFERENCE, super::lastIndexOfReference, feature, reference);
     }
 
     @Nonnull
     @Override
     public Optional<Id> referenceFor(ManyFeatureBean feature, Id reference) {
-        return onCallResult(super::referenceFor, feature, reference);
+        return onCallResult(StoreOperation.REFERENCE_FOR, super::referenceFor, feature, reference);
     }
 
     @Override
     public void addReference(ManyFeatureBean feature, Id reference) {
-        onCall(super::addReference, feature, reference);
+        onCall(StoreOperation.ADD_REFERENCE, super::addReference, feature, reference);
     }
 
     @Override
     public void addAllReferences(ManyFeatureBean feature, List<Id> collection) {
-        onCall(super::addAllReferences, feature, collection);
+        onCall(StoreOperation.ADD_ALL_REFERENCES, super::addAllReferences, feature, collection);
     }
 
     @Nonnegative
     @Override
     public int appendReference(SingleFeatureBean feature, Id reference) {
-        return onCallResult(super::appendReference, feature, reference);
+        return onCallResult(StoreOperation.APPEND_REFERENCE, super::appendReference, feature, reference);
     }
 
     @Nonnegative
     @Override
     public int appendAllReferences(SingleFeatureBean feature, List<Id> collection) {
-        return onCallResult(super::appendAllReferences, feature, collection);
+        return onCallResult(StoreOperation.APPEND_ALL_REFERENCES, super::appendAllReferences, feature, collection);
     }
 
     @Nonnull
     @Override
     public Optional<Id> removeReference(ManyFeatureBean feature) {
-        return onCallResult(super::removeReference, feature);
+        return onCallResult(StoreOperation.REMOVE_REFERENCE, super::removeReference, feature);
     }
 
     @Override
     public void removeAllReferences(SingleFeatureBean feature) {
-        onCall(super::removeAllReferences, feature);
+        onCall(StoreOperation.REMOVE_ALL_REFERENCES, super::removeAllReferences, feature);
     }
 
     @Nonnull
     @Nonnegative
     @Override
     public Optional<Integer> sizeOfReference(SingleFeatureBean feature) {
-        return onCallResult(super::sizeOfReference, feature);
+        return onCallResult(StoreOperation.SIZE_OF_REFERENCE, super::sizeOfReference, feature);
     }
 
     /**
      * Logs the call of a method.
      *
-     * @param runnable the method to call
+     * @param operation the called operation
+     * @param runnable  the method to call
      */
-    private void onCall(Runnable runnable) {
-        onCallResult((k, v) -> {
+    private void onCall(StoreOperation operation, Runnable runnable) {
+        onCallResult(operation, (k, v) -> {
             runnable.run();
             return null;
         }, null, null);
@@ -285,11 +311,12 @@ public class ListeningStore extends AbstractStore {
     /**
      * Logs the call of a method.
      *
-     * @param consumer the method to call
-     * @param key      the key used during the call
+     * @param operation the called operation
+     * @param consumer  the method to call
+     * @param key       the key used during the call
      */
-    private <K> void onCall(Consumer<K> consumer, @Nullable K key) {
-        onCallResult((k, v) -> {
+    private <K> void onCall(StoreOperation operation, Consumer<K> consumer, @Nullable K key) {
+        onCallResult(operation, (k, v) -> {
             consumer.accept(k);
             return null;
         }, key, null);
@@ -298,12 +325,13 @@ public class ListeningStore extends AbstractStore {
     /**
      * Logs the call of a method.
      *
-     * @param consumer the method to call
-     * @param key      the key used during the call
-     * @param value    the value of the key
+     * @param operation the called operation
+     * @param consumer  the method to call
+     * @param key       the key used during the call
+     * @param value     the value of the key
      */
-    private <K, V> void onCall(BiConsumer<K, V> consumer, @Nullable K key, @Nullable V value) {
-        onCallResult((k, v) -> {
+    private <K, V> void onCall(StoreOperation operation, BiConsumer<K, V> consumer, @Nullable K key, @Nullable V value) {
+        onCallResult(operation, (k, v) -> {
             consumer.accept(k, v);
             return null;
         }, key, value);
@@ -312,26 +340,28 @@ public class ListeningStore extends AbstractStore {
     /**
      * Logs the call of a method and returns the result.
      *
-     * @param function the method to call
-     * @param key      the key used during the call
+     * @param operation the called operation
+     * @param function  the method to call
+     * @param key       the key used during the call
      *
      * @return the result of the call
      */
-    private <K, R> R onCallResult(Function<K, R> function, @Nullable K key) {
-        return onCallResult((k, v) -> function.apply(k), key, null);
+    private <K, R> R onCallResult(StoreOperation operation, Function<K, R> function, @Nullable K key) {
+        return onCallResult(operation, (k, v) -> function.apply(k), key, null);
     }
 
     /**
      * Logs the call of a method and returns the result.
      *
-     * @param function the method to call
-     * @param key      the key used during the call
-     * @param value    the value of the key
+     * @param operation the called operation
+     * @param function  the method to call
+     * @param key       the key used during the call
+     * @param value     the value of the key
      *
      * @return the result of the call
      */
     @SuppressWarnings("unchecked")
-    private <K, V, R> R onCallResult(BiFunction<K, V, R> function, @Nullable K key, @Nullable V value) {
+    private <K, V, R> R onCallResult(StoreOperation operation, BiFunction<K, V, R> function, @Nullable K key, @Nullable V value) {
         try {
             R result = function.apply(key, value);
             Object resultToLog = result;
@@ -345,35 +375,17 @@ public class ListeningStore extends AbstractStore {
                 resultToLog = list;
             }
 
-            final SuccessCallReport<K, V, Object> report = new SuccessCallReport<>(backendReport.get(), getCallingMethod(), key, value, resultToLog);
+            final SuccessCallReport<K, V, Object> report = new SuccessCallReport<>(backendReport.get(), operation.methodName(), key, value, resultToLog);
             notifyListeners(l -> l.onSuccess(report));
             return result;
         }
         catch (Exception e) {
-            final FailureCallReport<K, V> report = new FailureCallReport<>(backendReport.get(), getCallingMethod(), key, value, e);
+            final FailureCallReport<K, V> report = new FailureCallReport<>(backendReport.get(), operation.methodName(), key, value, e);
             notifyListeners(l -> l.onFailure(report));
             throw e;
         }
     }
 
-    /**
-     * Returns the name of the calling method.
-     *
-     * @return the name
-     */
-    @Nonnull
-    private String getCallingMethod() {
-        StackTraceElement[] stack = Thread.currentThread().getStackTrace();
-        for (int i = 3; i < stack.length; i++) {
-            String methodName = stack[i].getMethodName();
-            if (!methodName.startsWith("onCall")) {
-                return methodName;
-            }
-        }
-
-        throw new IllegalStateException(); // Should never happen
-    }
-
     /**
      * Notifies all listeners.
      *
@@ -0,0 +1,677 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.store;
+
+import fr.inria.atlanmod.commons.annotation.VisibleForTesting;
+import fr.inria.atlanmod.commons.collect.MoreIterables;
+import fr.inria.atlanmod.neoemf.core.Id;
+import fr.inria.atlanmod.neoemf.data.bean.ClassBean;
+import fr.inria.atlanmod.neoemf.data.bean.ManyFeatureBean;
+import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
+import fr.inria.atlanmod.neoemf.data.mapping.DataMapper;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.annotation.concurrent.ThreadSafe;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkArgument;
+
+/**
+ * A {@link Store} wrapper that allows several threads to read and write the underlying store at the same time, by
+ * guarding each call with a read-write lock associated with the owner of the data.
+ * <p>
+ * The locks are striped: each owner {@link Id} is mapped to one of a fixed number of {@link ReadWriteLock}s. Readers
+ * never block each other, and a writer only blocks the readers and the writers of the objects sharing its stripe. The
+ * operations that span all the objects, such as {@link #allInstancesOf(Set)}, {@link #copyTo(DataMapper)} and {@link
+ * #save()}, take a coarse lock that waits for the pending writes and blocks the new ones, but not the readers.
+ * <p>
+ * Each call is atomic for its owner, but a sequence of calls is not: an operation on a model that modifies several
+ * objects, such as moving an object to another container, can be observed half-done by the readers. The returned
+ * {@link Stream}s and {@link Iterable}s are collected while holding the lock.
+ * <p>
+ * This store must be placed above the caching stores, so that they are updated under the same locks, and cannot be
+ * combined with a {@link WriteBatchingStore}, that shares its pending modifications between all the objects.
+ * <p>
+ * The writes of objects on different stripes reach the back-end in parallel, so the back-end must itself support
+ * concurrent reads and writes. This is the case of the default in-memory, MapDB and BerkeleyDB back-ends; the
+ * primitive in-memory back-end serializes all its accesses, and the HBase and Blueprints back-ends are not supported.
+ */
+@ThreadSafe
+@ParametersAreNonnullByDefault
+public class LockingStore extends AbstractStore {
+
+    /**
+     * The default number of stripes.
+     */
+    @Nonnegative
+    public static final int DEFAULT_STRIPES = 64;
+
+    /**
+     * The maximum number of stripes.
+     */
+    @Nonnegative
+    public static final int MAX_STRIPES = 1 << 16;
+
+    /**
+     * The read-write locks associated with the owners, indexed by the hash of their identifier.
+     */
+    @Nonnull
+    private final ReadWriteLock[] stripes;
+
+    /**
+     * The mask used to compute the index of a stripe, i.e. the number of stripes minus one.
+     */
+    private final int mask;
+
+    /**
+     * The lock shared by all the writers, that prevents them from running during a coarse operation.
+     */
+    @Nonnull
+    private final Lock writers;
+
+    /**
+     * The lock of the coarse operations, that waits for the pending writes and blocks the new ones.
+     */
+    @Nonnull
+    private final Lock exclusive;
+
+    /**
+     * Constructs a new {@code LockingStore} with {@link #DEFAULT_STRIPES} stripes.
+     */
+    public LockingStore() {
+        this(DEFAULT_STRIPES);
+    }
+
+    /**
+     * Constructs a new {@code LockingStore} with the given number of {@code stripes}.
+     * <p>
+     * The number of stripes is rounded up to the next power of two.
+     *
+     * @param stripes the number of read-write locks shared by the owners
+     *
+     * @throws IllegalArgumentException if {@code stripes < 1} or {@code stripes > MAX_STRIPES}
+     */
+    public LockingStore(@Nonnegative int stripes) {
+        super(15);
+        checkArgument(stripes > 0 && stripes <= MAX_STRIPES, "stripes must be between 1 and %d (but was %d)", MAX_STRIPES, stripes);
+
+        final int size = Integer.highestOneBit(stripes) == stripes ? stripes : Integer.highestOneBit(stripes) << 1;
+
+        this.stripes = new ReadWriteLock[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new ReentrantReadWriteLock();
+        }
+        this.mask = size - 1;
+
+        final ReadWriteLock coarseLock = new ReentrantReadWriteLock();
+        this.writers = coarseLock.readLock();
+        this.exclusive = coarseLock.writeLock();
+    }
+
+    /**
+     * Returns the number of stripes of this store.
+     *
+     * @return the number of read-write locks
+     */
+    @Nonnegative
+    public int stripes() {
+        return stripes.length;
+    }
+
+    @Override
+    public void close() {
+        exclusive.lock();
+        try {
+            super.close();
+        }
+        finally {
+            exclusive.unlock();
+        }
+    }
+
+    @Override
+    public void save() {
+        exclusive.lock();
+        try {
+            super.save();
+        }
+        finally {
+            exclusive.unlock();
+        }
+    }
+
+    @Override
+    public void copyTo(DataMapper target) {
+        exclusive.lock();
+        try {
+            super.copyTo(target);
+        }
+        finally {
+            exclusive.unlock();
+        }
+    }
+
+    @Nonnull
+    @Override
+    public Optional<SingleFeatureBean> containerOf(Id id) {
+        final Lock lock = readLock(id);
+        try {
+            return super.containerOf(id);
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void containerFor(Id id, SingleFeatureBean container) {
+        final Lock lock = writeLock(id);
+        try {
+            super.containerFor(id, container);
+        }
+        finally {
+            unlockWrite(lock);
+        }
+    }
+
+    @Override
+    public void removeContainer(Id id) {
+        final Lock lock = writeLock(id);
+        try {
+            super.removeContainer(id);
+        }
+        finally {
+            unlockWrite(lock);
+        }
+    }
+
+    @Nonnull
+    @Override
+    public Optional<ClassBean> metaClassOf(Id id) {
+        final Lock lock = readLock(id);
+        try {
+            return super.metaClassOf(id);
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean metaClassFor(Id id, ClassBean metaClass) {
+        final Lock lock = writeLock(id);
+        try {
+            return super.metaClassFor(id, metaClass);
+        }
+        finally {
+            unlockWrite(lock);
+        }
+    }
+
+    @Nonnull
+    @Override
+    public Iterable<Id> allInstancesOf(ClassBean metaClass, boolean strict) {
+        exclusive.lock();
+        try {
+            // Copy the identifiers while holding the lock: the iterable is consumed after its release
+            return MoreIterables.stream(super.allInstancesOf(metaClass, strict)).collect(Collectors.toList());
+        }
+        finally {
+            exclusive.unlock();
+        }
+    }
+
+    @Nonnull
+    @Override
+    public Iterable<Id> allInstancesOf(Set<ClassBean> metaClasses) {
+        exclusive.lock();
+        try {
+            // Copy the identifiers while holding the lock: the iterable is consumed after its release
+            return MoreIterables.stream(super.allInstancesOf(metaClasses)).collect(Collectors.toList());
+        }
+        finally {
+            exclusive.unlock();
+        }
+    }
+
+    @Nonnull
+    @Override
+    public <V> Optional<V> valueOf(SingleFeatureBean feature) {
+        final Lock lock = readLock(feature.owner());
+        try {
+            return super.valueOf(feature);
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    @Nonnull
+    @Override
+    public <V> Optional<V> valueFor(SingleFeatureBean feature, V value) {
+        final Lock lock = writeLock(feature.owner());
+        try {
+            return super.valueFor(feature, value);
+        }
+        finally {
+            unlockWrite(lock);
+        }
+    }
+
+    @Override
+    public void removeValue(SingleFeatureBean feature) {
+        final Lock lock = writeLock(feature.owner());
+        try {
+            super.removeValue(feature);
+        }
+        finally {
+            unlockWrite(lock);
+        }
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Id> referenceOf(SingleFeatureBean feature) {
+        final Lock lock = readLock(feature.owner());
+        try {
+            return super.referenceOf(feature);
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Id> referenceFor(SingleFeatureBean feature, Id reference) {
+        final Lock lock = writeLock(feature.owner());
+        try {
+            return super.referenceFor(feature, reference);
+        }
+        finally {
+            unlockWrite(lock);
+        }
+    }
+
+    @Override
+    public void removeReference(SingleFeatureBean feature) {
+        final Lock lock = writeLock(feature.owner());
+        try {
+            super.removeReference(feature);
+        }
+        finally {
+            unlockWrite(lock);
+        }
+    }
+
+    @Nonnull
+    @Override
+    public <V> Optional<V> valueOf(ManyFeatureBean feature) {
+        final Lock lock = readLock(feature.owner());
+        try {
+            return super.valueOf(feature);
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    @Nonnull
+    @Override
+    public <V> Stream<V> allValuesOf(SingleFeatureBean feature) {
+        final Lock lock = readLock(feature.owner());
+        try {
+            // Collect the values while holding the lock: the stream is consumed after its release
+            return super.<V>allValuesOf(feature).collect(Collectors.toList()).stream();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    @Nonnull
+    @Override
+    public <V> Optional<Integer> indexOfValue(SingleFeatureBean feature, V value) {
+        final Lock lock = readLock(feature.owner());
+        try {
+            return super.indexOfValue(feature, value);
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    @Nonnull
+    @Override
+    public <V> Optional<Integer> lastIndexOfValue(SingleFeatureBean feature, V value) {
+        final Lock lock = readLock(feature.owner());
+        try {
+            return super.lastIndexOfValue(feature, value);
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    @Nonnull
+    @Override
+    public <V> Optional<V> valueFor(ManyFeatureBean feature, V value) {
+        final Lock lock = writeLock(feature.owner());
+        try {
+            return super.valueFor(feature, value);
+        }
+        finally {
+            unlockWrite(lock);
+        }
+    }
+
+    @Override
+    public <V> void addValue(ManyFeatureBean feature, V value) {
+        final Lock lock = writeLock(feature.owner());
+        try {
+            super.addValue(feature, value);
+        }
+        finally {
+            unlockWrite(lock);
+        }
+    }
+
+    @Override
+    public <V> void addAllValues(ManyFeatureBean feature, List<? extends V> collection) {
+        final Lock lock = writeLock(feature.owner());
+        try {
+            super.addAllValues(feature, collection);
+        }
+        finally {
+            unlockWrite(lock);
+        }
+    }
+
+    @Nonnegative
+    @Override
+    public <V> int appendValue(SingleFeatureBean feature, V value) {
+        final Lock lock = writeLock(feature.owner());
+        try {
+            return super.appendValue(feature, value);
+        }
+        finally {
+            unlockWrite(lock);
+        }
+    }
+
+    @Nonnegative
+    @Override
+    public <V> int appendAllValues(SingleFeatureBean feature, List<? extends V> collection) {
+        final Lock lock = writeLock(feature.owner());
+        try {
+            return super.appendAllValues(feature, collection);
+        }
+        finally {
+            unlockWrite(lock);
+        }
+    }
+
+    @Nonnull
+    @Override
+    public <V> Optional<V> removeValue(ManyFeatureBean feature) {
+        final Lock lock = writeLock(feature.owner());
+        try {
+            return super.removeValue(feature);
+        }
+        finally {
+            unlockWrite(lock);
+        }
+    }
+
+    @Override
+    public void removeAllValues(SingleFeatureBean feature) {
+        final Lock lock = writeLock(feature.owner());
+        try {
+            super.removeAllValues(feature);
+        }
+        finally {
+            unlockWrite(lock);
+        }
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Integer> sizeOfValue(SingleFeatureBean feature) {
+        final Lock lock = readLock(feature.owner());
+        try {
+            return super.sizeOfValue(feature);
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Id> referenceOf(ManyFeatureBean feature) {
+        final Lock lock = readLock(feature.owner());
+        try {
+            return super.referenceOf(feature);
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    @Nonnull
+    @Override
+    public Stream<Id> allReferencesOf(SingleFeatureBean feature) {
+        final Lock lock = readLock(feature.owner());
+        try {
+            // Collect the values while holding the lock: the stream is consumed after its release
+            return super.allReferencesOf(feature).collect(Collectors.toList()).stream();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Integer> indexOfReference(SingleFeatureBean feature, Id reference) {
+        final Lock lock = readLock(feature.owner());
+        try {
+            return super.indexOfReference(feature, reference);
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Integer> lastIndexOfReference(SingleFeatureBean feature, Id reference) {
+        final Lock lock = readLock(feature.owner());
+        try {
+            return super.lastIndexOfReference(feature, reference);
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Id> referenceFor(ManyFeatureBean feature, Id reference) {
+        final Lock lock = writeLock(feature.owner());
+        try {
+            return super.referenceFor(feature, reference);
+        }
+        finally {
+            unlockWrite(lock);
+        }
+    }
+
+    @Override
+    public void addReference(ManyFeatureBean feature, Id reference) {
+        final Lock lock = writeLock(feature.owner());
+        try {
+            super.addReference(feature, reference);
+        }
+        finally {
+            unlockWrite(lock);
+        }
+    }
+
+    @Override
+    public void addAllReferences(ManyFeatureBean feature, List<Id> collection) {
+        final Lock lock = writeLock(feature.owner());
+        try {
+            super.addAllReferences(feature, collection);
+        }
+        finally {
+            unlockWrite(lock);
+        }
+    }
+
+    @Nonnegative
+    @Override
+    public int appendReference(SingleFeatureBean feature, Id reference) {
+        final Lock lock = writeLock(feature.owner());
+        try {
+            return super.appendReference(feature, reference);
+        }
+        finally {
+            unlockWrite(lock);
+        }
+    }
+
+    @Nonnegative
+    @Override
+    public int appendAllReferences(SingleFeatureBean feature, List<Id> collection) {
+        final Lock lock = writeLock(feature.owner());
+        try {
+            return super.appendAllReferences(feature, collection);
+        }
+        finally {
+            unlockWrite(lock);
+        }
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Id> removeReference(ManyFeatureBean feature) {
+        final Lock lock = writeLock(feature.owner());
+        try {
+            return super.removeReference(feature);
+        }
+        finally {
+            unlockWrite(lock);
+        }
+    }
+
+    @Override
+    public void removeAllReferences(SingleFeatureBean feature) {
+        final Lock lock = writeLock(feature.owner());
+        try {
+            super.removeAllReferences(feature);
+        }
+        finally {
+            unlockWrite(lock);
+        }
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Integer> sizeOfReference(SingleFeatureBean feature) {
+        final Lock lock = readLock(feature.owner());
+        try {
+            return super.sizeOfReference(feature);
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the read-write lock associated with the {@code owner}.
+     *
+     * @param owner the owner of the data
+     *
+     * @return the read-write lock
+     */
+    @Nonnull
+    private ReadWriteLock stripeOf(Id owner) {
+        return stripes[indexOfStripe(owner)];
+    }
+
+    /**
+     * Returns the index of the stripe associated with the {@code owner}.
+     *
+     * @param owner the owner of the data
+     *
+     * @return the index of the read-write lock
+     */
+    @Nonnegative
+    @VisibleForTesting
+    int indexOfStripe(Id owner) {
+        final int hash = owner.hashCode();
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    /**
+     * Acquires the read lock associated with the {@code owner}.
+     *
+     * @param owner the owner of the data to read
+     *
+     * @return the acquired lock, to release with {@link Lock#unlock()}
+     */
+    @Nonnull
+    private Lock readLock(Id owner) {
+        final Lock lock = stripeOf(owner).readLock();
+        lock.lock();
+        return lock;
+    }
+
+    /**
+     * Acquires the write lock associated with the {@code owner}, after the lock shared by all the writers.
+     *
+     * @param owner the owner of the data to write
+     *
+     * @return the acquired lock, to release with {@link #unlockWrite(Lock)}
+     */
+    @Nonnull
+    private Lock writeLock(Id owner) {
+        writers.lock();
+        try {
+            final Lock lock = stripeOf(owner).writeLock();
+            lock.lock();
+            return lock;
+        }
+        catch (RuntimeException e) {
+            writers.unlock();
+            throw e;
+        }
+    }
+
+    /**
+     * Releases a {@code lock} acquired with {@link #writeLock(Id)}, and the lock shared by all the writers.
+     *
+     * @param lock the lock to release
+     */
+    private void unlockWrite(Lock lock) {
+        lock.unlock();
+        writers.unlock();
+    }
+}
@@ -25,6 +25,22 @@ import javax.annotation.ParametersAreNonnullByDefault;
 @ParametersAreNonnullByDefault
 public class SizeCachingStore extends AbstractCachingStore<SingleFeatureBean, Optional<Integer>> {
 
+    /**
+     * Constructs a new {@code SizeCachingStore} with the default {@link CachePolicy}.
+     */
+    public SizeCachingStore() {
+        super();
+    }
+
+    /**
+     * Constructs a new {@code SizeCachingStore} with the given {@code policy}.
+     *
+     * @param policy the policy of the cache
+     */
+    public SizeCachingStore(CachePolicy policy) {
+        super(policy);
+    }
+
     @Override
     public void removeValue(SingleFeatureBean feature) {
         cacheSize(feature, 0);
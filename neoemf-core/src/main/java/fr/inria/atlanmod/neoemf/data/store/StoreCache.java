@@ -0,0 +1,343 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.store;
+
+import fr.inria.atlanmod.commons.cache.Cache;
+import fr.inria.atlanmod.commons.cache.CacheBuilder;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.annotation.concurrent.ThreadSafe;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * The cache of an {@link AbstractCachingStore}, that applies a {@link CachePolicy}.
+ * <p>
+ * The values are held by a {@link Cache}. When the policy is bounded or expires its entries, the keys are also tracked
+ * in access order, in order to evict the least recently used ones. With the default policy, all calls are directly
+ * delegated to the {@link Cache}.
+ * <p>
+ * This class is thread-safe. The access order is guarded by a lock, that readers never wait for: under contention, a
+ * read does not update the recency of its key, and does not expire the entries. Writes update the values and the
+ * access order under the lock, so that each cached value is tracked. The policy is therefore applied
+ * approximately when the cache is read by several threads, but the cached values are always consistent.
+ *
+ * @param <K> the type of keys maintained by the cache
+ * @param <V> the type of cached values
+ */
+@ThreadSafe
+@ParametersAreNonnullByDefault
+public final class StoreCache<K, V> {
+
+    /**
+     * The value associated to the keys that do not expire.
+     */
+    @Nonnull
+    private static final Long NEVER = 0L;
+
+    /**
+     * The cache that holds the values.
+     */
+    @Nonnull
+    private final Cache<K, V> cache;
+
+    /**
+     * The maximum number of entries, or {@link CachePolicy#UNLIMITED}.
+     */
+    private final long maximumSize;
+
+    /**
+     * The duration after which an entry expires after its last access, in nanoseconds, or {@link
+     * CachePolicy#UNLIMITED}.
+     */
+    private final long expireAfterAccess;
+
+    /**
+     * The stats to update, or {@code null} if no stats are recorded.
+     */
+    @Nullable
+    private final StoreCacheStats stats;
+
+    /**
+     * The cached keys with the time of their last access, in access order, or {@code null} if the entries are neither
+     * bounded nor expired.
+     */
+    @Nullable
+    private final Map<K, Long> accesses;
+
+    /**
+     * The lock guarding {@link #accesses}, which is ordered by access and therefore modified by each read.
+     */
+    @Nonnull
+    private final Lock lock = new ReentrantLock();
+
+    /**
+     * Constructs a new {@code StoreCache} with the given {@code policy}.
+     *
+     * @param policy the policy of the cache
+     */
+    public StoreCache(CachePolicy policy) {
+        checkNotNull(policy, "policy");
+
+        this.cache = policy.softValues()
+                ? CacheBuilder.builder().softValues().build()
+                : CacheBuilder.builder().build();
+
+        this.maximumSize = policy.maximumSize();
+        this.expireAfterAccess = policy.expireAfterAccess();
+        this.stats = policy.stats();
+
+        this.accesses = maximumSize == CachePolicy.UNLIMITED && expireAfterAccess == CachePolicy.UNLIMITED
+                ? null
+                : new LinkedHashMap<K, Long>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<K, Long> eldest) {
+                        return evictIfExceeded(eldest.getKey(), size());
+                    }
+                };
+    }
+
+    /**
+     * Returns the value associated with the {@code key}, or {@code null} if it is not cached.
+     *
+     * @param key the key
+     *
+     * @return the value, or {@code null}
+     */
+    @Nullable
+    public V get(K key) {
+        if (isNull(accesses)) {
+            return cache.get(key);
+        }
+
+        // Under contention, do not wait: the value is read without updating the access order
+        if (!lock.tryLock()) {
+            return cache.get(key);
+        }
+
+        try {
+            expire();
+            V value = cache.get(key);
+            if (nonNull(value)) {
+                touch(key);
+            }
+            return value;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the value associated with the {@code key}, loading it with the {@code mappingFunction} if it is not
+     * cached. A {@code null} value is returned as is, but is not cached.
+     *
+     * @param key             the key
+     * @param mappingFunction the function to load the value
+     *
+     * @return the value, or {@code null}
+     */
+    @Nullable
+    public V get(K key, Function<? super K, ? extends V> mappingFunction) {
+        if (isNull(accesses) && isNull(stats)) {
+            return cache.get(key, mappingFunction);
+        }
+
+        V value = get(key);
+
+        if (nonNull(value)) {
+            if (nonNull(stats)) {
+                stats.recordHit();
+            }
+            return value;
+        }
+
+        final long start = System.nanoTime();
+        value = mappingFunction.apply(key);
+        if (nonNull(stats)) {
+            stats.recordMiss(System.nanoTime() - start);
+        }
+
+        if (nonNull(value)) {
+            put(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * Returns {@code true} if a value is associated with the {@code key}.
+     *
+     * @param key the key
+     *
+     * @return {@code true} if the key is cached
+     */
+    public boolean contains(K key) {
+        if (nonNull(accesses) && lock.tryLock()) {
+            try {
+                expire();
+            }
+            finally {
+                lock.unlock();
+            }
+        }
+        return cache.contains(key);
+    }
+
+    /**
+     * Associates the {@code value} with the {@code key}.
+     *
+     * @param key   the key
+     * @param value the value
+     */
+    public void put(K key, V value) {
+        if (isNull(accesses)) {
+            cache.put(key, value);
+            return;
+        }
+
+        // The value and its key must be tracked together, otherwise a concurrent eviction could leave a value untracked
+        lock.lock();
+        try {
+            cache.put(key, value);
+            touch(key);
+            expire();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Discards the value associated with the {@code key}.
+     *
+     * @param key the key
+     */
+    public void invalidate(K key) {
+        if (isNull(accesses)) {
+            cache.invalidate(key);
+            return;
+        }
+
+        lock.lock();
+        try {
+            cache.invalidate(key);
+            accesses.remove(key);
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Discards all the values.
+     */
+    public void invalidateAll() {
+        if (isNull(accesses)) {
+            cache.invalidateAll();
+            return;
+        }
+
+        lock.lock();
+        try {
+            cache.invalidateAll();
+            accesses.clear();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Performs any pending maintenance operations needed by the cache.
+     */
+    public void cleanUp() {
+        if (nonNull(accesses)) {
+            lock.lock();
+            try {
+                expire();
+            }
+            finally {
+                lock.unlock();
+            }
+        }
+        cache.cleanUp();
+    }
+
+    /**
+     * Records an access to the {@code key}. Must be called while holding the {@link #lock}.
+     *
+     * @param key the key
+     */
+    private void touch(K key) {
+        accesses.put(key, expireAfterAccess == CachePolicy.UNLIMITED ? NEVER : System.nanoTime());
+    }
+
+    /**
+     * Evicts the entries that have not been accessed since the expiration duration. Since the keys are in access
+     * order, only the first keys are checked. Must be called while holding the {@link #lock}.
+     */
+    private void expire() {
+        if (expireAfterAccess == CachePolicy.UNLIMITED || accesses.isEmpty()) {
+            return;
+        }
+
+        final long now = System.nanoTime();
+
+        for (Iterator<Map.Entry<K, Long>> iter = accesses.entrySet().iterator(); iter.hasNext(); ) {
+            Map.Entry<K, Long> entry = iter.next();
+            if (now - entry.getValue() < expireAfterAccess) {
+                break;
+            }
+
+            iter.remove();
+            evict(entry.getKey());
+        }
+    }
+
+    /**
+     * Evicts the least recently used {@code key} if the maximum size is exceeded.
+     *
+     * @param key  the least recently used key
+     * @param size the current number of keys
+     *
+     * @return {@code true} if the key has been evicted
+     */
+    private boolean evictIfExceeded(K key, long size) {
+        if (maximumSize == CachePolicy.UNLIMITED || size <= maximumSize) {
+            return false;
+        }
+
+        evict(key);
+        return true;
+    }
+
+    /**
+     * Evicts the value associated with the {@code key}.
+     *
+     * @param key the key
+     */
+    private void evict(K key) {
+        cache.invalidate(key);
+
+        if (nonNull(stats)) {
+            stats.recordEviction();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.store;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Statistics about the usage of the cache of an {@link AbstractCachingStore}.
+ *
+ * @see CachePolicy#withStats(StoreCacheStats)
+ */
+@ParametersAreNonnullByDefault
+public final class StoreCacheStats {
+
+    /**
+     * The number of lookups that found a cached value.
+     */
+    @Nonnull
+    private final AtomicLong hits = new AtomicLong();
+
+    /**
+     * The number of lookups that had to load the value from the next store.
+     */
+    @Nonnull
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * The total time spent loading values, in nanoseconds.
+     */
+    @Nonnull
+    private final AtomicLong loadTime = new AtomicLong();
+
+    /**
+     * The number of entries evicted because of the size or the expiration policy.
+     */
+    @Nonnull
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Records a lookup that found a cached value.
+     */
+    void recordHit() {
+        hits.incrementAndGet();
+    }
+
+    /**
+     * Records a lookup that had to load the value.
+     *
+     * @param nanos the time spent loading the value, in nanoseconds
+     */
+    void recordMiss(@Nonnegative long nanos) {
+        misses.incrementAndGet();
+        loadTime.addAndGet(nanos);
+    }
+
+    /**
+     * Records the eviction of an entry.
+     */
+    void recordEviction() {
+        evictions.incrementAndGet();
+    }
+
+    /**
+     * Returns the number of lookups that found a cached value.
+     *
+     * @return the number of hits
+     */
+    @Nonnegative
+    public long hitCount() {
+        return hits.get();
+    }
+
+    /**
+     * Returns the number of lookups that had to load the value from the next store.
+     *
+     * @return the number of misses
+     */
+    @Nonnegative
+    public long missCount() {
+        return misses.get();
+    }
+
+    /**
+     * Returns the ratio of lookups that found a cached value, or {@code 1.0} if no lookup has been made.
+     *
+     * @return the hit ratio, between {@code 0.0} and {@code 1.0}
+     */
+    public double hitRate() {
+        final long hitCount = hitCount();
+        final long requestCount = hitCount + missCount();
+        return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+    }
+
+    /**
+     * Returns the total time spent loading values.
+     *
+     * @return the time in nanoseconds
+     */
+    @Nonnegative
+    public long totalLoadTime() {
+        return loadTime.get();
+    }
+
+    /**
+     * Returns the average time spent loading a value.
+     *
+     * @return the time in nanoseconds
+     */
+    public double averageLoadPenalty() {
+        final long missCount = missCount();
+        return missCount == 0 ? 0.0 : (double) totalLoadTime() / missCount;
+    }
+
+    /**
+     * Returns the number of entries evicted because of the size or the expiration policy.
+     *
+     * @return the number of evictions
+     */
+    @Nonnegative
+    public long evictionCount() {
+        return evictions.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d hits, %d misses (%.2f%% hit rate), %.0fns/load, %d evictions",
+                hitCount(), missCount(), hitRate() * 100, averageLoadPenalty(), evictionCount());
+    }
+}
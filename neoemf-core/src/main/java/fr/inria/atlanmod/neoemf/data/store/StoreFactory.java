@@ -56,12 +56,17 @@ public final class StoreFactory {
      * @return a new store
      *
      * @throws NullPointerException  if the {@code store} or the {@code baseConfig} are {@code null}
-     * @throws InvalidStoreException if an error occurs during the creation of the store
+     * @throws InvalidStoreException if an error occurs during the creation of the store, or if the stores of the
+     *                               {@code baseConfig} cannot be combined
      */
     @Nonnull
     public Store createStore(Backend backend, ImmutableConfig baseConfig) {
         checkNotNull(baseConfig, "baseConfig");
 
+        if (baseConfig.isConcurrent() && baseConfig.getStores().stream().anyMatch(WriteBatchingStore.class::isInstance)) {
+            throw new InvalidStoreException("Cannot batch the writes of a concurrent store");
+        }
+
         try {
             // The tail of the store chain
             Store currentStore = new NoopStore(backend);
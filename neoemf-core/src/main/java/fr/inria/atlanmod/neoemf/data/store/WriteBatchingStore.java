@@ -0,0 +1,802 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.store;
+
+import fr.inria.atlanmod.neoemf.core.Id;
+import fr.inria.atlanmod.neoemf.data.bean.ClassBean;
+import fr.inria.atlanmod.neoemf.data.bean.ManyFeatureBean;
+import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
+import fr.inria.atlanmod.neoemf.data.mapping.DataMapper;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.IntSupplier;
+import java.util.stream.Stream;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * A {@link Store} wrapper that buffers modifications in a write-behind log, and writes them in bulk to the underlying
+ * store.
+ * <p>
+ * Modifications are grouped by owner: consecutive overwrites of the same single-valued feature or container are merged,
+ * and consecutive appends to the same multi-valued feature are written with a single call. The log is flushed on
+ * {@link #save()}, on {@link #close()}, and when the number of pending modifications or the age of the oldest pending
+ * modification reaches its threshold. Reads are served from the log when possible, so that pending modifications are
+ * always visible from this store.
+ * <p>
+ * Any other modification of a multi-valued feature flushes the pending appends of this feature before being
+ * processed.
+ * <p>
+ * <b>NOTE:</b> This store is not thread-safe.
+ */
+@ParametersAreNonnullByDefault
+public class WriteBatchingStore extends AbstractStore {
+
+    /**
+     * The default number of pending modifications before flushing.
+     */
+    @Nonnegative
+    public static final long DEFAULT_CHUNK = Runtime.getRuntime().maxMemory() / (long) Math.pow(2, 16);
+
+    /**
+     * The maximum number of pending modifications before flushing.
+     */
+    @Nonnegative
+    private final long chunk;
+
+    /**
+     * The maximum age, in milliseconds, of the oldest pending modification before flushing, or {@code 0} if the log
+     * is not flushed on time.
+     */
+    @Nonnegative
+    private final long delay;
+
+    /**
+     * The write-behind log, grouped by owner.
+     */
+    @Nonnull
+    private final Map<Id, OwnerLog> logs = new LinkedHashMap<>();
+
+    /**
+     * The current number of pending modifications.
+     */
+    @Nonnegative
+    private long count;
+
+    /**
+     * The time, in milliseconds, of the oldest pending modification.
+     */
+    private long firstModificationTime;
+
+    /**
+     * Constructs a new {@code WriteBatchingStore} with the given thresholds.
+     *
+     * @param chunk the maximum number of pending modifications before flushing
+     * @param delay the maximum age, in milliseconds, of the oldest pending modification before flushing, or {@code 0}
+     *              if the log must not be flushed on time
+     */
+    public WriteBatchingStore(Long chunk, Long delay) {
+        super(110);
+
+        this.chunk = chunk;
+        this.delay = delay;
+    }
+
+    /**
+     * Constructs a new {@code WriteBatchingStore} with the given {@code chunk}, without time threshold.
+     *
+     * @param chunk the maximum number of pending modifications before flushing
+     */
+    public WriteBatchingStore(Long chunk) {
+        this(chunk, 0L);
+    }
+
+    /**
+     * Constructs a new {@code WriteBatchingStore} with the default number of pending modifications, without time
+     * threshold.
+     */
+    public WriteBatchingStore() {
+        this(DEFAULT_CHUNK);
+    }
+
+    @Override
+    public void close() {
+        flush();
+        super.close();
+    }
+
+    @Override
+    public void save() {
+        flush();
+        super.save();
+    }
+
+    @Override
+    public void copyTo(DataMapper target) {
+        flush();
+        super.copyTo(target);
+    }
+
+    // region Containers
+
+    @Nonnull
+    @Override
+    public Optional<SingleFeatureBean> containerOf(Id id) {
+        OwnerLog log = logs.get(id);
+        if (nonNull(log) && nonNull(log.container)) {
+            return log.container;
+        }
+
+        return super.containerOf(id);
+    }
+
+    @Override
+    public void containerFor(Id id, SingleFeatureBean container) {
+        logOf(id).container = Optional.of(container);
+        incrementAndFlush();
+    }
+
+    @Override
+    public void removeContainer(Id id) {
+        logOf(id).container = Optional.empty();
+        incrementAndFlush();
+    }
+
+    // endregion
+
+    // region Meta-classes
+
+    @Nonnull
+    @Override
+    public Iterable<Id> allInstancesOf(ClassBean metaClass, boolean strict) {
+        flush();
+        return super.allInstancesOf(metaClass, strict);
+    }
+
+    @Nonnull
+    @Override
+    public Iterable<Id> allInstancesOf(Set<ClassBean> metaClasses) {
+        flush();
+        return super.allInstancesOf(metaClasses);
+    }
+
+    // endregion
+
+    // region Single-valued features
+
+    @Nonnull
+    @Override
+    @SuppressWarnings("unchecked")
+    public <V> Optional<V> valueOf(SingleFeatureBean feature) {
+        OwnerLog log = logs.get(feature.owner());
+        if (nonNull(log) && log.values.containsKey(feature)) {
+            return (Optional<V>) log.values.get(feature);
+        }
+
+        return super.valueOf(feature);
+    }
+
+    @Nonnull
+    @Override
+    public <V> Optional<V> valueFor(SingleFeatureBean feature, V value) {
+        Optional<V> previousValue = valueOf(feature);
+
+        logOf(feature.owner()).values.put(feature, Optional.of(value));
+        incrementAndFlush();
+
+        return previousValue;
+    }
+
+    @Override
+    public void removeValue(SingleFeatureBean feature) {
+        logOf(feature.owner()).values.put(feature, Optional.empty());
+        incrementAndFlush();
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Id> referenceOf(SingleFeatureBean feature) {
+        OwnerLog log = logs.get(feature.owner());
+        if (nonNull(log) && log.references.containsKey(feature)) {
+            return log.references.get(feature);
+        }
+
+        return super.referenceOf(feature);
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Id> referenceFor(SingleFeatureBean feature, Id reference) {
+        Optional<Id> previousReference = referenceOf(feature);
+
+        logOf(feature.owner()).references.put(feature, Optional.of(reference));
+        incrementAndFlush();
+
+        return previousReference;
+    }
+
+    @Override
+    public void removeReference(SingleFeatureBean feature) {
+        logOf(feature.owner()).references.put(feature, Optional.empty());
+        incrementAndFlush();
+    }
+
+    // endregion
+
+    // region Multi-valued attributes
+
+    @Nonnull
+    @Override
+    @SuppressWarnings("unchecked")
+    public <V> Optional<V> valueOf(ManyFeatureBean feature) {
+        Appends<Object> appends = appendedValuesOf(feature.withoutPosition());
+        if (nonNull(appends) && feature.position() >= appends.firstPosition) {
+            return Optional.ofNullable((V) appends.get(feature.position()));
+        }
+
+        return super.valueOf(feature);
+    }
+
+    @Nonnull
+    @Override
+    @SuppressWarnings("unchecked")
+    public <V> Stream<V> allValuesOf(SingleFeatureBean feature) {
+        Appends<Object> appends = appendedValuesOf(feature);
+        if (nonNull(appends)) {
+            return Stream.concat(super.<V>allValuesOf(feature), appends.values.stream().map(v -> (V) v));
+        }
+
+        return super.allValuesOf(feature);
+    }
+
+    @Nonnull
+    @Override
+    public <V> Optional<Integer> indexOfValue(SingleFeatureBean feature, V value) {
+        Optional<Integer> index = super.indexOfValue(feature, value);
+
+        Appends<Object> appends = appendedValuesOf(feature);
+        if (!index.isPresent() && nonNull(appends)) {
+            return appends.indexOf(value);
+        }
+
+        return index;
+    }
+
+    @Nonnull
+    @Override
+    public <V> Optional<Integer> lastIndexOfValue(SingleFeatureBean feature, V value) {
+        Appends<Object> appends = appendedValuesOf(feature);
+        if (nonNull(appends)) {
+            Optional<Integer> index = appends.lastIndexOf(value);
+            if (index.isPresent()) {
+                return index;
+            }
+        }
+
+        return super.lastIndexOfValue(feature, value);
+    }
+
+    @Nonnull
+    @Override
+    public <V> Optional<V> valueFor(ManyFeatureBean feature, V value) {
+        flushValues(feature.withoutPosition());
+        return super.valueFor(feature, value);
+    }
+
+    @Override
+    public <V> void addValue(ManyFeatureBean feature, V value) {
+        flushValues(feature.withoutPosition());
+        super.addValue(feature, value);
+    }
+
+    @Override
+    public <V> void addAllValues(ManyFeatureBean feature, List<? extends V> collection) {
+        flushValues(feature.withoutPosition());
+        super.addAllValues(feature, collection);
+    }
+
+    @Nonnegative
+    @Override
+    public <V> int appendValue(SingleFeatureBean feature, V value) {
+        Appends<Object> appends = logOf(feature.owner()).values(feature, () -> super.sizeOfValue(feature).orElse(0));
+
+        final int position = appends.add(value);
+        incrementAndFlush();
+
+        return position;
+    }
+
+    @Nonnegative
+    @Override
+    public <V> int appendAllValues(SingleFeatureBean feature, List<? extends V> collection) {
+        Appends<Object> appends = logOf(feature.owner()).values(feature, () -> super.sizeOfValue(feature).orElse(0));
+
+        final int firstPosition = appends.addAll(collection);
+        incrementAndFlush(collection.size());
+
+        return firstPosition;
+    }
+
+    @Nonnull
+    @Override
+    public <V> Optional<V> removeValue(ManyFeatureBean feature) {
+        flushValues(feature.withoutPosition());
+        return super.removeValue(feature);
+    }
+
+    @Override
+    public void removeAllValues(SingleFeatureBean feature) {
+        // Pending appends are removed anyway
+        OwnerLog log = logs.get(feature.owner());
+        if (nonNull(log)) {
+            log.appendedValues.remove(feature);
+        }
+
+        super.removeAllValues(feature);
+    }
+
+    @Nonnull
+    @Nonnegative
+    @Override
+    public Optional<Integer> sizeOfValue(SingleFeatureBean feature) {
+        Appends<Object> appends = appendedValuesOf(feature);
+        if (nonNull(appends)) {
+            return Optional.of(appends.size()).filter(s -> s > 0);
+        }
+
+        return super.sizeOfValue(feature);
+    }
+
+    // endregion
+
+    // region Multi-valued references
+
+    @Nonnull
+    @Override
+    public Optional<Id> referenceOf(ManyFeatureBean feature) {
+        Appends<Id> appends = appendedReferencesOf(feature.withoutPosition());
+        if (nonNull(appends) && feature.position() >= appends.firstPosition) {
+            return Optional.ofNullable(appends.get(feature.position()));
+        }
+
+        return super.referenceOf(feature);
+    }
+
+    @Nonnull
+    @Override
+    public Stream<Id> allReferencesOf(SingleFeatureBean feature) {
+        Appends<Id> appends = appendedReferencesOf(feature);
+        if (nonNull(appends)) {
+            return Stream.concat(super.allReferencesOf(feature), appends.values.stream());
+        }
+
+        return super.allReferencesOf(feature);
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Integer> indexOfReference(SingleFeatureBean feature, Id reference) {
+        Optional<Integer> index = super.indexOfReference(feature, reference);
+
+        Appends<Id> appends = appendedReferencesOf(feature);
+        if (!index.isPresent() && nonNull(appends)) {
+            return appends.indexOf(reference);
+        }
+
+        return index;
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Integer> lastIndexOfReference(SingleFeatureBean feature, Id reference) {
+        Appends<Id> appends = appendedReferencesOf(feature);
+        if (nonNull(appends)) {
+            Optional<Integer> index = appends.lastIndexOf(reference);
+            if (index.isPresent()) {
+                return index;
+            }
+        }
+
+        return super.lastIndexOfReference(feature, reference);
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Id> referenceFor(ManyFeatureBean feature, Id reference) {
+        flushReferences(feature.withoutPosition());
+        return super.referenceFor(feature, reference);
+    }
+
+    @Override
+    public void addReference(ManyFeatureBean feature, Id reference) {
+        flushReferences(feature.withoutPosition());
+        super.addReference(feature, reference);
+    }
+
+    @Override
+    public void addAllReferences(ManyFeatureBean feature, List<Id> collection) {
+        flushReferences(feature.withoutPosition());
+        super.addAllReferences(feature, collection);
+    }
+
+    @Nonnegative
+    @Override
+    public int appendReference(SingleFeatureBean feature, Id reference) {
+        Appends<Id> appends = logOf(feature.owner()).references(feature, () -> super.sizeOfReference(feature).orElse(0));
+
+        final int position = appends.add(reference);
+        incrementAndFlush();
+
+        return position;
+    }
+
+    @Nonnegative
+    @Override
+    public int appendAllReferences(SingleFeatureBean feature, List<Id> collection) {
+        Appends<Id> appends = logOf(feature.owner()).references(feature, () -> super.sizeOfReference(feature).orElse(0));
+
+        final int firstPosition = appends.addAll(collection);
+        incrementAndFlush(collection.size());
+
+        return firstPosition;
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Id> removeReference(ManyFeatureBean feature) {
+        flushReferences(feature.withoutPosition());
+        return super.removeReference(feature);
+    }
+
+    @Override
+    public void removeAllReferences(SingleFeatureBean feature) {
+        // Pending appends are removed anyway
+        OwnerLog log = logs.get(feature.owner());
+        if (nonNull(log)) {
+            log.appendedReferences.remove(feature);
+        }
+
+        super.removeAllReferences(feature);
+    }
+
+    @Nonnull
+    @Nonnegative
+    @Override
+    public Optional<Integer> sizeOfReference(SingleFeatureBean feature) {
+        Appends<Id> appends = appendedReferencesOf(feature);
+        if (nonNull(appends)) {
+            return Optional.of(appends.size()).filter(s -> s > 0);
+        }
+
+        return super.sizeOfReference(feature);
+    }
+
+    // endregion
+
+    /**
+     * Returns the log of the given {@code owner}, or creates it if it does not exist.
+     *
+     * @param owner the owner of the modifications
+     *
+     * @return the log
+     */
+    @Nonnull
+    private OwnerLog logOf(Id owner) {
+        if (logs.isEmpty()) {
+            firstModificationTime = System.currentTimeMillis();
+        }
+
+        return logs.computeIfAbsent(owner, id -> new OwnerLog());
+    }
+
+    /**
+     * Returns the pending appends of the given multi-valued attribute.
+     *
+     * @param feature the feature
+     *
+     * @return the pending appends, or {@code null} if there is no pending append for the {@code feature}
+     */
+    @Nullable
+    private Appends<Object> appendedValuesOf(SingleFeatureBean feature) {
+        OwnerLog log = logs.get(feature.owner());
+        return nonNull(log) ? log.appendedValues.get(feature) : null;
+    }
+
+    /**
+     * Returns the pending appends of the given multi-valued reference.
+     *
+     * @param feature the feature
+     *
+     * @return the pending appends, or {@code null} if there is no pending append for the {@code feature}
+     */
+    @Nullable
+    private Appends<Id> appendedReferencesOf(SingleFeatureBean feature) {
+        OwnerLog log = logs.get(feature.owner());
+        return nonNull(log) ? log.appendedReferences.get(feature) : null;
+    }
+
+    /**
+     * Writes the pending appends of the given multi-valued attribute to the underlying store.
+     *
+     * @param feature the feature
+     */
+    private void flushValues(SingleFeatureBean feature) {
+        OwnerLog log = logs.get(feature.owner());
+        if (nonNull(log)) {
+            Appends<Object> appends = log.appendedValues.remove(feature);
+            if (nonNull(appends)) {
+                super.appendAllValues(feature, appends.values);
+            }
+        }
+    }
+
+    /**
+     * Writes the pending appends of the given multi-valued reference to the underlying store.
+     *
+     * @param feature the feature
+     */
+    private void flushReferences(SingleFeatureBean feature) {
+        OwnerLog log = logs.get(feature.owner());
+        if (nonNull(log)) {
+            Appends<Id> appends = log.appendedReferences.remove(feature);
+            if (nonNull(appends)) {
+                super.appendAllReferences(feature, appends.values);
+            }
+        }
+    }
+
+    /**
+     * Increments the number of pending modifications by one, and flushes the log if necessary.
+     *
+     * @see #incrementAndFlush(int)
+     */
+    private void incrementAndFlush() {
+        incrementAndFlush(1);
+    }
+
+    /**
+     * Increments the number of pending modifications, and flushes the log if a threshold has been reached.
+     *
+     * @param count the number of modifications made
+     */
+    private void incrementAndFlush(int count) {
+        this.count += count;
+
+        if (this.count >= chunk || (delay > 0 && System.currentTimeMillis() - firstModificationTime >= delay)) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes all pending modifications to the underlying store, owner by owner, and clears the log.
+     */
+    private void flush() {
+        if (logs.isEmpty()) {
+            return;
+        }
+
+        for (Map.Entry<Id, OwnerLog> entry : logs.entrySet()) {
+            final Id owner = entry.getKey();
+            final OwnerLog log = entry.getValue();
+
+            if (nonNull(log.container)) {
+                if (log.container.isPresent()) {
+                    super.containerFor(owner, log.container.get());
+                }
+                else {
+                    super.removeContainer(owner);
+                }
+            }
+
+            log.values.forEach((f, v) -> {
+                if (v.isPresent()) {
+                    super.valueFor(f, v.get());
+                }
+                else {
+                    super.removeValue(f);
+                }
+            });
+
+            log.references.forEach((f, r) -> {
+                if (r.isPresent()) {
+                    super.referenceFor(f, r.get());
+                }
+                else {
+                    super.removeReference(f);
+                }
+            });
+
+            log.appendedValues.forEach((f, a) -> super.appendAllValues(f, a.values));
+            log.appendedReferences.forEach((f, a) -> super.appendAllReferences(f, a.values));
+        }
+
+        logs.clear();
+        count = 0;
+    }
+
+    /**
+     * The pending modifications of a single owner.
+     */
+    @ParametersAreNonnullByDefault
+    private static final class OwnerLog {
+
+        /**
+         * The pending values of single-valued attributes. An empty value represents a removal.
+         */
+        @Nonnull
+        private final Map<SingleFeatureBean, Optional<?>> values = new LinkedHashMap<>();
+
+        /**
+         * The pending values of single-valued references. An empty value represents a removal.
+         */
+        @Nonnull
+        private final Map<SingleFeatureBean, Optional<Id>> references = new LinkedHashMap<>();
+
+        /**
+         * The pending appends of multi-valued attributes.
+         */
+        @Nonnull
+        private final Map<SingleFeatureBean, Appends<Object>> appendedValues = new LinkedHashMap<>();
+
+        /**
+         * The pending appends of multi-valued references.
+         */
+        @Nonnull
+        private final Map<SingleFeatureBean, Appends<Id>> appendedReferences = new LinkedHashMap<>();
+
+        /**
+         * The pending container, or {@code null} if the container has not been modified. An empty value represents a
+         * removal.
+         */
+        @Nullable
+        private Optional<SingleFeatureBean> container;
+
+        /**
+         * Returns the pending appends of the given multi-valued attribute, or creates them.
+         *
+         * @param feature the feature
+         * @param sizeOf  the function to retrieve the current size of the {@code feature} in the underlying store
+         *
+         * @return the pending appends
+         */
+        @Nonnull
+        Appends<Object> values(SingleFeatureBean feature, IntSupplier sizeOf) {
+            return appendedValues.computeIfAbsent(feature, f -> new Appends<>(sizeOf.getAsInt()));
+        }
+
+        /**
+         * Returns the pending appends of the given multi-valued reference, or creates them.
+         *
+         * @param feature the feature
+         * @param sizeOf  the function to retrieve the current size of the {@code feature} in the underlying store
+         *
+         * @return the pending appends
+         */
+        @Nonnull
+        Appends<Id> references(SingleFeatureBean feature, IntSupplier sizeOf) {
+            return appendedReferences.computeIfAbsent(feature, f -> new Appends<>(sizeOf.getAsInt()));
+        }
+    }
+
+    /**
+     * The pending appends of a multi-valued feature.
+     *
+     * @param <V> the type of the values
+     */
+    @ParametersAreNonnullByDefault
+    private static final class Appends<V> {
+
+        /**
+         * The position of the first pending value, i.e. the size of the feature in the underlying store.
+         */
+        @Nonnegative
+        private final int firstPosition;
+
+        /**
+         * The pending values, in order.
+         */
+        @Nonnull
+        private final List<V> values = new ArrayList<>();
+
+        /**
+         * Constructs a new {@code Appends}.
+         *
+         * @param firstPosition the position of the first pending value
+         */
+        Appends(@Nonnegative int firstPosition) {
+            this.firstPosition = firstPosition;
+        }
+
+        /**
+         * Appends the {@code value}.
+         *
+         * @param value the value to append
+         *
+         * @return the position of the {@code value}
+         */
+        @Nonnegative
+        int add(V value) {
+            values.add(value);
+            return size() - 1;
+        }
+
+        /**
+         * Appends all the {@code collection}.
+         *
+         * @param collection the values to append
+         *
+         * @return the position of the first value
+         */
+        @Nonnegative
+        int addAll(List<? extends V> collection) {
+            final int firstPosition = size();
+            values.addAll(collection);
+            return firstPosition;
+        }
+
+        /**
+         * Returns the pending value at the given {@code position}.
+         *
+         * @param position the position of the value in the feature
+         *
+         * @return the value, or {@code null} if the {@code position} is out of bounds
+         */
+        @Nullable
+        V get(@Nonnegative int position) {
+            final int index = position - firstPosition;
+            return index < values.size() ? values.get(index) : null;
+        }
+
+        /**
+         * Returns the position of the first pending occurrence of the {@code value}.
+         *
+         * @param value the value to look for
+         *
+         * @return an {@link Optional} containing the position of the {@code value} in the feature
+         */
+        @Nonnull
+        Optional<Integer> indexOf(Object value) {
+            final int index = values.indexOf(value);
+            return index != -1 ? Optional.of(firstPosition + index) : Optional.empty();
+        }
+
+        /**
+         * Returns the position of the last pending occurrence of the {@code value}.
+         *
+         * @param value the value to look for
+         *
+         * @return an {@link Optional} containing the position of the {@code value} in the feature
+         */
+        @Nonnull
+        Optional<Integer> lastIndexOf(Object value) {
+            final int index = values.lastIndexOf(value);
+            return index != -1 ? Optional.of(firstPosition + index) : Optional.empty();
+        }
+
+        /**
+         * Returns the size of the feature, including the pending values.
+         *
+         * @return the size
+         */
+        @Nonnegative
+        int size() {
+            return firstPosition + values.size();
+        }
+    }
+}
@@ -10,7 +10,8 @@ package fr.inria.atlanmod.neoemf.data.store.adapter;
 
 import fr.inria.atlanmod.commons.cache.Cache;
 import fr.inria.atlanmod.commons.cache.CacheBuilder;
-import fr.inria.atlanmod.commons.collect.MoreStreams;
+import fr.inria.atlanmod.neoemf.config.BaseConfig;
+import fr.inria.atlanmod.neoemf.config.ImmutableConfig;
 import fr.inria.atlanmod.neoemf.core.Id;
 import fr.inria.atlanmod.neoemf.core.PersistenceFactory;
 import fr.inria.atlanmod.neoemf.core.PersistentEObject;
@@ -19,6 +20,7 @@ import fr.inria.atlanmod.neoemf.data.bean.ManyFeatureBean;
 import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
 import fr.inria.atlanmod.neoemf.data.store.ClosedStore;
 import fr.inria.atlanmod.neoemf.data.store.Store;
+import fr.inria.atlanmod.neoemf.data.store.listener.StoreStats;
 import fr.inria.atlanmod.neoemf.util.EFeatures;
 
 import org.eclipse.emf.ecore.EAttribute;
@@ -46,6 +48,7 @@ import javax.annotation.concurrent.Immutable;
 import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
 import static fr.inria.atlanmod.commons.Preconditions.checkState;
 import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 
 /**
  * An abstract {@code StoreAdapter}.
@@ -68,15 +71,32 @@ public abstract class AbstractStoreAdapter implements StoreAdapter {
 
     /**
      * The adapted store.
+     * <p>
+     * This field is {@code volatile} because it is replaced when this adapter is closed, while it can be used by
+     * several threads.
      */
     @Nonnull
-    private Store store;
+    private volatile Store store;
 
     /**
      * The resource to store and access.
      */
     @Nullable
-    private Resource.Internal resource;
+    private volatile Resource.Internal resource;
+
+    /**
+     * The objects that are kept in memory, when the size of the object cache is bounded.
+     *
+     * @see ImmutableConfig#getObjectCacheSize()
+     */
+    @Nullable
+    private final RetainedObjects retainedObjects;
+
+    /**
+     * The stats to update when resolving objects.
+     */
+    @Nullable
+    private final StoreStats stats;
 
     /**
      * Constructs a new {@code AbstractStoreAdapter} on the given {@code store}.
@@ -85,8 +105,24 @@ public abstract class AbstractStoreAdapter implements StoreAdapter {
      * @param resource the resource to store and access
      */
     protected AbstractStoreAdapter(Store store, @Nullable Resource.Internal resource) {
+        this(store, resource, new BaseConfig<>());
+    }
+
+    /**
+     * Constructs a new {@code AbstractStoreAdapter} on the given {@code store}, with the object cache defined in the
+     * {@code config}.
+     *
+     * @param store    the inner store
+     * @param resource the resource to store and access
+     * @param config   the configuration defining the object cache
+     */
+    protected AbstractStoreAdapter(Store store, @Nullable Resource.Internal resource, ImmutableConfig config) {
         this.store = store;
         this.resource = resource;
+        this.stats = config.getStats().orElse(null);
+        this.retainedObjects = config.getObjectCacheSize()
+                .map(s -> new RetainedObjects(s, stats))
+                .orElse(null);
     }
 
     /**
@@ -104,6 +140,31 @@ public abstract class AbstractStoreAdapter implements StoreAdapter {
                 .build();
     }
 
+    /**
+     * Creates a new in-memory cache to store {@link fr.inria.atlanmod.neoemf.core.Id}s and their associated {@link
+     * fr.inria.atlanmod.neoemf.core.PersistentEObject}, as defined in the {@code config}.
+     * <p>
+     * When the size of the object cache is bounded, the most recently used objects are retained by the adapter, and the
+     * cache only holds weak references, or soft references if requested.
+     *
+     * @param config the configuration defining the object cache
+     *
+     * @return a new cache
+     *
+     * @see #getCache()
+     * @see ImmutableConfig#getObjectCacheSize()
+     */
+    @Nonnull
+    protected static Cache<Id, PersistentEObject> createCache(ImmutableConfig config) {
+        if (!config.getObjectCacheSize().isPresent() || config.isObjectCacheSoft()) {
+            return createCache();
+        }
+
+        return CacheBuilder.builder()
+                .weakValues()
+                .build();
+    }
+
     /**
      * Returns the in-memory cache holding recently loaded {@link fr.inria.atlanmod.neoemf.core.PersistentEObject}s.
      *
@@ -118,11 +179,30 @@ public abstract class AbstractStoreAdapter implements StoreAdapter {
      * @param object the object to refresh
      */
     private void refresh(PersistentEObject object) {
-        getCache().putIfAbsent(refConverter.convert(object), object);
+        final Id id = refConverter.convert(object);
+
+        getCache().putIfAbsent(id, object);
+        retain(id, object);
+    }
+
+    /**
+     * Marks the {@code object} as recently used, to keep it in memory when the size of the object cache is bounded.
+     *
+     * @param id     the identifier of the object
+     * @param object the object
+     */
+    private void retain(Id id, PersistentEObject object) {
+        if (nonNull(retainedObjects)) {
+            retainedObjects.retain(id, object);
+        }
     }
 
     @Override
     public void close() {
+        if (nonNull(retainedObjects)) {
+            retainedObjects.clear();
+        }
+
         store.close();
         store = new ClosedStore();
     }
@@ -154,7 +234,12 @@ public abstract class AbstractStoreAdapter implements StoreAdapter {
     public final PersistentEObject resolve(Id id) {
         checkNotNull(id, "id");
 
+        if (nonNull(stats)) {
+            stats.recordObjectRequest();
+        }
+
         PersistentEObject object = getCache().get(id, this::rebuild);
+        retain(id, object);
 
         // Define the resource of the object
         Optional.ofNullable(resource).ifPresent(object::resource);
@@ -355,10 +440,10 @@ public abstract class AbstractStoreAdapter implements StoreAdapter {
         SingleFeatureBean bean = SingleFeatureBean.from(object, feature);
 
         if (EFeatures.isAttribute(feature)) {
-            return store.allValuesOf(bean).anyMatch(attrConverter.convert(value, EFeatures.asAttribute(feature))::equals);
+            return store.indexOfValue(bean, attrConverter.convert(value, EFeatures.asAttribute(feature))).isPresent();
         }
         else {
-            return store.allReferencesOf(bean).anyMatch(refConverter.convert(PersistentEObject.from(value))::equals);
+            return store.indexOfReference(bean, refConverter.convert(PersistentEObject.from(value))).isPresent();
         }
     }
 
@@ -380,10 +465,10 @@ public abstract class AbstractStoreAdapter implements StoreAdapter {
 
         Optional<Integer> index;
         if (EFeatures.isAttribute(feature)) {
-            index = MoreStreams.indexOf(store.allValuesOf(bean), attrConverter.convert(value, EFeatures.asAttribute(feature)));
+            index = store.indexOfValue(bean, attrConverter.convert(value, EFeatures.asAttribute(feature)));
         }
         else {
-            index = MoreStreams.indexOf(store.allReferencesOf(bean), refConverter.convert(PersistentEObject.from(value)));
+            index = store.indexOfReference(bean, refConverter.convert(PersistentEObject.from(value)));
         }
         return index.orElse(EStore.NO_INDEX);
     }
@@ -406,10 +491,10 @@ public abstract class AbstractStoreAdapter implements StoreAdapter {
 
         Optional<Integer> index;
         if (EFeatures.isAttribute(feature)) {
-            index = MoreStreams.lastIndexOf(store.allValuesOf(bean), attrConverter.convert(value, EFeatures.asAttribute(feature)));
+            index = store.lastIndexOfValue(bean, attrConverter.convert(value, EFeatures.asAttribute(feature)));
         }
         else {
-            index = MoreStreams.lastIndexOf(store.allReferencesOf(bean), refConverter.convert(PersistentEObject.from(value)));
+            index = store.lastIndexOfReference(bean, refConverter.convert(PersistentEObject.from(value)));
         }
         return index.orElse(EStore.NO_INDEX);
     }
@@ -714,6 +799,10 @@ public abstract class AbstractStoreAdapter implements StoreAdapter {
      */
     @Nonnull
     private PersistentEObject rebuild(Id id) {
+        if (nonNull(stats)) {
+            stats.recordObjectMiss();
+        }
+
         final EClass eClass = resolveInstanceOf(id).<IllegalStateException>orElseThrow(IllegalStateException::new); // Should never happen
         return PersistenceFactory.newInstance(eClass, id);
     }
@@ -9,6 +9,8 @@
 package fr.inria.atlanmod.neoemf.data.store.adapter;
 
 import fr.inria.atlanmod.commons.cache.Cache;
+import fr.inria.atlanmod.neoemf.config.BaseConfig;
+import fr.inria.atlanmod.neoemf.config.ImmutableConfig;
 import fr.inria.atlanmod.neoemf.core.Id;
 import fr.inria.atlanmod.neoemf.core.PersistentEObject;
 import fr.inria.atlanmod.neoemf.data.store.Store;
@@ -37,7 +39,7 @@ public class PersistentStoreAdapter extends AbstractStoreAdapter {
      * In-memory cache that holds recently loaded {@link PersistentEObject}s, identified by their {@link Id}.
      */
     @Nonnull
-    private final Cache<Id, PersistentEObject> cache = createCache();
+    private final Cache<Id, PersistentEObject> cache;
 
     /**
      * Constructs a new {@code PersistentStoreAdapter} on the given {@code store}.
@@ -46,7 +48,23 @@ public class PersistentStoreAdapter extends AbstractStoreAdapter {
      * @param resource the resource to store and access
      */
     public PersistentStoreAdapter(Store store, PersistentResource resource) {
-        super(store, checkNotNull(resource, "resource"));
+        this(store, resource, new BaseConfig<>());
+    }
+
+    /**
+     * Constructs a new {@code PersistentStoreAdapter} on the given {@code store}, with the object cache defined in the
+     * {@code config}.
+     *
+     * @param store    the inner store
+     * @param resource the resource to store and access
+     * @param config   the configuration defining the object cache
+     *
+     * @see fr.inria.atlanmod.neoemf.config.Config#cacheObjects(long, boolean)
+     */
+    public PersistentStoreAdapter(Store store, PersistentResource resource, ImmutableConfig config) {
+        super(store, checkNotNull(resource, "resource"), checkNotNull(config, "config"));
+
+        this.cache = createCache(config);
     }
 
     @Nonnull
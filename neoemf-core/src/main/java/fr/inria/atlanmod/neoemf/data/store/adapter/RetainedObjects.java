@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.store.adapter;
+
+import fr.inria.atlanmod.neoemf.core.Id;
+import fr.inria.atlanmod.neoemf.core.PersistentEObject;
+import fr.inria.atlanmod.neoemf.data.store.listener.StoreStats;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.annotation.concurrent.ThreadSafe;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkArgument;
+import static java.util.Objects.nonNull;
+
+/**
+ * A bounded set of the {@link PersistentEObject}s recently used through a {@link StoreAdapter}, that keeps them
+ * strongly reachable.
+ * <p>
+ * When the maximum size is exceeded, the least recently used object is released: it remains in the object cache of the
+ * adapter as long as it is referenced elsewhere, but it can then be garbage-collected.
+ * <p>
+ * This class is thread-safe. Retaining is lossy under contention: a thread that cannot acquire the lock immediately
+ * does not wait, and skips the update. The objects it resolves are still cached, but they are not retained, and their
+ * recency is not updated; this only affects which objects are released first, never the correctness of the adapter.
+ */
+@ThreadSafe
+@ParametersAreNonnullByDefault
+final class RetainedObjects {
+
+    /**
+     * The maximum number of objects to retain.
+     */
+    @Nonnegative
+    private final long maximumSize;
+
+    /**
+     * The stats to update when an object is released.
+     */
+    @Nullable
+    private final StoreStats stats;
+
+    /**
+     * The retained objects, in access order.
+     */
+    @Nonnull
+    private final Map<Id, PersistentEObject> objects;
+
+    /**
+     * The lock guarding {@link #objects}, which is ordered by access and therefore modified by each read.
+     */
+    @Nonnull
+    private final Lock lock = new ReentrantLock();
+
+    /**
+     * Constructs a new {@code RetainedObjects}.
+     *
+     * @param maximumSize the maximum number of objects to retain
+     * @param stats       the stats to update when an object is released
+     */
+    RetainedObjects(@Nonnegative long maximumSize, @Nullable StoreStats stats) {
+        checkArgument(maximumSize >= 0, "maximumSize must not be negative");
+
+        this.maximumSize = maximumSize;
+        this.stats = stats;
+        this.objects = new LinkedHashMap<Id, PersistentEObject>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Id, PersistentEObject> eldest) {
+                return release(size());
+            }
+        };
+    }
+
+    /**
+     * Retains the {@code object}, or marks it as the most recently used if it is already retained.
+     *
+     * @param id     the identifier of the object
+     * @param object the object to retain
+     */
+    void retain(Id id, PersistentEObject object) {
+        if (lock.tryLock()) {
+            try {
+                objects.put(id, object);
+            }
+            finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of retained objects.
+     *
+     * @return the number of objects
+     */
+    @Nonnegative
+    int size() {
+        lock.lock();
+        try {
+            return objects.size();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Releases all the retained objects.
+     */
+    void clear() {
+        lock.lock();
+        try {
+            objects.clear();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns {@code true} if the least recently used object must be released.
+     *
+     * @param size the current number of retained objects
+     *
+     * @return {@code true} if the maximum size is exceeded
+     */
+    private boolean release(@Nonnegative int size) {
+        final boolean release = size > maximumSize;
+
+        if (release && nonNull(stats)) {
+            stats.recordObjectEviction();
+        }
+
+        return release;
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.store.listener;
+
+import fr.inria.atlanmod.commons.log.Log;
+
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkArgument;
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * A {@link StatsExporter} that publishes the stats periodically, in a dedicated daemon thread, and a last time when
+ * stopped.
+ */
+@ParametersAreNonnullByDefault
+public abstract class AbstractPeriodicStatsExporter implements StatsExporter {
+
+    /**
+     * The period between two exports.
+     */
+    @Nonnegative
+    private final long period;
+
+    /**
+     * The unit of the {@link #period}.
+     */
+    @Nonnull
+    private final TimeUnit unit;
+
+    /**
+     * The executor that runs the exports, or {@code null} if this exporter is not started.
+     */
+    @Nullable
+    private ScheduledExecutorService executor;
+
+    /**
+     * The stats to publish, or {@code null} if this exporter is not started.
+     */
+    @Nullable
+    private StoreStats stats;
+
+    /**
+     * Constructs a new {@code AbstractPeriodicStatsExporter}.
+     *
+     * @param period the period between two exports
+     * @param unit   the unit of the {@code period}
+     *
+     * @throws IllegalArgumentException if {@code period <= 0}
+     */
+    protected AbstractPeriodicStatsExporter(@Nonnegative long period, TimeUnit unit) {
+        checkArgument(period > 0, "period must be positive");
+
+        this.period = period;
+        this.unit = checkNotNull(unit, "unit");
+    }
+
+    @Override
+    public synchronized void start(StoreStats stats) {
+        if (nonNull(executor)) {
+            return;
+        }
+
+        this.stats = stats;
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "neoemf-stats-exporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        executor.scheduleAtFixedRate(() -> exportQuietly(stats), period, period, unit);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (isNull(executor)) {
+            return;
+        }
+
+        executor.shutdownNow();
+        executor = null;
+
+        exportQuietly(stats);
+        stats = null;
+    }
+
+    /**
+     * Publishes the {@code stats}.
+     *
+     * @param stats the stats to publish
+     *
+     * @throws IOException if an I/O error occurs during the export
+     */
+    protected abstract void export(StoreStats stats) throws IOException;
+
+    /**
+     * Publishes the {@code stats}, and logs any error.
+     *
+     * @param stats the stats to publish
+     */
+    private void exportQuietly(@Nullable StoreStats stats) {
+        if (isNull(stats)) {
+            return;
+        }
+
+        try {
+            export(stats);
+        }
+        catch (Exception e) {
+            Log.warn(e);
+        }
+    }
+}
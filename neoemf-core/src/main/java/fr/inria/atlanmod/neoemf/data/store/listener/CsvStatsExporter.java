@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.store.listener;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+
+/**
+ * A {@link StatsExporter} that periodically appends the latency of each operation to a CSV file.
+ * <p>
+ * Each export appends one row per called operation, with the following columns: {@code timestamp} (in milliseconds
+ * since the epoch), {@code operation}, {@code count}, {@code throughput} (per second), {@code mean}, {@code p50},
+ * {@code p99} and {@code max} (in nanoseconds). The header is written when the file is created.
+ */
+@ParametersAreNonnullByDefault
+public class CsvStatsExporter extends AbstractPeriodicStatsExporter {
+
+    /**
+     * The header of the file.
+     */
+    @Nonnull
+    static final String HEADER = "timestamp,operation,count,throughput,mean,p50,p99,max,roundTrips,bytesRead,bytesWritten";
+
+    /**
+     * The file where to write the stats.
+     */
+    @Nonnull
+    private final Path file;
+
+    /**
+     * Constructs a new {@code CsvStatsExporter}.
+     *
+     * @param file   the file where to write the stats
+     * @param period the period between two exports
+     * @param unit   the unit of the {@code period}
+     *
+     * @throws IllegalArgumentException if {@code period <= 0}
+     */
+    public CsvStatsExporter(Path file, @Nonnegative long period, TimeUnit unit) {
+        super(period, unit);
+        this.file = checkNotNull(file, "file");
+    }
+
+    @Override
+    protected void export(StoreStats stats) throws IOException {
+        final boolean exists = Files.exists(file);
+        final long timestamp = System.currentTimeMillis();
+
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            if (!exists) {
+                writer.write(HEADER);
+                writer.newLine();
+            }
+
+            for (StoreOperation operation : StoreOperation.values()) {
+                LatencyHistogram latency = stats.latencyOf(operation);
+                if (latency.count() == 0) {
+                    continue;
+                }
+
+                IoStats.Counters io = stats.io().countersOf(operation);
+
+                writer.write(String.format(Locale.ROOT, "%d,%s,%d,%.3f,%.0f,%d,%d,%d,%d,%d,%d",
+                        timestamp, operation.methodName(), latency.count(), stats.throughput(operation),
+                        latency.mean(), latency.percentile(50), latency.percentile(99), latency.max(),
+                        io.roundTrips(), io.bytesRead(), io.bytesWritten()));
+                writer.newLine();
+            }
+        }
+    }
+}
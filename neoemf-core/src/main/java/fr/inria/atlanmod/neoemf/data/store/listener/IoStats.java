@@ -0,0 +1,374 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.store.listener;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.annotation.concurrent.ThreadSafe;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static java.util.Objects.isNull;
+
+/**
+ * Statistics about the input/output work of a {@link fr.inria.atlanmod.neoemf.data.Backend}: the number of round trips
+ * to the database, and the number, the size and the duration of the (de)serializations.
+ * <p>
+ * The work is attributed to the {@link StoreOperation} currently processed by the calling thread, as declared with
+ * {@link #enter(StoreOperation)}, so that the latency of an operation can be split between encoding and storage. The
+ * work done outside of any operation, such as a direct access to the back-end, is attributed to {@link
+ * #unattributed()}.
+ */
+@ThreadSafe
+@ParametersAreNonnullByDefault
+public final class IoStats {
+
+    /**
+     * The counters of each operation. All the operations are registered on creation, so this map is never modified.
+     */
+    @Nonnull
+    private final Map<StoreOperation, Counters> operations = new EnumMap<>(StoreOperation.class);
+
+    /**
+     * The counters of the work done outside of any operation.
+     */
+    @Nonnull
+    private final Counters unattributed = new Counters();
+
+    /**
+     * The operation currently processed by each thread.
+     */
+    @Nonnull
+    private final ThreadLocal<StoreOperation> currentOperation = new ThreadLocal<>();
+
+    /**
+     * Constructs a new {@code IoStats}.
+     */
+    public IoStats() {
+        for (StoreOperation operation : StoreOperation.values()) {
+            operations.put(operation, new Counters());
+        }
+    }
+
+    /**
+     * Declares that the calling thread starts processing the {@code operation}: the following work is attributed to
+     * it, until {@link #exit()} is called.
+     *
+     * @param operation the operation
+     *
+     * @return the operation previously processed by the calling thread, or {@code null} if there was none
+     *
+     * @see #exit(StoreOperation)
+     */
+    @Nullable
+    public StoreOperation enter(StoreOperation operation) {
+        StoreOperation previous = currentOperation.get();
+        currentOperation.set(operation);
+        return previous;
+    }
+
+    /**
+     * Declares that the calling thread has finished processing its current operation.
+     */
+    public void exit() {
+        currentOperation.remove();
+    }
+
+    /**
+     * Declares that the calling thread has finished processing its current operation, and resumes the {@code
+     * previous} one, as returned by {@link #enter(StoreOperation)}.
+     *
+     * @param previous the operation to resume, or {@code null} if there is none
+     */
+    public void exit(@Nullable StoreOperation previous) {
+        if (isNull(previous)) {
+            currentOperation.remove();
+        }
+        else {
+            currentOperation.set(previous);
+        }
+    }
+
+    /**
+     * Records a round trip to the database.
+     */
+    public void recordRoundTrip() {
+        current().roundTrips.increment();
+    }
+
+    /**
+     * Records the serialization of a value.
+     *
+     * @param bytes    the size of the serialized value, in bytes
+     * @param duration the duration of the serialization, in nanoseconds
+     */
+    public void recordSerialization(@Nonnegative long bytes, @Nonnegative long duration) {
+        Counters counters = current();
+        counters.serializations.increment();
+        counters.bytesWritten.add(bytes);
+        counters.serializationTime.add(duration);
+    }
+
+    /**
+     * Records the deserialization of a value.
+     *
+     * @param bytes    the size of the serialized value, in bytes
+     * @param duration the duration of the deserialization, in nanoseconds
+     */
+    public void recordDeserialization(@Nonnegative long bytes, @Nonnegative long duration) {
+        Counters counters = current();
+        counters.deserializations.increment();
+        counters.bytesRead.add(bytes);
+        counters.deserializationTime.add(duration);
+    }
+
+    /**
+     * Returns the counters of the {@code operation}.
+     *
+     * @param operation the operation
+     *
+     * @return the counters
+     */
+    @Nonnull
+    public Counters countersOf(StoreOperation operation) {
+        return operations.get(checkNotNull(operation, "operation"));
+    }
+
+    /**
+     * Returns the counters of the work done outside of any operation.
+     *
+     * @return the counters
+     */
+    @Nonnull
+    public Counters unattributed() {
+        return unattributed;
+    }
+
+    /**
+     * Returns the total number of round trips to the database.
+     *
+     * @return the number of round trips
+     */
+    @Nonnegative
+    public long roundTrips() {
+        return sum(Counters::roundTrips);
+    }
+
+    /**
+     * Returns the total number of serialized bytes.
+     *
+     * @return the number of bytes
+     */
+    @Nonnegative
+    public long bytesWritten() {
+        return sum(Counters::bytesWritten);
+    }
+
+    /**
+     * Returns the total number of deserialized bytes.
+     *
+     * @return the number of bytes
+     */
+    @Nonnegative
+    public long bytesRead() {
+        return sum(Counters::bytesRead);
+    }
+
+    /**
+     * Returns the total time spent to serialize values.
+     *
+     * @param unit the unit of the result
+     *
+     * @return the duration
+     */
+    @Nonnegative
+    public long serializationTime(TimeUnit unit) {
+        return unit.convert(sum(c -> c.serializationTime.sum()), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the total time spent to deserialize values.
+     *
+     * @param unit the unit of the result
+     *
+     * @return the duration
+     */
+    @Nonnegative
+    public long deserializationTime(TimeUnit unit) {
+        return unit.convert(sum(c -> c.deserializationTime.sum()), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the counters of the operation currently processed by the calling thread.
+     *
+     * @return the counters
+     */
+    @Nonnull
+    private Counters current() {
+        StoreOperation operation = currentOperation.get();
+        return isNull(operation) ? unattributed : operations.get(operation);
+    }
+
+    /**
+     * Sums a counter of all the operations, including the work done outside of any operation.
+     *
+     * @param counter the function returning the counter
+     *
+     * @return the sum
+     */
+    private long sum(ToLongFunction<Counters> counter) {
+        return Stream.concat(operations.values().stream(), Stream.of(unattributed))
+                .mapToLong(counter)
+                .sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("io = %d round trips, %d bytes read in %dus, %d bytes written in %dus",
+                roundTrips(), bytesRead(), deserializationTime(TimeUnit.MICROSECONDS), bytesWritten(), serializationTime(TimeUnit.MICROSECONDS));
+    }
+
+    /**
+     * The input/output counters of an operation.
+     */
+    @ThreadSafe
+    @ParametersAreNonnullByDefault
+    public static final class Counters {
+
+        /**
+         * The number of round trips to the database.
+         */
+        @Nonnull
+        private final LongAdder roundTrips = new LongAdder();
+
+        /**
+         * The number of serializations.
+         */
+        @Nonnull
+        private final LongAdder serializations = new LongAdder();
+
+        /**
+         * The number of deserializations.
+         */
+        @Nonnull
+        private final LongAdder deserializations = new LongAdder();
+
+        /**
+         * The number of serialized bytes.
+         */
+        @Nonnull
+        private final LongAdder bytesWritten = new LongAdder();
+
+        /**
+         * The number of deserialized bytes.
+         */
+        @Nonnull
+        private final LongAdder bytesRead = new LongAdder();
+
+        /**
+         * The time spent to serialize values, in nanoseconds.
+         */
+        @Nonnull
+        private final LongAdder serializationTime = new LongAdder();
+
+        /**
+         * The time spent to deserialize values, in nanoseconds.
+         */
+        @Nonnull
+        private final LongAdder deserializationTime = new LongAdder();
+
+        /**
+         * Constructs a new {@code Counters}.
+         */
+        Counters() {
+        }
+
+        /**
+         * Returns the number of round trips to the database.
+         *
+         * @return the number of round trips
+         */
+        @Nonnegative
+        public long roundTrips() {
+            return roundTrips.sum();
+        }
+
+        /**
+         * Returns the number of serializations.
+         *
+         * @return the number of serializations
+         */
+        @Nonnegative
+        public long serializations() {
+            return serializations.sum();
+        }
+
+        /**
+         * Returns the number of deserializations.
+         *
+         * @return the number of deserializations
+         */
+        @Nonnegative
+        public long deserializations() {
+            return deserializations.sum();
+        }
+
+        /**
+         * Returns the number of serialized bytes.
+         *
+         * @return the number of bytes
+         */
+        @Nonnegative
+        public long bytesWritten() {
+            return bytesWritten.sum();
+        }
+
+        /**
+         * Returns the number of deserialized bytes.
+         *
+         * @return the number of bytes
+         */
+        @Nonnegative
+        public long bytesRead() {
+            return bytesRead.sum();
+        }
+
+        /**
+         * Returns the time spent to serialize values.
+         *
+         * @param unit the unit of the result
+         *
+         * @return the duration
+         */
+        @Nonnegative
+        public long serializationTime(TimeUnit unit) {
+            return unit.convert(serializationTime.sum(), TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * Returns the time spent to deserialize values.
+         *
+         * @param unit the unit of the result
+         *
+         * @return the duration
+         */
+        @Nonnegative
+        public long deserializationTime(TimeUnit unit) {
+            return unit.convert(deserializationTime.sum(), TimeUnit.NANOSECONDS);
+        }
+    }
+}
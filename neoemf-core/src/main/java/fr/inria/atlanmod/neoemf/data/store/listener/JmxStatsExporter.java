@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.store.listener;
+
+import fr.inria.atlanmod.commons.log.Log;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+
+/**
+ * A {@link StatsExporter} that registers the stats as a {@link StoreStatsMXBean} in the platform {@link MBeanServer},
+ * so that they can be read by any JMX client.
+ * <p>
+ * The bean is registered under the name {@code fr.inria.atlanmod.neoemf:type=StoreStats,name=<name>}.
+ */
+@ParametersAreNonnullByDefault
+public class JmxStatsExporter implements StatsExporter {
+
+    /**
+     * The domain of the registered beans.
+     */
+    @Nonnull
+    private static final String DOMAIN = "fr.inria.atlanmod.neoemf";
+
+    /**
+     * The name of the registered bean.
+     */
+    @Nonnull
+    private final ObjectName objectName;
+
+    /**
+     * The server where to register the bean.
+     */
+    @Nonnull
+    private final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+    /**
+     * Constructs a new {@code JmxStatsExporter}.
+     *
+     * @param name the name identifying the stats
+     *
+     * @throws IllegalArgumentException if the {@code name} cannot be used in a JMX name
+     */
+    public JmxStatsExporter(String name) {
+        checkNotNull(name, "name");
+
+        try {
+            this.objectName = new ObjectName(DOMAIN + ":type=StoreStats,name=" + ObjectName.quote(name));
+        }
+        catch (JMException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    /**
+     * Returns the name of the registered bean.
+     *
+     * @return the name
+     */
+    @Nonnull
+    public ObjectName objectName() {
+        return objectName;
+    }
+
+    @Override
+    public synchronized void start(StoreStats stats) {
+        if (server.isRegistered(objectName)) {
+            Log.warn("{0} is already registered", objectName);
+            return;
+        }
+
+        try {
+            server.registerMBean(new StatsBean(stats), objectName);
+        }
+        catch (JMException e) {
+            Log.warn(e);
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        try {
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+        }
+        catch (JMException e) {
+            Log.warn(e);
+        }
+    }
+
+    /**
+     * A {@link StoreStatsMXBean} that reads a {@link StoreStats}.
+     */
+    @ParametersAreNonnullByDefault
+    private static final class StatsBean implements StoreStatsMXBean {
+
+        /**
+         * The stats to read.
+         */
+        @Nonnull
+        private final StoreStats stats;
+
+        /**
+         * Constructs a new {@code StatsBean}.
+         *
+         * @param stats the stats to read
+         */
+        StatsBean(StoreStats stats) {
+            this.stats = stats;
+        }
+
+        @Override
+        public double getThroughput() {
+            return stats.throughput();
+        }
+
+        @Override
+        public Map<String, Long> getInvocations() {
+            return new TreeMap<>(stats.methodInvocations());
+        }
+
+        @Override
+        public Map<String, Long> getMedianLatencies() {
+            return latencies(l -> l.percentile(50));
+        }
+
+        @Override
+        public Map<String, Long> getP99Latencies() {
+            return latencies(l -> l.percentile(99));
+        }
+
+        @Override
+        public Map<String, Long> getMaxLatencies() {
+            return latencies(LatencyHistogram::max);
+        }
+
+        @Override
+        public long getObjectHits() {
+            return stats.objectHits();
+        }
+
+        @Override
+        public long getObjectMisses() {
+            return stats.objectMisses();
+        }
+
+        @Override
+        public long getBytesRead() {
+            return stats.bytesRead();
+        }
+
+        @Override
+        public long getBytesWritten() {
+            return stats.bytesWritten();
+        }
+
+        @Override
+        public long getRoundTrips() {
+            return stats.io().roundTrips();
+        }
+
+        @Override
+        public Map<String, Long> getRoundTripsByOperation() {
+            Map<String, Long> result = new TreeMap<>();
+
+            for (StoreOperation operation : StoreOperation.values()) {
+                long roundTrips = stats.io().countersOf(operation).roundTrips();
+                if (roundTrips > 0) {
+                    result.put(operation.methodName(), roundTrips);
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public long getSerializationTime() {
+            return stats.io().serializationTime(TimeUnit.MICROSECONDS);
+        }
+
+        @Override
+        public long getDeserializationTime() {
+            return stats.io().deserializationTime(TimeUnit.MICROSECONDS);
+        }
+
+        /**
+         * Computes a duration for each called operation.
+         *
+         * @param function the function computing the duration from the latency of an operation
+         *
+         * @return a map of durations, by method name
+         */
+        @Nonnull
+        private Map<String, Long> latencies(ToLongFunction<LatencyHistogram> function) {
+            Map<String, Long> result = new TreeMap<>();
+
+            for (StoreOperation operation : StoreOperation.values()) {
+                LatencyHistogram latency = stats.latencyOf(operation);
+                if (latency.count() > 0) {
+                    result.put(operation.methodName(), function.applyAsLong(latency));
+                }
+            }
+            return result;
+        }
+    }
+}
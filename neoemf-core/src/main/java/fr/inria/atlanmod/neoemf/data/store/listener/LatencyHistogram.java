@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.store.listener;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.annotation.concurrent.ThreadSafe;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkArgument;
+
+/**
+ * A lock-free histogram of durations, in nanoseconds.
+ * <p>
+ * Durations are counted in buckets of logarithmic size: each power of 2 is divided in {@code 16} buckets, so that a
+ * recorded duration is known with a relative error lower than {@code 1/16}, in a constant memory. Durations longer than
+ * {@code 2^40} nanoseconds (about 18 minutes) are counted in the last bucket.
+ *
+ * @see StoreStats
+ */
+@ThreadSafe
+@ParametersAreNonnullByDefault
+public final class LatencyHistogram {
+
+    /**
+     * The number of bits used to divide each power of 2.
+     */
+    private static final int SUB_BUCKET_BITS = 4;
+
+    /**
+     * The number of buckets for each power of 2.
+     */
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * The exponent of the highest power of 2 that is distinguished.
+     */
+    private static final int MAX_EXPONENT = 40;
+
+    /**
+     * The number of buckets.
+     */
+    private static final int BUCKET_COUNT = SUB_BUCKET_COUNT * (MAX_EXPONENT - SUB_BUCKET_BITS + 2);
+
+    /**
+     * The number of durations recorded in each bucket.
+     */
+    @Nonnull
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+    /**
+     * The number of recorded durations.
+     */
+    @Nonnull
+    private final LongAdder totalCount = new LongAdder();
+
+    /**
+     * The sum of the recorded durations.
+     */
+    @Nonnull
+    private final LongAdder totalDuration = new LongAdder();
+
+    /**
+     * The longest recorded duration.
+     */
+    @Nonnull
+    private final AtomicLong maxDuration = new AtomicLong();
+
+    /**
+     * Returns the index of the bucket of the given {@code duration}.
+     *
+     * @param duration the duration
+     *
+     * @return the index of the bucket
+     */
+    @Nonnegative
+    private static int bucketOf(@Nonnegative long duration) {
+        if (duration < SUB_BUCKET_COUNT) {
+            return (int) duration;
+        }
+
+        final int exponent = 63 - Long.numberOfLeadingZeros(duration);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+
+        final int shift = exponent - SUB_BUCKET_BITS;
+        return SUB_BUCKET_COUNT * (shift + 1) + (int) (duration >>> shift) - SUB_BUCKET_COUNT;
+    }
+
+    /**
+     * Returns the highest duration counted in the given {@code bucket}.
+     *
+     * @param bucket the index of the bucket
+     *
+     * @return the highest duration
+     */
+    @Nonnegative
+    private static long highestDurationOf(@Nonnegative int bucket) {
+        if (bucket < SUB_BUCKET_COUNT) {
+            return bucket;
+        }
+        if (bucket == BUCKET_COUNT - 1) {
+            return Long.MAX_VALUE;
+        }
+
+        final int shift = bucket / SUB_BUCKET_COUNT - 1;
+        final long lowest = (long) (SUB_BUCKET_COUNT + bucket % SUB_BUCKET_COUNT) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    /**
+     * Records a {@code duration}.
+     *
+     * @param duration the duration, in nanoseconds; negative durations are recorded as {@code 0}
+     */
+    public void record(long duration) {
+        final long value = Math.max(duration, 0);
+
+        counts.incrementAndGet(bucketOf(value));
+        totalCount.increment();
+        totalDuration.add(value);
+
+        long max = maxDuration.get();
+        while (value > max && !maxDuration.compareAndSet(max, value)) {
+            max = maxDuration.get();
+        }
+    }
+
+    /**
+     * Returns the number of recorded durations.
+     *
+     * @return the number of durations
+     */
+    @Nonnegative
+    public long count() {
+        return totalCount.sum();
+    }
+
+    /**
+     * Returns the sum of the recorded durations.
+     *
+     * @param unit the unit of the result
+     *
+     * @return the total duration
+     */
+    @Nonnegative
+    public long total(TimeUnit unit) {
+        return unit.convert(totalDuration.sum(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the mean of the recorded durations, in nanoseconds.
+     *
+     * @return the mean duration, or {@code 0} if no duration has been recorded
+     */
+    @Nonnegative
+    public double mean() {
+        final long count = count();
+        return count > 0 ? (double) totalDuration.sum() / count : 0;
+    }
+
+    /**
+     * Returns the longest recorded duration, in nanoseconds.
+     *
+     * @return the maximum duration, or {@code 0} if no duration has been recorded
+     */
+    @Nonnegative
+    public long max() {
+        return maxDuration.get();
+    }
+
+    /**
+     * Returns the duration under which the given {@code percentile} of the recorded durations fall, in nanoseconds.
+     * <p>
+     * The result is the highest duration of the bucket containing the percentile, and does not exceed {@link #max()}.
+     * Durations recorded concurrently may or may not be taken into account.
+     *
+     * @param percentile the percentile, between {@code 0} and {@code 100}
+     *
+     * @return the duration, or {@code 0} if no duration has been recorded
+     *
+     * @throws IllegalArgumentException if {@code percentile} is not between {@code 0} and {@code 100}
+     */
+    @Nonnegative
+    public long percentile(double percentile) {
+        checkArgument(percentile >= 0 && percentile <= 100, "percentile must be between 0 and 100");
+
+        final long count = count();
+        if (count == 0) {
+            return 0;
+        }
+
+        final long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            seen += counts.get(bucket);
+            if (seen >= rank) {
+                return Math.min(highestDurationOf(bucket), max());
+            }
+        }
+        return max();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count = %d, mean = %.0fns, p50 = %dns, p99 = %dns, max = %dns",
+                count(), mean(), percentile(50), percentile(99), max());
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.store.listener;
+
+import fr.inria.atlanmod.commons.log.Level;
+import fr.inria.atlanmod.commons.log.Log;
+import fr.inria.atlanmod.commons.log.Logger;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+
+/**
+ * A {@link StatsExporter} that periodically logs a single line summarizing the stats.
+ */
+@ParametersAreNonnullByDefault
+public class LoggingStatsExporter extends AbstractPeriodicStatsExporter {
+
+    /**
+     * The logger to use.
+     */
+    @Nonnull
+    private final Logger logger = Log.forName("neoemf.stats");
+
+    /**
+     * The logging level.
+     */
+    @Nonnull
+    private final Level level;
+
+    /**
+     * Constructs a new {@code LoggingStatsExporter}.
+     *
+     * @param period the period between two exports
+     * @param unit   the unit of the {@code period}
+     * @param level  the logging level
+     *
+     * @throws IllegalArgumentException if {@code period <= 0}
+     */
+    public LoggingStatsExporter(@Nonnegative long period, TimeUnit unit, Level level) {
+        super(period, unit);
+        this.level = checkNotNull(level, "level");
+    }
+
+    @Override
+    protected void export(StoreStats stats) {
+        logger.log(level, toLine(stats));
+    }
+
+    /**
+     * Formats the {@code stats} in a single line.
+     *
+     * @param stats the stats to format
+     *
+     * @return the line
+     */
+    @Nonnull
+    static String toLine(StoreStats stats) {
+        String operations = Stream.of(StoreOperation.values())
+                .filter(o -> stats.latencyOf(o).count() > 0)
+                .map(o -> String.format("%s=%d/p99:%dus", o.methodName(), stats.latencyOf(o).count(), stats.percentile(o, 99, TimeUnit.MICROSECONDS)))
+                .collect(Collectors.joining(" "));
+
+        return String.format("throughput=%.1f/s objects=%d/%d bytes=%d/%d roundTrips=%d %s",
+                stats.throughput(), stats.objectHits(), stats.objectMisses(), stats.bytesRead(), stats.bytesWritten(), stats.io().roundTrips(), operations).trim();
+    }
+}
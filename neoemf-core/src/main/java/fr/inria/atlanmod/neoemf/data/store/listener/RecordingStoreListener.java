@@ -42,7 +42,7 @@ public class RecordingStoreListener implements StoreListener {
 
     @Override
     public void onInitialize() {
-        // Do nothing
+        stats.attach();
     }
 
     @Override
@@ -57,6 +57,6 @@ public class RecordingStoreListener implements StoreListener {
 
     @Override
     public void onClose() {
-        // Do nothing
+        stats.detach();
     }
 }
@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.store.listener;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * An object that publishes {@link StoreStats} outside of NeoEMF, such as in a monitoring system.
+ *
+ * @see StoreStats#exportTo(StatsExporter)
+ * @see JmxStatsExporter
+ * @see LoggingStatsExporter
+ * @see CsvStatsExporter
+ */
+@ParametersAreNonnullByDefault
+public interface StatsExporter {
+
+    /**
+     * Starts publishing the {@code stats}.
+     * <p>
+     * This method is called when the first store chain using the {@code stats} is initialized.
+     *
+     * @param stats the stats to publish
+     */
+    void start(StoreStats stats);
+
+    /**
+     * Stops publishing the stats.
+     * <p>
+     * This method is called when the last store chain using the stats is closed.
+     */
+    void stop();
+}
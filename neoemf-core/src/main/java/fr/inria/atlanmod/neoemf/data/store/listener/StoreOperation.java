@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.store.listener;
+
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * An operation of a {@link fr.inria.atlanmod.neoemf.data.store.Store}, identifying a method of the
+ * {@link fr.inria.atlanmod.neoemf.data.mapping.DataMapper} interface.
+ * <p>
+ * Overloaded methods, such as {@code valueOf(SingleFeatureBean)} and {@code valueOf(ManyFeatureBean)}, are identified
+ * by the same operation.
+ */
+@ParametersAreNonnullByDefault
+public enum StoreOperation {
+
+    SAVE("save"),
+    COPY_TO("copyTo"),
+
+    CONTAINER_OF("containerOf"),
+    CONTAINER_FOR("containerFor"),
+    REMOVE_CONTAINER("removeContainer"),
+
+    META_CLASS_OF("metaClassOf"),
+    META_CLASS_FOR("metaClassFor"),
+
+    VALUE_OF("valueOf"),
+    VALUE_FOR("valueFor"),
+    REMOVE_VALUE("removeValue"),
+    ALL_VALUES_OF("allValuesOf"),
+    INDEX_OF_VALUE("indexOfValue"),
+    LAST_INDEX_OF_VALUE("lastIndexOfValue"),
+    ADD_VALUE("addValue"),
+    ADD_ALL_VALUES("addAllValues"),
+    APPEND_VALUE("appendValue"),
+    APPEND_ALL_VALUES("appendAllValues"),
+    REMOVE_ALL_VALUES("removeAllValues"),
+    SIZE_OF_VALUE("sizeOfValue"),
+
+    REFERENCE_OF("referenceOf"),
+    REFERENCE_FOR("referenceFor"),
+    REMOVE_REFERENCE("removeReference"),
+    ALL_REFERENCES_OF("allReferencesOf"),
+    INDEX_OF_REFERENCE("indexOfReference"),
+    LAST_INDEX_OF_REFERENCE("lastIndexOfReference"),
+    ADD_REFERENCE("addReference"),
+    ADD_ALL_REFERENCES("addAllReferences"),
+    APPEND_REFERENCE("appendReference"),
+    APPEND_ALL_REFERENCES("appendAllReferences"),
+    REMOVE_ALL_REFERENCES("removeAllReferences"),
+    SIZE_OF_REFERENCE("sizeOfReference");
+
+    /**
+     * The name of the method.
+     */
+    @Nonnull
+    private final String methodName;
+
+    /**
+     * Constructs a new {@code StoreOperation}.
+     *
+     * @param methodName the name of the method
+     */
+    StoreOperation(String methodName) {
+        this.methodName = methodName;
+    }
+
+    /**
+     * Returns the name of the method identified by this operation.
+     *
+     * @return the name of the method
+     */
+    @Nonnull
+    public String methodName() {
+        return methodName;
+    }
+}
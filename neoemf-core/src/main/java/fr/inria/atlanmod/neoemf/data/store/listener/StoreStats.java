@@ -12,18 +12,35 @@ import fr.inria.atlanmod.commons.primitive.Strings;
 import fr.inria.atlanmod.neoemf.data.store.Store;
 
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.EnumMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 
+import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 import javax.annotation.ParametersAreNonnullByDefault;
+import javax.annotation.concurrent.ThreadSafe;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static fr.inria.atlanmod.commons.Preconditions.checkState;
 
 /**
  * Statistics about the usage of a {@link Store} chain.
+ * <p>
+ * The duration of each {@link StoreOperation} is recorded in a {@link LatencyHistogram}, from which percentiles and
+ * throughput are computed. All counters can be updated concurrently.
+ * <p>
+ * The stats can be published by {@link StatsExporter}s, that are started when the first store chain using these stats
+ * is initialized, and stopped when the last one is closed.
  */
+@ThreadSafe
 @ParametersAreNonnullByDefault
 public final class StoreStats {
 
@@ -31,18 +48,76 @@ public final class StoreStats {
      * A map of the method calls made in a {@link Store} chain with their number of invocation.
      */
     @Nonnull
-    private final Map<String, AtomicLong> methodInvocations = new HashMap<>();
+    private final Map<String, LongAdder> methodInvocations = new ConcurrentHashMap<>();
+
+    /**
+     * The latency of each operation. All the operations are registered on creation, so this map is never modified.
+     */
+    @Nonnull
+    private final Map<StoreOperation, LatencyHistogram> latencies = new EnumMap<>(StoreOperation.class);
+
+    /**
+     * The time when these stats have been created, in nanoseconds.
+     */
+    private final long startTime = System.nanoTime();
+
+    /**
+     * The number of {@link fr.inria.atlanmod.neoemf.core.PersistentEObject}s requested to the object cache of a {@link
+     * fr.inria.atlanmod.neoemf.data.store.adapter.StoreAdapter}.
+     */
+    @Nonnull
+    private final LongAdder objectRequests = new LongAdder();
+
+    /**
+     * The number of {@link fr.inria.atlanmod.neoemf.core.PersistentEObject}s that have been rebuilt, because they were
+     * not in the object cache.
+     */
+    @Nonnull
+    private final LongAdder objectMisses = new LongAdder();
+
+    /**
+     * The number of {@link fr.inria.atlanmod.neoemf.core.PersistentEObject}s released from a bounded object cache.
+     */
+    @Nonnull
+    private final LongAdder objectEvictions = new LongAdder();
+
+    /**
+     * The input/output work of the back-end.
+     */
+    @Nonnull
+    private final IoStats io = new IoStats();
+
+    /**
+     * The exporters that publish these stats.
+     */
+    @Nonnull
+    private final List<StatsExporter> exporters = new CopyOnWriteArrayList<>();
+
+    /**
+     * The number of store chains using these stats.
+     */
+    @Nonnull
+    private final AtomicInteger attachments = new AtomicInteger();
+
+    /**
+     * Constructs a new {@code StoreStats}.
+     */
+    public StoreStats() {
+        for (StoreOperation operation : StoreOperation.values()) {
+            latencies.put(operation, new LatencyHistogram());
+        }
+    }
 
     /**
-     * TODO
+     * Converts the counters of the {@code map} to their current value.
      *
-     * @param map
+     * @param map the map to convert
      *
-     * @return
+     * @return a new mutable map
      */
     @Nonnull
-    private static Map<String, Long> atomicToPrimitive(Map<String, AtomicLong> map) {
-        return map.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, v -> v.getValue().get()));
+    private static Map<String, Long> atomicToPrimitive(Map<String, LongAdder> map) {
+        return map.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, v -> v.getValue().sum()));
     }
 
     /**
@@ -71,7 +146,7 @@ public final class StoreStats {
      * @param method the invoked method
      */
     void hasBeenInvoked(String method) {
-        methodInvocations.computeIfAbsent(method, s -> new AtomicLong()).incrementAndGet();
+        methodInvocations.computeIfAbsent(method, s -> new LongAdder()).increment();
     }
 
     /**
@@ -81,13 +156,237 @@ public final class StoreStats {
      */
     @Nonnull
     public Map<String, Long> methodInvocations() {
-        return Collections.unmodifiableMap(atomicToPrimitive(methodInvocations));
+        Map<String, Long> invocations = atomicToPrimitive(methodInvocations);
+
+        latencies.forEach((o, h) -> {
+            long count = h.count();
+            if (count > 0) {
+                invocations.merge(o.methodName(), count, Long::sum);
+            }
+        });
+
+        return Collections.unmodifiableMap(invocations);
+    }
+
+    /**
+     * Records a call of the {@code operation}.
+     *
+     * @param operation the called operation
+     * @param duration  the duration of the call, in nanoseconds
+     */
+    public void recordOperation(StoreOperation operation, long duration) {
+        latencies.get(operation).record(duration);
+    }
+
+    /**
+     * Returns the latency of the {@code operation}.
+     *
+     * @param operation the operation
+     *
+     * @return the histogram of the durations of the calls
+     */
+    @Nonnull
+    public LatencyHistogram latencyOf(StoreOperation operation) {
+        return latencies.get(operation);
+    }
+
+    /**
+     * Returns the duration under which the given {@code percentile} of the calls of the {@code operation} fall.
+     *
+     * @param operation  the operation
+     * @param percentile the percentile, between {@code 0} and {@code 100}
+     * @param unit       the unit of the result
+     *
+     * @return the duration
+     *
+     * @see LatencyHistogram#percentile(double)
+     */
+    @Nonnegative
+    public long percentile(StoreOperation operation, double percentile, TimeUnit unit) {
+        return unit.convert(latencyOf(operation).percentile(percentile), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the mean number of calls of the {@code operation} per second, since these stats have been created.
+     *
+     * @param operation the operation
+     *
+     * @return the throughput of the operation
+     */
+    @Nonnegative
+    public double throughput(StoreOperation operation) {
+        return perSecond(latencyOf(operation).count());
+    }
+
+    /**
+     * Returns the mean number of calls of all operations per second, since these stats have been created.
+     *
+     * @return the throughput of the store chain
+     */
+    @Nonnegative
+    public double throughput() {
+        return perSecond(latencies.values().stream().mapToLong(LatencyHistogram::count).sum());
+    }
+
+    /**
+     * Returns the mean number of events per second, since these stats have been created.
+     *
+     * @param count the number of events
+     *
+     * @return the rate of events
+     */
+    @Nonnegative
+    private double perSecond(long count) {
+        final long elapsed = Math.max(System.nanoTime() - startTime, 1);
+        return count * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+    }
+
+    /**
+     * Increments the number of objects requested to the object cache.
+     */
+    public void recordObjectRequest() {
+        objectRequests.increment();
+    }
+
+    /**
+     * Increments the number of objects that were not in the object cache.
+     */
+    public void recordObjectMiss() {
+        objectMisses.increment();
+    }
+
+    /**
+     * Increments the number of objects released from the object cache.
+     */
+    public void recordObjectEviction() {
+        objectEvictions.increment();
+    }
+
+    /**
+     * Returns the number of objects found in the object cache.
+     *
+     * @return the number of hits
+     */
+    public long objectHits() {
+        return objectRequests.sum() - objectMisses.sum();
+    }
+
+    /**
+     * Returns the number of objects that were not in the object cache, and that have been rebuilt.
+     *
+     * @return the number of misses
+     */
+    public long objectMisses() {
+        return objectMisses.sum();
+    }
+
+    /**
+     * Returns the number of objects released from a bounded object cache.
+     *
+     * @return the number of evictions
+     */
+    public long objectEvictions() {
+        return objectEvictions.sum();
+    }
+
+    /**
+     * Returns the input/output work of the back-end. It is recorded only if the stats are configured to do so.
+     *
+     * @return the stats
+     *
+     * @see fr.inria.atlanmod.neoemf.config.Config#recordStats(StoreStats, boolean)
+     */
+    @Nonnull
+    public IoStats io() {
+        return io;
+    }
+
+    /**
+     * Returns the number of bytes read from the back-end.
+     *
+     * @return the number of bytes
+     */
+    @Nonnegative
+    public long bytesRead() {
+        return io.bytesRead();
+    }
+
+    /**
+     * Returns the number of bytes written to the back-end.
+     *
+     * @return the number of bytes
+     */
+    @Nonnegative
+    public long bytesWritten() {
+        return io.bytesWritten();
+    }
+
+    /**
+     * Adds an {@code exporter} that publishes these stats.
+     * <p>
+     * If these stats are already used by a store chain, the {@code exporter} is started immediately.
+     *
+     * @param exporter the exporter to add
+     *
+     * @return these stats (for chaining)
+     */
+    @Nonnull
+    public StoreStats exportTo(StatsExporter exporter) {
+        checkNotNull(exporter, "exporter");
+
+        exporters.add(exporter);
+        if (attachments.get() > 0) {
+            exporter.start(this);
+        }
+        return this;
+    }
+
+    /**
+     * Notifies that a store chain starts using these stats. The exporters are started on the first call.
+     * <p>
+     * This method is called by the store chain, and should be balanced by a call to {@link #detach()}.
+     */
+    public void attach() {
+        if (attachments.incrementAndGet() == 1) {
+            exporters.forEach(e -> e.start(this));
+        }
+    }
+
+    /**
+     * Notifies that a store chain stops using these stats. The exporters are stopped when the last chain is closed.
+     */
+    public void detach() {
+        checkState(attachments.get() > 0, "These stats are not attached");
+
+        if (attachments.decrementAndGet() == 0) {
+            exporters.forEach(StatsExporter::stop);
+        }
     }
 
     @Override
     public String toString() {
-        return sort(methodInvocations()).entrySet().stream()
+        String result = sort(methodInvocations()).entrySet().stream()
                 .map(e -> e.getKey() + " = " + e.getValue())
                 .collect(Collectors.joining(Strings.LR));
+
+        String latency = latencies.entrySet().stream()
+                .filter(e -> e.getValue().count() > 0)
+                .map(e -> String.format("%s latency = p50 %dns, p99 %dns, max %dns (%.1f/s)",
+                        e.getKey().methodName(), e.getValue().percentile(50), e.getValue().percentile(99), e.getValue().max(), throughput(e.getKey())))
+                .collect(Collectors.joining(Strings.LR));
+
+        if (!latency.isEmpty()) {
+            result += (result.isEmpty() ? "" : Strings.LR) + latency;
+        }
+
+        if (io.roundTrips() > 0 || bytesRead() > 0 || bytesWritten() > 0) {
+            result += (result.isEmpty() ? "" : Strings.LR) + io;
+        }
+
+        if (objectRequests.sum() > 0) {
+            result += String.format("%sobjects = %d hits, %d misses, %d evictions", result.isEmpty() ? "" : Strings.LR, objectHits(), objectMisses(), objectEvictions());
+        }
+
+        return result;
     }
 }
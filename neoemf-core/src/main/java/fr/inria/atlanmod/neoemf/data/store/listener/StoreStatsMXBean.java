@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.store.listener;
+
+import java.util.Map;
+
+/**
+ * The management interface of {@link StoreStats}, registered by a {@link JmxStatsExporter}.
+ * <p>
+ * Durations are expressed in nanoseconds, and latencies are identified by the name of the method.
+ */
+public interface StoreStatsMXBean {
+
+    /**
+     * Returns the mean number of calls per second.
+     *
+     * @return the throughput
+     *
+     * @see StoreStats#throughput()
+     */
+    double getThroughput();
+
+    /**
+     * Returns the number of calls of each method.
+     *
+     * @return a map of invocations
+     *
+     * @see StoreStats#methodInvocations()
+     */
+    Map<String, Long> getInvocations();
+
+    /**
+     * Returns the median duration of the calls of each method.
+     *
+     * @return a map of durations
+     */
+    Map<String, Long> getMedianLatencies();
+
+    /**
+     * Returns the 99th percentile of the duration of the calls of each method.
+     *
+     * @return a map of durations
+     */
+    Map<String, Long> getP99Latencies();
+
+    /**
+     * Returns the longest duration of the calls of each method.
+     *
+     * @return a map of durations
+     */
+    Map<String, Long> getMaxLatencies();
+
+    /**
+     * Returns the number of objects found in the object cache.
+     *
+     * @return the number of hits
+     */
+    long getObjectHits();
+
+    /**
+     * Returns the number of objects that were not in the object cache.
+     *
+     * @return the number of misses
+     */
+    long getObjectMisses();
+
+    /**
+     * Returns the number of bytes read from the back-end.
+     *
+     * @return the number of bytes
+     */
+    long getBytesRead();
+
+    /**
+     * Returns the number of bytes written to the back-end.
+     *
+     * @return the number of bytes
+     */
+    long getBytesWritten();
+
+    /**
+     * Returns the number of round trips to the database.
+     *
+     * @return the number of round trips
+     *
+     * @see IoStats#roundTrips()
+     */
+    long getRoundTrips();
+
+    /**
+     * Returns the number of round trips to the database made by the calls of each method.
+     *
+     * @return a map of round trips
+     */
+    Map<String, Long> getRoundTripsByOperation();
+
+    /**
+     * Returns the time spent to serialize values, in microseconds.
+     *
+     * @return the duration
+     */
+    long getSerializationTime();
+
+    /**
+     * Returns the time spent to deserialize values, in microseconds.
+     *
+     * @return the duration
+     */
+    long getDeserializationTime();
+}
@@ -72,7 +72,7 @@ public class DefaultPersistentResource extends ResourceImpl implements Persisten
      * The {@link StoreAdapter} responsible of the database serialization.
      */
     @Nonnull
-    private StoreAdapter eStore;
+    private volatile StoreAdapter eStore;
 
     /**
      * Constructs a new {@code DefaultPersistentResource} with the given {@code uri}.
@@ -298,7 +298,7 @@ public class DefaultPersistentResource extends ResourceImpl implements Persisten
     @Nonnull
     private StoreAdapter createStore(Backend backend, ImmutableConfig config) {
         Store baseStore = StoreFactory.getInstance().createStore(backend, config);
-        return new PersistentStoreAdapter(baseStore, this);
+        return new PersistentStoreAdapter(baseStore, this, config);
     }
 
     @Nonnull
@@ -11,6 +11,7 @@ package fr.inria.atlanmod.neoemf.resource;
 import fr.inria.atlanmod.neoemf.config.ImmutableConfig;
 import fr.inria.atlanmod.neoemf.core.Id;
 import fr.inria.atlanmod.neoemf.core.PersistentEObject;
+import fr.inria.atlanmod.neoemf.core.internal.collect.AllContentsSpliterator;
 import fr.inria.atlanmod.neoemf.data.store.Storable;
 
 import org.eclipse.emf.ecore.EClass;
@@ -20,6 +21,8 @@ import org.eclipse.emf.ecore.resource.Resource;
 import java.io.Closeable;
 import java.io.IOException;
 import java.util.Iterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
@@ -33,6 +36,15 @@ import javax.annotation.ParametersAreNonnullByDefault;
  * For example, {@link #allInstancesOf(EClass)} is a utility method that computes efficiently all the instances of a
  * given type by delegating the operation to the underlying database, that can benefits of its internal optimizations
  * and indices.
+ * <p>
+ * When loaded with a {@link fr.inria.atlanmod.neoemf.config.Config#readOnly() read-only} configuration, a {@code
+ * PersistentResource} can be navigated by several threads at the same time: its objects, its {@link
+ * fr.inria.atlanmod.neoemf.data.store.adapter.StoreAdapter}, and the caching stores are thread-safe, and each
+ * traversal, such as {@link #getAllContents()}, uses its own iterator. This mode requires a back-end that supports
+ * concurrent reads, such as the in-memory, MapDB, BerkeleyDB and snapshot back-ends; the HBase and Blueprints
+ * back-ends do not.
+ * <p>
+ * A resource that is modified must still be confined to one thread at a time.
  */
 @ParametersAreNonnullByDefault
 public interface PersistentResource extends Resource, Resource.Internal, Storable, Closeable, Iterable<PersistentEObject> {
@@ -117,6 +129,26 @@ public interface PersistentResource extends Resource, Resource.Internal, Storabl
     @Nonnull
     <T extends EObject> Iterable<T> allInstancesOf(EClass eClass, boolean strict);
 
+    /**
+     * Returns a stream on all the contents of this resource, in the same order as {@link #getAllContents()} when the
+     * stream is sequential.
+     * <p>
+     * A parallel stream splits the containment tree by subtrees, processed concurrently in the common {@link
+     * java.util.concurrent.ForkJoinPool}: each object is still returned once. A parallel stream must only be used on a
+     * resource that is not modified during the traversal, such as a resource loaded with {@link
+     * fr.inria.atlanmod.neoemf.config.Config#readOnly()}, and whose back-end supports concurrent reads.
+     *
+     * @param parallel {@code true} if the returned stream is parallel
+     *
+     * @return a new stream
+     *
+     * @see #getAllContents()
+     */
+    @Nonnull
+    default Stream<PersistentEObject> allContentsStream(boolean parallel) {
+        return StreamSupport.stream(new AllContentsSpliterator<>(this), parallel);
+    }
+
     /**
      * Returns an iterator on the direct content of this resource.
      *
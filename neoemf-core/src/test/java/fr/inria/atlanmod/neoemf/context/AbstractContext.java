@@ -9,6 +9,7 @@
 package fr.inria.atlanmod.neoemf.context;
 
 import fr.inria.atlanmod.neoemf.bind.Bindings;
+import fr.inria.atlanmod.neoemf.data.Backend;
 import fr.inria.atlanmod.neoemf.data.mapping.DataMapper;
 import fr.inria.atlanmod.neoemf.resource.PersistentResource;
 
@@ -60,6 +61,12 @@ public abstract class AbstractContext implements Context {
         return new ContextualResourceBuilder(this).file(file).createMapper();
     }
 
+    @Nonnull
+    @Override
+    public final Backend createBackend(File file) {
+        return new ContextualResourceBuilder(this).file(file).createBackend();
+    }
+
     @Nonnull
     @Override
     public final String toString() {
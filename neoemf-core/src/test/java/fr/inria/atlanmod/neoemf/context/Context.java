@@ -9,6 +9,7 @@
 package fr.inria.atlanmod.neoemf.context;
 
 import fr.inria.atlanmod.neoemf.config.ImmutableConfig;
+import fr.inria.atlanmod.neoemf.data.Backend;
 import fr.inria.atlanmod.neoemf.data.BackendFactory;
 import fr.inria.atlanmod.neoemf.data.mapping.DataMapper;
 import fr.inria.atlanmod.neoemf.resource.PersistentResource;
@@ -157,4 +158,16 @@ public interface Context {
      */
     @Nonnull
     DataMapper createMapper(File file);
+
+    /**
+     * Creates a new back-end on the given {@code uri}, without any store.
+     *
+     * @param file the file to build a URI from
+     *
+     * @return a new back-end
+     *
+     * @see ContextualResourceBuilder
+     */
+    @Nonnull
+    Backend createBackend(File file);
 }
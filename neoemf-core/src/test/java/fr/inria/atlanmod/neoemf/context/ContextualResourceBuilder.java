@@ -176,4 +176,17 @@ final class ContextualResourceBuilder {
         Backend backend = context.factory().createBackend(uri, defaultConfig());
         return StoreFactory.getInstance().createStore(backend, defaultConfig());
     }
+
+    /**
+     * Creates a new {@link Backend} according to the specified options, without any store.
+     *
+     * @return a new {@link Backend}
+     *
+     * @see Context#config()
+     * @see #defaultConfig()
+     */
+    @Nonnull
+    public Backend createBackend() {
+        return context.factory().createBackend(uri, defaultConfig());
+    }
 }
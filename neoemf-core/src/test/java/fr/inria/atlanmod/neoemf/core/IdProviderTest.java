@@ -12,6 +12,8 @@ import fr.inria.atlanmod.commons.AbstractTest;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.Objects;
+
 import javax.annotation.ParametersAreNonnullByDefault;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -77,6 +79,16 @@ class IdProviderTest extends AbstractTest {
         assertThat(id0.hashCode()).isNotEqualTo(id1.hashCode());
     }
 
+    /**
+     * Checks that the hash code does not change: it is persisted by some back-ends.
+     */
+    @Test
+    void testHashCodeIsStable() {
+        long value = 0x123456789abcdefL;
+
+        assertThat(Id.getProvider().fromLong(value).hashCode()).isEqualTo(Objects.hash(value));
+    }
+
     @Test
     void testEquals() {
         Id id0 = Id.getProvider().fromLong(42);
@@ -9,7 +9,10 @@
 package fr.inria.atlanmod.neoemf.data;
 
 import fr.inria.atlanmod.neoemf.AbstractUnitTest;
+import fr.inria.atlanmod.neoemf.config.Config;
 import fr.inria.atlanmod.neoemf.config.ImmutableConfig;
+import fr.inria.atlanmod.neoemf.core.Id;
+import fr.inria.atlanmod.neoemf.data.bean.ClassBean;
 import fr.inria.atlanmod.neoemf.data.im.InMemoryBackend;
 import fr.inria.atlanmod.neoemf.data.im.InMemoryBackendFactory;
 import fr.inria.atlanmod.neoemf.data.im.config.InMemoryConfig;
@@ -18,6 +21,8 @@ import fr.inria.atlanmod.neoemf.data.store.NoopStore;
 import fr.inria.atlanmod.neoemf.data.store.Store;
 import fr.inria.atlanmod.neoemf.data.store.StoreFactory;
 
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EcorePackage;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -26,12 +31,14 @@ import org.junit.jupiter.params.provider.MethodSource;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Collections;
 import java.util.stream.Stream;
 
 import javax.annotation.Nonnull;
 import javax.annotation.ParametersAreNonnullByDefault;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 /**
  * An abstract test-cases about {@link BackendFactory} and its implementations.
@@ -83,6 +90,75 @@ public abstract class AbstractBackendFactoryTest extends AbstractUnitTest {
         }
     }
 
+    /**
+     * Checks the retrieval of all instances of a meta-class, when the instances are indexed.
+     */
+    @Test
+    public void testIndexInstances() throws IOException {
+        ClassBean metaClass0 = ClassBean.of("Metaclass0", EcorePackage.eNS_URI);
+        ClassBean metaClass1 = ClassBean.of("Metaclass1", EcorePackage.eNS_URI);
+
+        Id id0 = Id.getProvider().fromLong(0);
+        Id id1 = Id.getProvider().fromLong(1);
+        Id id2 = Id.getProvider().fromLong(2);
+
+        try (Backend backend = context().factory().createBackend(context().createUri(currentTempFile()), indexedConfig())) {
+            backend.metaClassFor(id0, metaClass0);
+            backend.metaClassFor(id1, metaClass1);
+            backend.metaClassFor(id2, metaClass0);
+
+            // Already defined: must not be indexed twice
+            backend.metaClassFor(id2, metaClass1);
+
+            assertThat(backend.allInstancesOf(Collections.singleton(metaClass0))).containsExactlyInAnyOrder(id0, id2);
+            assertThat(backend.allInstancesOf(Collections.singleton(metaClass1))).containsExactlyInAnyOrder(id1);
+            assertThat(backend.allInstancesOf(Collections.singleton(ClassBean.of("Metaclass2", EcorePackage.eNS_URI)))).isEmpty();
+        }
+    }
+
+    /**
+     * Checks that the index of instances is built when opening an existing {@link Backend} that was not indexed, and
+     * is maintained when re-opening it.
+     */
+    @Test
+    public void testIndexInstancesOfExistingBackend() throws IOException {
+        assumeTrue(context().isPersistent(), String.format("%s is not persistent", context().name()));
+
+        ClassBean metaClass0 = ClassBean.of("Metaclass0", EcorePackage.eNS_URI);
+
+        Id id0 = Id.getProvider().fromLong(0);
+        Id id1 = Id.getProvider().fromLong(1);
+
+        URI uri = context().createUri(currentTempFile());
+
+        try (Backend backend = context().factory().createBackend(uri, context().config())) {
+            backend.metaClassFor(id0, metaClass0);
+            backend.save();
+        }
+
+        try (Backend backend = context().factory().createBackend(uri, indexedConfig())) {
+            assertThat(backend.allInstancesOf(Collections.singleton(metaClass0))).containsExactlyInAnyOrder(id0);
+            backend.save();
+        }
+
+        // The option is persisted with the back-end
+        try (Backend backend = context().factory().createBackend(uri, context().config())) {
+            backend.metaClassFor(id1, metaClass0);
+            assertThat(backend.allInstancesOf(Collections.singleton(metaClass0))).containsExactlyInAnyOrder(id0, id1);
+        }
+    }
+
+    /**
+     * Creates a copy of the configuration of the current context, with the instances indexing.
+     *
+     * @return a new configuration
+     */
+    @Nonnull
+    private ImmutableConfig indexedConfig() {
+        final ImmutableConfig config = context().config();
+        return Config.forName(config.getName(), config.getVariant()).merge(config).indexInstances();
+    }
+
     /**
      * Checks the creation of a {@link fr.inria.atlanmod.neoemf.data.Backend}.
      */
@@ -13,6 +13,8 @@ import fr.inria.atlanmod.neoemf.core.Id;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.Objects;
+
 import javax.annotation.ParametersAreNonnullByDefault;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -64,4 +66,15 @@ class ManyFeatureBeanTest extends AbstractTest {
 
         assertThat(bean0).isGreaterThan(bean1);
     }
+
+    /**
+     * Checks that the hash code does not change: it is persisted by some back-ends.
+     */
+    @Test
+    void testHashCodeIsStable() {
+        Id id0 = Id.getProvider().fromLong(42);
+        ManyFeatureBean bean = ManyFeatureBean.of(id0, 10, 1000);
+
+        assertThat(bean.hashCode()).isEqualTo(Objects.hash(id0, 10, 1000));
+    }
 }
@@ -108,4 +108,31 @@ class BeanSerializerTest extends AbstractSerializerTest {
 
         assertThat(result).isEqualTo(result);
     }
+
+    @Test
+    void testKeysOfId() throws IOException {
+        BinarySerializer<Id> serializer = BeanSerializerFactory.getInstance().forId();
+
+        Id object = Id.getProvider().fromLong(-42L);
+
+        assertThat(BeanKeys.of(object)).isEqualTo(serializer.serialize(object));
+    }
+
+    @Test
+    void testKeysOfFeature() throws IOException {
+        BinarySerializer<SingleFeatureBean> serializer = BeanSerializerFactory.getInstance().forSingleFeature();
+
+        SingleFeatureBean object = SingleFeatureBean.of(Id.getProvider().fromLong(Long.MIN_VALUE), -10);
+
+        assertThat(BeanKeys.of(object)).isEqualTo(serializer.serialize(object));
+    }
+
+    @Test
+    void testKeysOfManyFeature() throws IOException {
+        BinarySerializer<ManyFeatureBean> serializer = BeanSerializerFactory.getInstance().forManyFeature();
+
+        ManyFeatureBean object = ManyFeatureBean.of(Id.getProvider().fromLong(Long.MAX_VALUE), 10, 1 << 20);
+
+        assertThat(BeanKeys.of(object)).isEqualTo(serializer.serialize(object));
+    }
 }
@@ -40,7 +40,8 @@ class InMemoryBackendFactoryTest extends AbstractBackendFactoryTest {
     @Override
     protected Stream<Arguments> allMappings() {
         return Stream.of(
-                Arguments.of(new InMemoryConfig(), DefaultInMemoryBackend.class)
+                Arguments.of(new InMemoryConfig(), DefaultInMemoryBackend.class),
+                Arguments.of(new InMemoryConfig().withPrimitiveTables(), PrimitiveInMemoryBackend.class)
         );
     }
 }
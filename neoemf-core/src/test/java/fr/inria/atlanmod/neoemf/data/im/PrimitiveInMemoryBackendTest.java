@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.im;
+
+import fr.inria.atlanmod.neoemf.context.Context;
+import fr.inria.atlanmod.neoemf.context.InMemoryPrimitiveContext;
+import fr.inria.atlanmod.neoemf.core.Id;
+import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
+import fr.inria.atlanmod.neoemf.data.mapping.AbstractDataMapperTest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A test-case about {@link PrimitiveInMemoryBackend}.
+ */
+@ParametersAreNonnullByDefault
+class PrimitiveInMemoryBackendTest extends AbstractDataMapperTest {
+
+    @Nonnull
+    @Override
+    protected Context context() {
+        return new InMemoryPrimitiveContext();
+    }
+
+    /**
+     * Checks that the values are still reachable after growing and shrinking the tables, which moves their slots.
+     */
+    @Test
+    void testValuesAfterGrowingAndRemoving() {
+        final int count = 10_000;
+
+        for (int i = 0; i < count; i++) {
+            SingleFeatureBean feature = SingleFeatureBean.of(Id.getProvider().fromLong(i), i % 3);
+            mapper.valueFor(feature, "value" + i);
+        }
+
+        for (int i = 0; i < count; i += 2) {
+            mapper.removeValue(SingleFeatureBean.of(Id.getProvider().fromLong(i), i % 3));
+        }
+
+        for (int i = 0; i < count; i++) {
+            Optional<String> value = mapper.valueOf(SingleFeatureBean.of(Id.getProvider().fromLong(i), i % 3));
+
+            if (i % 2 == 0) {
+                assertThat(value).isNotPresent();
+            }
+            else {
+                assertThat(value).contains("value" + i);
+            }
+        }
+    }
+
+    /**
+     * Checks that a multi-valued feature can be read while other threads append values to it.
+     */
+    @Test
+    void testConcurrentAppendsAndReads() throws Exception {
+        final int writers = 4;
+        final int appends = 1_000;
+
+        final SingleFeatureBean feature = SingleFeatureBean.of(idBase, 7);
+        final CountDownLatch writersDone = new CountDownLatch(writers);
+
+        ExecutorService executor = Executors.newFixedThreadPool(writers + 2);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+
+            for (int w = 0; w < writers; w++) {
+                futures.add(executor.submit(() -> {
+                    try {
+                        for (int i = 0; i < appends; i++) {
+                            mapper.appendValue(feature, "value" + i);
+                        }
+                    }
+                    finally {
+                        writersDone.countDown();
+                    }
+                    return null;
+                }));
+            }
+
+            for (int r = 0; r < 2; r++) {
+                futures.add(executor.submit(() -> {
+                    do {
+                        List<String> values = mapper.<String>allValuesOf(feature).collect(Collectors.toList());
+                        assertThat(values).doesNotContainNull();
+                    }
+                    while (writersDone.getCount() > 0);
+                    return null;
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(mapper.sizeOfValue(feature)).contains(writers * appends);
+    }
+}
@@ -734,6 +734,56 @@ public abstract class AbstractDataMapperTest extends AbstractUnitTest {
         )).isInstanceOf(NullPointerException.class);
     }
 
+    /**
+     * Checks the behavior of {@link ManyValueMapper#allValuesFor(SingleFeatureBean, List)}.
+     */
+    @ParameterizedTest(name = TEST_NAME_PATTERN)
+    @ArgumentsSource(ParametersProvider.class)
+    public void testSetAll_Many(RedirectionType type, Object value0, Object value1, Object value2) {
+        DataMapperRedirector m = new DataMapperRedirector(mapper, type);
+
+        m.setAll(sfBase, Arrays.asList(value0, value1));
+
+        assertThat(m.get(sfBase.withPosition(0))).contains(value0);
+        assertThat(m.get(sfBase.withPosition(1))).contains(value1);
+
+        assertThat(m.sizeOf(sfBase)).contains(2);
+
+        // The values can be modified as usual
+        int index = m.append(sfBase, value2);
+        assertThat(index).isEqualTo(2);
+
+        List<Object> actualValues = m.getAll(sfBase).collect(Collectors.toList());
+        assertThat(actualValues).containsExactly(value0, value1, value2);
+    }
+
+    /**
+     * Checks the behavior of {@link ManyValueMapper#allValuesFor(SingleFeatureBean, List)} with an empty collection.
+     */
+    @ParameterizedTest(name = TEST_NAME_PATTERN)
+    @ArgumentsSource(ParametersProvider.class)
+    public void testSetAll_Many_Empty(RedirectionType type) {
+        DataMapperRedirector m = new DataMapperRedirector(mapper, type);
+
+        m.setAll(sfBase, Collections.emptyList());
+
+        assertThat(m.sizeOf(sfBase)).isNotPresent();
+    }
+
+    /**
+     * Checks the behavior of {@link ManyValueMapper#allValuesFor(SingleFeatureBean, List)} with a collection that
+     * contains a {@code null} element.
+     */
+    @ParameterizedTest(name = TEST_NAME_PATTERN)
+    @ArgumentsSource(ParametersProvider.class)
+    public void testSetAll_Many_WithNull(RedirectionType type, Object value0) {
+        DataMapperRedirector m = new DataMapperRedirector(mapper, type);
+
+        assertThat(catchThrowable(() ->
+                m.setAll(sfBase, Arrays.asList(value0, null))
+        )).isInstanceOf(NullPointerException.class);
+    }
+
     /**
      * Checks the behavior of {@link ManyValueMapper#removeValue(ManyFeatureBean)}.
      */
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.mapping;
+
+import fr.inria.atlanmod.neoemf.core.Id;
+import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * An abstract test-case about the {@link ManyValueWithArrays} and {@link ManyReferenceMergedAs} mappings, where the
+ * appended values are stored in a tail before being merged into the whole value.
+ */
+@ParametersAreNonnullByDefault
+public abstract class AbstractManyValueWithArraysTest extends AbstractDataMapperTest {
+
+    /**
+     * Checks the behavior of a multi-valued attribute that is mostly appended, with some modifications in between.
+     */
+    @Test
+    public void testManyValueAppendedAndModified() {
+        SingleFeatureBean feature = SingleFeatureBean.of(idBase, 7);
+        List<String> expected = new ArrayList<>();
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(mapper.appendValue(feature, "value" + i)).isEqualTo(i);
+            expected.add("value" + i);
+
+            if (i == 40) {
+                mapper.addValue(feature.withPosition(10), "inserted");
+                expected.add(10, "inserted");
+            }
+        }
+
+        mapper.addValue(feature.withPosition(expected.size()), "last");
+        expected.add("last");
+
+        assertThat(mapper.<String>removeValue(feature.withPosition(0))).contains("value0");
+        expected.remove(0);
+
+        assertThat(mapper.sizeOfValue(feature)).contains(expected.size());
+        assertThat(mapper.<String>valueOf(feature.withPosition(expected.size() - 1))).contains("last");
+        assertThat(mapper.<String>allValuesOf(feature).collect(Collectors.toList())).containsExactlyElementsOf(expected);
+
+        mapper.removeAllValues(feature);
+
+        assertThat(mapper.sizeOfValue(feature)).isNotPresent();
+    }
+
+    /**
+     * Checks the behavior of a multi-valued reference that is mostly appended, with some modifications in between.
+     */
+    @Test
+    public void testManyReferenceAppendedAndModified() {
+        SingleFeatureBean feature = SingleFeatureBean.of(idBase, 8);
+        List<Id> expected = new ArrayList<>();
+
+        for (int i = 0; i < 100; i++) {
+            Id reference = Id.getProvider().fromLong(i);
+
+            assertThat(mapper.appendReference(feature, reference)).isEqualTo(expected.size());
+            expected.add(reference);
+
+            if (i == 40) {
+                assertThat(mapper.removeReference(feature.withPosition(5))).contains(Id.getProvider().fromLong(5));
+                expected.remove(5);
+            }
+            else if (i == 60) {
+                Id inserted = Id.getProvider().fromLong(1000);
+
+                mapper.addAllReferences(feature.withPosition(5), Arrays.asList(inserted, inserted));
+                expected.addAll(5, Arrays.asList(inserted, inserted));
+            }
+        }
+
+        assertThat(mapper.sizeOfReference(feature)).contains(expected.size());
+        assertThat(mapper.referenceOf(feature.withPosition(expected.size() - 1))).contains(Id.getProvider().fromLong(99));
+        assertThat(mapper.allReferencesOf(feature).collect(Collectors.toList())).containsExactlyElementsOf(expected);
+
+        mapper.removeAllReferences(feature);
+
+        assertThat(mapper.sizeOfReference(feature)).isNotPresent();
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.mapping;
+
+import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * An abstract test-case about the {@link ManyValueWithChunks} mapping, with multi-valued features spanning several
+ * chunks.
+ */
+@ParametersAreNonnullByDefault
+public abstract class AbstractManyValueWithChunksTest extends AbstractDataMapperTest {
+
+    /**
+     * Checks the behavior of a multi-valued attribute that spans several chunks.
+     */
+    @Test
+    public void testManyValueAcrossChunks() {
+        SingleFeatureBean feature = SingleFeatureBean.of(idBase, 7);
+        List<String> expected = new ArrayList<>();
+
+        for (int i = 0; i < ManyValueWithChunks.DEFAULT_CHUNK_CAPACITY * 3 + 1; i++) {
+            mapper.appendValue(feature, "value" + i);
+            expected.add("value" + i);
+        }
+
+        // Insert at the head, and in the middle of a full chunk
+        mapper.addValue(feature.withPosition(0), "head");
+        expected.add(0, "head");
+
+        mapper.addAllValues(feature.withPosition(300), Arrays.asList("value300a", "value300b"));
+        expected.addAll(300, Arrays.asList("value300a", "value300b"));
+
+        assertThat(mapper.<String>removeValue(feature.withPosition(1))).contains("value0");
+        expected.remove(1);
+
+        assertThat(mapper.sizeOfValue(feature)).contains(expected.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(mapper.<String>valueOf(feature.withPosition(i))).contains(expected.get(i));
+        }
+        assertThat(mapper.<String>allValuesOf(feature).collect(Collectors.toList())).containsExactlyElementsOf(expected);
+
+        mapper.removeAllValues(feature);
+
+        assertThat(mapper.sizeOfValue(feature)).isNotPresent();
+    }
+}
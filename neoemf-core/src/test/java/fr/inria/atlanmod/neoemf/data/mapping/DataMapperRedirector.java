@@ -201,6 +201,19 @@ class DataMapperRedirector {
         }
     }
 
+    /**
+     * Redirects the call to {@link DataMapper#allValuesFor(SingleFeatureBean, List)} ou {@link
+     * DataMapper#allReferencesFor(SingleFeatureBean, List)} according to the redirection type.
+     */
+    public <V> void setAll(SingleFeatureBean feature, List<? extends V> values) {
+        if (type == RedirectionType.ATTRIBUTE) {
+            delegate.allValuesFor(feature, values);
+        }
+        else {
+            delegate.allReferencesFor(feature, (List<Id>) values);
+        }
+    }
+
     /**
      * Redirects the call to {@link DataMapper#removeValue(ManyFeatureBean)} ou {@link
      * DataMapper#removeReference(ManyFeatureBean)} according to the redirection type.
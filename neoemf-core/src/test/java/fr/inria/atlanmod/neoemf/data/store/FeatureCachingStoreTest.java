@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.store;
+
+import fr.inria.atlanmod.commons.AbstractTest;
+import fr.inria.atlanmod.neoemf.config.BaseConfig;
+import fr.inria.atlanmod.neoemf.core.Id;
+import fr.inria.atlanmod.neoemf.data.Backend;
+import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
+import fr.inria.atlanmod.neoemf.data.im.DefaultInMemoryBackend;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static java.util.Objects.nonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A test-case about {@link FeatureCachingStore}.
+ */
+@ParametersAreNonnullByDefault
+class FeatureCachingStoreTest extends AbstractTest {
+
+    private static final Id ID0 = Id.getProvider().fromLong(0);
+    private static final Id ID1 = Id.getProvider().fromLong(1);
+    private static final Id ID2 = Id.getProvider().fromLong(2);
+    private static final Id ID3 = Id.getProvider().fromLong(3);
+
+    private static final SingleFeatureBean FEATURE0 = SingleFeatureBean.of(ID0, 0);
+    private static final SingleFeatureBean FEATURE1 = SingleFeatureBean.of(ID0, 1);
+
+    private Backend backend;
+
+    private Store store;
+
+    @BeforeEach
+    void setUp() {
+        backend = new DefaultInMemoryBackend();
+        store = StoreFactory.getInstance().createStore(backend, new BaseConfig<>().cacheFeatures());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (nonNull(store)) {
+            store.close();
+        }
+    }
+
+    @Test
+    void testAllValuesAreServedFromCache() {
+        backend.appendAllValues(FEATURE0, Arrays.asList("value0", "value1"));
+
+        assertThat(store.<String>allValuesOf(FEATURE0).collect(Collectors.toList())).containsExactly("value0", "value1");
+
+        // Modify the backend directly: the store must not query it again
+        backend.removeAllValues(FEATURE0);
+
+        assertThat(store.<String>allValuesOf(FEATURE0).collect(Collectors.toList())).containsExactly("value0", "value1");
+        assertThat(store.sizeOfValue(FEATURE0)).contains(2);
+        assertThat(store.<String>valueOf(FEATURE0.withPosition(1))).contains("value1");
+    }
+
+    @Test
+    void testValuesAreShiftedInCache() {
+        backend.appendAllValues(FEATURE0, Arrays.asList("value0", "value1", "value2"));
+        assertThat(store.allValuesOf(FEATURE0).count()).isEqualTo(3);
+
+        store.addValue(FEATURE0.withPosition(0), "value3");
+        assertThat(store.<String>allValuesOf(FEATURE0).collect(Collectors.toList())).containsExactly("value3", "value0", "value1", "value2");
+
+        store.removeValue(FEATURE0.withPosition(1));
+        assertThat(store.<String>allValuesOf(FEATURE0).collect(Collectors.toList())).containsExactly("value3", "value1", "value2");
+
+        store.addAllValues(FEATURE0.withPosition(1), Arrays.asList("value4", "value5"));
+        store.appendValue(FEATURE0, "value6");
+        assertThat(store.<String>allValuesOf(FEATURE0).collect(Collectors.toList())).containsExactly("value3", "value4", "value5", "value1", "value2", "value6");
+        assertThat(store.sizeOfValue(FEATURE0)).contains(6);
+
+        // The cache and the backend are consistent
+        assertThat(backend.<String>allValuesOf(FEATURE0).collect(Collectors.toList())).containsExactly("value3", "value4", "value5", "value1", "value2", "value6");
+
+        store.removeAllValues(FEATURE0);
+        assertThat(store.sizeOfValue(FEATURE0)).isNotPresent();
+        assertThat(store.allValuesOf(FEATURE0).count()).isEqualTo(0);
+    }
+
+    @Test
+    void testPartiallyCachedValuesAreInvalidated() {
+        backend.appendAllValues(FEATURE0, Arrays.asList("value0", "value1", "value2"));
+
+        // Load some values, without loading the whole feature
+        assertThat(store.<String>valueOf(FEATURE0.withPosition(0))).contains("value0");
+        assertThat(store.<String>valueOf(FEATURE0.withPosition(2))).contains("value2");
+
+        store.addValue(FEATURE0.withPosition(1), "value3");
+        assertThat(store.<String>valueOf(FEATURE0.withPosition(0))).contains("value0");
+        assertThat(store.<String>valueOf(FEATURE0.withPosition(1))).contains("value3");
+        assertThat(store.<String>valueOf(FEATURE0.withPosition(3))).contains("value2");
+
+        store.removeValue(FEATURE0.withPosition(0));
+        assertThat(store.<String>valueOf(FEATURE0.withPosition(0))).contains("value3");
+        assertThat(store.<String>valueOf(FEATURE0.withPosition(2))).contains("value2");
+        assertThat(store.sizeOfValue(FEATURE0)).contains(3);
+    }
+
+    @Test
+    void testReferencesAreShiftedInCache() {
+        backend.appendAllReferences(FEATURE1, Arrays.asList(ID1, ID2));
+        assertThat(store.allReferencesOf(FEATURE1).collect(Collectors.toList())).containsExactly(ID1, ID2);
+
+        store.addReference(FEATURE1.withPosition(0), ID3);
+        store.removeReference(FEATURE1.withPosition(2));
+        store.referenceFor(FEATURE1.withPosition(1), ID2);
+
+        assertThat(store.allReferencesOf(FEATURE1).collect(Collectors.toList())).containsExactly(ID3, ID2);
+        assertThat(backend.allReferencesOf(FEATURE1).collect(Collectors.toList())).containsExactly(ID3, ID2);
+        assertThat(store.referenceOf(FEATURE1.withPosition(0))).contains(ID3);
+        assertThat(store.sizeOfReference(FEATURE1)).contains(2);
+    }
+
+    @Test
+    void testIndicesAreServedFromCache() {
+        backend.appendAllValues(FEATURE0, Arrays.asList("value0", "value1", "value0"));
+        backend.appendAllReferences(FEATURE1, Arrays.asList(ID1, ID2, ID1));
+
+        assertThat(store.allValuesOf(FEATURE0).count()).isEqualTo(3);
+        assertThat(store.allReferencesOf(FEATURE1).count()).isEqualTo(3);
+
+        // Modify the backend directly: the store must not query it again
+        backend.removeAllValues(FEATURE0);
+        backend.removeAllReferences(FEATURE1);
+
+        assertThat(store.indexOfValue(FEATURE0, "value0")).contains(0);
+        assertThat(store.lastIndexOfValue(FEATURE0, "value0")).contains(2);
+        assertThat(store.indexOfValue(FEATURE0, "value2")).isNotPresent();
+
+        assertThat(store.indexOfReference(FEATURE1, ID1)).contains(0);
+        assertThat(store.lastIndexOfReference(FEATURE1, ID1)).contains(2);
+        assertThat(store.lastIndexOfReference(FEATURE1, ID3)).isNotPresent();
+    }
+}
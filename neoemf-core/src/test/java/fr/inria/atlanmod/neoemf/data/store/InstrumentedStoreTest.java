@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.store;
+
+import fr.inria.atlanmod.commons.AbstractTest;
+import fr.inria.atlanmod.neoemf.config.BaseConfig;
+import fr.inria.atlanmod.neoemf.core.Id;
+import fr.inria.atlanmod.neoemf.data.DatabaseException;
+import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
+import fr.inria.atlanmod.neoemf.data.bean.serializer.BeanSerializerFactory;
+import fr.inria.atlanmod.neoemf.data.im.DefaultInMemoryBackend;
+import fr.inria.atlanmod.neoemf.data.store.listener.IoStats;
+import fr.inria.atlanmod.neoemf.data.store.listener.LatencyHistogram;
+import fr.inria.atlanmod.neoemf.data.store.listener.StoreOperation;
+import fr.inria.atlanmod.neoemf.data.store.listener.StoreStats;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static java.util.Objects.nonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.assertj.core.api.Assertions.entry;
+
+/**
+ * A test-case about {@link InstrumentedStore}, {@link StoreStats}, {@link LatencyHistogram} and {@link IoStats}.
+ */
+@ParametersAreNonnullByDefault
+class InstrumentedStoreTest extends AbstractTest {
+
+    private static final SingleFeatureBean FEATURE0 = SingleFeatureBean.of(Id.getProvider().fromLong(0), 0);
+
+    private StoreStats stats;
+
+    private Store store;
+
+    @BeforeEach
+    void setUp() {
+        stats = new StoreStats();
+        store = StoreFactory.getInstance().createStore(new DefaultInMemoryBackend(), new BaseConfig<>().recordStats(stats));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (nonNull(store)) {
+            store.close();
+        }
+    }
+
+    @Test
+    void testOperationsAreRecorded() {
+        store.appendAllValues(FEATURE0, Arrays.asList("value0", "value1"));
+        store.sizeOfValue(FEATURE0);
+        store.sizeOfValue(FEATURE0);
+
+        assertThat(stats.latencyOf(StoreOperation.APPEND_ALL_VALUES).count()).isEqualTo(1);
+        assertThat(stats.latencyOf(StoreOperation.SIZE_OF_VALUE).count()).isEqualTo(2);
+        assertThat(stats.latencyOf(StoreOperation.VALUE_OF).count()).isEqualTo(0);
+
+        assertThat(stats.methodInvocations()).containsOnly(entry("appendAllValues", 1L), entry("sizeOfValue", 2L));
+        assertThat(stats.throughput()).isGreaterThan(0);
+        assertThat(stats.throughput(StoreOperation.VALUE_OF)).isEqualTo(0);
+    }
+
+    @Test
+    void testStreamsAreNotConsumed() {
+        store.appendAllValues(FEATURE0, Arrays.asList("value0", "value1"));
+
+        Stream<String> values = store.allValuesOf(FEATURE0);
+        assertThat(stats.latencyOf(StoreOperation.ALL_VALUES_OF).count()).isEqualTo(1);
+
+        // The stream can still be consumed by the caller
+        assertThat(values).containsExactly("value0", "value1");
+    }
+
+    @Test
+    void testPercentiles() {
+        for (long i = 1; i <= 1000; i++) {
+            stats.recordOperation(StoreOperation.VALUE_OF, TimeUnit.MICROSECONDS.toNanos(i));
+        }
+
+        LatencyHistogram latency = stats.latencyOf(StoreOperation.VALUE_OF);
+        assertThat(latency.count()).isEqualTo(1000);
+        assertThat(latency.max()).isEqualTo(TimeUnit.MICROSECONDS.toNanos(1000));
+        assertThat(latency.mean()).isEqualTo(TimeUnit.MICROSECONDS.toNanos(1) * 500.5);
+
+        // Percentiles are known with a relative error lower than 1/16
+        assertThat(stats.percentile(StoreOperation.VALUE_OF, 50, TimeUnit.MICROSECONDS)).isBetween(500L, 500L + 500L / 16);
+        assertThat(stats.percentile(StoreOperation.VALUE_OF, 99, TimeUnit.MICROSECONDS)).isBetween(990L, 990L + 990L / 16);
+        assertThat(latency.percentile(100)).isEqualTo(latency.max());
+        assertThat(latency.percentile(0)).isBetween(TimeUnit.MICROSECONDS.toNanos(1), TimeUnit.MICROSECONDS.toNanos(1) * 17 / 16);
+
+        assertThat(catchThrowable(() -> latency.percentile(101))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testIoIsNotRecordedByDefault() {
+        store.close();
+
+        SerializingBackend backend = new SerializingBackend();
+        store = StoreFactory.getInstance().createStore(backend, new BaseConfig<>().recordStats(stats));
+
+        store.valueFor(FEATURE0, "value0");
+        assertThat(store.valueOf(FEATURE0)).contains("value0");
+
+        assertThat(stats.io().roundTrips()).isEqualTo(0);
+        assertThat(stats.bytesWritten()).isEqualTo(0);
+    }
+
+    @Test
+    void testIoIsRecorded() {
+        store.close();
+
+        SerializingBackend backend = new SerializingBackend();
+        store = StoreFactory.getInstance().createStore(backend, new BaseConfig<>().recordStats(stats, true));
+
+        store.valueFor(FEATURE0, "value0");
+        assertThat(store.valueOf(FEATURE0)).contains("value0");
+
+        IoStats.Counters valueFor = stats.io().countersOf(StoreOperation.VALUE_FOR);
+        assertThat(valueFor.serializations()).isEqualTo(1);
+        assertThat(valueFor.bytesWritten()).isGreaterThan(0);
+        assertThat(valueFor.roundTrips()).isEqualTo(2); // The previous value is read before writing
+
+        IoStats.Counters valueOf = stats.io().countersOf(StoreOperation.VALUE_OF);
+        assertThat(valueOf.deserializations()).isEqualTo(1);
+        assertThat(valueOf.bytesRead()).isEqualTo(valueFor.bytesWritten());
+        assertThat(valueOf.roundTrips()).isEqualTo(1);
+        assertThat(valueOf.serializations()).isEqualTo(0);
+
+        // A direct access to the back-end is not attributed to any operation
+        backend.valueOf(FEATURE0);
+        assertThat(stats.io().unattributed().deserializations()).isEqualTo(1);
+
+        assertThat(stats.io().roundTrips()).isEqualTo(4);
+        assertThat(stats.bytesRead()).isEqualTo(2 * valueFor.bytesWritten());
+        assertThat(stats.bytesWritten()).isEqualTo(valueFor.bytesWritten());
+    }
+
+    @Test
+    void testIoOfConsumedStreamsIsRecorded() {
+        store.close();
+
+        SerializingBackend backend = new SerializingBackend();
+        store = StoreFactory.getInstance().createStore(backend, new BaseConfig<>().recordStats(stats, true));
+
+        store.appendAllValues(FEATURE0, Arrays.asList("value0", "value1"));
+
+        Stream<String> values = store.allValuesOf(FEATURE0);
+
+        IoStats.Counters allValuesOf = stats.io().countersOf(StoreOperation.ALL_VALUES_OF);
+        assertThat(allValuesOf.roundTrips()).isEqualTo(0);
+
+        // The values are read lazily, while the stream is consumed
+        assertThat(values).containsExactly("value0", "value1");
+        assertThat(allValuesOf.roundTrips()).isEqualTo(2);
+        assertThat(stats.io().unattributed().roundTrips()).isEqualTo(0);
+    }
+
+    @Test
+    void testSmallAndLargeDurations() {
+        LatencyHistogram latency = new LatencyHistogram();
+
+        latency.record(-1);
+        latency.record(3);
+        latency.record(TimeUnit.DAYS.toNanos(1));
+
+        assertThat(latency.count()).isEqualTo(3);
+        assertThat(latency.percentile(34)).isEqualTo(3);
+        assertThat(latency.percentile(100)).isEqualTo(TimeUnit.DAYS.toNanos(1));
+    }
+
+    /**
+     * A {@link DefaultInMemoryBackend} that stores the values of single-valued attributes in their serialized form,
+     * and that reads the values of multi-valued attributes lazily.
+     */
+    @ParametersAreNonnullByDefault
+    private static final class SerializingBackend extends DefaultInMemoryBackend {
+
+        @Nonnull
+        @Override
+        public <V> Optional<V> valueOf(SingleFeatureBean feature) {
+            recordRoundTrip();
+
+            Optional<byte[]> bytes = super.valueOf(feature);
+            if (!bytes.isPresent()) {
+                return Optional.empty();
+            }
+
+            try {
+                return Optional.of(deserialize(BeanSerializerFactory.getInstance().<V>forAny(), bytes.get()));
+            }
+            catch (IOException e) {
+                throw new DatabaseException(e);
+            }
+        }
+
+        @Nonnull
+        @Override
+        public <V> Stream<V> allValuesOf(SingleFeatureBean feature) {
+            return super.<V>allValuesOf(feature).peek(v -> recordRoundTrip());
+        }
+
+        @Nonnull
+        @Override
+        public <V> Optional<V> valueFor(SingleFeatureBean feature, V value) {
+            Optional<V> previousValue = valueOf(feature);
+
+            try {
+                recordRoundTrip();
+                super.valueFor(feature, serialize(BeanSerializerFactory.getInstance().<V>forAny(), value));
+            }
+            catch (IOException e) {
+                throw new DatabaseException(e);
+            }
+
+            return previousValue;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.store;
+
+import fr.inria.atlanmod.commons.AbstractTest;
+import fr.inria.atlanmod.neoemf.config.BaseConfig;
+import fr.inria.atlanmod.neoemf.core.Id;
+import fr.inria.atlanmod.neoemf.data.Backend;
+import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
+import fr.inria.atlanmod.neoemf.data.im.DefaultInMemoryBackend;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static java.util.Objects.nonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A test-case about {@link ListCachingStore}.
+ */
+@ParametersAreNonnullByDefault
+class ListCachingStoreTest extends AbstractTest {
+
+    private static final Id ID0 = Id.getProvider().fromLong(0);
+    private static final Id ID1 = Id.getProvider().fromLong(1);
+    private static final Id ID2 = Id.getProvider().fromLong(2);
+
+    private static final SingleFeatureBean FEATURE0 = SingleFeatureBean.of(ID0, 0);
+    private static final SingleFeatureBean FEATURE1 = SingleFeatureBean.of(ID0, 1);
+
+    private Backend backend;
+
+    private Store store;
+
+    @BeforeEach
+    void setUp() {
+        backend = new DefaultInMemoryBackend();
+        store = StoreFactory.getInstance().createStore(backend, new BaseConfig<>().cacheLists());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (nonNull(store)) {
+            store.close();
+        }
+    }
+
+    @Test
+    void testValuesAreServedFromCache() {
+        backend.appendAllValues(FEATURE0, Arrays.asList("value0", "value1", "value0"));
+
+        assertThat(store.indexOfValue(FEATURE0, "value0")).contains(0);
+
+        // Modify the backend directly: the store must not query it again
+        backend.removeAllValues(FEATURE0);
+
+        assertThat(store.<String>allValuesOf(FEATURE0).collect(Collectors.toList())).containsExactly("value0", "value1", "value0");
+        assertThat(store.lastIndexOfValue(FEATURE0, "value0")).contains(2);
+        assertThat(store.indexOfValue(FEATURE0, "value2")).isNotPresent();
+        assertThat(store.<String>valueOf(FEATURE0.withPosition(1))).contains("value1");
+        assertThat(store.sizeOfValue(FEATURE0)).contains(3);
+    }
+
+    @Test
+    void testCacheIsInvalidatedOnMutation() {
+        backend.appendAllValues(FEATURE0, Arrays.asList("value0", "value1"));
+        assertThat(store.indexOfValue(FEATURE0, "value1")).contains(1);
+
+        store.addValue(FEATURE0.withPosition(0), "value2");
+        assertThat(store.indexOfValue(FEATURE0, "value1")).contains(2);
+
+        store.removeValue(FEATURE0.withPosition(2));
+        assertThat(store.indexOfValue(FEATURE0, "value1")).isNotPresent();
+
+        store.appendValue(FEATURE0, "value1");
+        assertThat(store.<String>allValuesOf(FEATURE0).collect(Collectors.toList())).containsExactly("value2", "value0", "value1");
+
+        store.removeAllValues(FEATURE0);
+        assertThat(store.sizeOfValue(FEATURE0)).isNotPresent();
+        assertThat(store.indexOfValue(FEATURE0, "value1")).isNotPresent();
+    }
+
+    @Test
+    void testIndexedReferences() {
+        List<Id> references = IntStream.range(0, IndexedList.INDEX_THRESHOLD * 2)
+                .mapToObj(i -> Id.getProvider().fromLong(100 + i % IndexedList.INDEX_THRESHOLD))
+                .collect(Collectors.toList());
+
+        backend.appendAllReferences(FEATURE1, references);
+
+        Id first = references.get(3);
+        assertThat(store.indexOfReference(FEATURE1, first)).contains(3);
+        assertThat(store.lastIndexOfReference(FEATURE1, first)).contains(IndexedList.INDEX_THRESHOLD + 3);
+        assertThat(store.indexOfReference(FEATURE1, ID1)).isNotPresent();
+        assertThat(store.lastIndexOfReference(FEATURE1, ID1)).isNotPresent();
+
+        store.referenceFor(FEATURE1.withPosition(0), ID2);
+        assertThat(store.indexOfReference(FEATURE1, ID2)).contains(0);
+        assertThat(store.referenceOf(FEATURE1.withPosition(0))).contains(ID2);
+        assertThat(store.sizeOfReference(FEATURE1)).contains(references.size());
+    }
+}
@@ -0,0 +1,347 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.store;
+
+import fr.inria.atlanmod.commons.AbstractTest;
+import fr.inria.atlanmod.neoemf.config.BaseConfig;
+import fr.inria.atlanmod.neoemf.core.Id;
+import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
+import fr.inria.atlanmod.neoemf.data.im.DefaultInMemoryBackend;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static java.util.Objects.nonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+/**
+ * A test-case about {@link LockingStore}.
+ */
+@ParametersAreNonnullByDefault
+class LockingStoreTest extends AbstractTest {
+
+    /**
+     * The identifier of the multi-valued feature written by the stress test.
+     */
+    private static final int MANY_FEATURE = 0;
+
+    /**
+     * The identifier of the single-valued feature whose accesses are blocked by the {@link BlockingBackend}.
+     */
+    private static final int BLOCKING_FEATURE = 1;
+
+    /**
+     * The number of objects whose multi-valued feature is written by the stress test.
+     */
+    private static final int OWNERS = 16;
+
+    /**
+     * The number of threads appending values in the stress test.
+     */
+    private static final int WRITERS = 4;
+
+    /**
+     * The number of threads reading values in the stress test.
+     */
+    private static final int READERS = 4;
+
+    /**
+     * The number of batches appended by each writer of the stress test.
+     */
+    private static final int BATCHES = 500;
+
+    /**
+     * The number of identical values appended at once by the writers of the stress test.
+     */
+    private static final int BATCH_SIZE = 5;
+
+    /**
+     * The number of stripes of the store where a writer and a reader access objects on different stripes.
+     */
+    private static final int STRIPES = 4;
+
+    /**
+     * The blocking feature of the first object.
+     */
+    private static final SingleFeatureBean BLOCKING0 = SingleFeatureBean.of(Id.getProvider().fromLong(0), BLOCKING_FEATURE);
+
+    private ExecutorService executor;
+
+    private Store store;
+
+    @AfterEach
+    void tearDown() {
+        if (nonNull(executor)) {
+            executor.shutdownNow();
+        }
+        if (nonNull(store)) {
+            store.close();
+        }
+    }
+
+    /**
+     * Checks that readers never observe a partial write, and that no write is lost, when several writers and readers
+     * access the same objects.
+     */
+    @Test
+    void testConcurrentReadersAndWriters() throws Exception {
+        store = StoreFactory.getInstance().createStore(new DefaultInMemoryBackend(), new BaseConfig<>().concurrent(4));
+        executor = Executors.newFixedThreadPool(WRITERS + READERS);
+
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch writersDone = new CountDownLatch(WRITERS);
+
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int w = 0; w < WRITERS; w++) {
+            final int writer = w;
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    for (int b = 0; b < BATCHES; b++) {
+                        // Each batch is made of identical values, and is appended at once
+                        String value = "w" + writer + '-' + b;
+                        store.appendAllValues(randomFeature(), Collections.nCopies(BATCH_SIZE, value));
+                    }
+                }
+                finally {
+                    writersDone.countDown();
+                }
+                return null;
+            }));
+        }
+
+        for (int r = 0; r < READERS; r++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                do {
+                    SingleFeatureBean feature = randomFeature();
+
+                    int size = store.sizeOfValue(feature).orElse(0);
+                    assertThat(size % BATCH_SIZE).isEqualTo(0);
+
+                    List<String> values = store.<String>allValuesOf(feature).collect(Collectors.toList());
+                    assertCompleteBatches(values);
+                }
+                while (writersDone.getCount() > 0);
+                return null;
+            }));
+        }
+
+        start.countDown();
+
+        for (Future<?> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+
+        // No append has been lost
+        int total = IntStream.range(0, OWNERS)
+                .map(i -> store.sizeOfValue(SingleFeatureBean.of(Id.getProvider().fromLong(i), MANY_FEATURE)).orElse(0))
+                .sum();
+
+        assertThat(total).isEqualTo(WRITERS * BATCHES * BATCH_SIZE);
+    }
+
+    /**
+     * Checks that two readers of the same object do not block each other.
+     */
+    @Test
+    void testReadersDoNotBlockEachOther() throws Exception {
+        BlockingBackend backend = new BlockingBackend();
+        backend.valueFor(BLOCKING0, "value0");
+
+        store = StoreFactory.getInstance().createStore(backend, new BaseConfig<>().concurrent());
+        executor = Executors.newFixedThreadPool(2);
+
+        // Both readers must be inside the back-end at the same time to cross the barrier
+        backend.readBarrier = new CyclicBarrier(2);
+
+        Future<Optional<String>> reader0 = executor.submit(() -> store.valueOf(BLOCKING0));
+        Future<Optional<String>> reader1 = executor.submit(() -> store.valueOf(BLOCKING0));
+
+        assertThat(reader0.get(10, TimeUnit.SECONDS)).contains("value0");
+        assertThat(reader1.get(10, TimeUnit.SECONDS)).contains("value0");
+    }
+
+    /**
+     * Checks that a writer blocks the readers of the same object, and the coarse operations, until it completes.
+     */
+    @Test
+    void testWriterBlocksReaders() throws Exception {
+        BlockingBackend backend = new BlockingBackend();
+        backend.valueFor(BLOCKING0, "value0");
+
+        store = StoreFactory.getInstance().createStore(backend, new BaseConfig<>().concurrent());
+        executor = Executors.newFixedThreadPool(3);
+
+        backend.writeEntered = new CountDownLatch(1);
+        backend.writeReleased = new CountDownLatch(1);
+
+        Future<Optional<String>> writer = executor.submit(() -> store.valueFor(BLOCKING0, "value1"));
+        assertThat(backend.writeEntered.await(10, TimeUnit.SECONDS)).isTrue();
+
+        Future<Optional<String>> reader = executor.submit(() -> store.valueOf(BLOCKING0));
+        Future<?> copy = executor.submit(() -> store.copyTo(new DefaultInMemoryBackend()));
+
+        assertThat(catchThrowable(() -> reader.get(200, TimeUnit.MILLISECONDS))).isInstanceOf(TimeoutException.class);
+        assertThat(catchThrowable(() -> copy.get(200, TimeUnit.MILLISECONDS))).isInstanceOf(TimeoutException.class);
+
+        backend.writeReleased.countDown();
+
+        assertThat(writer.get(10, TimeUnit.SECONDS)).contains("value0");
+        assertThat(reader.get(10, TimeUnit.SECONDS)).contains("value1");
+        copy.get(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Checks that a writer does not block the readers of the objects associated with another stripe.
+     */
+    @Test
+    void testWriterDoesNotBlockReadersOfOtherStripes() throws Exception {
+        SingleFeatureBean other = otherStripeThan(BLOCKING0);
+
+        BlockingBackend backend = new BlockingBackend();
+        backend.valueFor(BLOCKING0, "value0");
+        backend.valueFor(other, "other0");
+
+        store = StoreFactory.getInstance().createStore(backend, new BaseConfig<>().concurrent(STRIPES));
+        executor = Executors.newFixedThreadPool(2);
+
+        backend.writeEntered = new CountDownLatch(1);
+        backend.writeReleased = new CountDownLatch(1);
+
+        Future<Optional<String>> writer = executor.submit(() -> store.valueFor(BLOCKING0, "value1"));
+        assertThat(backend.writeEntered.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // The reader completes while the writer is still inside the back-end
+        Future<Optional<String>> reader = executor.submit(() -> store.valueOf(other));
+        assertThat(reader.get(10, TimeUnit.SECONDS)).contains("other0");
+        assertThat(writer.isDone()).isFalse();
+
+        backend.writeReleased.countDown();
+
+        assertThat(writer.get(10, TimeUnit.SECONDS)).contains("value0");
+    }
+
+    /**
+     * Returns the multi-valued feature of a random owner.
+     *
+     * @return the feature
+     */
+    @Nonnull
+    private SingleFeatureBean randomFeature() {
+        return SingleFeatureBean.of(Id.getProvider().fromLong(ThreadLocalRandom.current().nextInt(OWNERS)), MANY_FEATURE);
+    }
+
+    /**
+     * Returns the blocking feature of an object that is not associated with the same stripe as the owner of the
+     * {@code feature}, in a store with {@link #STRIPES} stripes.
+     *
+     * @param feature the feature whose stripe to avoid
+     *
+     * @return the feature
+     */
+    @Nonnull
+    private SingleFeatureBean otherStripeThan(SingleFeatureBean feature) {
+        LockingStore locking = new LockingStore(STRIPES);
+        int stripe = locking.indexOfStripe(feature.owner());
+
+        return LongStream.range(1, Long.MAX_VALUE)
+                .mapToObj(i -> Id.getProvider().fromLong(i))
+                .filter(id -> locking.indexOfStripe(id) != stripe)
+                .map(id -> SingleFeatureBean.of(id, BLOCKING_FEATURE))
+                .findFirst()
+                .orElseThrow(IllegalStateException::new);
+    }
+
+    /**
+     * Asserts that the {@code values} are made of complete batches of identical values.
+     *
+     * @param values the values to check
+     */
+    private void assertCompleteBatches(List<String> values) {
+        assertThat(values.size() % BATCH_SIZE).isEqualTo(0);
+
+        for (int i = 0; i < values.size(); i += BATCH_SIZE) {
+            assertThat(values.subList(i, i + BATCH_SIZE)).containsOnly(values.get(i));
+        }
+    }
+
+    /**
+     * A {@link DefaultInMemoryBackend} that blocks the accesses to the {@link #BLOCKING_FEATURE}, in order to
+     * observe the threads waiting for a lock.
+     */
+    @ParametersAreNonnullByDefault
+    private static final class BlockingBackend extends DefaultInMemoryBackend {
+
+        /**
+         * The barrier to cross when reading, or {@code null} if reads are not blocked.
+         */
+        volatile CyclicBarrier readBarrier;
+
+        /**
+         * The latch counted down when a write is entered, or {@code null} if writes are not blocked.
+         */
+        volatile CountDownLatch writeEntered;
+
+        /**
+         * The latch to wait for before completing a write.
+         */
+        volatile CountDownLatch writeReleased;
+
+        @Nonnull
+        @Override
+        public <V> Optional<V> valueOf(SingleFeatureBean feature) {
+            if (feature.id() == BLOCKING_FEATURE && nonNull(readBarrier)) {
+                try {
+                    readBarrier.await(10, TimeUnit.SECONDS);
+                }
+                catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            return super.valueOf(feature);
+        }
+
+        @Nonnull
+        @Override
+        public <V> Optional<V> valueFor(SingleFeatureBean feature, V value) {
+            if (feature.id() == BLOCKING_FEATURE && nonNull(writeEntered)) {
+                writeEntered.countDown();
+                try {
+                    writeReleased.await(10, TimeUnit.SECONDS);
+                }
+                catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            return super.valueFor(feature, value);
+        }
+    }
+}
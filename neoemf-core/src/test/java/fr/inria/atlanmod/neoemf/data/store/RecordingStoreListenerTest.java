@@ -50,7 +50,7 @@ class RecordingStoreListenerTest extends AbstractTest {
     @BeforeEach
     void setUp() {
         stats = new StoreStats();
-        ImmutableConfig config = new BaseConfig<>().recordStats(stats);
+        ImmutableConfig config = new BaseConfig<>().addListener(new RecordingStoreListener(stats));
 
         store = StoreFactory.getInstance().createStore(mock(Backend.class), config);
     }
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.store;
+
+import fr.inria.atlanmod.commons.AbstractTest;
+import fr.inria.atlanmod.neoemf.config.BaseConfig;
+import fr.inria.atlanmod.neoemf.core.Id;
+import fr.inria.atlanmod.neoemf.data.Backend;
+import fr.inria.atlanmod.neoemf.data.im.DefaultInMemoryBackend;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+/**
+ * A test-case about {@link StoreCache} and {@link CachePolicy}.
+ */
+@ParametersAreNonnullByDefault
+class StoreCacheTest extends AbstractTest {
+
+    @Test
+    void testDefaultPolicy() {
+        StoreCache<String, String> cache = new StoreCache<>(CachePolicy.defaultPolicy());
+
+        assertThat(cache.get("key0", k -> "value0")).isEqualTo("value0");
+        assertThat(cache.get("key0", k -> "other")).isEqualTo("value0");
+        assertThat(cache.contains("key0")).isTrue();
+
+        cache.invalidate("key0");
+        assertThat(cache.get("key0")).isNull();
+    }
+
+    @Test
+    void testMaximumSize() {
+        StoreCacheStats stats = new StoreCacheStats();
+        StoreCache<String, String> cache = new StoreCache<>(CachePolicy.defaultPolicy()
+                .withMaximumSize(2)
+                .withSoftValues(false)
+                .withStats(stats));
+
+        cache.put("key0", "value0");
+        cache.put("key1", "value1");
+
+        // Access key0 again: key1 becomes the least recently used
+        assertThat(cache.get("key0")).isEqualTo("value0");
+        cache.put("key2", "value2");
+
+        assertThat(cache.contains("key0")).isTrue();
+        assertThat(cache.contains("key1")).isFalse();
+        assertThat(cache.contains("key2")).isTrue();
+        assertThat(stats.evictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testExpireAfterAccess() {
+        StoreCacheStats stats = new StoreCacheStats();
+        StoreCache<String, String> cache = new StoreCache<>(CachePolicy.defaultPolicy()
+                .withExpireAfterAccess(0, TimeUnit.NANOSECONDS)
+                .withStats(stats));
+
+        cache.put("key0", "value0");
+
+        assertThat(cache.get("key0")).isNull();
+        assertThat(stats.evictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testStats() {
+        StoreCacheStats stats = new StoreCacheStats();
+        StoreCache<String, String> cache = new StoreCache<>(CachePolicy.defaultPolicy().withStats(stats));
+
+        assertThat(stats.hitRate()).isEqualTo(1.0);
+
+        assertThat(cache.get("key0", k -> "value0")).isEqualTo("value0");
+        assertThat(cache.get("key0", k -> "other")).isEqualTo("value0");
+        assertThat(cache.get("key0", k -> "other")).isEqualTo("value0");
+        assertThat(cache.get("key1", k -> null)).isNull();
+
+        assertThat(stats.hitCount()).isEqualTo(2);
+        assertThat(stats.missCount()).isEqualTo(2);
+        assertThat(stats.hitRate()).isEqualTo(0.5);
+        assertThat(stats.totalLoadTime()).isGreaterThanOrEqualTo(0);
+        assertThat(stats.evictionCount()).isEqualTo(0);
+
+        // A null value is not cached
+        assertThat(cache.contains("key1")).isFalse();
+    }
+
+    @Test
+    void testInvalidPolicy() {
+        assertThat(catchThrowable(() -> CachePolicy.defaultPolicy().withMaximumSize(-1)))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(catchThrowable(() -> CachePolicy.defaultPolicy().withExpireAfterAccess(-1, TimeUnit.SECONDS)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testConfiguredStore() {
+        StoreCacheStats stats = new StoreCacheStats();
+        CachePolicy policy = CachePolicy.defaultPolicy().withMaximumSize(1).withSoftValues(false).withStats(stats);
+
+        Backend backend = new DefaultInMemoryBackend();
+        Store store = StoreFactory.getInstance().createStore(backend, new BaseConfig<>().cacheMetaClasses(policy));
+
+        Id id0 = Id.getProvider().fromLong(0);
+        Id id1 = Id.getProvider().fromLong(1);
+
+        // Absent meta-classes are cached as empty values
+        assertThat(store.metaClassOf(id0)).isNotPresent();
+        assertThat(store.metaClassOf(id0)).isNotPresent();
+        assertThat(store.metaClassOf(id1)).isNotPresent();
+
+        assertThat(stats.hitCount()).isEqualTo(1);
+        assertThat(stats.missCount()).isEqualTo(2);
+        assertThat(stats.evictionCount()).isEqualTo(1);
+
+        store.close();
+    }
+}
@@ -17,7 +17,6 @@ import fr.inria.atlanmod.neoemf.config.InvalidConfigException;
 import fr.inria.atlanmod.neoemf.data.Backend;
 import fr.inria.atlanmod.neoemf.data.BackendFactory;
 import fr.inria.atlanmod.neoemf.data.mapping.AbstractMapperDecorator;
-import fr.inria.atlanmod.neoemf.data.store.listener.RecordingStoreListener;
 import fr.inria.atlanmod.neoemf.data.store.listener.StoreStats;
 
 import org.junit.jupiter.api.Test;
@@ -108,6 +107,20 @@ class StoreFactoryTest extends AbstractTest {
         assertThat(store).isExactlyInstanceOf(NoopStore.class);
     }
 
+    /**
+     * Checks the setup of the {@link ListCachingStore}.
+     */
+    @Test
+    void testListCaching() {
+        ImmutableConfig config = new BaseConfig<>().cacheLists();
+
+        Store store = StoreFactory.getInstance().createStore(mock(Backend.class), config);
+        assertThat(store).isInstanceOf(ListCachingStore.class);
+
+        store = getInnerStore(store);
+        assertThat(store).isExactlyInstanceOf(NoopStore.class);
+    }
+
     /**
      * Checks the setup of the {@link FeatureCachingStore}.
      */
@@ -151,14 +164,14 @@ class StoreFactoryTest extends AbstractTest {
     }
 
     /**
-     * Checks the setup of the {@link RecordingStoreListener}.
+     * Checks the setup of the {@link InstrumentedStore}.
      */
     @Test
     void testStatsCaching() {
         ImmutableConfig config = new BaseConfig<>().recordStats(new StoreStats());
 
         Store store = StoreFactory.getInstance().createStore(mock(Backend.class), config);
-        assertThat(store).isInstanceOf(ListeningStore.class);
+        assertThat(store).isInstanceOf(InstrumentedStore.class);
 
         store = getInnerStore(store);
         assertThat(store).isExactlyInstanceOf(NoopStore.class);
@@ -205,6 +218,96 @@ class StoreFactoryTest extends AbstractTest {
         assertThat(catchThrowable(() -> new BaseConfig<>().autoSave(-2))).isExactlyInstanceOf(InvalidConfigException.class);
     }
 
+    /**
+     * Checks the setup of the {@link WriteBatchingStore} with chunk.
+     */
+    @Test
+    void testBatchWritesWithChunk() {
+        final long expectedChunk = 12_345;
+
+        ImmutableConfig config = new BaseConfig<>().batchWrites(expectedChunk);
+
+        Store store = StoreFactory.getInstance().createStore(mock(Backend.class), config);
+        assertThat(store).isInstanceOf(WriteBatchingStore.class);
+
+        long actualChunk = getValue(store, "chunk", WriteBatchingStore.class, Long.class);
+        assertThat(actualChunk).isEqualTo(expectedChunk);
+
+        store = getInnerStore(store);
+        assertThat(store).isExactlyInstanceOf(NoopStore.class);
+    }
+
+    /**
+     * Checks the setup of the {@link WriteBatchingStore} with negative chunk.
+     */
+    @Test
+    void testBatchWritesWithNegativeChunk() {
+        assertThat(catchThrowable(() -> new BaseConfig<>().batchWrites(-2))).isExactlyInstanceOf(InvalidConfigException.class);
+    }
+
+    /**
+     * Checks that the {@link WriteBatchingStore} is placed after the caching stores.
+     */
+    @Test
+    void testBatchWritesWithCaching() {
+        ImmutableConfig config = new BaseConfig<>()
+                .batchWrites()
+                .cacheFeatures();
+
+        Store store = StoreFactory.getInstance().createStore(mock(Backend.class), config);
+        assertThat(store).isInstanceOf(FeatureCachingStore.class);
+
+        store = getInnerStore(store);
+        assertThat(store).isExactlyInstanceOf(WriteBatchingStore.class);
+
+        store = getInnerStore(store);
+        assertThat(store).isExactlyInstanceOf(NoopStore.class);
+    }
+
+    /**
+     * Checks that the {@link LockingStore} is placed before the caching stores.
+     */
+    @Test
+    void testConcurrentWithCaching() {
+        ImmutableConfig config = new BaseConfig<>()
+                .cacheFeatures()
+                .concurrent(10);
+
+        assertThat(config.isConcurrent()).isTrue();
+
+        Store store = StoreFactory.getInstance().createStore(mock(Backend.class), config);
+        assertThat(store).isExactlyInstanceOf(LockingStore.class);
+        assertThat(LockingStore.class.cast(store).stripes()).isEqualTo(16);
+
+        store = getInnerStore(store);
+        assertThat(store).isInstanceOf(FeatureCachingStore.class);
+
+        store = getInnerStore(store);
+        assertThat(store).isExactlyInstanceOf(NoopStore.class);
+    }
+
+    /**
+     * Checks the setup of the {@link LockingStore} with an invalid number of stripes.
+     */
+    @Test
+    void testConcurrentWithInvalidStripes() {
+        assertThat(catchThrowable(() -> new BaseConfig<>().concurrent(0))).isExactlyInstanceOf(InvalidConfigException.class);
+        assertThat(catchThrowable(() -> new BaseConfig<>().concurrent(LockingStore.MAX_STRIPES + 1))).isExactlyInstanceOf(InvalidConfigException.class);
+    }
+
+    /**
+     * Checks that the {@link LockingStore} cannot be combined with the {@link WriteBatchingStore}.
+     */
+    @Test
+    void testConcurrentWithBatchWrites() {
+        ImmutableConfig config = new BaseConfig<>()
+                .batchWrites()
+                .concurrent();
+
+        Throwable thrown = catchThrowable(() -> StoreFactory.getInstance().createStore(mock(Backend.class), config));
+        assertThat(thrown).isExactlyInstanceOf(InvalidStoreException.class);
+    }
+
     /**
      * Checks store containment order (depend on the instantiation policy defined in {@link BackendFactory}.
      */
@@ -228,6 +331,9 @@ class StoreFactoryTest extends AbstractTest {
         long actualChunk = getValue(store, "chunk", AutoSavingStore.class, Long.class);
         assertThat(actualChunk).isEqualTo(expectedChunk);
 
+        store = getInnerStore(store);
+        assertThat(store).isExactlyInstanceOf(InstrumentedStore.class);
+
         store = getInnerStore(store);
         assertThat(store).isExactlyInstanceOf(ListeningStore.class);
 
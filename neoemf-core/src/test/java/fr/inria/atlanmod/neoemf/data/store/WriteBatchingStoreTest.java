@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.store;
+
+import fr.inria.atlanmod.commons.AbstractTest;
+import fr.inria.atlanmod.neoemf.config.BaseConfig;
+import fr.inria.atlanmod.neoemf.core.Id;
+import fr.inria.atlanmod.neoemf.data.Backend;
+import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
+import fr.inria.atlanmod.neoemf.data.im.DefaultInMemoryBackend;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static java.util.Objects.nonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A test-case about {@link WriteBatchingStore}.
+ */
+@ParametersAreNonnullByDefault
+class WriteBatchingStoreTest extends AbstractTest {
+
+    private static final Id ID0 = Id.getProvider().fromLong(0);
+    private static final Id ID1 = Id.getProvider().fromLong(1);
+    private static final Id ID2 = Id.getProvider().fromLong(2);
+
+    private static final SingleFeatureBean FEATURE0 = SingleFeatureBean.of(ID0, 0);
+    private static final SingleFeatureBean FEATURE1 = SingleFeatureBean.of(ID0, 1);
+
+    private Backend backend;
+
+    private Store store;
+
+    @BeforeEach
+    void setUp() {
+        backend = new DefaultInMemoryBackend();
+        store = StoreFactory.getInstance().createStore(backend, new BaseConfig<>().batchWrites());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (nonNull(store)) {
+            store.close();
+        }
+    }
+
+    @Test
+    void testValueIsWrittenOnSave() {
+        assertThat(store.valueFor(FEATURE0, "value0")).isNotPresent();
+        assertThat(store.valueFor(FEATURE0, "value1")).contains("value0");
+
+        assertThat(store.<String>valueOf(FEATURE0)).contains("value1");
+        assertThat(backend.<String>valueOf(FEATURE0)).isNotPresent();
+
+        store.save();
+
+        assertThat(backend.<String>valueOf(FEATURE0)).contains("value1");
+    }
+
+    @Test
+    void testRemovedValueIsWrittenOnSave() {
+        backend.valueFor(FEATURE0, "value0");
+
+        store.removeValue(FEATURE0);
+
+        assertThat(store.<String>valueOf(FEATURE0)).isNotPresent();
+        assertThat(backend.<String>valueOf(FEATURE0)).contains("value0");
+
+        store.save();
+
+        assertThat(backend.<String>valueOf(FEATURE0)).isNotPresent();
+    }
+
+    @Test
+    void testReferenceAndContainerAreWrittenOnSave() {
+        store.referenceFor(FEATURE1, ID1);
+        store.containerFor(ID2, FEATURE1);
+
+        assertThat(store.referenceOf(FEATURE1)).contains(ID1);
+        assertThat(store.containerOf(ID2)).contains(FEATURE1);
+        assertThat(backend.referenceOf(FEATURE1)).isNotPresent();
+        assertThat(backend.containerOf(ID2)).isNotPresent();
+
+        store.save();
+
+        assertThat(backend.referenceOf(FEATURE1)).contains(ID1);
+        assertThat(backend.containerOf(ID2)).contains(FEATURE1);
+    }
+
+    @Test
+    void testAppendedValuesAreWrittenOnSave() {
+        backend.appendValue(FEATURE0, "value0");
+
+        assertThat(store.appendValue(FEATURE0, "value1")).isEqualTo(1);
+        assertThat(store.appendAllValues(FEATURE0, Arrays.asList("value2", "value3"))).isEqualTo(2);
+
+        assertThat(store.sizeOfValue(FEATURE0)).contains(4);
+        assertThat(store.<String>valueOf(FEATURE0.withPosition(0))).contains("value0");
+        assertThat(store.<String>valueOf(FEATURE0.withPosition(2))).contains("value2");
+        assertThat(store.<String>allValuesOf(FEATURE0).collect(Collectors.toList())).containsExactly("value0", "value1", "value2", "value3");
+        assertThat(backend.sizeOfValue(FEATURE0)).contains(1);
+
+        store.save();
+
+        assertThat(backend.<String>allValuesOf(FEATURE0).collect(Collectors.toList())).containsExactly("value0", "value1", "value2", "value3");
+    }
+
+    @Test
+    void testAppendedValuesAreWrittenBeforeInsertion() {
+        store.appendValue(FEATURE0, "value0");
+        store.appendValue(FEATURE0, "value2");
+
+        store.addValue(FEATURE0.withPosition(1), "value1");
+
+        assertThat(backend.<String>allValuesOf(FEATURE0).collect(Collectors.toList())).containsExactly("value0", "value1", "value2");
+    }
+
+    @Test
+    void testAppendedReferencesAreWrittenOnSave() {
+        assertThat(store.appendReference(FEATURE1, ID1)).isEqualTo(0);
+        assertThat(store.appendReference(FEATURE1, ID2)).isEqualTo(1);
+
+        assertThat(store.sizeOfReference(FEATURE1)).contains(2);
+        assertThat(store.referenceOf(FEATURE1.withPosition(1))).contains(ID2);
+        assertThat(backend.sizeOfReference(FEATURE1)).isNotPresent();
+
+        store.save();
+
+        assertThat(backend.allReferencesOf(FEATURE1).collect(Collectors.toList())).containsExactly(ID1, ID2);
+    }
+
+    @Test
+    void testRemoveAllDiscardsAppendedValues() {
+        store.appendValue(FEATURE0, "value0");
+        store.removeAllValues(FEATURE0);
+
+        assertThat(store.sizeOfValue(FEATURE0)).isNotPresent();
+
+        store.save();
+
+        assertThat(backend.sizeOfValue(FEATURE0)).isNotPresent();
+    }
+
+    @Test
+    void testModificationsAreWrittenWhenChunkIsReached() {
+        store = StoreFactory.getInstance().createStore(backend, new BaseConfig<>().batchWrites(2));
+
+        store.valueFor(FEATURE0, "value0");
+        assertThat(backend.<String>valueOf(FEATURE0)).isNotPresent();
+
+        store.valueFor(FEATURE1, "value1");
+        assertThat(backend.<String>valueOf(FEATURE0)).contains("value0");
+        assertThat(backend.<String>valueOf(FEATURE1)).contains("value1");
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.store.adapter;
+
+import fr.inria.atlanmod.commons.AbstractTest;
+import fr.inria.atlanmod.neoemf.config.BaseConfig;
+import fr.inria.atlanmod.neoemf.config.ImmutableConfig;
+import fr.inria.atlanmod.neoemf.config.InvalidConfigException;
+import fr.inria.atlanmod.neoemf.core.Id;
+import fr.inria.atlanmod.neoemf.core.PersistentEObject;
+import fr.inria.atlanmod.neoemf.data.store.listener.StoreStats;
+
+import org.junit.jupiter.api.Test;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.mock;
+
+/**
+ * A test-case about {@link RetainedObjects} and the configuration of the object cache.
+ */
+@ParametersAreNonnullByDefault
+class RetainedObjectsTest extends AbstractTest {
+
+    private static final Id ID0 = Id.getProvider().fromLong(0);
+    private static final Id ID1 = Id.getProvider().fromLong(1);
+    private static final Id ID2 = Id.getProvider().fromLong(2);
+
+    @Test
+    void testLeastRecentlyUsedIsReleased() {
+        StoreStats stats = new StoreStats();
+        RetainedObjects objects = new RetainedObjects(2, stats);
+
+        objects.retain(ID0, mock(PersistentEObject.class));
+        objects.retain(ID1, mock(PersistentEObject.class));
+        assertThat(objects.size()).isEqualTo(2);
+        assertThat(stats.objectEvictions()).isEqualTo(0);
+
+        // Access ID0 again: ID1 becomes the least recently used
+        objects.retain(ID0, mock(PersistentEObject.class));
+        objects.retain(ID2, mock(PersistentEObject.class));
+
+        assertThat(objects.size()).isEqualTo(2);
+        assertThat(stats.objectEvictions()).isEqualTo(1);
+
+        objects.clear();
+        assertThat(objects.size()).isEqualTo(0);
+    }
+
+    @Test
+    void testNothingIsRetained() {
+        StoreStats stats = new StoreStats();
+        RetainedObjects objects = new RetainedObjects(0, stats);
+
+        objects.retain(ID0, mock(PersistentEObject.class));
+
+        assertThat(objects.size()).isEqualTo(0);
+        assertThat(stats.objectEvictions()).isEqualTo(1);
+    }
+
+    @Test
+    void testConfig() {
+        StoreStats stats = new StoreStats();
+
+        ImmutableConfig defaultConfig = new BaseConfig<>();
+        assertThat(defaultConfig.getObjectCacheSize()).isNotPresent();
+        assertThat(defaultConfig.getStats()).isNotPresent();
+
+        ImmutableConfig config = new BaseConfig<>().cacheObjects(100, true).recordStats(stats);
+        assertThat(config.getObjectCacheSize()).contains(100L);
+        assertThat(config.isObjectCacheSoft()).isTrue();
+        assertThat(config.getStats()).containsSame(stats);
+
+        ImmutableConfig mergedConfig = new BaseConfig<>().merge(config.toMap());
+        assertThat(mergedConfig.getObjectCacheSize()).contains(100L);
+        assertThat(mergedConfig.getStats()).containsSame(stats);
+
+        assertThat(new BaseConfig<>().cacheObjects(100).isObjectCacheSoft()).isFalse();
+        assertThat(catchThrowable(() -> new BaseConfig<>().cacheObjects(-1))).isInstanceOf(InvalidConfigException.class);
+    }
+
+    @Test
+    void testStats() {
+        StoreStats stats = new StoreStats();
+
+        stats.recordObjectRequest();
+        stats.recordObjectRequest();
+        stats.recordObjectRequest();
+        stats.recordObjectMiss();
+        stats.recordObjectEviction();
+
+        assertThat(stats.objectHits()).isEqualTo(2);
+        assertThat(stats.objectMisses()).isEqualTo(1);
+        assertThat(stats.objectEvictions()).isEqualTo(1);
+        assertThat(stats.toString()).contains("objects = 2 hits, 1 misses, 1 evictions");
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.store.listener;
+
+import fr.inria.atlanmod.commons.AbstractTest;
+import fr.inria.atlanmod.neoemf.config.BaseConfig;
+import fr.inria.atlanmod.neoemf.core.Id;
+import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
+import fr.inria.atlanmod.neoemf.data.im.DefaultInMemoryBackend;
+import fr.inria.atlanmod.neoemf.data.store.Store;
+import fr.inria.atlanmod.neoemf.data.store.StoreFactory;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.management.MBeanServer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+/**
+ * A test-case about {@link StoreStats} and the {@link StatsExporter}s.
+ */
+@ParametersAreNonnullByDefault
+class StatsExporterTest extends AbstractTest {
+
+    private static final SingleFeatureBean FEATURE0 = SingleFeatureBean.of(Id.getProvider().fromLong(0), 0);
+
+    @Test
+    void testExportersFollowTheStoreLifecycle() {
+        CountingExporter exporter = new CountingExporter();
+        StoreStats stats = new StoreStats().exportTo(exporter);
+
+        assertThat(exporter.starts.get()).isEqualTo(0);
+
+        Store store = StoreFactory.getInstance().createStore(new DefaultInMemoryBackend(), new BaseConfig<>().recordStats(stats));
+        assertThat(exporter.starts.get()).isEqualTo(1);
+        assertThat(exporter.stops.get()).isEqualTo(0);
+
+        store.close();
+        assertThat(exporter.starts.get()).isEqualTo(1);
+        assertThat(exporter.stops.get()).isEqualTo(1);
+    }
+
+    @Test
+    void testDetachWithoutAttach() {
+        Throwable thrown = catchThrowable(() -> new StoreStats().detach());
+        assertThat(thrown).isExactlyInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void testConcurrentRecording() throws Exception {
+        final int threads = 8;
+        final int times = 10_000;
+
+        StoreStats stats = new StoreStats();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int t = 0; t < threads; t++) {
+                executor.submit(() -> {
+                    for (int i = 0; i < times; i++) {
+                        stats.recordOperation(StoreOperation.VALUE_OF, i);
+                        stats.recordObjectRequest();
+                        stats.io().recordDeserialization(2, 1);
+                    }
+                });
+            }
+        }
+        finally {
+            executor.shutdown();
+            assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+        }
+
+        assertThat(stats.latencyOf(StoreOperation.VALUE_OF).count()).isEqualTo(threads * times);
+        assertThat(stats.methodInvocations()).containsEntry("valueOf", (long) threads * times);
+        assertThat(stats.objectHits()).isEqualTo(threads * times);
+        assertThat(stats.bytesRead()).isEqualTo(2L * threads * times);
+    }
+
+    @Test
+    void testCsvExport() throws Exception {
+        Path file = Files.createTempFile("neoemf-stats", ".csv");
+        Files.delete(file);
+
+        try {
+            StoreStats stats = new StoreStats().exportTo(new CsvStatsExporter(file, 1, TimeUnit.HOURS));
+
+            Store store = StoreFactory.getInstance().createStore(new DefaultInMemoryBackend(), new BaseConfig<>().recordStats(stats));
+            store.valueFor(FEATURE0, "value0");
+            store.valueOf(FEATURE0);
+            store.close();
+
+            List<String> lines = Files.readAllLines(file);
+            assertThat(lines.get(0)).isEqualTo(CsvStatsExporter.HEADER);
+            assertThat(lines.stream().skip(1).map(l -> l.split(",")[1])).contains("valueFor", "valueOf");
+            assertThat(lines.stream().skip(1)).allMatch(l -> l.split(",").length == 11);
+        }
+        finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void testLoggingFormat() {
+        StoreStats stats = new StoreStats();
+        stats.recordOperation(StoreOperation.VALUE_OF, TimeUnit.MICROSECONDS.toNanos(10));
+        stats.io().recordDeserialization(12, 1);
+        stats.io().recordSerialization(3, 1);
+        stats.io().recordRoundTrip();
+
+        assertThat(LoggingStatsExporter.toLine(stats))
+                .contains("bytes=12/3")
+                .contains("roundTrips=1")
+                .contains("valueOf=1/p99:");
+    }
+
+    @Test
+    void testJmxExport() throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        JmxStatsExporter exporter = new JmxStatsExporter("StatsExporterTest");
+
+        StoreStats stats = new StoreStats().exportTo(exporter);
+        stats.attach();
+        try {
+            assertThat(server.isRegistered(exporter.objectName())).isTrue();
+
+            stats.io().recordSerialization(42, 1);
+            assertThat(server.getAttribute(exporter.objectName(), "BytesWritten")).isEqualTo(42L);
+        }
+        finally {
+            stats.detach();
+        }
+
+        assertThat(server.isRegistered(exporter.objectName())).isFalse();
+    }
+
+    /**
+     * A {@link StatsExporter} that counts its starts and stops.
+     */
+    @ParametersAreNonnullByDefault
+    private static final class CountingExporter implements StatsExporter {
+
+        private final AtomicInteger starts = new AtomicInteger();
+
+        private final AtomicInteger stops = new AtomicInteger();
+
+        @Override
+        public void start(StoreStats stats) {
+            starts.incrementAndGet();
+        }
+
+        @Override
+        public void stop() {
+            stops.incrementAndGet();
+        }
+    }
+}
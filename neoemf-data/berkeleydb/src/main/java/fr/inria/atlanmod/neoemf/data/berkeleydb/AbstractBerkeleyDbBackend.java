@@ -21,28 +21,40 @@ import fr.inria.atlanmod.commons.io.serializer.BinarySerializer;
 import fr.inria.atlanmod.neoemf.core.Id;
 import fr.inria.atlanmod.neoemf.core.IdConverters;
 import fr.inria.atlanmod.neoemf.data.AbstractBackend;
+import fr.inria.atlanmod.neoemf.data.BulkLoader;
 import fr.inria.atlanmod.neoemf.data.DatabaseException;
 import fr.inria.atlanmod.neoemf.data.bean.ClassBean;
 import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
+import fr.inria.atlanmod.neoemf.data.bean.serializer.BeanKeys;
 import fr.inria.atlanmod.neoemf.data.bean.serializer.BeanSerializerFactory;
 import fr.inria.atlanmod.neoemf.data.mapping.AllReferenceAs;
 import fr.inria.atlanmod.neoemf.data.mapping.DataMapper;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Function;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 
 import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 
 /**
  * An abstract {@link BerkeleyDbBackend} that provides overall behavior for the management of a BerkeleyDB database.
  */
 @ParametersAreNonnullByDefault
-abstract class AbstractBerkeleyDbBackend extends AbstractBackend implements BerkeleyDbBackend, AllReferenceAs<Long> {
+abstract class AbstractBerkeleyDbBackend extends AbstractBackend implements BerkeleyDbBackend, AllReferenceAs<Long>, BulkLoader {
 
     /**
      * The {@link BeanSerializerFactory} to use for creating the {@link BinarySerializer} instances.
@@ -50,6 +62,12 @@ abstract class AbstractBerkeleyDbBackend extends AbstractBackend implements Berk
     @Nonnull
     protected static final BeanSerializerFactory SERIALIZER_FACTORY = BeanSerializerFactory.getInstance();
 
+    /**
+     * The name of the index of instances.
+     */
+    @Nonnull
+    private static final String INSTANCES_INDEX = "instances/index";
+
     /**
      * The BerkeleyDB environment.
      */
@@ -78,13 +96,22 @@ abstract class AbstractBerkeleyDbBackend extends AbstractBackend implements Berk
     @Nonnull
     private final Database features;
 
+    /**
+     * A persistent sorted map that indexes the {@link Id} of {@link fr.inria.atlanmod.neoemf.core.PersistentEObject}s
+     * by meta-class, or {@code null} if instances are not indexed. Each key is composed of the serialized meta-class,
+     * followed by the serialized identifier, so that all instances of a meta-class are stored contiguously.
+     */
+    @Nullable
+    private final Database instancesIndex;
+
     /**
      * Creates a new {@code AbstractBerkeleyDbBackend} with the configuration of the databases.
      *
      * @param environment    the database environment used to create and manage {@link com.sleepycat.je.Database}s
      * @param databaseConfig the configuration of the created {@link com.sleepycat.je.Database}s
+     * @param indexInstances {@code true} if the instances must be indexed by meta-class
      */
-    protected AbstractBerkeleyDbBackend(Environment environment, DatabaseConfig databaseConfig) {
+    protected AbstractBerkeleyDbBackend(Environment environment, DatabaseConfig databaseConfig, boolean indexInstances) {
         checkNotNull(environment, "environment");
         checkNotNull(databaseConfig, "databaseConfig");
 
@@ -93,6 +120,107 @@ abstract class AbstractBerkeleyDbBackend extends AbstractBackend implements Berk
         this.containers = environment.openDatabase(null, "containers", databaseConfig);
         this.instances = environment.openDatabase(null, "instances", databaseConfig);
         this.features = environment.openDatabase(null, "features/single", databaseConfig);
+
+        // The index cannot be created in a read-only environment
+        final boolean indexExists = environment.getDatabaseNames().contains(INSTANCES_INDEX);
+        if (indexInstances && (indexExists || !databaseConfig.getReadOnly())) {
+            this.instancesIndex = environment.openDatabase(null, INSTANCES_INDEX, databaseConfig);
+
+            if (!indexExists) {
+                rebuildInstancesIndex();
+            }
+        }
+        else {
+            this.instancesIndex = null;
+        }
+    }
+
+    /**
+     * Creates a new index key for the given {@code id} and {@code metaClass}.
+     *
+     * @param metaClass the meta-class of the instance
+     * @param id        the identifier of the instance
+     *
+     * @return a new key
+     *
+     * @throws IOException if an I/O error occurs during the serialization
+     */
+    @Nonnull
+    private static DatabaseEntry indexKey(ClassBean metaClass, Id id) throws IOException {
+        final byte[] prefix = SERIALIZER_FACTORY.forClass().serialize(metaClass);
+        final byte[] suffix = BeanKeys.of(id);
+
+        final byte[] key = Arrays.copyOf(prefix, prefix.length + suffix.length);
+        System.arraycopy(suffix, 0, key, prefix.length, suffix.length);
+        return new DatabaseEntry(key);
+    }
+
+    /**
+     * Checks that the {@code key} starts with the given {@code prefix}.
+     *
+     * @param key    the key to check
+     * @param prefix the expected prefix
+     *
+     * @return {@code true} if the {@code key} starts with the {@code prefix}
+     */
+    private static boolean startsWith(DatabaseEntry key, byte[] prefix) {
+        if (key.getSize() < prefix.length) {
+            return false;
+        }
+
+        final byte[] data = key.getData();
+        final int offset = key.getOffset();
+        for (int i = 0; i < prefix.length; i++) {
+            if (data[offset + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Compares two keys in the same order as the B-tree of a {@link Database}, i.e. as unsigned bytes.
+     *
+     * @param a the first key to compare
+     * @param b the second key to compare
+     *
+     * @return a negative integer, zero, or a positive integer as the first key is less than, equal to, or greater than
+     * the second
+     */
+    private static int compareKeys(byte[] a, byte[] b) {
+        final int length = Math.min(a.length, b.length);
+        for (int i = 0; i < length; i++) {
+            final int diff = (a[i] & 0xff) - (b[i] & 0xff);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return a.length - b.length;
+    }
+
+    /**
+     * Rebuilds the index of instances from the existing meta-classes, in a single pass.
+     */
+    private void rebuildInstancesIndex() {
+        if (isNull(instancesIndex)) {
+            return;
+        }
+
+        try (Cursor cursor = instances.openCursor(null, null)) {
+            DatabaseEntry dbKey = new DatabaseEntry();
+            DatabaseEntry dbValue = new DatabaseEntry();
+            DatabaseEntry emptyValue = new DatabaseEntry(new byte[0]);
+
+            while (cursor.getNext(dbKey, dbValue, LockMode.DEFAULT) == OperationStatus.SUCCESS) {
+                ClassBean metaClass = SERIALIZER_FACTORY.forClass().deserialize(dbValue.getData());
+                Id id = SERIALIZER_FACTORY.forId().deserialize(dbKey.getData());
+
+                instancesIndex.put(null, indexKey(metaClass, id), emptyValue);
+            }
+        }
+        catch (IOException e) {
+            throw new DatabaseException(e);
+        }
     }
 
     @Override
@@ -101,6 +229,10 @@ abstract class AbstractBerkeleyDbBackend extends AbstractBackend implements Berk
         instances.close();
         features.close();
 
+        if (nonNull(instancesIndex)) {
+            instancesIndex.close();
+        }
+
         environment.close();
     }
 
@@ -116,6 +248,8 @@ abstract class AbstractBerkeleyDbBackend extends AbstractBackend implements Berk
         copy(containers, to.containers);
         copy(instances, to.instances);
         copy(features, to.features);
+
+        to.rebuildInstancesIndex();
     }
 
     @Nonnull
@@ -123,7 +257,7 @@ abstract class AbstractBerkeleyDbBackend extends AbstractBackend implements Berk
     public Optional<SingleFeatureBean> containerOf(Id id) {
         checkNotNull(id, "id");
 
-        return get(containers, id, SERIALIZER_FACTORY.forId(), SERIALIZER_FACTORY.forSingleFeature());
+        return get(containers, BeanKeys.of(id), SERIALIZER_FACTORY.forSingleFeature());
     }
 
     @Override
@@ -131,14 +265,14 @@ abstract class AbstractBerkeleyDbBackend extends AbstractBackend implements Berk
         checkNotNull(id, "id");
         checkNotNull(container, "container");
 
-        put(containers, id, container, SERIALIZER_FACTORY.forId(), SERIALIZER_FACTORY.forSingleFeature());
+        put(containers, BeanKeys.of(id), container, SERIALIZER_FACTORY.forSingleFeature());
     }
 
     @Override
     public void removeContainer(Id id) {
         checkNotNull(id, "id");
 
-        delete(containers, id, SERIALIZER_FACTORY.forId());
+        delete(containers, BeanKeys.of(id));
     }
 
     @Nonnull
@@ -146,7 +280,7 @@ abstract class AbstractBerkeleyDbBackend extends AbstractBackend implements Berk
     public Optional<ClassBean> metaClassOf(Id id) {
         checkNotNull(id, "id");
 
-        return get(instances, id, SERIALIZER_FACTORY.forId(), SERIALIZER_FACTORY.forClass());
+        return get(instances, BeanKeys.of(id), SERIALIZER_FACTORY.forClass());
     }
 
     @Override
@@ -154,12 +288,27 @@ abstract class AbstractBerkeleyDbBackend extends AbstractBackend implements Berk
         checkNotNull(id, "id");
         checkNotNull(metaClass, "metaClass");
 
-        return putIfAbsent(instances, id, metaClass, SERIALIZER_FACTORY.forId(), SERIALIZER_FACTORY.forClass());
+        final boolean notDefined = putIfAbsent(instances, BeanKeys.of(id), metaClass, SERIALIZER_FACTORY.forClass());
+
+        if (notDefined && nonNull(instancesIndex)) {
+            try {
+                instancesIndex.put(null, indexKey(metaClass, id), new DatabaseEntry(new byte[0]));
+            }
+            catch (IOException e) {
+                throw new DatabaseException(e);
+            }
+        }
+
+        return notDefined;
     }
 
     @Nonnull
     @Override
     public Iterable<Id> allInstancesOf(Set<ClassBean> metaClasses) {
+        if (nonNull(instancesIndex)) {
+            return allInstancesFromIndex(metaClasses);
+        }
+
         try (Cursor cursor = instances.openCursor(null, null)) {
             DatabaseEntry dbKey = new DatabaseEntry();
             DatabaseEntry dbValue = new DatabaseEntry();
@@ -167,8 +316,50 @@ abstract class AbstractBerkeleyDbBackend extends AbstractBackend implements Berk
             Set<Id> instancesOf = new HashSet<>();
 
             while (cursor.getNext(dbKey, dbValue, LockMode.DEFAULT) == OperationStatus.SUCCESS) {
-                if (metaClasses.contains(SERIALIZER_FACTORY.forClass().deserialize(dbValue.getData()))) {
-                    instancesOf.add(SERIALIZER_FACTORY.forId().deserialize(dbKey.getData()));
+                recordRoundTrip();
+                if (metaClasses.contains(deserialize(SERIALIZER_FACTORY.forClass(), dbValue.getData()))) {
+                    instancesOf.add(deserialize(SERIALIZER_FACTORY.forId(), dbKey.getData()));
+                }
+            }
+
+            return instancesOf;
+        }
+        catch (IOException e) {
+            throw new DatabaseException(e);
+        }
+    }
+
+    /**
+     * Retrieves all instances of the given {@code metaClasses} from the index of instances, by scanning the range of
+     * keys of each meta-class.
+     *
+     * @param metaClasses the meta-classes to look for
+     *
+     * @return a set of identifiers
+     */
+    @Nonnull
+    private Iterable<Id> allInstancesFromIndex(Set<ClassBean> metaClasses) {
+        checkNotNull(instancesIndex, "instancesIndex");
+
+        try (Cursor cursor = instancesIndex.openCursor(null, null)) {
+            DatabaseEntry dbValue = new DatabaseEntry();
+            dbValue.setPartial(0, 0, true);
+
+            Set<Id> instancesOf = new HashSet<>();
+
+            for (ClassBean metaClass : metaClasses) {
+                final byte[] prefix = SERIALIZER_FACTORY.forClass().serialize(metaClass);
+                DatabaseEntry dbKey = new DatabaseEntry(prefix);
+
+                recordRoundTrip();
+                OperationStatus status = cursor.getSearchKeyRange(dbKey, dbValue, LockMode.DEFAULT);
+                while (status == OperationStatus.SUCCESS && startsWith(dbKey, prefix)) {
+                    final int offset = dbKey.getOffset() + prefix.length;
+                    final byte[] id = Arrays.copyOfRange(dbKey.getData(), offset, dbKey.getOffset() + dbKey.getSize());
+                    instancesOf.add(deserialize(SERIALIZER_FACTORY.forId(), id));
+
+                    recordRoundTrip();
+                    status = cursor.getNext(dbKey, dbValue, LockMode.DEFAULT);
                 }
             }
 
@@ -184,7 +375,7 @@ abstract class AbstractBerkeleyDbBackend extends AbstractBackend implements Berk
     public <V> Optional<V> valueOf(SingleFeatureBean feature) {
         checkNotNull(feature, "feature");
 
-        return get(features, feature, SERIALIZER_FACTORY.forSingleFeature(), SERIALIZER_FACTORY.forAny());
+        return get(features, BeanKeys.of(feature), SERIALIZER_FACTORY.forAny());
     }
 
     @Nonnull
@@ -194,7 +385,7 @@ abstract class AbstractBerkeleyDbBackend extends AbstractBackend implements Berk
         checkNotNull(value, "value");
 
         Optional<V> previousValue = valueOf(feature);
-        put(features, feature, value, SERIALIZER_FACTORY.forSingleFeature(), SERIALIZER_FACTORY.forAny());
+        put(features, BeanKeys.of(feature), value, SERIALIZER_FACTORY.forAny());
         return previousValue;
     }
 
@@ -202,7 +393,72 @@ abstract class AbstractBerkeleyDbBackend extends AbstractBackend implements Berk
     public void removeValue(SingleFeatureBean feature) {
         checkNotNull(feature, "feature");
 
-        delete(features, feature, SERIALIZER_FACTORY.forSingleFeature());
+        delete(features, BeanKeys.of(feature));
+    }
+
+    @Override
+    public void loadMetaClasses(SortedMap<Id, ClassBean> metaClasses) {
+        checkNotNull(metaClasses, "metaClasses");
+
+        putAll(instances, metaClasses, BeanKeys::of, SERIALIZER_FACTORY.forClass());
+
+        if (nonNull(instancesIndex)) {
+            try {
+                List<byte[]> indexKeys = new ArrayList<>(metaClasses.size());
+                for (Map.Entry<Id, ClassBean> e : metaClasses.entrySet()) {
+                    indexKeys.add(indexKey(e.getValue(), e.getKey()).getData());
+                }
+                indexKeys.sort(AbstractBerkeleyDbBackend::compareKeys);
+
+                DatabaseEntry emptyValue = new DatabaseEntry(new byte[0]);
+                for (byte[] key : indexKeys) {
+                    instancesIndex.put(null, new DatabaseEntry(key), emptyValue);
+                }
+            }
+            catch (IOException e) {
+                throw new DatabaseException(e);
+            }
+        }
+    }
+
+    @Override
+    public void loadContainers(SortedMap<Id, SingleFeatureBean> containers) {
+        checkNotNull(containers, "containers");
+
+        putAll(this.containers, containers, BeanKeys::of, SERIALIZER_FACTORY.forSingleFeature());
+    }
+
+    @Override
+    public void loadValues(SortedMap<SingleFeatureBean, Object> values) {
+        checkNotNull(values, "values");
+
+        putAll(features, values, BeanKeys::of, SERIALIZER_FACTORY.forAny());
+    }
+
+    @Override
+    public void loadAllValues(SortedMap<SingleFeatureBean, List<Object>> values) {
+        checkNotNull(values, "values");
+
+        values.forEach(this::allValuesFor);
+    }
+
+    @Override
+    public void loadReferences(SortedMap<SingleFeatureBean, Id> references) {
+        checkNotNull(references, "references");
+
+        Converter<Id, Long> converter = referenceConverter();
+
+        SortedMap<SingleFeatureBean, Long> values = new TreeMap<>();
+        references.forEach((f, r) -> values.put(f, converter.convert(r)));
+
+        putAll(features, values, BeanKeys::of, SERIALIZER_FACTORY.forAny());
+    }
+
+    @Override
+    public void loadAllReferences(SortedMap<SingleFeatureBean, List<Id>> references) {
+        checkNotNull(references, "references");
+
+        references.forEach(this::allReferencesFor);
     }
 
     @Nonnull
@@ -215,25 +471,24 @@ abstract class AbstractBerkeleyDbBackend extends AbstractBackend implements Berk
      * Retrieves the value of the {@code key} from the {@code database}.
      *
      * @param database        the database where to looking for
-     * @param key             the key of the element to retrieve
-     * @param keySerializer   the serializer to serialize the {@code key}
+     * @param key             the serialized key of the element to retrieve
      * @param valueSerializer the serializer to deserialize the read value
-     * @param <K>             the type of the key
      * @param <V>             the type of the value
      *
      * @return on {@link Optional} containing the element, or an empty {@link Optional} if the element has not been
      * found
      */
     @Nonnull
-    protected <K, V> Optional<V> get(Database database, K key, BinarySerializer<K> keySerializer, BinarySerializer<V> valueSerializer) {
+    protected <V> Optional<V> get(Database database, byte[] key, BinarySerializer<V> valueSerializer) {
         try {
-            DatabaseEntry dbKey = new DatabaseEntry(keySerializer.serialize(key));
+            DatabaseEntry dbKey = new DatabaseEntry(key);
             DatabaseEntry dbValue = new DatabaseEntry();
 
             Optional<V> value = Optional.empty();
 
+            recordRoundTrip();
             if (database.get(null, dbKey, dbValue, LockMode.DEFAULT) == OperationStatus.SUCCESS) {
-                value = Optional.of(valueSerializer.deserialize(dbValue.getData()));
+                value = Optional.of(deserialize(valueSerializer, dbValue.getData()));
             }
 
             return value;
@@ -247,18 +502,17 @@ abstract class AbstractBerkeleyDbBackend extends AbstractBackend implements Berk
      * Saves a {@code value} identified by the {@code key} in the {@code database}.
      *
      * @param database        the database where to save the value
-     * @param key             the key of the element to save
+     * @param key             the serialized key of the element to save
      * @param value           the value to save
-     * @param keySerializer   the serializer to serialize the {@code key}
      * @param valueSerializer the serializer to serialize the {@code value}
-     * @param <K>             the type of the key
      * @param <V>             the type of the value
      */
-    protected <K, V> void put(Database database, K key, V value, BinarySerializer<K> keySerializer, BinarySerializer<V> valueSerializer) {
+    protected <V> void put(Database database, byte[] key, V value, BinarySerializer<V> valueSerializer) {
         try {
-            DatabaseEntry dbKey = new DatabaseEntry(keySerializer.serialize(key));
-            DatabaseEntry dbValue = new DatabaseEntry(valueSerializer.serialize(value));
+            DatabaseEntry dbKey = new DatabaseEntry(key);
+            DatabaseEntry dbValue = new DatabaseEntry(serialize(valueSerializer, value));
 
+            recordRoundTrip();
             database.put(null, dbKey, dbValue);
         }
         catch (IOException e) {
@@ -270,20 +524,19 @@ abstract class AbstractBerkeleyDbBackend extends AbstractBackend implements Berk
      * Saves a {@code value} identified by the {@code key} in the database, only if the {@code key} is not defined.
      *
      * @param database        the database where to save the value
-     * @param key             the key of the element to save
+     * @param key             the serialized key of the element to save
      * @param value           the value to save
-     * @param keySerializer   the serializer to serialize the {@code key}
      * @param valueSerializer the serializer to serialize the {@code value}
-     * @param <K>             the type of the key
      * @param <V>             the type of the value
      *
      * @return {@code true} if the {@code value} has been saved
      */
-    protected <K, V> boolean putIfAbsent(Database database, K key, V value, BinarySerializer<K> keySerializer, BinarySerializer<V> valueSerializer) {
+    protected <V> boolean putIfAbsent(Database database, byte[] key, V value, BinarySerializer<V> valueSerializer) {
         try {
-            DatabaseEntry dbKey = new DatabaseEntry(keySerializer.serialize(key));
-            DatabaseEntry dbValue = new DatabaseEntry(valueSerializer.serialize(value));
+            DatabaseEntry dbKey = new DatabaseEntry(key);
+            DatabaseEntry dbValue = new DatabaseEntry(serialize(valueSerializer, value));
 
+            recordRoundTrip();
             return database.putNoOverwrite(null, dbKey, dbValue) != OperationStatus.KEYEXIST;
         }
         catch (IOException e) {
@@ -292,24 +545,48 @@ abstract class AbstractBerkeleyDbBackend extends AbstractBackend implements Berk
     }
 
     /**
-     * Removes a value from the {@code database} according to its {@code key}.
+     * Saves all the {@code entries} in the {@code database}, without reading the previous values.
+     * <p>
+     * The entries are serialized first, and then inserted in the order of their serialized key: the B-tree is filled
+     * sequentially, and each node is modified by consecutive insertions only.
      *
-     * @param database      the database where to remove the value
-     * @param key           the key of the element to remove
-     * @param keySerializer the serializer to serialize the {@code key}
-     * @param <K>           the type of the key
+     * @param database        the database where to save the values
+     * @param entries         the entries to save
+     * @param keySerializer   the function to serialize the keys
+     * @param valueSerializer the serializer to serialize the values
+     * @param <K>             the type of the keys
+     * @param <V>             the type of the values
      */
-    protected <K> void delete(Database database, K key, BinarySerializer<K> keySerializer) {
+    protected <K, V> void putAll(Database database, Map<K, ? extends V> entries, Function<K, byte[]> keySerializer, BinarySerializer<V> valueSerializer) {
         try {
-            DatabaseEntry dbKey = new DatabaseEntry(keySerializer.serialize(key));
+            SortedMap<byte[], byte[]> serializedEntries = new TreeMap<>(AbstractBerkeleyDbBackend::compareKeys);
+            for (Map.Entry<K, ? extends V> e : entries.entrySet()) {
+                serializedEntries.put(keySerializer.apply(e.getKey()), serialize(valueSerializer, e.getValue()));
+            }
 
-            database.delete(null, dbKey);
+            for (Map.Entry<byte[], byte[]> e : serializedEntries.entrySet()) {
+                recordRoundTrip();
+                database.put(null, new DatabaseEntry(e.getKey()), new DatabaseEntry(e.getValue()));
+            }
         }
         catch (IOException e) {
             throw new DatabaseException(e);
         }
     }
 
+    /**
+     * Removes a value from the {@code database} according to its {@code key}.
+     *
+     * @param database the database where to remove the value
+     * @param key      the serialized key of the element to remove
+     */
+    protected void delete(Database database, byte[] key) {
+        DatabaseEntry dbKey = new DatabaseEntry(key);
+
+        recordRoundTrip();
+        database.delete(null, dbKey);
+    }
+
     /**
      * Utility method to copy the contents from one database to another.
      *
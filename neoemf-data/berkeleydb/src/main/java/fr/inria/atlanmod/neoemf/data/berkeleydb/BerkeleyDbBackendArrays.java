@@ -28,10 +28,11 @@ class BerkeleyDbBackendArrays extends AbstractBerkeleyDbBackend implements ManyV
      *
      * @param environment    the database environment
      * @param databaseConfig the database configuration
+     * @param indexInstances {@code true} if the instances must be indexed by meta-class
      *
      * @see BerkeleyDbBackendFactory
      */
-    protected BerkeleyDbBackendArrays(Environment environment, DatabaseConfig databaseConfig) {
-        super(environment, databaseConfig);
+    protected BerkeleyDbBackendArrays(Environment environment, DatabaseConfig databaseConfig, boolean indexInstances) {
+        super(environment, databaseConfig, indexInstances);
     }
 }
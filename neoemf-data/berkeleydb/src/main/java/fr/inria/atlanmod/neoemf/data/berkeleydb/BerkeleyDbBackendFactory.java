@@ -60,6 +60,6 @@ public class BerkeleyDbBackendFactory extends AbstractBackendFactory<BerkeleyDbC
 
         Environment environment = new Environment(directory.toFile(), environmentConfig);
 
-        return createMapper(config.getMapping(), environment, databaseConfig);
+        return createMapper(config.getMapping(), environment, databaseConfig, config.isIndexingInstances());
     }
 }
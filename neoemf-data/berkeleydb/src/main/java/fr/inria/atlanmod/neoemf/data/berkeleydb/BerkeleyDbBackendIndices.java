@@ -13,6 +13,7 @@ import com.sleepycat.je.DatabaseConfig;
 import com.sleepycat.je.Environment;
 
 import fr.inria.atlanmod.neoemf.data.bean.ManyFeatureBean;
+import fr.inria.atlanmod.neoemf.data.bean.serializer.BeanKeys;
 import fr.inria.atlanmod.neoemf.data.mapping.DataMapper;
 import fr.inria.atlanmod.neoemf.data.mapping.ManyValueWithIndices;
 
@@ -45,11 +46,12 @@ class BerkeleyDbBackendIndices extends AbstractBerkeleyDbBackend implements Many
      *
      * @param environment    the database environment
      * @param databaseConfig the database configuration
+     * @param indexInstances {@code true} if the instances must be indexed by meta-class
      *
      * @see BerkeleyDbBackendFactory
      */
-    protected BerkeleyDbBackendIndices(Environment environment, DatabaseConfig databaseConfig) {
-        super(environment, databaseConfig);
+    protected BerkeleyDbBackendIndices(Environment environment, DatabaseConfig databaseConfig, boolean indexInstances) {
+        super(environment, databaseConfig, indexInstances);
 
         this.manyFeatures = environment.openDatabase(null, "features/many", databaseConfig);
     }
@@ -73,7 +75,7 @@ class BerkeleyDbBackendIndices extends AbstractBerkeleyDbBackend implements Many
     public <V> Optional<V> valueOf(ManyFeatureBean feature) {
         checkNotNull(feature, "feature");
 
-        return get(manyFeatures, feature, SERIALIZER_FACTORY.forManyFeature(), SERIALIZER_FACTORY.forAny());
+        return get(manyFeatures, BeanKeys.of(feature), SERIALIZER_FACTORY.forAny());
     }
 
     @Override
@@ -81,10 +83,10 @@ class BerkeleyDbBackendIndices extends AbstractBerkeleyDbBackend implements Many
         checkNotNull(feature, "feature");
 
         if (nonNull(value)) {
-            put(manyFeatures, feature, value, SERIALIZER_FACTORY.forManyFeature(), SERIALIZER_FACTORY.forAny());
+            put(manyFeatures, BeanKeys.of(feature), value, SERIALIZER_FACTORY.forAny());
         }
         else {
-            delete(manyFeatures, feature, SERIALIZER_FACTORY.forManyFeature());
+            delete(manyFeatures, BeanKeys.of(feature));
         }
     }
 }
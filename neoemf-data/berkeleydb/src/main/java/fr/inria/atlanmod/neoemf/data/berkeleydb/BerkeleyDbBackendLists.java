@@ -28,10 +28,11 @@ class BerkeleyDbBackendLists extends AbstractBerkeleyDbBackend implements ManyVa
      *
      * @param environment    the database environment
      * @param databaseConfig the database configuration
+     * @param indexInstances {@code true} if the instances must be indexed by meta-class
      *
      * @see BerkeleyDbBackendFactory
      */
-    protected BerkeleyDbBackendLists(Environment environment, DatabaseConfig databaseConfig) {
-        super(environment, databaseConfig);
+    protected BerkeleyDbBackendLists(Environment environment, DatabaseConfig databaseConfig, boolean indexInstances) {
+        super(environment, databaseConfig, indexInstances);
     }
 }
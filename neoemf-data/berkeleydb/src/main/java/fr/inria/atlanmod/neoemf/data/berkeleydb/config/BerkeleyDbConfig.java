@@ -38,6 +38,7 @@ public class BerkeleyDbConfig extends BaseConfig<BerkeleyDbConfig> {
      * @see #withIndices()
      * @see #withLists()
      * @see #withArrays()
+     * @see #withChunks()
      */
     public BerkeleyDbConfig() {
         // Don't set a default mapping for a multi-mapping configuration.
@@ -90,5 +91,20 @@ public class BerkeleyDbConfig extends BaseConfig<BerkeleyDbConfig> {
         return setMappingWithCheck("fr.inria.atlanmod.neoemf.data.berkeleydb.BerkeleyDbBackendLists", false);
     }
 
+    /**
+     * Defines the mapping to use for the created {@link fr.inria.atlanmod.neoemf.data.berkeleydb.BerkeleyDbBackend}.
+     * <p>
+     * This mapping corresponds to a representation of multi-valued features as a sequence of fixed-size chunks, with a
+     * directory of chunks. It is intended for large multi-valued features that are frequently modified.
+     *
+     * @return this configuration (for chaining)
+     *
+     * @see fr.inria.atlanmod.neoemf.data.mapping.ManyValueWithChunks
+     */
+    @Nonnull
+    public BerkeleyDbConfig withChunks() {
+        return setMappingWithCheck("fr.inria.atlanmod.neoemf.data.berkeleydb.BerkeleyDbBackendChunks", false);
+    }
+
     // endregion
 }
@@ -38,7 +38,8 @@ class BerkeleyDbBackendFactoryTest extends AbstractBackendFactoryTest {
         return Stream.of(
                 Arguments.of(new BerkeleyDbConfig().withIndices(), BerkeleyDbBackendIndices.class),
                 Arguments.of(new BerkeleyDbConfig().withArrays(), BerkeleyDbBackendArrays.class),
-                Arguments.of(new BerkeleyDbConfig().withLists(), BerkeleyDbBackendLists.class)
+                Arguments.of(new BerkeleyDbConfig().withLists(), BerkeleyDbBackendLists.class),
+                Arguments.of(new BerkeleyDbConfig().withChunks(), BerkeleyDbBackendChunks.class)
         );
     }
 }
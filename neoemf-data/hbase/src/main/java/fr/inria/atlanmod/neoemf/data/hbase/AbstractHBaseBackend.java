@@ -8,6 +8,7 @@
 
 package fr.inria.atlanmod.neoemf.data.hbase;
 
+import fr.inria.atlanmod.commons.collect.MoreStreams;
 import fr.inria.atlanmod.commons.function.Converter;
 import fr.inria.atlanmod.commons.io.serializer.BinarySerializer;
 import fr.inria.atlanmod.commons.primitive.Bytes;
@@ -20,28 +21,51 @@ import fr.inria.atlanmod.neoemf.data.DatabaseException;
 import fr.inria.atlanmod.neoemf.data.bean.ClassBean;
 import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
 import fr.inria.atlanmod.neoemf.data.bean.serializer.BeanSerializerFactory;
+import fr.inria.atlanmod.neoemf.data.mapping.ManyReferenceMergedAs;
+import fr.inria.atlanmod.neoemf.data.mapping.ManyValueWithArrays;
+import fr.inria.atlanmod.neoemf.data.mapping.ReferenceAs;
+import fr.inria.atlanmod.neoemf.data.store.CachePolicy;
+import fr.inria.atlanmod.neoemf.data.store.StoreCache;
 
+import org.apache.hadoop.hbase.client.BufferedMutator;
 import org.apache.hadoop.hbase.client.Delete;
 import org.apache.hadoop.hbase.client.Get;
+import org.apache.hadoop.hbase.client.Mutation;
 import org.apache.hadoop.hbase.client.Put;
 import org.apache.hadoop.hbase.client.Result;
 import org.apache.hadoop.hbase.client.Table;
 
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 
 import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
 import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 
 /**
  * An abstract {@link HBaseBackend} that provides overall behavior for the management of a HBase database.
+ * <p>
+ * Attributes are stored with a {@link ManyValueWithArrays} mapping, and references with {@link ReferenceAs}/{@link
+ * ManyReferenceMergedAs} mappings: the representation of merged references is defined by each implementation.
+ *
+ * @param <M> the type of merged references
  */
 @ParametersAreNonnullByDefault
-abstract class AbstractHBaseBackend extends AbstractBackend implements HBaseBackend {
+abstract class AbstractHBaseBackend<M> extends AbstractBackend implements HBaseBackend, ReferenceAs<String>, ManyValueWithArrays, ManyReferenceMergedAs<M> {
 
     /**
      * The column family holding properties.
@@ -90,14 +114,58 @@ abstract class AbstractHBaseBackend extends AbstractBackend implements HBaseBack
     @Nonnull
     private static final Converter<Id, byte[]> AS_BYTES = Converter.compose(IdConverters.withHexString(), Converter.from(Strings::toBytes, Bytes::toString));
 
+    /**
+     * The maximum number of objects kept in the {@link #records cache}.
+     */
+    private static final int MAX_CACHED_RECORDS = 10_000;
+
+    /**
+     * The maximum number of objects loaded by a single {@link #prefetch(Iterable) prefetch}.
+     */
+    private static final int MAX_PREFETCHED_RECORDS = 256;
+
     /**
      * The HBase table used to access the model.
      */
     @Nonnull
     protected final Table table;
 
+    /**
+     * The mutator used to group the modifications, or {@code null} if every modification is sent individually.
+     */
+    @Nullable
+    private final BufferedMutator mutator;
+
+    /**
+     * A cache of the decoded rows, identified by the {@link Id} of their object.
+     * <p>
+     * A row is fully loaded on the first access to its object, and its record is updated by each modification of the
+     * same object. If the modifications are sent individually, the least recently used records are evicted. Otherwise,
+     * the records ensure that the modifications pending in the {@link #mutator} are visible for subsequent reads: they
+     * are never evicted, and are only cleared after the {@link #mutator} has been flushed.
+     * <p>
+     * The records are not notified of the modifications made by other clients of the table: they are all dropped on
+     * {@link #save()}.
+     */
+    @Nonnull
+    private final StoreCache<Id, ObjectRecord> records;
+
+    /**
+     * The number of records loaded since the last flush, if the modifications are batched.
+     */
+    @Nonnull
+    private final AtomicInteger loadedRecords = new AtomicInteger();
+
+    /**
+     * Whether a modification has been done on an object that is not in the {@link #records cache} since the last
+     * flush.
+     */
+    private volatile boolean hasUncachedModifications;
+
     /**
      * Constructs a new {@code AbstractHBaseBackend} on the given {@code table}.
+     * <p>
+     * Every modification is sent individually to the {@code table}.
      *
      * @param table the HBase table
      */
@@ -105,16 +173,46 @@ abstract class AbstractHBaseBackend extends AbstractBackend implements HBaseBack
         checkNotNull(table, "table");
 
         this.table = table;
+        this.mutator = null;
+        this.records = new StoreCache<>(CachePolicy.defaultPolicy()
+                .withMaximumSize(MAX_CACHED_RECORDS)
+                .withSoftValues(false));
+    }
+
+    /**
+     * Constructs a new {@code AbstractHBaseBackend} on the given {@code table}, grouping all modifications with the
+     * given {@code mutator}.
+     *
+     * @param table   the HBase table
+     * @param mutator the mutator on the same table, used to group the modifications
+     */
+    protected AbstractHBaseBackend(Table table, BufferedMutator mutator) {
+        checkNotNull(table, "table");
+        checkNotNull(mutator, "mutator");
+
+        this.table = table;
+        this.mutator = mutator;
+        this.records = new StoreCache<>(CachePolicy.defaultPolicy()
+                .withSoftValues(false));
     }
 
     @Override
     protected void internalClose() throws IOException {
+        if (nonNull(mutator)) {
+            mutator.close();
+        }
+
+        records.invalidateAll();
+        records.cleanUp();
         table.close();
     }
 
     @Override
-    public void internalSave() {
-        // TODO Implement this method
+    public void internalSave() throws IOException {
+        flush();
+
+        // Drop the records, so that the modifications made by other clients become visible
+        clearRecords();
     }
 
     @Nonnull
@@ -122,26 +220,7 @@ abstract class AbstractHBaseBackend extends AbstractBackend implements HBaseBack
     public Optional<SingleFeatureBean> containerOf(Id id) {
         checkNotNull(id, "id");
 
-        try {
-            Get get = new Get(AS_BYTES.convert(id));
-            Result result = table.get(get);
-
-            if (result.isEmpty()) {
-                return Optional.empty();
-            }
-
-            byte[] byteId = result.getValue(FAMILY_CONTAINMENT, QUALIFIER_CONTAINER);
-            byte[] byteName = result.getValue(FAMILY_CONTAINMENT, QUALIFIER_CONTAINING_FEATURE);
-
-            if (isNull(byteId) || isNull(byteName)) {
-                return Optional.empty();
-            }
-
-            return Optional.of(SingleFeatureBean.of(AS_BYTES.revert(byteId), Bytes.toInt(byteName)));
-        }
-        catch (IOException e) {
-            throw new DatabaseException(e);
-        }
+        return Optional.ofNullable(record(id).container);
     }
 
     @Override
@@ -149,32 +228,22 @@ abstract class AbstractHBaseBackend extends AbstractBackend implements HBaseBack
         checkNotNull(id, "id");
         checkNotNull(container, "container");
 
-        try {
-            Put put = new Put(AS_BYTES.convert(id))
-                    .addColumn(FAMILY_CONTAINMENT, QUALIFIER_CONTAINER, AS_BYTES.convert(container.owner()))
-                    .addColumn(FAMILY_CONTAINMENT, QUALIFIER_CONTAINING_FEATURE, Ints.toBytes(container.id()));
+        Put put = new Put(AS_BYTES.convert(id))
+                .addColumn(FAMILY_CONTAINMENT, QUALIFIER_CONTAINER, AS_BYTES.convert(container.owner()))
+                .addColumn(FAMILY_CONTAINMENT, QUALIFIER_CONTAINING_FEATURE, Ints.toBytes(container.id()));
 
-            table.put(put);
-        }
-        catch (IOException e) {
-            throw new DatabaseException(e);
-        }
+        mutate(id, put, r -> r.container = container);
     }
 
     @Override
     public void removeContainer(Id id) {
         checkNotNull(id, "id");
 
-        try {
-            Delete delete = new Delete(AS_BYTES.convert(id))
-                    .addColumns(FAMILY_CONTAINMENT, QUALIFIER_CONTAINER)
-                    .addColumns(FAMILY_CONTAINMENT, QUALIFIER_CONTAINING_FEATURE);
+        Delete delete = new Delete(AS_BYTES.convert(id))
+                .addColumns(FAMILY_CONTAINMENT, QUALIFIER_CONTAINER)
+                .addColumns(FAMILY_CONTAINMENT, QUALIFIER_CONTAINING_FEATURE);
 
-            table.delete(delete);
-        }
-        catch (IOException e) {
-            throw new DatabaseException(e);
-        }
+        mutate(id, delete, r -> r.container = null);
     }
 
     @Nonnull
@@ -182,26 +251,7 @@ abstract class AbstractHBaseBackend extends AbstractBackend implements HBaseBack
     public Optional<ClassBean> metaClassOf(Id id) {
         checkNotNull(id, "id");
 
-        try {
-            Get get = new Get(AS_BYTES.convert(id));
-            Result result = table.get(get);
-
-            if (result.isEmpty()) {
-                return Optional.empty();
-            }
-
-            byte[] byteName = result.getValue(FAMILY_TYPE, QUALIFIER_CLASS_NAME);
-            byte[] byteUri = result.getValue(FAMILY_TYPE, QUALIFIER_CLASS_URI);
-
-            if (isNull(byteName) || isNull(byteUri)) {
-                return Optional.empty();
-            }
-
-            return Optional.of(ClassBean.of(Bytes.toString(byteName), Bytes.toString(byteUri)));
-        }
-        catch (IOException e) {
-            throw new DatabaseException(e);
-        }
+        return Optional.ofNullable(record(id).metaClass);
     }
 
     @Override
@@ -209,24 +259,16 @@ abstract class AbstractHBaseBackend extends AbstractBackend implements HBaseBack
         checkNotNull(id, "id");
         checkNotNull(metaClass, "metaClass");
 
-        try {
-            byte[] row = AS_BYTES.convert(id);
-
-            Get get = new Get(row).addColumn(FAMILY_TYPE, QUALIFIER_CLASS_NAME);
-            if (table.exists(get)) {
-                return false;
-            }
+        if (nonNull(record(id).metaClass)) {
+            return false;
+        }
 
-            Put put = new Put(row)
-                    .addColumn(FAMILY_TYPE, QUALIFIER_CLASS_NAME, Strings.toBytes(metaClass.name()))
-                    .addColumn(FAMILY_TYPE, QUALIFIER_CLASS_URI, Strings.toBytes(metaClass.uri()));
+        Put put = new Put(AS_BYTES.convert(id))
+                .addColumn(FAMILY_TYPE, QUALIFIER_CLASS_NAME, Strings.toBytes(metaClass.name()))
+                .addColumn(FAMILY_TYPE, QUALIFIER_CLASS_URI, Strings.toBytes(metaClass.uri()));
 
-            table.put(put);
-            return true;
-        }
-        catch (IOException e) {
-            throw new DatabaseException(e);
-        }
+        mutate(id, put, r -> r.metaClass = metaClass);
+        return true;
     }
 
     @Nonnull
@@ -240,21 +282,14 @@ abstract class AbstractHBaseBackend extends AbstractBackend implements HBaseBack
     public <V> Optional<V> valueOf(SingleFeatureBean feature) {
         checkNotNull(feature, "feature");
 
-        try {
-            Get get = new Get(AS_BYTES.convert(feature.owner()));
-            Result result = table.get(get);
-
-            if (result.isEmpty()) {
-                return Optional.empty();
-            }
-
-            byte[] byteValue = result.getValue(FAMILY_PROPERTY, Ints.toBytes(feature.id()));
+        byte[] byteValue = record(feature.owner()).properties.get(feature.id());
 
-            if (isNull(byteValue)) {
-                return Optional.empty();
-            }
+        if (isNull(byteValue)) {
+            return Optional.empty();
+        }
 
-            return Optional.of(SERIALIZER_FACTORY.<V>forAny().deserialize(byteValue));
+        try {
+            return Optional.of(deserialize(SERIALIZER_FACTORY.<V>forAny(), byteValue));
         }
         catch (IOException e) {
             throw new DatabaseException(e);
@@ -269,16 +304,19 @@ abstract class AbstractHBaseBackend extends AbstractBackend implements HBaseBack
 
         Optional<V> previousValue = valueOf(feature);
 
+        byte[] byteValue;
         try {
-            Put put = new Put(AS_BYTES.convert(feature.owner()))
-                    .addColumn(FAMILY_PROPERTY, Ints.toBytes(feature.id()), SERIALIZER_FACTORY.<V>forAny().serialize(value));
-
-            table.put(put);
+            byteValue = serialize(SERIALIZER_FACTORY.<V>forAny(), value);
         }
         catch (IOException e) {
             throw new DatabaseException(e);
         }
 
+        Put put = new Put(AS_BYTES.convert(feature.owner()))
+                .addColumn(FAMILY_PROPERTY, Ints.toBytes(feature.id()), byteValue);
+
+        mutate(feature.owner(), put, r -> r.properties.put(feature.id(), byteValue));
+
         return previousValue;
     }
 
@@ -286,14 +324,263 @@ abstract class AbstractHBaseBackend extends AbstractBackend implements HBaseBack
     public void removeValue(SingleFeatureBean feature) {
         checkNotNull(feature, "feature");
 
+        Delete delete = new Delete(AS_BYTES.convert(feature.owner()))
+                .addColumns(FAMILY_PROPERTY, Ints.toBytes(feature.id()));
+
+        mutate(feature.owner(), delete, r -> r.properties.remove(feature.id()));
+    }
+
+    @Nonnull
+    @Override
+    public Stream<Id> allReferencesOf(SingleFeatureBean feature) {
+        List<Id> references = ManyReferenceMergedAs.super.allReferencesOf(feature).collect(Collectors.toList());
+
+        // Referenced objects are likely to be accessed right after: load the rows of the first ones at once
+        prefetch(references);
+
+        return references.stream();
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Integer> indexOfReference(SingleFeatureBean feature, Id reference) {
+        checkNotNull(feature, "feature");
+        checkNotNull(reference, "reference");
+
+        // Looking for a reference does not navigate the referenced objects: do not prefetch them
+        return MoreStreams.indexOf(ManyReferenceMergedAs.super.allReferencesOf(feature), reference);
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Integer> lastIndexOfReference(SingleFeatureBean feature, Id reference) {
+        checkNotNull(feature, "feature");
+        checkNotNull(reference, "reference");
+
+        return MoreStreams.lastIndexOf(ManyReferenceMergedAs.super.allReferencesOf(feature), reference);
+    }
+
+    @Nonnull
+    @Override
+    public Converter<Id, String> referenceConverter() {
+        return IdConverters.withHexString();
+    }
+
+    /**
+     * Loads the rows of the given {@code ids} with a single request, and keeps them in the cache. At most {@link
+     * #MAX_PREFETCHED_RECORDS} rows are loaded, so that a large feature does not fill the cache at once.
+     *
+     * @param ids the identifiers of the objects to load
+     *
+     * @throws DatabaseException if an I/O error occurs when loading the rows
+     */
+    private void prefetch(Iterable<Id> ids) {
+        List<Id> missingIds = StreamSupport.stream(ids.spliterator(), false)
+                .filter(Objects::nonNull)
+                .filter(i -> !records.contains(i))
+                .distinct()
+                .limit(MAX_PREFETCHED_RECORDS)
+                .collect(Collectors.toList());
+
+        if (missingIds.isEmpty()) {
+            return;
+        }
+
         try {
-            Delete delete = new Delete(AS_BYTES.convert(feature.owner()))
-                    .addColumns(FAMILY_PROPERTY, Ints.toBytes(feature.id()));
+            prepareCache(missingIds.size());
 
-            table.delete(delete);
+            List<Get> gets = missingIds.stream()
+                    .map(i -> new Get(AS_BYTES.convert(i)))
+                    .collect(Collectors.toList());
+
+            recordRoundTrip();
+            Result[] results = table.get(gets);
+            for (int i = 0; i < results.length; i++) {
+                cacheRecord(missingIds.get(i), new ObjectRecord(results[i]));
+            }
         }
         catch (IOException e) {
             throw new DatabaseException(e);
         }
     }
+
+    /**
+     * Returns the record of the object identified by the given {@code id}, loading its full row if it is not cached.
+     *
+     * @param id the identifier of the object
+     *
+     * @return the record
+     *
+     * @throws DatabaseException if an I/O error occurs when loading the row
+     */
+    @Nonnull
+    private ObjectRecord record(Id id) {
+        ObjectRecord record = records.get(id);
+
+        if (isNull(record)) {
+            try {
+                prepareCache(1);
+
+                recordRoundTrip();
+                record = new ObjectRecord(table.get(new Get(AS_BYTES.convert(id))));
+                cacheRecord(id, record);
+            }
+            catch (IOException e) {
+                throw new DatabaseException(e);
+            }
+        }
+
+        return record;
+    }
+
+    /**
+     * Adds the {@code record} of the object identified by the given {@code id} to the cache.
+     *
+     * @param id     the identifier of the object
+     * @param record the record to cache
+     */
+    private void cacheRecord(Id id, ObjectRecord record) {
+        records.put(id, record);
+
+        if (nonNull(mutator)) {
+            loadedRecords.incrementAndGet();
+        }
+    }
+
+    /**
+     * Discards all the cached records.
+     */
+    private void clearRecords() {
+        records.invalidateAll();
+        loadedRecords.set(0);
+    }
+
+    /**
+     * Sends the {@code mutation} on the row of the object identified by the given {@code id}, and applies the {@code
+     * update} on its record if it is cached.
+     * <p>
+     * If the modifications are batched, the {@code mutation} is added to the write buffer.
+     *
+     * @param id       the identifier of the object
+     * @param mutation the mutation to send
+     * @param update   the update of the record, equivalent to the {@code mutation}
+     *
+     * @throws DatabaseException if an I/O error occurs when sending the mutation
+     */
+    private void mutate(Id id, Mutation mutation, Consumer<ObjectRecord> update) {
+        try {
+            if (nonNull(mutator)) {
+                mutator.mutate(mutation);
+            }
+            else if (mutation instanceof Put) {
+                recordRoundTrip();
+                table.put((Put) mutation);
+            }
+            else {
+                recordRoundTrip();
+                table.delete((Delete) mutation);
+            }
+        }
+        catch (IOException e) {
+            throw new DatabaseException(e);
+        }
+
+        ObjectRecord record = records.get(id);
+
+        if (nonNull(record)) {
+            update.accept(record);
+        }
+        else if (nonNull(mutator)) {
+            hasUncachedModifications = true;
+        }
+    }
+
+    /**
+     * Ensures that the cache can hold {@code count} additional records, and that the rows that will be read from the
+     * table include all pending modifications.
+     *
+     * @param count the number of records to add
+     *
+     * @throws IOException if an I/O error occurs when flushing the pending modifications
+     */
+    private void prepareCache(int count) throws IOException {
+        if (isNull(mutator)) {
+            return;
+        }
+
+        if (loadedRecords.get() + count > MAX_CACHED_RECORDS) {
+            flush();
+            clearRecords();
+        }
+        else if (hasUncachedModifications) {
+            flush();
+        }
+    }
+
+    /**
+     * Sends all pending modifications to the table.
+     *
+     * @throws IOException if an I/O error occurs when flushing the pending modifications
+     */
+    private void flush() throws IOException {
+        if (nonNull(mutator)) {
+            recordRoundTrip();
+            mutator.flush();
+            hasUncachedModifications = false;
+        }
+    }
+
+    /**
+     * The decoded content of the row of an object.
+     */
+    @ParametersAreNonnullByDefault
+    private static final class ObjectRecord {
+
+        /**
+         * The properties of the object, identified by the identifier of their feature, in their serialized form.
+         */
+        @Nonnull
+        private final Map<Integer, byte[]> properties;
+
+        /**
+         * The meta-class of the object, or {@code null} if it is not defined.
+         */
+        @Nullable
+        private ClassBean metaClass;
+
+        /**
+         * The container of the object, or {@code null} if it is not defined.
+         */
+        @Nullable
+        private SingleFeatureBean container;
+
+        /**
+         * Constructs a new {@code ObjectRecord} by decoding the given {@code result}.
+         *
+         * @param result the full row of the object
+         */
+        ObjectRecord(Result result) {
+            byte[] byteName = result.getValue(FAMILY_TYPE, QUALIFIER_CLASS_NAME);
+            byte[] byteUri = result.getValue(FAMILY_TYPE, QUALIFIER_CLASS_URI);
+
+            if (nonNull(byteName) && nonNull(byteUri)) {
+                metaClass = ClassBean.of(Bytes.toString(byteName), Bytes.toString(byteUri));
+            }
+
+            byte[] byteId = result.getValue(FAMILY_CONTAINMENT, QUALIFIER_CONTAINER);
+            byte[] byteFeature = result.getValue(FAMILY_CONTAINMENT, QUALIFIER_CONTAINING_FEATURE);
+
+            if (nonNull(byteId) && nonNull(byteFeature)) {
+                container = SingleFeatureBean.of(AS_BYTES.revert(byteId), Bytes.toInt(byteFeature));
+            }
+
+            properties = new HashMap<>();
+
+            Map<byte[], byte[]> byteProperties = result.getFamilyMap(FAMILY_PROPERTY);
+
+            if (nonNull(byteProperties)) {
+                byteProperties.forEach((q, v) -> properties.put(Bytes.toInt(q), v));
+            }
+        }
+    }
 }
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.hbase;
+
+import fr.inria.atlanmod.commons.function.Converter;
+import fr.inria.atlanmod.neoemf.core.Id;
+import fr.inria.atlanmod.neoemf.data.hbase.util.ManyReferenceConverters;
+import fr.inria.atlanmod.neoemf.data.mapping.ManyReferenceMergedAs;
+import fr.inria.atlanmod.neoemf.data.mapping.ManyValueWithArrays;
+import fr.inria.atlanmod.neoemf.data.mapping.ReferenceAs;
+
+import org.apache.hadoop.hbase.client.BufferedMutator;
+import org.apache.hadoop.hbase.client.Table;
+
+import java.util.List;
+
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * A {@link HBaseBackend} that use a {@link ManyValueWithArrays} mapping for storing attributes and {@link
+ * ReferenceAs}/{@link ManyReferenceMergedAs} mappings for storing references, where multi-valued references are merged
+ * in a binary representation.
+ * <p>
+ * Multi-valued references stored by a {@link DefaultHBaseBackend}, as hexadecimal strings, are still readable: they
+ * are migrated to the binary representation on their next modification.
+ *
+ * @see HBaseBackendFactory
+ * @see ManyReferenceConverters#withBytes()
+ */
+@ParametersAreNonnullByDefault
+class BinaryHBaseBackend extends AbstractHBaseBackend<Object> {
+
+    /**
+     * The {@link Converter} used to convert multi-valued references, that also reads the hexadecimal representation.
+     */
+    @Nonnull
+    private static final Converter<List<Id>, Object> MANY_AS_BYTES = new Converter<List<Id>, Object>() {
+
+        @Nonnull
+        private final Converter<List<Id>, byte[]> converter = ManyReferenceConverters.withBytes();
+
+        @Nonnull
+        private final Converter<List<Id>, String> legacyConverter = ManyReferenceConverters.withHexString();
+
+        @Override
+        public Object convert(List<Id> ids) {
+            return converter.convert(ids);
+        }
+
+        @Override
+        public List<Id> revert(Object o) {
+            return o instanceof String
+                    ? legacyConverter.revert((String) o)
+                    : converter.revert((byte[]) o);
+        }
+    };
+
+    /**
+     * Constructs a new {@code BinaryHBaseBackend} on the given {@code table}.
+     *
+     * @param table the HBase table
+     */
+    protected BinaryHBaseBackend(Table table) {
+        super(table);
+    }
+
+    /**
+     * Constructs a new {@code BinaryHBaseBackend} on the given {@code table}, grouping all modifications with the given
+     * {@code mutator}.
+     *
+     * @param table   the HBase table
+     * @param mutator the mutator on the same table, used to group the modifications
+     */
+    protected BinaryHBaseBackend(Table table, BufferedMutator mutator) {
+        super(table, mutator);
+    }
+
+    @Nonnull
+    @Override
+    public Converter<List<Id>, Object> manyReferenceMerger() {
+        return MANY_AS_BYTES;
+    }
+}
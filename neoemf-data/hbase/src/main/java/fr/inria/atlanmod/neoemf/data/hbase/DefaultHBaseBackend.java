@@ -9,19 +9,16 @@
 package fr.inria.atlanmod.neoemf.data.hbase;
 
 import fr.inria.atlanmod.commons.function.Converter;
-import fr.inria.atlanmod.commons.primitive.Strings;
 import fr.inria.atlanmod.neoemf.core.Id;
-import fr.inria.atlanmod.neoemf.core.IdConverters;
+import fr.inria.atlanmod.neoemf.data.hbase.util.ManyReferenceConverters;
 import fr.inria.atlanmod.neoemf.data.mapping.ManyReferenceMergedAs;
 import fr.inria.atlanmod.neoemf.data.mapping.ManyValueWithArrays;
 import fr.inria.atlanmod.neoemf.data.mapping.ReferenceAs;
 
+import org.apache.hadoop.hbase.client.BufferedMutator;
 import org.apache.hadoop.hbase.client.Table;
 
-import java.util.Arrays;
 import java.util.List;
-import java.util.Optional;
-import java.util.stream.Collectors;
 
 import javax.annotation.Nonnull;
 import javax.annotation.ParametersAreNonnullByDefault;
@@ -33,42 +30,10 @@ import javax.annotation.ParametersAreNonnullByDefault;
  * @see HBaseBackendFactory
  */
 @ParametersAreNonnullByDefault
-class DefaultHBaseBackend extends AbstractHBaseBackend implements ReferenceAs<String>, ManyValueWithArrays, ManyReferenceMergedAs<String> {
+class DefaultHBaseBackend extends AbstractHBaseBackend<String> {
 
     /**
-     * The {@link Converter} used to convert multi-valued references.
-     */
-    @Nonnull
-    private static final Converter<List<Id>, String> MANY_AS_HEXAS = new Converter<List<Id>, String>() {
-
-        /**
-         * The {@link String} used to delimit multi-valued references.
-         */
-        @Nonnull
-        private static final String DELIMITER = ";";
-
-        @Nonnull
-        private final Converter<Id, String> baseConverter = IdConverters.withHexString();
-
-        @Override
-        public String convert(List<Id> ids) {
-            return ids.stream()
-                    .map(r -> Optional.ofNullable(r).map(baseConverter::convert).orElse(null))
-                    .map(Strings::nullToEmpty)
-                    .collect(Collectors.joining(DELIMITER));
-        }
-
-        @Override
-        public List<Id> revert(String s) {
-            return Arrays.stream(s.split(DELIMITER))
-                    .map(Strings::emptyToNull)
-                    .map(baseConverter::revert)
-                    .collect(Collectors.toList());
-        }
-    };
-
-    /**
-     * Constructs a new {@code HBaseBackendArrays} on the given {@code table}.
+     * Constructs a new {@code DefaultHBaseBackend} on the given {@code table}.
      *
      * @param table the HBase table
      */
@@ -76,15 +41,20 @@ class DefaultHBaseBackend extends AbstractHBaseBackend implements ReferenceAs<St
         super(table);
     }
 
-    @Nonnull
-    @Override
-    public Converter<Id, String> referenceConverter() {
-        return IdConverters.withHexString();
+    /**
+     * Constructs a new {@code DefaultHBaseBackend} on the given {@code table}, grouping all modifications with the given
+     * {@code mutator}.
+     *
+     * @param table   the HBase table
+     * @param mutator the mutator on the same table, used to group the modifications
+     */
+    protected DefaultHBaseBackend(Table table, BufferedMutator mutator) {
+        super(table, mutator);
     }
 
     @Nonnull
     @Override
     public Converter<List<Id>, String> manyReferenceMerger() {
-        return MANY_AS_HEXAS;
+        return ManyReferenceConverters.withHexString();
     }
 }
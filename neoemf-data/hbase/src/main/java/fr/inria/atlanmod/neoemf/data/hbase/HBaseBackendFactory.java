@@ -19,6 +19,8 @@ import org.apache.hadoop.hbase.HColumnDescriptor;
 import org.apache.hadoop.hbase.HTableDescriptor;
 import org.apache.hadoop.hbase.TableName;
 import org.apache.hadoop.hbase.client.Admin;
+import org.apache.hadoop.hbase.client.BufferedMutator;
+import org.apache.hadoop.hbase.client.BufferedMutatorParams;
 import org.apache.hadoop.hbase.client.Connection;
 import org.apache.hadoop.hbase.client.ConnectionFactory;
 import org.apache.hadoop.hbase.client.Table;
@@ -64,6 +66,15 @@ public class HBaseBackendFactory extends AbstractBackendFactory<HBaseConfig> {
 
         Table table = connection.getTable(tableName);
 
+        if (config.isBatched() && !config.isReadOnly()) {
+            BufferedMutatorParams params = new BufferedMutatorParams(tableName)
+                    .writeBufferSize(config.getWriteBufferSize());
+
+            BufferedMutator mutator = connection.getBufferedMutator(params);
+
+            return createMapper(config.getMapping(), table, mutator);
+        }
+
         return createMapper(config.getMapping(), table);
     }
 
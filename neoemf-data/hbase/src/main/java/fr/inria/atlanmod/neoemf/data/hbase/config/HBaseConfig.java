@@ -11,6 +11,7 @@ package fr.inria.atlanmod.neoemf.data.hbase.config;
 import fr.inria.atlanmod.neoemf.bind.FactoryBinding;
 import fr.inria.atlanmod.neoemf.config.BaseConfig;
 import fr.inria.atlanmod.neoemf.config.Config;
+import fr.inria.atlanmod.neoemf.config.InvalidConfigException;
 import fr.inria.atlanmod.neoemf.data.hbase.HBaseBackendFactory;
 
 import org.osgi.service.component.annotations.Component;
@@ -29,6 +30,21 @@ import javax.annotation.ParametersAreNonnullByDefault;
 @ParametersAreNonnullByDefault
 public class HBaseConfig extends BaseConfig<HBaseConfig> {
 
+    /**
+     * The base prefix for all options related to HBase.
+     */
+    static final String HBASE_PREFIX = "hbase";
+
+    /**
+     * The option key to define the size of the write buffer used when batching modifications.
+     */
+    static final String HBASE_WRITE_BUFFER = createKey(HBASE_PREFIX, "write", "buffer");
+
+    /**
+     * The default size of the write buffer, in bytes, used when batching modifications.
+     */
+    public static final long DEFAULT_WRITE_BUFFER_SIZE = 2 * 1024 * 1024;
+
     /**
      * Constructs a new {@code HBaseConfig} with default settings.
      */
@@ -55,4 +71,89 @@ public class HBaseConfig extends BaseConfig<HBaseConfig> {
     protected HBaseConfig withDefault() {
         return setMappingWithCheck("fr.inria.atlanmod.neoemf.data.hbase.DefaultHBaseBackend", false);
     }
+
+    /**
+     * Defines the mapping to use for the created {@link fr.inria.atlanmod.neoemf.data.hbase.HBaseBackend}.
+     * <p>
+     * This mapping corresponds to: <ul> <li>an {@link Object}[] representation of multi-valued attributes</li> <li>a
+     * {@link String} representation for single-valued references</li> <li>a binary representation for multi-valued
+     * references</li> </ul>
+     * <p>
+     * Multi-valued references are stored as a sequence of fixed-size longs, which is smaller and faster to decode than
+     * the hexadecimal representation of the {@link #withDefault() default mapping}. A table created with the default
+     * mapping can be opened with this one: existing multi-valued references are still readable, and are stored with the
+     * binary representation on their next modification. The opposite is not supported.
+     *
+     * @return this configuration (for chaining)
+     *
+     * @see fr.inria.atlanmod.neoemf.data.mapping.ReferenceAs
+     * @see fr.inria.atlanmod.neoemf.data.mapping.ManyValueWithArrays
+     * @see fr.inria.atlanmod.neoemf.data.mapping.ManyReferenceMergedAs
+     * @see fr.inria.atlanmod.neoemf.data.hbase.util.ManyReferenceConverters#withBytes()
+     */
+    @Nonnull
+    public HBaseConfig withBinaryReferences() {
+        return setMappingWithCheck("fr.inria.atlanmod.neoemf.data.hbase.BinaryHBaseBackend", false);
+    }
+
+    /**
+     * Defines that the created {@link fr.inria.atlanmod.neoemf.data.hbase.HBaseBackend} groups its modifications in a
+     * client-side buffer of the {@link #DEFAULT_WRITE_BUFFER_SIZE default size}, instead of sending them one by one.
+     *
+     * @return this configuration (for chaining)
+     *
+     * @see #batched(long)
+     */
+    @Nonnull
+    public HBaseConfig batched() {
+        return batched(DEFAULT_WRITE_BUFFER_SIZE);
+    }
+
+    /**
+     * Defines that the created {@link fr.inria.atlanmod.neoemf.data.hbase.HBaseBackend} groups its modifications in a
+     * client-side buffer of the given size, instead of sending them one by one.
+     * <p>
+     * Modifications are sent to the region servers when the buffer is full, or when the back-end is saved. Rows read
+     * while batching are kept in a short-lived cache, so that pending modifications are always visible from the
+     * back-end that made them.
+     *
+     * @param writeBufferSize the size of the write buffer, in bytes
+     *
+     * @return this configuration (for chaining)
+     *
+     * @throws InvalidConfigException if {@code writeBufferSize <= 0}
+     */
+    @Nonnull
+    public HBaseConfig batched(long writeBufferSize) {
+        if (writeBufferSize <= 0) {
+            throw new InvalidConfigException(String.format("The write buffer size must be greater than 0 (but it was %d)", writeBufferSize));
+        }
+
+        return addOption(HBASE_WRITE_BUFFER, Long.toString(writeBufferSize));
+    }
+
+    /**
+     * Returns whether the modifications must be batched.
+     *
+     * @return {@code true} if the modifications must be batched
+     *
+     * @see #batched()
+     */
+    public boolean isBatched() {
+        return hasOption(HBASE_WRITE_BUFFER);
+    }
+
+    /**
+     * Returns the size of the write buffer, in bytes, used when batching modifications.
+     *
+     * @return the size of the write buffer
+     *
+     * @see #batched(long)
+     */
+    public long getWriteBufferSize() {
+        return this.<Object>getOption(HBASE_WRITE_BUFFER)
+                .map(String::valueOf)
+                .map(Long::parseLong)
+                .orElse(DEFAULT_WRITE_BUFFER_SIZE);
+    }
 }
@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.hbase.util;
+
+import fr.inria.atlanmod.commons.Throwables;
+import fr.inria.atlanmod.commons.annotation.Static;
+import fr.inria.atlanmod.commons.function.Converter;
+import fr.inria.atlanmod.commons.primitive.Strings;
+import fr.inria.atlanmod.neoemf.core.Id;
+import fr.inria.atlanmod.neoemf.core.IdConverters;
+
+import org.apache.hadoop.hbase.util.Bytes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkArgument;
+import static java.util.Objects.isNull;
+
+/**
+ * A static factory that creates {@link Converter} instances to merge multi-valued references into a single value.
+ *
+ * @see fr.inria.atlanmod.neoemf.data.mapping.ManyReferenceMergedAs
+ */
+@Static
+@ParametersAreNonnullByDefault
+public final class ManyReferenceConverters {
+
+    /**
+     * The {@link Converter} to use a {@code ';'}-delimited hexadecimal representation.
+     */
+    @Nonnull
+    private static final Converter<List<Id>, String> AS_HEX_STRING = new Converter<List<Id>, String>() {
+
+        /**
+         * The {@link String} used to delimit multi-valued references.
+         */
+        @Nonnull
+        private static final String DELIMITER = ";";
+
+        @Nonnull
+        private final Converter<Id, String> baseConverter = IdConverters.withHexString();
+
+        @Override
+        public String convert(List<Id> ids) {
+            return ids.stream()
+                    .map(r -> Optional.ofNullable(r).map(baseConverter::convert).orElse(null))
+                    .map(Strings::nullToEmpty)
+                    .collect(Collectors.joining(DELIMITER));
+        }
+
+        @Override
+        public List<Id> revert(String s) {
+            return Arrays.stream(s.split(DELIMITER))
+                    .map(Strings::emptyToNull)
+                    .map(baseConverter::revert)
+                    .collect(Collectors.toList());
+        }
+    };
+
+    /**
+     * The {@link Converter} to use a binary representation, where each reference is stored as a fixed-size long.
+     * <p>
+     * If the references contain {@code null}, each {@code null} reference is stored as {@code 0}, and is marked in a
+     * bitmap of longs appended after the references, followed by the number of references as an int. The length of
+     * this form is never a multiple of {@link Bytes#SIZEOF_LONG}, which distinguishes it from the compact one.
+     */
+    @Nonnull
+    private static final Converter<List<Id>, byte[]> AS_BYTES = new Converter<List<Id>, byte[]>() {
+
+        @Override
+        public byte[] convert(List<Id> ids) {
+            final int size = ids.size();
+            final boolean hasNulls = ids.contains(null);
+
+            byte[] bytes = new byte[hasNulls ? (int) lengthWithNulls(size) : size * Bytes.SIZEOF_LONG];
+
+            long[] nulls = new long[hasNulls ? bitmapSize(size) : 0];
+
+            int offset = 0;
+            for (int i = 0; i < size; i++) {
+                Id id = ids.get(i);
+                if (isNull(id)) {
+                    nulls[i / Long.SIZE] |= 1L << (i % Long.SIZE);
+                    offset += Bytes.SIZEOF_LONG;
+                }
+                else {
+                    offset = Bytes.putLong(bytes, offset, id.toLong());
+                }
+            }
+
+            if (hasNulls) {
+                for (long n : nulls) {
+                    offset = Bytes.putLong(bytes, offset, n);
+                }
+                Bytes.putInt(bytes, offset, size);
+            }
+
+            return bytes;
+        }
+
+        @Override
+        public List<Id> revert(byte[] bytes) {
+            final boolean hasNulls = bytes.length % Bytes.SIZEOF_LONG != 0;
+
+            final int size;
+            if (hasNulls) {
+                checkArgument(bytes.length >= Bytes.SIZEOF_INT, "Invalid length of merged references: %d", bytes.length);
+                size = Bytes.toInt(bytes, bytes.length - Bytes.SIZEOF_INT);
+                checkArgument(size >= 0 && lengthWithNulls(size) == bytes.length, "Invalid length of merged references: %d", bytes.length);
+            }
+            else {
+                size = bytes.length / Bytes.SIZEOF_LONG;
+            }
+
+            List<Id> ids = new ArrayList<>(size);
+
+            for (int i = 0; i < size; i++) {
+                ids.add(hasNulls && isNullAt(bytes, size, i)
+                        ? null
+                        : Id.getProvider().fromLong(Bytes.toLong(bytes, i * Bytes.SIZEOF_LONG)));
+            }
+
+            return ids;
+        }
+
+        /**
+         * Returns the number of longs of the bitmap marking the {@code null} references.
+         *
+         * @param size the number of references
+         *
+         * @return the number of longs
+         */
+        private int bitmapSize(int size) {
+            return (int) (((long) size + Long.SIZE - 1) / Long.SIZE);
+        }
+
+        /**
+         * Returns {@code true} if the reference at the given {@code index} is marked as {@code null} in the bitmap.
+         *
+         * @param bytes the binary representation
+         * @param size  the number of references
+         * @param index the index of the reference
+         *
+         * @return {@code true} if the reference is {@code null}
+         */
+        private boolean isNullAt(byte[] bytes, int size, int index) {
+            int offset = (size + index / Long.SIZE) * Bytes.SIZEOF_LONG;
+            return (Bytes.toLong(bytes, offset) & (1L << (index % Long.SIZE))) != 0;
+        }
+
+        /**
+         * Returns the length of the binary representation of {@code size} references, when they contain {@code null}.
+         *
+         * @param size the number of references
+         *
+         * @return the length, in bytes
+         */
+        private long lengthWithNulls(int size) {
+            return ((long) size + bitmapSize(size)) * Bytes.SIZEOF_LONG + Bytes.SIZEOF_INT;
+        }
+    };
+
+    private ManyReferenceConverters() {
+        throw Throwables.notInstantiableClass(getClass());
+    }
+
+    /**
+     * Returns the {@link Converter} to use a {@code ';'}-delimited hexadecimal representation instead of a list of
+     * {@link Id}.
+     *
+     * @return a converter
+     */
+    @Nonnull
+    public static Converter<List<Id>, String> withHexString() {
+        return AS_HEX_STRING;
+    }
+
+    /**
+     * Returns the {@link Converter} to use a binary representation instead of a list of {@link Id}.
+     * <p>
+     * Each reference is stored as the 8 bytes of its {@link Id#toLong() long value}, in order: the size of the result
+     * is less than half of the {@link #withHexString() hexadecimal representation}, and references are decoded without
+     * any parsing. {@code null} references are supported, at the cost of a bitmap marking their position.
+     *
+     * @return a converter
+     */
+    @Nonnull
+    public static Converter<List<Id>, byte[]> withBytes() {
+        return AS_BYTES;
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.hbase;
+
+import fr.inria.atlanmod.neoemf.context.Context;
+import fr.inria.atlanmod.neoemf.core.Id;
+import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
+import fr.inria.atlanmod.neoemf.data.hbase.context.HBaseBinaryContext;
+import fr.inria.atlanmod.neoemf.data.hbase.util.ManyReferenceConverters;
+import fr.inria.atlanmod.neoemf.data.mapping.AbstractDataMapperTest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A test-case about {@link BinaryHBaseBackend}.
+ */
+@ParametersAreNonnullByDefault
+class BinaryHBaseBackendTest extends AbstractDataMapperTest {
+
+    @Nonnull
+    @Override
+    protected Context context() {
+        return new HBaseBinaryContext();
+    }
+
+    /**
+     * Checks that multi-valued references stored with the hexadecimal representation are still readable, and are
+     * migrated on their next modification.
+     */
+    @Test
+    void testMigrateHexStringReferences() {
+        SingleFeatureBean feature = SingleFeatureBean.of(idBase, 8);
+
+        Id ref0 = Id.getProvider().fromLong(42);
+        Id ref1 = Id.getProvider().fromLong(-1L);
+        Id ref2 = Id.getProvider().fromLong(Long.MAX_VALUE);
+
+        // Stored as a DefaultHBaseBackend would do
+        mapper.valueFor(feature, ManyReferenceConverters.withHexString().convert(Arrays.asList(ref0, ref1)));
+
+        assertThat(mapper.sizeOfReference(feature)).contains(2);
+        assertThat(mapper.referenceOf(feature.withPosition(1))).contains(ref1);
+
+        mapper.addReference(feature.withPosition(0), ref2);
+
+        assertThat(mapper.valueOf(feature)).containsInstanceOf(byte[].class);
+
+        List<Id> references = mapper.allReferencesOf(feature).collect(Collectors.toList());
+        assertThat(references).containsExactly(ref2, ref0, ref1);
+    }
+}
@@ -10,7 +10,7 @@ package fr.inria.atlanmod.neoemf.data.hbase;
 
 import fr.inria.atlanmod.neoemf.context.Context;
 import fr.inria.atlanmod.neoemf.data.hbase.context.HBaseDefaultContext;
-import fr.inria.atlanmod.neoemf.data.mapping.AbstractDataMapperTest;
+import fr.inria.atlanmod.neoemf.data.mapping.AbstractManyValueWithArraysTest;
 
 import javax.annotation.Nonnull;
 import javax.annotation.ParametersAreNonnullByDefault;
@@ -19,7 +19,7 @@ import javax.annotation.ParametersAreNonnullByDefault;
  * A test-case about {@link DefaultHBaseBackend}.
  */
 @ParametersAreNonnullByDefault
-class DefaultHBaseBackendTest extends AbstractDataMapperTest {
+class DefaultHBaseBackendTest extends AbstractManyValueWithArraysTest {
 
     @Nonnull
     @Override
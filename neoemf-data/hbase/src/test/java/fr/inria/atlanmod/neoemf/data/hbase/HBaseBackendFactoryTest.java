@@ -38,11 +38,23 @@ class HBaseBackendFactoryTest extends AbstractBackendFactoryTest {
     public void testCopyBackend() {
     }
 
+    @Disabled("Not supported")
+    @Override
+    public void testIndexInstances() {
+    }
+
+    @Disabled("Not supported")
+    @Override
+    public void testIndexInstancesOfExistingBackend() {
+    }
+
     @Nonnull
     @Override
     protected Stream<Arguments> allMappings() {
         return Stream.of(
-                Arguments.of(new HBaseConfig(), DefaultHBaseBackend.class)
+                Arguments.of(new HBaseConfig(), DefaultHBaseBackend.class),
+                Arguments.of(new HBaseConfig().batched(), DefaultHBaseBackend.class),
+                Arguments.of(new HBaseConfig().withBinaryReferences(), BinaryHBaseBackend.class)
         );
     }
 }
\ No newline at end of file
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.hbase.util;
+
+import fr.inria.atlanmod.commons.AbstractTest;
+import fr.inria.atlanmod.commons.function.Converter;
+import fr.inria.atlanmod.neoemf.core.Id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * A test-case about {@link ManyReferenceConverters}.
+ */
+@ParametersAreNonnullByDefault
+class ManyReferenceConvertersTest extends AbstractTest {
+
+    private static final List<Id> IDS = Arrays.asList(
+            Id.getProvider().fromLong(0),
+            Id.getProvider().fromLong(-1L),
+            Id.getProvider().fromLong(Long.MIN_VALUE),
+            Id.getProvider().fromLong(Long.MAX_VALUE),
+            Id.getProvider().generate()
+    );
+
+    @Test
+    void testHexString() {
+        Converter<List<Id>, String> converter = ManyReferenceConverters.withHexString();
+
+        assertThat(converter.revert(converter.convert(IDS))).containsExactlyElementsOf(IDS);
+    }
+
+    @Test
+    void testBytes() {
+        Converter<List<Id>, byte[]> converter = ManyReferenceConverters.withBytes();
+
+        byte[] bytes = converter.convert(IDS);
+        assertThat(bytes).hasSize(IDS.size() * Long.BYTES);
+
+        assertThat(converter.revert(bytes)).containsExactlyElementsOf(IDS);
+    }
+
+    @Test
+    void testBytesWithNulls() {
+        Converter<List<Id>, byte[]> converter = ManyReferenceConverters.withBytes();
+
+        List<Id> ids = new ArrayList<>(IDS);
+        ids.add(1, null);
+        ids.add(null);
+
+        byte[] bytes = converter.convert(ids);
+        assertThat(bytes.length % Long.BYTES).isNotEqualTo(0);
+
+        assertThat(converter.revert(bytes)).containsExactlyElementsOf(ids);
+    }
+
+    @Test
+    void testHexStringWithNulls() {
+        Converter<List<Id>, String> converter = ManyReferenceConverters.withHexString();
+
+        List<Id> ids = new ArrayList<>(IDS);
+        ids.add(1, null);
+
+        assertThat(converter.revert(converter.convert(ids))).containsExactlyElementsOf(ids);
+    }
+
+    @Test
+    void testBytesEmpty() {
+        Converter<List<Id>, byte[]> converter = ManyReferenceConverters.withBytes();
+
+        assertThat(converter.revert(converter.convert(Collections.emptyList()))).isEmpty();
+    }
+
+    @Test
+    void testBytesInvalidLength() {
+        Converter<List<Id>, byte[]> converter = ManyReferenceConverters.withBytes();
+
+        assertThatThrownBy(() -> converter.revert(new byte[3])).isExactlyInstanceOf(IllegalArgumentException.class);
+    }
+}
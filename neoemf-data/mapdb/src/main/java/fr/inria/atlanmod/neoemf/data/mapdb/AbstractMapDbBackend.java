@@ -12,6 +12,7 @@ import fr.inria.atlanmod.commons.function.Converter;
 import fr.inria.atlanmod.neoemf.core.Id;
 import fr.inria.atlanmod.neoemf.core.IdConverters;
 import fr.inria.atlanmod.neoemf.data.AbstractBackend;
+import fr.inria.atlanmod.neoemf.data.BulkLoader;
 import fr.inria.atlanmod.neoemf.data.bean.ClassBean;
 import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
 import fr.inria.atlanmod.neoemf.data.bean.serializer.BeanSerializerFactory;
@@ -23,26 +24,32 @@ import org.mapdb.DataInput2;
 import org.mapdb.DataOutput2;
 import org.mapdb.HTreeMap;
 import org.mapdb.Serializer;
+import org.mapdb.serializer.SerializerArrayTuple;
 
 import java.io.DataOutput;
 import java.io.IOException;
+import java.util.List;
 import java.util.Map;
+import java.util.NavigableSet;
 import java.util.Optional;
 import java.util.Set;
+import java.util.SortedMap;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 import javax.annotation.concurrent.Immutable;
 
 import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
 import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 
 /**
  * An abstract {@link MapDbBackend} that provides overall behavior for the management of a MapDB database.
  */
 @ParametersAreNonnullByDefault
-abstract class AbstractMapDbBackend extends AbstractBackend implements MapDbBackend, AllReferenceAs<Long> {
+abstract class AbstractMapDbBackend extends AbstractBackend implements MapDbBackend, AllReferenceAs<Long>, BulkLoader {
 
     /**
      * The {@link BeanSerializerFactory} to use for creating the {@link fr.inria.atlanmod.commons.io.serializer.BinarySerializer}
@@ -51,6 +58,12 @@ abstract class AbstractMapDbBackend extends AbstractBackend implements MapDbBack
     @Nonnull
     protected static final BeanSerializerFactory SERIALIZER_FACTORY = BeanSerializerFactory.getInstance();
 
+    /**
+     * The name of the index of instances.
+     */
+    @Nonnull
+    private static final String INSTANCES_INDEX = "instances/index";
+
     /**
      * The MapDB database.
      */
@@ -79,33 +92,81 @@ abstract class AbstractMapDbBackend extends AbstractBackend implements MapDbBack
     @Nonnull
     private final HTreeMap<SingleFeatureBean, Object> singleFeatures;
 
+    /**
+     * A persistent sorted set that indexes the {@link Id} of {@link fr.inria.atlanmod.neoemf.core.PersistentEObject}s
+     * by meta-class, as {@code (uri, name, id)} tuples, or {@code null} if instances are not indexed.
+     */
+    @Nullable
+    private final NavigableSet<Object[]> instancesIndex;
+
     /**
      * Constructs a new {@code AbstractMapDbBackend} wrapping the provided {@code database}.
      *
-     * @param database the {@link org.mapdb.DB} used to create and manage {@link org.mapdb.HTreeMap}s
+     * @param database       the {@link org.mapdb.DB} used to create and manage {@link org.mapdb.HTreeMap}s
+     * @param indexInstances {@code true} if the instances must be indexed by meta-class
      *
      * @see MapDbBackendFactory
      */
     @SuppressWarnings("unchecked")
-    protected AbstractMapDbBackend(DB database) {
+    protected AbstractMapDbBackend(DB database, boolean indexInstances) {
         checkNotNull(database, "database");
 
         this.database = database;
 
         this.containers = database.hashMap("containers")
-                .keySerializer(new SerializerDecorator<>(SERIALIZER_FACTORY.forId()))
-                .valueSerializer(new SerializerDecorator<>(SERIALIZER_FACTORY.forSingleFeature()))
+                .keySerializer(recording(new SerializerDecorator<>(SERIALIZER_FACTORY.forId())))
+                .valueSerializer(recording(new SerializerDecorator<>(SERIALIZER_FACTORY.forSingleFeature())))
                 .createOrOpen();
 
         this.instances = database.hashMap("instances")
-                .keySerializer(new SerializerDecorator<>(SERIALIZER_FACTORY.forId()))
-                .valueSerializer(new SerializerDecorator<>(SERIALIZER_FACTORY.forClass()))
+                .keySerializer(recording(new SerializerDecorator<>(SERIALIZER_FACTORY.forId())))
+                .valueSerializer(recording(new SerializerDecorator<>(SERIALIZER_FACTORY.forClass())))
                 .createOrOpen();
 
         this.singleFeatures = database.hashMap("features/single")
-                .keySerializer(new SerializerDecorator<>(SERIALIZER_FACTORY.forSingleFeature()))
-                .valueSerializer(Serializer.ELSA)
+                .keySerializer(recording(new SerializerDecorator<>(SERIALIZER_FACTORY.forSingleFeature())))
+                .valueSerializer(recording(Serializer.ELSA))
                 .createOrOpen();
+
+        // The index cannot be created in a read-only database
+        final boolean indexExists = database.exists(INSTANCES_INDEX);
+        if (indexInstances && (indexExists || !database.getStore().isReadOnly())) {
+            this.instancesIndex = database.treeSet(INSTANCES_INDEX)
+                    .serializer(new SerializerArrayTuple(Serializer.STRING, Serializer.STRING, Serializer.LONG))
+                    .createOrOpen();
+
+            if (!indexExists) {
+                rebuildInstancesIndex();
+            }
+        }
+        else {
+            this.instancesIndex = null;
+        }
+    }
+
+    /**
+     * Creates a new index entry for the given {@code id} and {@code metaClass}.
+     *
+     * @param metaClass the meta-class of the instance
+     * @param id        the identifier of the instance
+     *
+     * @return a new tuple
+     */
+    @Nonnull
+    private static Object[] indexKey(ClassBean metaClass, Id id) {
+        return new Object[]{metaClass.uri(), metaClass.name(), id.toLong()};
+    }
+
+    /**
+     * Rebuilds the index of instances from the existing meta-classes, in a single pass.
+     */
+    private void rebuildInstancesIndex() {
+        if (isNull(instancesIndex)) {
+            return;
+        }
+
+        instancesIndex.clear();
+        instances.getEntries().forEach(e -> instancesIndex.add(indexKey(e.getValue(), e.getKey())));
     }
 
     @Override
@@ -126,6 +187,11 @@ abstract class AbstractMapDbBackend extends AbstractBackend implements MapDbBack
         AbstractMapDbBackend to = AbstractMapDbBackend.class.cast(target);
 
         for (Map.Entry<String, Object> entry : database.getAll().entrySet()) {
+            // The index is rebuilt by the target, if needed
+            if (INSTANCES_INDEX.equals(entry.getKey())) {
+                continue;
+            }
+
             Object collection = entry.getValue();
             if (Map.class.isInstance(collection)) {
                 Map fromMap = Map.class.cast(collection);
@@ -137,6 +203,8 @@ abstract class AbstractMapDbBackend extends AbstractBackend implements MapDbBack
                 throw new UnsupportedOperationException(String.format("Cannot copy MapDB backend: store type %s is not supported", collection.getClass().getSimpleName()));
             }
         }
+
+        to.rebuildInstancesIndex();
     }
 
     @Nonnull
@@ -175,12 +243,26 @@ abstract class AbstractMapDbBackend extends AbstractBackend implements MapDbBack
         checkNotNull(id, "id");
         checkNotNull(metaClass, "metaClass");
 
-        return putIfAbsent(instances, id, metaClass);
+        final boolean notDefined = putIfAbsent(instances, id, metaClass);
+
+        if (notDefined && nonNull(instancesIndex)) {
+            instancesIndex.add(indexKey(metaClass, id));
+        }
+
+        return notDefined;
     }
 
     @Nonnull
     @Override
     public Iterable<Id> allInstancesOf(Set<ClassBean> metaClasses) {
+        if (nonNull(instancesIndex)) {
+            // A null element is greater than any other value: the range contains all identifiers of the meta-class
+            return metaClasses.stream()
+                    .flatMap(c -> instancesIndex.subSet(new Object[]{c.uri(), c.name()}, true, new Object[]{c.uri(), c.name(), null}, true).stream())
+                    .map(t -> Id.getProvider().fromLong((Long) t[2]))
+                    .collect(Collectors.toSet());
+        }
+
         return instances.getEntries().stream()
                 .filter(e -> metaClasses.contains(e.getValue()))
                 .map(Map.Entry::getKey)
@@ -211,6 +293,52 @@ abstract class AbstractMapDbBackend extends AbstractBackend implements MapDbBack
         delete(singleFeatures, feature);
     }
 
+    @Override
+    public void loadMetaClasses(SortedMap<Id, ClassBean> metaClasses) {
+        checkNotNull(metaClasses, "metaClasses");
+
+        instances.putAll(metaClasses);
+
+        if (nonNull(instancesIndex)) {
+            metaClasses.forEach((id, c) -> instancesIndex.add(indexKey(c, id)));
+        }
+    }
+
+    @Override
+    public void loadContainers(SortedMap<Id, SingleFeatureBean> containers) {
+        checkNotNull(containers, "containers");
+
+        this.containers.putAll(containers);
+    }
+
+    @Override
+    public void loadValues(SortedMap<SingleFeatureBean, Object> values) {
+        checkNotNull(values, "values");
+
+        singleFeatures.putAll(values);
+    }
+
+    @Override
+    public void loadAllValues(SortedMap<SingleFeatureBean, List<Object>> values) {
+        checkNotNull(values, "values");
+
+        values.forEach(this::allValuesFor);
+    }
+
+    @Override
+    public void loadReferences(SortedMap<SingleFeatureBean, Id> references) {
+        checkNotNull(references, "references");
+
+        references.forEach(this::referenceFor);
+    }
+
+    @Override
+    public void loadAllReferences(SortedMap<SingleFeatureBean, List<Id>> references) {
+        checkNotNull(references, "references");
+
+        references.forEach(this::allReferencesFor);
+    }
+
     @Nonnull
     @Override
     public Converter<Id, Long> referenceConverter() {
@@ -231,6 +359,7 @@ abstract class AbstractMapDbBackend extends AbstractBackend implements MapDbBack
     @Nonnull
     @SuppressWarnings("unchecked")
     protected <K, V> Optional<V> get(HTreeMap<K, ? super V> database, K key) {
+        recordRoundTrip();
         return Optional.ofNullable((V) database.get(key));
     }
 
@@ -249,6 +378,7 @@ abstract class AbstractMapDbBackend extends AbstractBackend implements MapDbBack
     @Nonnull
     @SuppressWarnings("unchecked")
     protected <K, V> Optional<V> put(HTreeMap<K, ? super V> database, K key, V value) {
+        recordRoundTrip();
         return Optional.ofNullable((V) database.put(key, value));
     }
 
@@ -265,6 +395,7 @@ abstract class AbstractMapDbBackend extends AbstractBackend implements MapDbBack
      * @return {@code true} if the {@code key} has been saved
      */
     protected <K, V> boolean putIfAbsent(HTreeMap<K, ? super V> database, K key, V value) {
+        recordRoundTrip();
         return isNull(database.putIfAbsent(key, value));
     }
 
@@ -276,9 +407,24 @@ abstract class AbstractMapDbBackend extends AbstractBackend implements MapDbBack
      * @param <K>      the type of the key
      */
     protected <K> void delete(HTreeMap<K, ?> database, K key) {
+        recordRoundTrip();
         database.remove(key);
     }
 
+    /**
+     * Wraps the {@code serializer} to record the (de)serializations made by the database, if the input/output work of
+     * this back-end is recorded.
+     *
+     * @param serializer the serializer to wrap
+     * @param <T>        the type of the (de)serialized value
+     *
+     * @return a new serializer
+     */
+    @Nonnull
+    protected <T> Serializer<T> recording(Serializer<T> serializer) {
+        return new RecordingSerializer<>(serializer);
+    }
+
     /**
      * A MapDB serializer that delegates its processing to an internal {@link fr.inria.atlanmod.commons.io.serializer.BinarySerializer}.
      *
@@ -316,4 +462,75 @@ abstract class AbstractMapDbBackend extends AbstractBackend implements MapDbBack
             return delegate.deserialize(in);
         }
     }
+
+    /**
+     * A MapDB serializer that records the (de)serializations of another serializer in the stats of this back-end.
+     *
+     * @param <T> the type of the (de)serialized value
+     */
+    @ParametersAreNonnullByDefault
+    private final class RecordingSerializer<T> implements Serializer<T> {
+
+        /**
+         * The serializer where to delegate the serialization process.
+         */
+        @Nonnull
+        private final Serializer<T> delegate;
+
+        /**
+         * Constructs a new {@code RecordingSerializer} on the specified {@code delegate}.
+         *
+         * @param delegate the serializer where to delegate the serialization process
+         */
+        RecordingSerializer(Serializer<T> delegate) {
+            this.delegate = checkNotNull(delegate, "delegate");
+        }
+
+        @Override
+        public void serialize(DataOutput2 out, T value) throws IOException {
+            if (!isRecordingIo()) {
+                delegate.serialize(out, value);
+                return;
+            }
+
+            final int position = out.pos;
+            final long start = System.nanoTime();
+            delegate.serialize(out, value);
+            recordSerialization(out.pos - position, System.nanoTime() - start);
+        }
+
+        @Nonnull
+        @Override
+        public T deserialize(DataInput2 in, int available) throws IOException {
+            if (!isRecordingIo()) {
+                return delegate.deserialize(in, available);
+            }
+
+            final int position = in.getPos();
+            final long start = System.nanoTime();
+            final T value = delegate.deserialize(in, available);
+            recordDeserialization(in.getPos() - position, System.nanoTime() - start);
+            return value;
+        }
+
+        @Override
+        public int fixedSize() {
+            return delegate.fixedSize();
+        }
+
+        @Override
+        public boolean isTrusted() {
+            return delegate.isTrusted();
+        }
+
+        @Override
+        public boolean equals(T first, T second) {
+            return delegate.equals(first, second);
+        }
+
+        @Override
+        public int hashCode(T value, int seed) {
+            return delegate.hashCode(value, seed);
+        }
+    }
 }
@@ -25,12 +25,13 @@ class MapDbBackendArrays extends AbstractMapDbBackend implements ManyValueWithAr
     /**
      * Constructs a new {@code MapDbBackendArrays} wrapping the provided {@code db}.
      *
-     * @param db the {@link org.mapdb.DB} used to creates the used {@link java.util.concurrent.ConcurrentMap}s and
-     *           manage the database
+     * @param db             the {@link org.mapdb.DB} used to creates the used {@link java.util.concurrent.ConcurrentMap}s
+     *                       and manage the database
+     * @param indexInstances {@code true} if the instances must be indexed by meta-class
      *
      * @see MapDbBackendFactory
      */
-    protected MapDbBackendArrays(DB db) {
-        super(db);
+    protected MapDbBackendArrays(DB db, boolean indexInstances) {
+        super(db, indexInstances);
     }
 }
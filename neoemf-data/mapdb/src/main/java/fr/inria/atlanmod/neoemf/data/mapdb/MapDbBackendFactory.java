@@ -54,6 +54,6 @@ public class MapDbBackendFactory extends AbstractBackendFactory<MapDbConfig> {
 
         DB db = dbBuilder.make();
 
-        return createMapper(config.getMapping(), db);
+        return createMapper(config.getMapping(), db, config.isIndexingInstances());
     }
 }
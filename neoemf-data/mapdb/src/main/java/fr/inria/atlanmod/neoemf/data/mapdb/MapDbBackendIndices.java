@@ -42,18 +42,19 @@ class MapDbBackendIndices extends AbstractMapDbBackend implements ManyValueWithI
     /**
      * Constructs a new {@code MapDbBackendIndices} wrapping the provided {@code database}.
      *
-     * @param database the {@link org.mapdb.DB} used to creates the used {@link org.mapdb.HTreeMap}s and manage the
-     *                 database
+     * @param database       the {@link org.mapdb.DB} used to creates the used {@link org.mapdb.HTreeMap}s and manage
+     *                       the database
+     * @param indexInstances {@code true} if the instances must be indexed by meta-class
      *
      * @see MapDbBackendFactory
      */
     @SuppressWarnings("unchecked")
-    protected MapDbBackendIndices(DB database) {
-        super(database);
+    protected MapDbBackendIndices(DB database, boolean indexInstances) {
+        super(database, indexInstances);
 
         manyFeatures = database.hashMap("features/many")
-                .keySerializer(new SerializerDecorator<>(SERIALIZER_FACTORY.forManyFeature()))
-                .valueSerializer(Serializer.ELSA)
+                .keySerializer(recording(new SerializerDecorator<>(SERIALIZER_FACTORY.forManyFeature())))
+                .valueSerializer(recording(Serializer.ELSA))
                 .createOrOpen();
     }
 
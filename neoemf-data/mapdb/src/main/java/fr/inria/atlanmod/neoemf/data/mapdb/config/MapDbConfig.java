@@ -38,6 +38,7 @@ public class MapDbConfig extends BaseConfig<MapDbConfig> {
      * @see #withIndices()
      * @see #withLists()
      * @see #withArrays()
+     * @see #withChunks()
      */
     public MapDbConfig() {
         // Don't set a default mapping for a multi-mapping configuration.
@@ -90,5 +91,20 @@ public class MapDbConfig extends BaseConfig<MapDbConfig> {
         return setMappingWithCheck("fr.inria.atlanmod.neoemf.data.mapdb.MapDbBackendLists", false);
     }
 
+    /**
+     * Defines the mapping to use for the created {@link fr.inria.atlanmod.neoemf.data.mapdb.MapDbBackend}.
+     * <p>
+     * This mapping corresponds to a representation of multi-valued features as a sequence of fixed-size chunks, with a
+     * directory of chunks. It is intended for large multi-valued features that are frequently modified.
+     *
+     * @return this configuration (for chaining)
+     *
+     * @see fr.inria.atlanmod.neoemf.data.mapping.ManyValueWithChunks
+     */
+    @Nonnull
+    public MapDbConfig withChunks() {
+        return setMappingWithCheck("fr.inria.atlanmod.neoemf.data.mapdb.MapDbBackendChunks", false);
+    }
+
     // endregion
 }
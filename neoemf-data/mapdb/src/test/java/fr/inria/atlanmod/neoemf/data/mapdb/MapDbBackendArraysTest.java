@@ -10,7 +10,7 @@ package fr.inria.atlanmod.neoemf.data.mapdb;
 
 import fr.inria.atlanmod.neoemf.context.Context;
 import fr.inria.atlanmod.neoemf.data.mapdb.context.MabDbArraysContext;
-import fr.inria.atlanmod.neoemf.data.mapping.AbstractDataMapperTest;
+import fr.inria.atlanmod.neoemf.data.mapping.AbstractManyValueWithArraysTest;
 
 import javax.annotation.Nonnull;
 import javax.annotation.ParametersAreNonnullByDefault;
@@ -19,7 +19,7 @@ import javax.annotation.ParametersAreNonnullByDefault;
  * A test-case about {@link MapDbBackendArrays}.
  */
 @ParametersAreNonnullByDefault
-class MapDbBackendArraysTest extends AbstractDataMapperTest {
+class MapDbBackendArraysTest extends AbstractManyValueWithArraysTest {
 
     @Nonnull
     @Override
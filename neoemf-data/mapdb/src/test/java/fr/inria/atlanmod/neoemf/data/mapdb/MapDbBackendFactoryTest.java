@@ -38,7 +38,8 @@ class MapDbBackendFactoryTest extends AbstractBackendFactoryTest {
         return Stream.of(
                 Arguments.of(new MapDbConfig().withIndices(), MapDbBackendIndices.class),
                 Arguments.of(new MapDbConfig().withArrays(), MapDbBackendArrays.class),
-                Arguments.of(new MapDbConfig().withLists(), MapDbBackendLists.class)
+                Arguments.of(new MapDbConfig().withLists(), MapDbBackendLists.class),
+                Arguments.of(new MapDbConfig().withChunks(), MapDbBackendChunks.class)
         );
     }
 }
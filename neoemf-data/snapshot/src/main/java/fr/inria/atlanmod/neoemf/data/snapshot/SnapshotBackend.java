@@ -0,0 +1,612 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.snapshot;
+
+import fr.inria.atlanmod.neoemf.core.Id;
+import fr.inria.atlanmod.neoemf.data.AbstractBackend;
+import fr.inria.atlanmod.neoemf.data.bean.ClassBean;
+import fr.inria.atlanmod.neoemf.data.bean.ManyFeatureBean;
+import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
+import fr.inria.atlanmod.neoemf.data.bean.serializer.BeanSerializerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+
+/**
+ * A read-only {@link fr.inria.atlanmod.neoemf.data.Backend} that serves the content of a snapshot file, written by a
+ * {@link SnapshotExporter}, directly from memory-mapped buffers.
+ * <p>
+ * Opening a snapshot only reads its header and its meta-classes: the elements are located by a binary search in the
+ * sorted table of identifiers, and their features by a binary search in their feature table. The pages of the file are
+ * loaded on demand by the operating system, and shared between all the processes that open the same file. Only the
+ * values of attributes are deserialized when they are read.
+ * <p>
+ * All the mutators throw an {@link UnsupportedOperationException}. Since the buffers are never modified, this back-end
+ * can be read concurrently.
+ * <p>
+ * <b>NOTE:</b> Each section of the file is mapped in a single buffer, so it cannot exceed 2 GB.
+ *
+ * @see SnapshotBackendFactory
+ * @see SnapshotFormat
+ */
+@ParametersAreNonnullByDefault
+public class SnapshotBackend extends AbstractBackend {
+
+    /**
+     * The {@link BeanSerializerFactory} to use for deserializing the values of attributes.
+     */
+    @Nonnull
+    private static final BeanSerializerFactory SERIALIZER_FACTORY = BeanSerializerFactory.getInstance();
+
+    /**
+     * The exceptions thrown when calling mutators.
+     */
+    @Nonnull
+    private final Supplier<RuntimeException> e = () -> new UnsupportedOperationException("A snapshot is read-only");
+
+    /**
+     * The meta-classes of the snapshot, in order of index.
+     */
+    @Nonnull
+    private final ClassBean[] classes;
+
+    /**
+     * The number of elements in the snapshot.
+     */
+    @Nonnegative
+    private final int elementCount;
+
+    /**
+     * The sorted identifiers of the elements.
+     */
+    @Nonnull
+    private final ByteBuffer ids;
+
+    /**
+     * The description of each element, in the same order as the {@link #ids}.
+     */
+    @Nonnull
+    private final ByteBuffer elements;
+
+    /**
+     * The features of each element.
+     */
+    @Nonnull
+    private final ByteBuffer features;
+
+    /**
+     * The values of the references.
+     */
+    @Nonnull
+    private final ByteBuffer references;
+
+    /**
+     * The serialized values of the attributes.
+     */
+    @Nonnull
+    private final ByteBuffer values;
+
+    /**
+     * Constructs a new {@code SnapshotBackend} on the given snapshot {@code file}.
+     *
+     * @param file the snapshot file to open
+     *
+     * @throws IOException if an I/O error occurs when opening the file, or if the file is not a valid snapshot
+     * @see SnapshotBackendFactory
+     */
+    protected SnapshotBackend(Path file) throws IOException {
+        super(file.toString());
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final ByteBuffer header = ByteBuffer.allocate(SnapshotFormat.HEADER_SIZE);
+            while (header.hasRemaining()) {
+                if (channel.read(header) == -1) {
+                    throw new IOException(String.format("%s is not a snapshot file", file));
+                }
+            }
+            header.flip();
+
+            if (header.getInt() != SnapshotFormat.MAGIC) {
+                throw new IOException(String.format("%s is not a snapshot file", file));
+            }
+
+            final int version = header.getInt();
+            if (version != SnapshotFormat.VERSION) {
+                throw new IOException(String.format("Unsupported snapshot version: %d", version));
+            }
+
+            this.elementCount = header.getInt();
+            final int classCount = header.getInt();
+
+            final ByteBuffer[] sections = new ByteBuffer[SnapshotFormat.SECTION_COUNT];
+            for (int i = 0; i < sections.length; i++) {
+                sections[i] = map(channel, header.getLong(), header.getLong());
+            }
+
+            this.classes = decodeClasses(sections[SnapshotFormat.CLASSES], classCount);
+            this.ids = sections[SnapshotFormat.IDS];
+            this.elements = sections[SnapshotFormat.ELEMENTS];
+            this.features = sections[SnapshotFormat.FEATURES];
+            this.references = sections[SnapshotFormat.REFERENCES];
+            this.values = sections[SnapshotFormat.VALUES];
+        }
+    }
+
+    /**
+     * Maps a section of the file in memory. The mapping remains valid after the channel is closed.
+     *
+     * @param channel the channel of the file
+     * @param offset  the position of the section in the file
+     * @param length  the length of the section, in bytes
+     *
+     * @return the mapped section
+     *
+     * @throws IOException if an I/O error occurs when mapping, or if the section is too large
+     */
+    @Nonnull
+    private static ByteBuffer map(FileChannel channel, long offset, long length) throws IOException {
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException(String.format("Section of %d bytes cannot be mapped", length));
+        }
+        return channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+    }
+
+    /**
+     * Decodes the meta-classes of the snapshot.
+     *
+     * @param section    the section that contains the meta-classes
+     * @param classCount the number of meta-classes
+     *
+     * @return the meta-classes, in order of index
+     *
+     * @throws IOException if an I/O error occurs when decoding
+     */
+    @Nonnull
+    private static ClassBean[] decodeClasses(ByteBuffer section, @Nonnegative int classCount) throws IOException {
+        final byte[] bytes = new byte[section.remaining()];
+        section.duplicate().get(bytes);
+
+        final ClassBean[] classes = new ClassBean[classCount];
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            for (int i = 0; i < classCount; i++) {
+                final String name = in.readUTF();
+                final String uri = in.readUTF();
+                classes[i] = ClassBean.of(name, uri);
+            }
+        }
+        return classes;
+    }
+
+    @Override
+    public boolean isPersistent() {
+        return true;
+    }
+
+    @Override
+    public boolean isDistributed() {
+        return false;
+    }
+
+    @Override
+    protected void internalClose() {
+        // The buffers are unmapped when they are garbage-collected
+    }
+
+    @Override
+    protected void internalSave() {
+        // Nothing to save
+    }
+
+    // region Containers
+
+    @Nonnull
+    @Override
+    public Optional<SingleFeatureBean> containerOf(Id id) {
+        checkNotNull(id, "id");
+
+        final int element = indexOf(id);
+        if (element < 0 || (elementInt(element, SnapshotFormat.ELEMENT_FLAGS) & SnapshotFormat.FLAG_CONTAINER) == 0) {
+            return Optional.empty();
+        }
+
+        final Id container = Id.getProvider().fromLong(elements.getLong(element * SnapshotFormat.ELEMENT_SIZE + SnapshotFormat.ELEMENT_CONTAINER_ID));
+        return Optional.of(SingleFeatureBean.of(container, elementInt(element, SnapshotFormat.ELEMENT_CONTAINER_FEATURE)));
+    }
+
+    @Override
+    public void containerFor(Id id, SingleFeatureBean container) {
+        throw e.get();
+    }
+
+    @Override
+    public void removeContainer(Id id) {
+        throw e.get();
+    }
+
+    // endregion
+
+    // region Meta-classes
+
+    @Nonnull
+    @Override
+    public Optional<ClassBean> metaClassOf(Id id) {
+        checkNotNull(id, "id");
+
+        final int element = indexOf(id);
+        if (element < 0) {
+            return Optional.empty();
+        }
+
+        final int classIndex = elementInt(element, SnapshotFormat.ELEMENT_CLASS);
+        return classIndex >= 0 ? Optional.of(classes[classIndex]) : Optional.empty();
+    }
+
+    @Override
+    public boolean metaClassFor(Id id, ClassBean metaClass) {
+        throw e.get();
+    }
+
+    @Nonnull
+    @Override
+    public Iterable<Id> allInstancesOf(Set<ClassBean> metaClasses) {
+        checkNotNull(metaClasses, "metaClasses");
+
+        final boolean[] matches = new boolean[classes.length];
+        for (int i = 0; i < classes.length; i++) {
+            matches[i] = metaClasses.contains(classes[i]);
+        }
+
+        final List<Id> instances = new ArrayList<>();
+        for (int element = 0; element < elementCount; element++) {
+            final int classIndex = elementInt(element, SnapshotFormat.ELEMENT_CLASS);
+            if (classIndex >= 0 && matches[classIndex]) {
+                instances.add(Id.getProvider().fromLong(ids.getLong(element * SnapshotFormat.ID_SIZE)));
+            }
+        }
+        return instances;
+    }
+
+    // endregion
+
+    // region Single-valued features
+
+    @Nonnull
+    @Override
+    public <V> Optional<V> valueOf(SingleFeatureBean feature) {
+        checkNotNull(feature, "feature");
+
+        final int entry = entryOf(feature, SnapshotFormat.SINGLE_VALUE);
+        return entry >= 0
+                ? Optional.of(valueAt(dataOf(entry)))
+                : Optional.empty();
+    }
+
+    @Nonnull
+    @Override
+    public <V> Optional<V> valueFor(SingleFeatureBean feature, V value) {
+        throw e.get();
+    }
+
+    @Override
+    public void removeValue(SingleFeatureBean feature) {
+        throw e.get();
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Id> referenceOf(SingleFeatureBean feature) {
+        checkNotNull(feature, "feature");
+
+        final int entry = entryOf(feature, SnapshotFormat.SINGLE_REFERENCE);
+        return entry >= 0
+                ? Optional.of(referenceAt(dataOf(entry)))
+                : Optional.empty();
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Id> referenceFor(SingleFeatureBean feature, Id reference) {
+        throw e.get();
+    }
+
+    @Override
+    public void removeReference(SingleFeatureBean feature) {
+        throw e.get();
+    }
+
+    // endregion
+
+    // region Multi-valued attributes
+
+    @Nonnull
+    @Override
+    public <V> Optional<V> valueOf(ManyFeatureBean feature) {
+        checkNotNull(feature, "feature");
+
+        final int entry = entryOf(feature.withoutPosition(), SnapshotFormat.MANY_VALUE);
+        return entry >= 0 && feature.position() < sizeOf(entry)
+                ? Optional.of(valueAt(values.getLong(dataOf(entry) + feature.position() * Long.BYTES)))
+                : Optional.empty();
+    }
+
+    @Nonnull
+    @Override
+    public <V> Stream<V> allValuesOf(SingleFeatureBean feature) {
+        checkNotNull(feature, "feature");
+
+        final int entry = entryOf(feature, SnapshotFormat.MANY_VALUE);
+        if (entry < 0) {
+            return Stream.empty();
+        }
+
+        final int data = dataOf(entry);
+        return IntStream.range(0, sizeOf(entry)).mapToObj(i -> valueAt(values.getLong(data + i * Long.BYTES)));
+    }
+
+    @Nonnull
+    @Override
+    public <V> Optional<V> valueFor(ManyFeatureBean feature, V value) {
+        throw e.get();
+    }
+
+    @Override
+    public <V> void addValue(ManyFeatureBean feature, V value) {
+        throw e.get();
+    }
+
+    @Override
+    public <V> void addAllValues(ManyFeatureBean feature, List<? extends V> collection) {
+        throw e.get();
+    }
+
+    @Nonnull
+    @Override
+    public <V> Optional<V> removeValue(ManyFeatureBean feature) {
+        throw e.get();
+    }
+
+    @Override
+    public void removeAllValues(SingleFeatureBean feature) {
+        throw e.get();
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Integer> sizeOfValue(SingleFeatureBean feature) {
+        checkNotNull(feature, "feature");
+
+        final int entry = entryOf(feature, SnapshotFormat.MANY_VALUE);
+        return entry >= 0
+                ? Optional.of(sizeOf(entry))
+                : Optional.empty();
+    }
+
+    // endregion
+
+    // region Multi-valued references
+
+    @Nonnull
+    @Override
+    public Optional<Id> referenceOf(ManyFeatureBean feature) {
+        checkNotNull(feature, "feature");
+
+        final int entry = entryOf(feature.withoutPosition(), SnapshotFormat.MANY_REFERENCE);
+        return entry >= 0 && feature.position() < sizeOf(entry)
+                ? Optional.of(referenceAt(dataOf(entry) + feature.position() * SnapshotFormat.ID_SIZE))
+                : Optional.empty();
+    }
+
+    @Nonnull
+    @Override
+    public Stream<Id> allReferencesOf(SingleFeatureBean feature) {
+        checkNotNull(feature, "feature");
+
+        final int entry = entryOf(feature, SnapshotFormat.MANY_REFERENCE);
+        if (entry < 0) {
+            return Stream.empty();
+        }
+
+        final int data = dataOf(entry);
+        return IntStream.range(0, sizeOf(entry)).mapToObj(i -> referenceAt(data + i * SnapshotFormat.ID_SIZE));
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Id> referenceFor(ManyFeatureBean feature, Id reference) {
+        throw e.get();
+    }
+
+    @Override
+    public void addReference(ManyFeatureBean feature, Id reference) {
+        throw e.get();
+    }
+
+    @Override
+    public void addAllReferences(ManyFeatureBean feature, List<Id> collection) {
+        throw e.get();
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Id> removeReference(ManyFeatureBean feature) {
+        throw e.get();
+    }
+
+    @Override
+    public void removeAllReferences(SingleFeatureBean feature) {
+        throw e.get();
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Integer> sizeOfReference(SingleFeatureBean feature) {
+        checkNotNull(feature, "feature");
+
+        final int entry = entryOf(feature, SnapshotFormat.MANY_REFERENCE);
+        return entry >= 0
+                ? Optional.of(sizeOf(entry))
+                : Optional.empty();
+    }
+
+    // endregion
+
+    /**
+     * Returns the index of the element identified by {@code id}, using a binary search in the sorted identifiers.
+     *
+     * @param id the identifier of the element
+     *
+     * @return the index of the element, or {@code -1} if the snapshot does not contain this element
+     */
+    private int indexOf(Id id) {
+        final long key = id.toLong();
+
+        int low = 0;
+        int high = elementCount - 1;
+
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            final long value = ids.getLong(middle * SnapshotFormat.ID_SIZE);
+
+            if (value < key) {
+                low = middle + 1;
+            }
+            else if (value > key) {
+                high = middle - 1;
+            }
+            else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the position of the entry of the given {@code feature}, using a binary search in the features of its
+     * owner.
+     *
+     * @param feature the feature
+     * @param kind    the expected kind of the feature
+     *
+     * @return the position of the entry in the {@link #features}, or {@code -1} if the feature has no value, or if it
+     * does not have the expected kind
+     */
+    private int entryOf(SingleFeatureBean feature, int kind) {
+        final int element = indexOf(feature.owner());
+        if (element < 0) {
+            return -1;
+        }
+
+        final int first = (int) elements.getLong(element * SnapshotFormat.ELEMENT_SIZE + SnapshotFormat.ELEMENT_FEATURES);
+        final int key = feature.id();
+
+        int low = 0;
+        int high = elementInt(element, SnapshotFormat.ELEMENT_FEATURE_COUNT) - 1;
+
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            final int entry = first + middle * SnapshotFormat.FEATURE_SIZE;
+            final int value = features.getInt(entry + SnapshotFormat.FEATURE_ID);
+
+            if (value < key) {
+                low = middle + 1;
+            }
+            else if (value > key) {
+                high = middle - 1;
+            }
+            else {
+                return SnapshotFormat.kindOf(features.getInt(entry + SnapshotFormat.FEATURE_KIND_AND_SIZE)) == kind ? entry : -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns a field of the description of an element.
+     *
+     * @param element  the index of the element
+     * @param position the position of the field in the description
+     *
+     * @return the value of the field
+     */
+    private int elementInt(int element, int position) {
+        return elements.getInt(element * SnapshotFormat.ELEMENT_SIZE + position);
+    }
+
+    /**
+     * Returns the number of values of a feature.
+     *
+     * @param entry the position of the entry of the feature
+     *
+     * @return the number of values
+     */
+    @Nonnegative
+    private int sizeOf(int entry) {
+        return SnapshotFormat.sizeOf(features.getInt(entry + SnapshotFormat.FEATURE_KIND_AND_SIZE));
+    }
+
+    /**
+     * Returns the position of the data of a feature.
+     *
+     * @param entry the position of the entry of the feature
+     *
+     * @return the position of the data in the {@link #references} or in the {@link #values}
+     */
+    private int dataOf(int entry) {
+        return (int) features.getLong(entry + SnapshotFormat.FEATURE_DATA);
+    }
+
+    /**
+     * Reads the reference at the given {@code position}.
+     *
+     * @param position the position of the reference in the {@link #references}
+     *
+     * @return the reference
+     */
+    @Nonnull
+    private Id referenceAt(int position) {
+        return Id.getProvider().fromLong(references.getLong(position));
+    }
+
+    /**
+     * Deserializes the value at the given {@code position}.
+     *
+     * @param position the position of the value in the {@link #values}
+     * @param <V>      the type of the value
+     *
+     * @return the value
+     */
+    @Nonnull
+    private <V> V valueAt(long position) {
+        final ByteBuffer buffer = values.duplicate();
+        buffer.position((int) position);
+
+        final byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+
+        return SERIALIZER_FACTORY.<V>forAny().deserialize(bytes);
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.snapshot;
+
+import fr.inria.atlanmod.neoemf.data.AbstractBackendFactory;
+import fr.inria.atlanmod.neoemf.data.Backend;
+import fr.inria.atlanmod.neoemf.data.BackendFactory;
+import fr.inria.atlanmod.neoemf.data.snapshot.config.SnapshotConfig;
+
+import org.osgi.service.component.annotations.Component;
+
+import java.nio.file.Path;
+
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * A {@link fr.inria.atlanmod.neoemf.data.BackendFactory} that creates {@link SnapshotBackend} instances.
+ * <p>
+ * The snapshot file must already exist in the directory of the back-end: it is written by a {@link SnapshotExporter}
+ * from any {@link fr.inria.atlanmod.neoemf.data.mapping.DataMapper}. Transient back-ends are not supported, since a
+ * snapshot cannot be modified.
+ */
+@Component(service = BackendFactory.class)
+@ParametersAreNonnullByDefault
+public class SnapshotBackendFactory extends AbstractBackendFactory<SnapshotConfig> {
+
+    /**
+     * Constructs a new {@code SnapshotBackendFactory}.
+     */
+    public SnapshotBackendFactory() {
+        super("snapshot", false);
+    }
+
+    @Nonnull
+    @Override
+    protected Backend createLocalBackend(Path directory, SnapshotConfig config) throws Exception {
+        return new SnapshotBackend(directory.resolve(SnapshotFormat.FILE_NAME));
+    }
+}
@@ -0,0 +1,608 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.snapshot;
+
+import fr.inria.atlanmod.commons.log.Log;
+import fr.inria.atlanmod.neoemf.core.Id;
+import fr.inria.atlanmod.neoemf.data.bean.ClassBean;
+import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
+import fr.inria.atlanmod.neoemf.data.bean.serializer.BeanSerializerFactory;
+import fr.inria.atlanmod.neoemf.data.mapping.DataMapper;
+import fr.inria.atlanmod.neoemf.resource.PersistentResource;
+import fr.inria.atlanmod.neoemf.util.EFeatures;
+
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EStructuralFeature;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static java.util.Objects.isNull;
+
+/**
+ * An exporter that writes the content of a {@link DataMapper} in a snapshot file, that can then be opened by a
+ * {@link SnapshotBackend}.
+ * <p>
+ * The elements are retrieved by traversing the containment tree from the {@link PersistentResource#ROOT_ID}, so the
+ * {@link org.eclipse.emf.ecore.EPackage}s of the model must be registered. The features of the elements are written in
+ * temporary files during the traversal, and the sorted tables of elements are written at the end.
+ *
+ * @see SnapshotFormat
+ */
+@ParametersAreNonnullByDefault
+public final class SnapshotExporter implements Closeable {
+
+    /**
+     * The {@link BeanSerializerFactory} to use for serializing the values of attributes.
+     */
+    @Nonnull
+    private static final BeanSerializerFactory SERIALIZER_FACTORY = BeanSerializerFactory.getInstance();
+
+    /**
+     * The mapper to export.
+     */
+    @Nonnull
+    private final DataMapper source;
+
+    /**
+     * The snapshot file to write.
+     */
+    @Nonnull
+    private final Path file;
+
+    /**
+     * The index of each meta-class already encountered.
+     */
+    @Nonnull
+    private final Map<ClassBean, Integer> classIndices = new HashMap<>();
+
+    /**
+     * The meta-classes already encountered, in order of index.
+     */
+    @Nonnull
+    private final List<ClassBean> classes = new ArrayList<>();
+
+    /**
+     * The features of each meta-class already encountered.
+     */
+    @Nonnull
+    private final Map<ClassBean, EStructuralFeature[]> classFeatures = new HashMap<>();
+
+    /**
+     * The elements already written.
+     */
+    @Nonnull
+    private final List<Element> elements = new ArrayList<>();
+
+    /**
+     * The temporary section of the features of each element.
+     */
+    @Nonnull
+    private final Section features;
+
+    /**
+     * The temporary section of the references.
+     */
+    @Nonnull
+    private final Section references;
+
+    /**
+     * The temporary section of the values.
+     */
+    @Nonnull
+    private final Section values;
+
+    /**
+     * Constructs a new {@code SnapshotExporter}.
+     *
+     * @param source the mapper to export
+     * @param file   the snapshot file to write
+     *
+     * @throws IOException if an I/O error occurs when creating the temporary files
+     */
+    private SnapshotExporter(DataMapper source, Path file) throws IOException {
+        this.source = source;
+        this.file = file;
+
+        final Path directory = file.toAbsolutePath().getParent();
+        this.features = new Section(Files.createTempFile(directory, "features", ".tmp"));
+        this.references = new Section(Files.createTempFile(directory, "references", ".tmp"));
+        this.values = new Section(Files.createTempFile(directory, "values", ".tmp"));
+    }
+
+    /**
+     * Exports the content of the {@code source} in the {@code directory} of a {@link SnapshotBackend}. The directory
+     * is created if it does not exist.
+     *
+     * @param source    the mapper to export
+     * @param directory the directory where to write the snapshot file
+     *
+     * @throws IOException if an I/O error occurs when writing
+     */
+    public static void export(DataMapper source, Path directory) throws IOException {
+        checkNotNull(source, "source");
+        checkNotNull(directory, "directory");
+
+        Files.createDirectories(directory);
+
+        try (SnapshotExporter exporter = new SnapshotExporter(source, directory.resolve(SnapshotFormat.FILE_NAME))) {
+            exporter.export();
+        }
+    }
+
+    /**
+     * Traverses the {@link #source}, and writes the snapshot file.
+     *
+     * @throws IOException if an I/O error occurs when writing
+     */
+    private void export() throws IOException {
+        final Set<Id> visited = new HashSet<>();
+        final Deque<Id> pending = new ArrayDeque<>();
+        pending.push(PersistentResource.ROOT_ID);
+
+        while (!pending.isEmpty()) {
+            final Id id = pending.pop();
+
+            if (visited.add(id)) {
+                final List<Id> containments = writeElement(id);
+
+                // Push in reverse order to visit the children in their original order
+                for (int i = containments.size() - 1; i >= 0; i--) {
+                    pending.push(containments.get(i));
+                }
+            }
+        }
+
+        features.close();
+        references.close();
+        values.close();
+
+        writeFile();
+
+        Log.info("{0} elements exported to {1}", elements.size(), file);
+    }
+
+    /**
+     * Writes the features of the element identified by {@code id}, and returns the identifiers of the elements it
+     * contains.
+     *
+     * @param id the identifier of the element
+     *
+     * @return the identifiers of the contained elements
+     *
+     * @throws IOException if an I/O error occurs when writing
+     */
+    @Nonnull
+    private List<Id> writeElement(Id id) throws IOException {
+        final Optional<ClassBean> metaClass = source.metaClassOf(id);
+        final Optional<SingleFeatureBean> container = source.containerOf(id);
+
+        final Element element = new Element(id.toLong());
+        element.classIndex = metaClass.map(this::indexOf).orElse(-1);
+        element.featuresOffset = features.size;
+
+        container.ifPresent(c -> {
+            element.containerId = c.owner().toLong();
+            element.containerFeature = c.id();
+            element.flags |= SnapshotFormat.FLAG_CONTAINER;
+        });
+
+        final List<Id> containments = new ArrayList<>();
+
+        if (PersistentResource.ROOT_ID.equals(id)) {
+            // The content of the resource is not defined by a meta-class
+            List<Id> roots = source.allReferencesOf(SingleFeatureBean.of(id, -1)).collect(Collectors.toList());
+            if (writeReferences(-1, true, roots)) {
+                element.featureCount++;
+            }
+            containments.addAll(roots);
+        }
+        else if (metaClass.isPresent()) {
+            final EClass eClass = metaClass.get().get();
+
+            for (EStructuralFeature eFeature : featuresOf(metaClass.get())) {
+                final int featureId = eClass.getFeatureID(eFeature);
+                final SingleFeatureBean feature = SingleFeatureBean.of(id, featureId);
+
+                boolean written;
+                if (EFeatures.isAttribute(eFeature)) {
+                    final List<Object> featureValues = !eFeature.isMany()
+                            ? source.valueOf(feature).map(Collections::singletonList).orElseGet(Collections::emptyList)
+                            : source.allValuesOf(feature).collect(Collectors.toList());
+
+                    written = writeValues(featureId, eFeature.isMany(), featureValues);
+                }
+                else {
+                    final List<Id> featureReferences = !eFeature.isMany()
+                            ? source.referenceOf(feature).map(Collections::singletonList).orElseGet(Collections::emptyList)
+                            : source.allReferencesOf(feature).collect(Collectors.toList());
+
+                    written = writeReferences(featureId, eFeature.isMany(), featureReferences);
+
+                    if (EFeatures.asReference(eFeature).isContainment()) {
+                        containments.addAll(featureReferences);
+                    }
+                }
+
+                if (written) {
+                    element.featureCount++;
+                }
+            }
+        }
+
+        elements.add(element);
+
+        return containments;
+    }
+
+    /**
+     * Writes the values of an attribute.
+     *
+     * @param featureId     the identifier of the feature
+     * @param isMany        {@code true} if the feature is multi-valued
+     * @param featureValues the values of the feature
+     *
+     * @return {@code true} if the feature has been written, {@code false} if it has no value
+     *
+     * @throws IOException if an I/O error occurs when writing
+     */
+    private boolean writeValues(int featureId, boolean isMany, List<Object> featureValues) throws IOException {
+        if (featureValues.isEmpty()) {
+            return false;
+        }
+
+        final int size = checkSize(featureValues.size());
+        final long offset = values.size;
+
+        if (isMany) {
+            final List<byte[]> serializedValues = featureValues.stream()
+                    .map(v -> SERIALIZER_FACTORY.forAny().serialize(v))
+                    .collect(Collectors.toList());
+
+            // The offsets of each value, followed by the values
+            long valueOffset = offset + (long) size * Long.BYTES;
+            for (byte[] bytes : serializedValues) {
+                values.out.writeLong(valueOffset);
+                valueOffset += Integer.BYTES + bytes.length;
+            }
+            values.size += (long) size * Long.BYTES;
+
+            for (byte[] bytes : serializedValues) {
+                writeValue(bytes);
+            }
+        }
+        else {
+            writeValue(SERIALIZER_FACTORY.forAny().serialize(featureValues.get(0)));
+        }
+
+        writeFeature(featureId, isMany ? SnapshotFormat.MANY_VALUE : SnapshotFormat.SINGLE_VALUE, size, offset);
+        return true;
+    }
+
+    /**
+     * Writes a serialized value, prefixed by its length.
+     *
+     * @param bytes the serialized value
+     *
+     * @throws IOException if an I/O error occurs when writing
+     */
+    private void writeValue(byte[] bytes) throws IOException {
+        values.out.writeInt(bytes.length);
+        values.out.write(bytes);
+        values.size += Integer.BYTES + bytes.length;
+    }
+
+    /**
+     * Writes the values of a reference.
+     *
+     * @param featureId         the identifier of the feature
+     * @param isMany            {@code true} if the feature is multi-valued
+     * @param featureReferences the values of the feature
+     *
+     * @return {@code true} if the feature has been written, {@code false} if it has no value
+     *
+     * @throws IOException if an I/O error occurs when writing
+     */
+    private boolean writeReferences(int featureId, boolean isMany, List<Id> featureReferences) throws IOException {
+        if (featureReferences.isEmpty()) {
+            return false;
+        }
+
+        final int size = checkSize(featureReferences.size());
+        final long offset = references.size;
+
+        for (Id reference : featureReferences) {
+            references.out.writeLong(reference.toLong());
+        }
+        references.size += (long) size * SnapshotFormat.ID_SIZE;
+
+        writeFeature(featureId, isMany ? SnapshotFormat.MANY_REFERENCE : SnapshotFormat.SINGLE_REFERENCE, size, offset);
+        return true;
+    }
+
+    /**
+     * Writes an entry of the {@link SnapshotFormat#FEATURES} section.
+     *
+     * @param featureId the identifier of the feature
+     * @param kind      the kind of the feature
+     * @param size      the number of values of the feature
+     * @param offset    the offset of the data of the feature
+     *
+     * @throws IOException if an I/O error occurs when writing
+     */
+    private void writeFeature(int featureId, int kind, @Nonnegative int size, long offset) throws IOException {
+        features.out.writeInt(featureId);
+        features.out.writeInt(SnapshotFormat.kindAndSize(kind, size));
+        features.out.writeLong(offset);
+        features.size += SnapshotFormat.FEATURE_SIZE;
+    }
+
+    /**
+     * Writes the snapshot file, from the sorted elements and the temporary sections.
+     *
+     * @throws IOException if an I/O error occurs when writing
+     */
+    private void writeFile() throws IOException {
+        elements.sort(Comparator.comparingLong(e -> e.id));
+
+        final byte[] classesSection = encodeClasses();
+
+        final long[] lengths = new long[SnapshotFormat.SECTION_COUNT];
+        lengths[SnapshotFormat.CLASSES] = classesSection.length;
+        lengths[SnapshotFormat.IDS] = (long) elements.size() * SnapshotFormat.ID_SIZE;
+        lengths[SnapshotFormat.ELEMENTS] = (long) elements.size() * SnapshotFormat.ELEMENT_SIZE;
+        lengths[SnapshotFormat.FEATURES] = features.size;
+        lengths[SnapshotFormat.REFERENCES] = references.size;
+        lengths[SnapshotFormat.VALUES] = values.size;
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            // Header
+            out.writeInt(SnapshotFormat.MAGIC);
+            out.writeInt(SnapshotFormat.VERSION);
+            out.writeInt(elements.size());
+            out.writeInt(classes.size());
+
+            long offset = SnapshotFormat.HEADER_SIZE;
+            for (long length : lengths) {
+                out.writeLong(offset);
+                out.writeLong(length);
+                offset += length;
+            }
+
+            // Sections
+            out.write(classesSection);
+
+            for (Element e : elements) {
+                out.writeLong(e.id);
+            }
+
+            for (Element e : elements) {
+                out.writeLong(e.containerId);
+                out.writeInt(e.containerFeature);
+                out.writeInt(e.classIndex);
+                out.writeInt(e.featureCount);
+                out.writeInt(e.flags);
+                out.writeLong(e.featuresOffset);
+            }
+
+            Files.copy(features.file, out);
+            Files.copy(references.file, out);
+            Files.copy(values.file, out);
+        }
+    }
+
+    /**
+     * Encodes the {@link SnapshotFormat#CLASSES} section.
+     *
+     * @return the encoded section
+     *
+     * @throws IOException if an I/O error occurs when encoding
+     */
+    @Nonnull
+    private byte[] encodeClasses() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            for (ClassBean metaClass : classes) {
+                out.writeUTF(metaClass.name());
+                out.writeUTF(metaClass.uri());
+            }
+        }
+
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Returns the index of the {@code metaClass}, and registers it if it has not been encountered yet.
+     *
+     * @param metaClass the meta-class
+     *
+     * @return the index of the meta-class
+     */
+    @Nonnegative
+    private int indexOf(ClassBean metaClass) {
+        Integer index = classIndices.get(metaClass);
+
+        if (isNull(index)) {
+            index = classes.size();
+            classIndices.put(metaClass, index);
+            classes.add(metaClass);
+        }
+
+        return index;
+    }
+
+    /**
+     * Returns the features of the {@code metaClass}, in ascending order of identifier.
+     *
+     * @param metaClass the meta-class
+     *
+     * @return the features
+     */
+    @Nonnull
+    private EStructuralFeature[] featuresOf(ClassBean metaClass) {
+        return classFeatures.computeIfAbsent(metaClass, c -> c.get().getEAllStructuralFeatures().toArray(new EStructuralFeature[0]));
+    }
+
+    /**
+     * Checks that a feature does not have more values than supported by the format.
+     *
+     * @param size the number of values
+     *
+     * @return the {@code size}
+     *
+     * @throws IOException if the feature has too many values
+     */
+    @Nonnegative
+    private static int checkSize(@Nonnegative int size) throws IOException {
+        if (size > SnapshotFormat.MAX_SIZE) {
+            throw new IOException(String.format("Too many values for a feature: %d", size));
+        }
+        return size;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            features.close();
+            references.close();
+            values.close();
+        }
+        finally {
+            Files.deleteIfExists(features.file);
+            Files.deleteIfExists(references.file);
+            Files.deleteIfExists(values.file);
+        }
+    }
+
+    /**
+     * A temporary file that holds a section of variable size.
+     */
+    @ParametersAreNonnullByDefault
+    private static final class Section implements Closeable {
+
+        /**
+         * The temporary file.
+         */
+        @Nonnull
+        private final Path file;
+
+        /**
+         * The stream where to write the section.
+         */
+        @Nonnull
+        private final DataOutputStream out;
+
+        /**
+         * The number of bytes written in the section.
+         */
+        @Nonnegative
+        private long size;
+
+        /**
+         * {@code true} if the stream is closed.
+         */
+        private boolean closed;
+
+        /**
+         * Constructs a new {@code Section}.
+         *
+         * @param file the temporary file
+         *
+         * @throws IOException if an I/O error occurs when opening the file
+         */
+        Section(Path file) throws IOException {
+            this.file = file;
+
+            final OutputStream stream = Files.newOutputStream(file);
+            this.out = new DataOutputStream(new BufferedOutputStream(stream, 64 * 1024));
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                out.close();
+            }
+        }
+    }
+
+    /**
+     * An element already written, waiting for its entry in the sorted tables.
+     */
+    private static final class Element {
+
+        /**
+         * The identifier of the element.
+         */
+        private final long id;
+
+        /**
+         * The identifier of the container of the element.
+         */
+        private long containerId;
+
+        /**
+         * The identifier of the containing feature of the element.
+         */
+        private int containerFeature;
+
+        /**
+         * The index of the meta-class of the element, or {@code -1} if it has no meta-class.
+         */
+        private int classIndex;
+
+        /**
+         * The number of features written for this element.
+         */
+        private int featureCount;
+
+        /**
+         * The flags of this element.
+         */
+        private int flags;
+
+        /**
+         * The offset of the first feature of this element.
+         */
+        private long featuresOffset;
+
+        /**
+         * Constructs a new {@code Element}.
+         *
+         * @param id the identifier of the element
+         */
+        Element(long id) {
+            this.id = id;
+        }
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.snapshot;
+
+import fr.inria.atlanmod.commons.Throwables;
+import fr.inria.atlanmod.commons.annotation.Static;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * A utility class that contains all the constants used in a snapshot file.
+ * <p>
+ * A snapshot file is made of a fixed-size header, followed by sections of fixed-size entries that can be read in place,
+ * without any decoding step:
+ * <ul>
+ * <li>the header: {@code <magic> <version> <element count> <class count>}, followed by the {@code <offset> <length>}
+ * of each section in the file</li>
+ * <li>{@link #CLASSES}: the {@code <name> <uri>} of each meta-class</li>
+ * <li>{@link #IDS}: the identifier of each element, in ascending order</li>
+ * <li>{@link #ELEMENTS}: for each element, in the same order as the identifiers, {@code <container id> <container
+ * feature> <class index> <feature count> <flags> <features offset>}</li>
+ * <li>{@link #FEATURES}: for each element, its features in ascending order of identifier, as {@code <feature>
+ * <kind and size> <data offset>}</li>
+ * <li>{@link #REFERENCES}: the identifiers referenced by each feature</li>
+ * <li>{@link #VALUES}: the serialized values of each attribute, prefixed by their length; a multi-valued attribute
+ * starts with the offsets of its values</li>
+ * </ul>
+ * All numbers are written in big-endian order, and all offsets in a section are relative to the start of this
+ * section.
+ *
+ * @see SnapshotExporter
+ * @see SnapshotBackend
+ */
+@Static
+@ParametersAreNonnullByDefault
+final class SnapshotFormat {
+
+    /**
+     * The name of the snapshot file in the directory of a back-end.
+     */
+    static final String FILE_NAME = "data.snapshot";
+
+    /**
+     * The magic number at the start of a snapshot file: {@code NEOM} in ASCII.
+     */
+    static final int MAGIC = 0x4E454F4D;
+
+    /**
+     * The current version of the format.
+     */
+    static final int VERSION = 1;
+
+    // region Sections
+
+    /**
+     * The index of the section that contains the meta-classes.
+     */
+    static final int CLASSES = 0;
+
+    /**
+     * The index of the section that contains the sorted identifiers.
+     */
+    static final int IDS = 1;
+
+    /**
+     * The index of the section that contains the description of each element.
+     */
+    static final int ELEMENTS = 2;
+
+    /**
+     * The index of the section that contains the features of each element.
+     */
+    static final int FEATURES = 3;
+
+    /**
+     * The index of the section that contains the values of the references.
+     */
+    static final int REFERENCES = 4;
+
+    /**
+     * The index of the section that contains the values of the attributes.
+     */
+    static final int VALUES = 5;
+
+    /**
+     * The number of sections.
+     */
+    static final int SECTION_COUNT = 6;
+
+    /**
+     * The size of the header, in bytes.
+     */
+    @Nonnegative
+    static final int HEADER_SIZE = 4 * Integer.BYTES + SECTION_COUNT * 2 * Long.BYTES;
+
+    // endregion
+
+    // region Entries
+
+    /**
+     * The size of an identifier, in bytes.
+     */
+    @Nonnegative
+    static final int ID_SIZE = Long.BYTES;
+
+    /**
+     * The size of an entry of the {@link #ELEMENTS} section, in bytes.
+     */
+    @Nonnegative
+    static final int ELEMENT_SIZE = 32;
+
+    /**
+     * The position of the identifier of the container in an element entry.
+     */
+    static final int ELEMENT_CONTAINER_ID = 0;
+
+    /**
+     * The position of the feature of the container in an element entry.
+     */
+    static final int ELEMENT_CONTAINER_FEATURE = 8;
+
+    /**
+     * The position of the index of the meta-class in an element entry, or {@code -1} if the element has no
+     * meta-class.
+     */
+    static final int ELEMENT_CLASS = 12;
+
+    /**
+     * The position of the number of features in an element entry.
+     */
+    static final int ELEMENT_FEATURE_COUNT = 16;
+
+    /**
+     * The position of the flags in an element entry.
+     */
+    static final int ELEMENT_FLAGS = 20;
+
+    /**
+     * The position of the offset of the features in an element entry.
+     */
+    static final int ELEMENT_FEATURES = 24;
+
+    /**
+     * The flag set when an element has a container.
+     */
+    static final int FLAG_CONTAINER = 0x1;
+
+    /**
+     * The size of an entry of the {@link #FEATURES} section, in bytes.
+     */
+    @Nonnegative
+    static final int FEATURE_SIZE = 16;
+
+    /**
+     * The position of the identifier of the feature in a feature entry.
+     */
+    static final int FEATURE_ID = 0;
+
+    /**
+     * The position of the kind and the size of the feature in a feature entry.
+     */
+    static final int FEATURE_KIND_AND_SIZE = 4;
+
+    /**
+     * The position of the offset of the data in a feature entry.
+     */
+    static final int FEATURE_DATA = 8;
+
+    // endregion
+
+    // region Kinds
+
+    /**
+     * The kind of a single-valued attribute.
+     */
+    static final int SINGLE_VALUE = 0;
+
+    /**
+     * The kind of a multi-valued attribute.
+     */
+    static final int MANY_VALUE = 1;
+
+    /**
+     * The kind of a single-valued reference.
+     */
+    static final int SINGLE_REFERENCE = 2;
+
+    /**
+     * The kind of a multi-valued reference.
+     */
+    static final int MANY_REFERENCE = 3;
+
+    /**
+     * The number of bits used to store the size of a feature, after its kind.
+     */
+    private static final int SIZE_BITS = 30;
+
+    /**
+     * The greatest size of a feature.
+     */
+    @Nonnegative
+    static final int MAX_SIZE = (1 << SIZE_BITS) - 1;
+
+    // endregion
+
+    private SnapshotFormat() {
+        throw Throwables.notInstantiableClass(getClass());
+    }
+
+    /**
+     * Packs the {@code kind} and the {@code size} of a feature in a single {@code int}.
+     *
+     * @param kind the kind of the feature
+     * @param size the number of values of the feature
+     *
+     * @return the packed value
+     */
+    static int kindAndSize(int kind, @Nonnegative int size) {
+        return kind << SIZE_BITS | size;
+    }
+
+    /**
+     * Returns the kind of a feature from a packed value.
+     *
+     * @param kindAndSize the packed value
+     *
+     * @return the kind of the feature
+     *
+     * @see #kindAndSize(int, int)
+     */
+    static int kindOf(int kindAndSize) {
+        return kindAndSize >>> SIZE_BITS;
+    }
+
+    /**
+     * Returns the number of values of a feature from a packed value.
+     *
+     * @param kindAndSize the packed value
+     *
+     * @return the number of values of the feature
+     *
+     * @see #kindAndSize(int, int)
+     */
+    @Nonnegative
+    static int sizeOf(int kindAndSize) {
+        return kindAndSize & MAX_SIZE;
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.snapshot.config;
+
+import fr.inria.atlanmod.neoemf.bind.FactoryBinding;
+import fr.inria.atlanmod.neoemf.config.BaseConfig;
+import fr.inria.atlanmod.neoemf.config.Config;
+import fr.inria.atlanmod.neoemf.data.snapshot.SnapshotBackendFactory;
+
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.ServiceScope;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * A {@link fr.inria.atlanmod.neoemf.config.Config} that creates snapshot specific configuration.
+ * <p>
+ * A snapshot has a single representation, and is always read-only: only the generic options can be defined.
+ */
+@Component(service = Config.class, scope = ServiceScope.PROTOTYPE)
+@FactoryBinding(factory = SnapshotBackendFactory.class)
+@ParametersAreNonnullByDefault
+public class SnapshotConfig extends BaseConfig<SnapshotConfig> {
+
+    /**
+     * Constructs a new {@code SnapshotConfig} with default settings.
+     */
+    public SnapshotConfig() {
+        // No specific option
+    }
+}
@@ -0,0 +1,17 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+/**
+ * Provides configuration classes to define specific behaviors of snapshot data persistence.
+ * <p>
+ * This package defines the configuration by extending {@link fr.inria.atlanmod.neoemf.config.Config}: {@link
+ * fr.inria.atlanmod.neoemf.data.snapshot.config.SnapshotConfig} only supports the generic options, such as caching,
+ * since a snapshot has a single representation.
+ */
+
+package fr.inria.atlanmod.neoemf.data.snapshot.config;
\ No newline at end of file
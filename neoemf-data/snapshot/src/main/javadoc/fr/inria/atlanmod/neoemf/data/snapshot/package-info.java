@@ -0,0 +1,25 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+/**
+ * Provides classes related to data management specific to a read-only, memory-mapped snapshot.
+ * <p>
+ * This package provides {@link fr.inria.atlanmod.neoemf.data.snapshot.SnapshotBackend} and {@link
+ * fr.inria.atlanmod.neoemf.data.snapshot.SnapshotBackendFactory} classes, that correspond to snapshot specific
+ * implementations of {@link fr.inria.atlanmod.neoemf.data.Backend} and {@link
+ * fr.inria.atlanmod.neoemf.data.BackendFactory}. A snapshot is written from any {@link
+ * fr.inria.atlanmod.neoemf.data.mapping.DataMapper} by the {@link fr.inria.atlanmod.neoemf.data.snapshot.SnapshotExporter}.
+ * <p>
+ * The {@link fr.inria.atlanmod.neoemf.data.snapshot.SnapshotBackendFactory} has to be registered to enable {@link
+ * fr.inria.atlanmod.neoemf.resource.PersistentResource} loading from a snapshot:
+ * <pre>{@code
+ * BackendFactoryRegistry.register(new SnapshotBackendFactory());
+ * }</pre>
+ */
+
+package fr.inria.atlanmod.neoemf.data.snapshot;
\ No newline at end of file
@@ -0,0 +1,13 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+/**
+ * Provides utility classes related to snapshots.
+ */
+
+package fr.inria.atlanmod.neoemf.data.snapshot.util;
\ No newline at end of file
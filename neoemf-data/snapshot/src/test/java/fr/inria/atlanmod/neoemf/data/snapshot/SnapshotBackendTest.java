@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.snapshot;
+
+import fr.inria.atlanmod.commons.AbstractFileBasedTest;
+import fr.inria.atlanmod.neoemf.core.Id;
+import fr.inria.atlanmod.neoemf.data.bean.ClassBean;
+import fr.inria.atlanmod.neoemf.data.bean.ManyFeatureBean;
+import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
+import fr.inria.atlanmod.neoemf.data.im.DefaultInMemoryBackend;
+import fr.inria.atlanmod.neoemf.data.mapping.DataMapper;
+import fr.inria.atlanmod.neoemf.resource.PersistentResource;
+
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.stream.Collectors;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static java.util.Objects.nonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+/**
+ * A test-case about {@link SnapshotExporter} and {@link SnapshotBackend}.
+ */
+@ParametersAreNonnullByDefault
+class SnapshotBackendTest extends AbstractFileBasedTest {
+
+    private static final Id ROOT = Id.getProvider().fromLong(1);
+    private static final Id CHILD0 = Id.getProvider().fromLong(2);
+    private static final Id CHILD1 = Id.getProvider().fromLong(3);
+
+    private static ClassBean nodeClass;
+
+    private static int nameId;
+    private static int tagsId;
+    private static int childrenId;
+    private static int nextId;
+
+    private SnapshotBackend backend;
+
+    @BeforeAll
+    static void initPackage() {
+        EcoreFactory factory = EcoreFactory.eINSTANCE;
+
+        EClass eClass = factory.createEClass();
+        eClass.setName("Node");
+
+        EAttribute name = factory.createEAttribute();
+        name.setName("name");
+        name.setEType(EcorePackage.Literals.ESTRING);
+
+        EAttribute tags = factory.createEAttribute();
+        tags.setName("tags");
+        tags.setEType(EcorePackage.Literals.EINT);
+        tags.setUpperBound(-1);
+
+        EReference children = factory.createEReference();
+        children.setName("children");
+        children.setEType(eClass);
+        children.setContainment(true);
+        children.setUpperBound(-1);
+
+        EReference next = factory.createEReference();
+        next.setName("next");
+        next.setEType(eClass);
+
+        eClass.getEStructuralFeatures().add(name);
+        eClass.getEStructuralFeatures().add(tags);
+        eClass.getEStructuralFeatures().add(children);
+        eClass.getEStructuralFeatures().add(next);
+
+        EPackage ePackage = factory.createEPackage();
+        ePackage.setName("snapshot");
+        ePackage.setNsPrefix("snapshot");
+        ePackage.setNsURI("http://www.neoemf.fr/tests/snapshot");
+        ePackage.getEClassifiers().add(eClass);
+
+        EPackage.Registry.INSTANCE.put(ePackage.getNsURI(), ePackage);
+
+        nodeClass = ClassBean.from(eClass);
+        nameId = eClass.getFeatureID(name);
+        tagsId = eClass.getFeatureID(tags);
+        childrenId = eClass.getFeatureID(children);
+        nextId = eClass.getFeatureID(next);
+    }
+
+    @BeforeEach
+    void createSnapshot() throws IOException {
+        DataMapper source = new DefaultInMemoryBackend();
+
+        source.addReference(SingleFeatureBean.of(PersistentResource.ROOT_ID, -1).withPosition(0), ROOT);
+        source.containerFor(ROOT, SingleFeatureBean.of(PersistentResource.ROOT_ID, -1));
+
+        for (Id id : new Id[]{ROOT, CHILD0, CHILD1}) {
+            source.metaClassFor(id, nodeClass);
+            source.valueFor(SingleFeatureBean.of(id, nameId), "node" + id.toLong());
+        }
+
+        source.appendAllReferences(SingleFeatureBean.of(ROOT, childrenId), Arrays.asList(CHILD0, CHILD1));
+        source.containerFor(CHILD0, SingleFeatureBean.of(ROOT, childrenId));
+        source.containerFor(CHILD1, SingleFeatureBean.of(ROOT, childrenId));
+
+        source.appendAllValues(SingleFeatureBean.of(CHILD0, tagsId), Arrays.asList(7, 11, 13));
+        source.referenceFor(SingleFeatureBean.of(CHILD0, nextId), CHILD1);
+
+        Path directory = Paths.get(currentTempFile() + ".snapshot");
+        SnapshotExporter.export(source, directory);
+        source.close();
+
+        backend = new SnapshotBackend(directory.resolve(SnapshotFormat.FILE_NAME));
+    }
+
+    @AfterEach
+    void closeBackend() {
+        if (nonNull(backend)) {
+            backend.close();
+        }
+    }
+
+    @Test
+    void testContainerAndMetaClass() {
+        assertThat(backend.containerOf(ROOT)).contains(SingleFeatureBean.of(PersistentResource.ROOT_ID, -1));
+        assertThat(backend.containerOf(CHILD1)).contains(SingleFeatureBean.of(ROOT, childrenId));
+        assertThat(backend.metaClassOf(CHILD0)).contains(nodeClass);
+
+        Id unknown = Id.getProvider().fromLong(42);
+        assertThat(backend.containerOf(unknown)).isNotPresent();
+        assertThat(backend.metaClassOf(unknown)).isNotPresent();
+    }
+
+    @Test
+    void testAllInstancesOf() {
+        assertThat(backend.allInstancesOf(Collections.singleton(nodeClass))).containsExactlyInAnyOrder(ROOT, CHILD0, CHILD1);
+    }
+
+    @Test
+    void testValues() {
+        assertThat(backend.<String>valueOf(SingleFeatureBean.of(CHILD1, nameId))).contains("node3");
+
+        SingleFeatureBean tags = SingleFeatureBean.of(CHILD0, tagsId);
+        assertThat(backend.sizeOfValue(tags)).contains(3);
+        assertThat(backend.<Integer>valueOf(tags.withPosition(1))).contains(11);
+        assertThat(backend.<Integer>valueOf(tags.withPosition(3))).isNotPresent();
+        assertThat(backend.<Integer>allValuesOf(tags).collect(Collectors.toList())).containsExactly(7, 11, 13);
+
+        assertThat(backend.sizeOfValue(SingleFeatureBean.of(CHILD1, tagsId))).isNotPresent();
+    }
+
+    @Test
+    void testReferences() {
+        assertThat(backend.allReferencesOf(SingleFeatureBean.of(PersistentResource.ROOT_ID, -1)).collect(Collectors.toList())).containsExactly(ROOT);
+
+        SingleFeatureBean children = SingleFeatureBean.of(ROOT, childrenId);
+        assertThat(backend.sizeOfReference(children)).contains(2);
+        assertThat(backend.referenceOf(children.withPosition(1))).contains(CHILD1);
+        assertThat(backend.allReferencesOf(children).collect(Collectors.toList())).containsExactly(CHILD0, CHILD1);
+
+        assertThat(backend.referenceOf(SingleFeatureBean.of(CHILD0, nextId))).contains(CHILD1);
+        assertThat(backend.referenceOf(SingleFeatureBean.of(CHILD1, nextId))).isNotPresent();
+    }
+
+    @Test
+    void testReadOnly() {
+        ManyFeatureBean tags = SingleFeatureBean.of(CHILD0, tagsId).withPosition(0);
+
+        assertThat(catchThrowable(() -> backend.valueFor(SingleFeatureBean.of(ROOT, nameId), "other")))
+                .isInstanceOf(UnsupportedOperationException.class);
+
+        assertThat(catchThrowable(() -> backend.addValue(tags, 17)))
+                .isInstanceOf(UnsupportedOperationException.class);
+
+        assertThat(backend.<Integer>allValuesOf(tags.withoutPosition()).collect(Collectors.toList())).containsExactly(7, 11, 13);
+    }
+}
@@ -0,0 +1,269 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.io;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkArgument;
+import static java.util.Objects.nonNull;
+
+/**
+ * An {@link OutputStream} that writes into another stream in a dedicated thread, such as a compressing stream, so that
+ * producing and writing the bytes run concurrently.
+ * <p>
+ * Bytes are grouped in chunks, and transmitted in a bounded queue: when the queue is full, the producer waits for the
+ * underlying stream to progress. Closing this stream waits for all the chunks to be written, and closes the underlying
+ * stream: a failure of the underlying stream is thrown by the next write, or at the latest by {@link #close()}.
+ */
+@ParametersAreNonnullByDefault
+class AsyncOutputStream extends OutputStream {
+
+    /**
+     * The default size of a chunk, in bytes.
+     */
+    @Nonnegative
+    static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+    /**
+     * The default number of chunks waiting to be written.
+     */
+    @Nonnegative
+    static final int DEFAULT_QUEUE_CAPACITY = 16;
+
+    /**
+     * The chunk that signals the end of the stream.
+     */
+    @Nonnull
+    private static final byte[] END = new byte[0];
+
+    /**
+     * The stream where to write the chunks.
+     */
+    @Nonnull
+    private final OutputStream out;
+
+    /**
+     * The chunks waiting to be written.
+     */
+    @Nonnull
+    private final BlockingQueue<byte[]> queue;
+
+    /**
+     * The thread that writes the chunks.
+     */
+    @Nonnull
+    private final Thread consumer;
+
+    /**
+     * The current chunk, not sent yet.
+     */
+    @Nonnull
+    private byte[] chunk;
+
+    /**
+     * The number of bytes in the current chunk.
+     */
+    @Nonnegative
+    private int count;
+
+    /**
+     * {@code true} if this stream is closed.
+     */
+    private boolean closed;
+
+    /**
+     * The first exception thrown by the underlying stream, or {@code null} if no exception has been thrown.
+     */
+    @Nullable
+    private volatile Throwable failure;
+
+    /**
+     * Constructs a new {@code AsyncOutputStream} with the default settings.
+     *
+     * @param out the stream where to write the bytes
+     */
+    public AsyncOutputStream(OutputStream out) {
+        this(out, DEFAULT_CHUNK_SIZE, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Constructs a new {@code AsyncOutputStream}.
+     *
+     * @param out           the stream where to write the bytes
+     * @param chunkSize     the size of a chunk, in bytes
+     * @param queueCapacity the number of chunks waiting to be written
+     */
+    public AsyncOutputStream(OutputStream out, @Nonnegative int chunkSize, @Nonnegative int queueCapacity) {
+        checkArgument(chunkSize > 0, "chunkSize (%d) must be > 0", chunkSize);
+        checkArgument(queueCapacity > 0, "queueCapacity (%d) must be > 0", queueCapacity);
+
+        this.out = out;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.chunk = new byte[chunkSize];
+
+        this.consumer = new Thread(this::consume, "neoemf-io-output");
+        this.consumer.setDaemon(true);
+        this.consumer.start();
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (count == chunk.length) {
+            send();
+        }
+        chunk[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        int offset = off;
+        int remaining = len;
+
+        while (remaining > 0) {
+            if (count == chunk.length) {
+                send();
+            }
+
+            int length = Math.min(remaining, chunk.length - count);
+            System.arraycopy(b, offset, chunk, count, length);
+            count += length;
+            offset += length;
+            remaining -= length;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The current chunk is sent, but this method does not wait for it to be written.
+     */
+    @Override
+    public void flush() throws IOException {
+        if (count > 0) {
+            send();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        // The underlying stream is closed in any case, even if it has failed
+        try {
+            try {
+                flush();
+                put(END);
+                consumer.join();
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the underlying stream");
+            }
+            finally {
+                if (consumer.isAlive()) {
+                    consumer.interrupt();
+                }
+            }
+
+            checkFailure();
+        }
+        finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Sends the current chunk, and starts a new one.
+     *
+     * @throws IOException if the underlying stream has failed
+     */
+    private void send() throws IOException {
+        checkFailure();
+
+        put(Arrays.copyOf(chunk, count));
+        count = 0;
+    }
+
+    /**
+     * Puts the {@code bytes} in the queue, waiting if necessary for space to become available.
+     *
+     * @param bytes the chunk to put
+     *
+     * @throws IOException if the current thread is interrupted while waiting
+     */
+    private void put(byte[] bytes) throws IOException {
+        try {
+            queue.put(bytes);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the underlying stream");
+        }
+    }
+
+    /**
+     * Re-throws the exception thrown by the underlying stream, if any.
+     *
+     * @throws IOException if the underlying stream has failed
+     */
+    private void checkFailure() throws IOException {
+        final Throwable t = failure;
+
+        if (nonNull(t)) {
+            if (t instanceof IOException) {
+                throw (IOException) t;
+            }
+            else if (t instanceof RuntimeException) {
+                throw (RuntimeException) t;
+            }
+            else if (t instanceof Error) {
+                throw (Error) t;
+            }
+            throw new IOException(t);
+        }
+    }
+
+    /**
+     * Writes all the chunks in the queue, until the end of the stream.
+     * <p>
+     * If the underlying stream fails, the remaining chunks are discarded, to unblock the producer.
+     */
+    private void consume() {
+        try {
+            for (byte[] bytes = queue.take(); bytes != END; bytes = queue.take()) {
+                if (nonNull(failure)) {
+                    continue;
+                }
+
+                try {
+                    out.write(bytes);
+                }
+                catch (Throwable t) {
+                    failure = t;
+                }
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
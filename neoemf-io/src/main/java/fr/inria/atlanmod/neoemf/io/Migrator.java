@@ -10,7 +10,6 @@ package fr.inria.atlanmod.neoemf.io;
 
 import fr.inria.atlanmod.commons.annotation.VisibleForTesting;
 import fr.inria.atlanmod.commons.log.Level;
-import fr.inria.atlanmod.commons.log.Log;
 import fr.inria.atlanmod.neoemf.data.mapping.DataMapper;
 import fr.inria.atlanmod.neoemf.io.listener.CountingEventListener;
 import fr.inria.atlanmod.neoemf.io.listener.EventListener;
@@ -18,15 +17,21 @@ import fr.inria.atlanmod.neoemf.io.listener.LoggingEventListener;
 import fr.inria.atlanmod.neoemf.io.listener.ProgressEventListener;
 import fr.inria.atlanmod.neoemf.io.listener.TimerEventListener;
 import fr.inria.atlanmod.neoemf.io.processor.NoopProcessor;
+import fr.inria.atlanmod.neoemf.io.processor.PipelineProcessor;
 import fr.inria.atlanmod.neoemf.io.processor.Processor;
 import fr.inria.atlanmod.neoemf.io.reader.AbstractReader;
+import fr.inria.atlanmod.neoemf.io.reader.AbstractXmiStreamReader;
 import fr.inria.atlanmod.neoemf.io.reader.DefaultMapperReader;
 import fr.inria.atlanmod.neoemf.io.reader.Reader;
+import fr.inria.atlanmod.neoemf.io.reader.SnapshotStreamReader;
 import fr.inria.atlanmod.neoemf.io.reader.XmiStreamReader;
+import fr.inria.atlanmod.neoemf.io.writer.BulkMapperWriter;
 import fr.inria.atlanmod.neoemf.io.writer.DefaultMapperWriter;
+import fr.inria.atlanmod.neoemf.io.writer.SnapshotStreamWriter;
 import fr.inria.atlanmod.neoemf.io.writer.Writer;
 import fr.inria.atlanmod.neoemf.io.writer.XmiStreamWriter;
 
+import java.io.BufferedOutputStream;
 import java.io.Closeable;
 import java.io.File;
 import java.io.FileInputStream;
@@ -47,13 +52,16 @@ import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
 
+import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 import javax.annotation.WillNotClose;
 
 import static fr.inria.atlanmod.commons.Preconditions.checkArgument;
 import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
 import static fr.inria.atlanmod.commons.Preconditions.checkState;
+import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 
 /**
@@ -100,10 +108,17 @@ public final class Migrator<T> {
     private final Set<Writer> writers = new HashSet<>();
 
     /**
-     * A set that holds all {@link OutputStream}s to close after the migration.
+     * A set that holds all the streams to close after the migration.
      */
     @Nonnull
-    private final Set<OutputStream> streamsToClose = new HashSet<>();
+    private final Set<Closeable> streamsToClose = new HashSet<>();
+
+    /**
+     * {@code true} if the writers and listeners are notified in a dedicated thread.
+     *
+     * @see #withPipeline()
+     */
+    private boolean pipelined;
 
     /**
      * Constructs a new {@code Migrator} with the given arguments.
@@ -150,6 +165,43 @@ public final class Migrator<T> {
         return new Migrator<>(new XmiStreamReader(), uncompressIfNecessary(stream));
     }
 
+    /**
+     * Creates a {@code Migrator} that reads a binary snapshot file.
+     *
+     * @param file the snapshot file to read
+     *
+     * @return a new migrator
+     *
+     * @throws IOException if an I/O error occurs during the creation
+     * @see SnapshotStreamReader
+     */
+    @Nonnull
+    public static Migrator<InputStream> fromSnapshot(File file) throws IOException {
+        checkArgument(file.exists(), "file does not exists : %s", file.getAbsolutePath());
+        checkArgument(!file.isDirectory(), "file must not be a directory");
+        checkArgument(file.canRead(), "file cannot be read");
+
+        final InputStream stream = new FileInputStream(file);
+
+        Migrator<InputStream> migrator = fromSnapshot(stream);
+        migrator.streamsToClose.add(stream);
+        return migrator;
+    }
+
+    /**
+     * Creates a {@code Migrator} that reads binary snapshot content from an {@link InputStream}.
+     *
+     * @param stream the stream of the snapshot content to read
+     *
+     * @return a new migrator
+     *
+     * @see SnapshotStreamReader
+     */
+    @Nonnull
+    public static Migrator<InputStream> fromSnapshot(@WillNotClose InputStream stream) {
+        return new Migrator<>(new SnapshotStreamReader(), stream);
+    }
+
     /**
      * Creates a {@code Migrator} that reads a {@link fr.inria.atlanmod.neoemf.data.mapping.DataMapper}.
      *
@@ -223,10 +275,31 @@ public final class Migrator<T> {
      * @param mapper the mapper where to write
      *
      * @return this migrator (for chaining)
+     *
+     * @see #toMapper(DataMapper, boolean)
      */
     @Nonnull
     public Migrator<T> toMapper(DataMapper mapper) {
-        return to(new DefaultMapperWriter(mapper));
+        return toMapper(mapper, false);
+    }
+
+    /**
+     * Specifies the {@code mapper} where to write the data.
+     * <p>
+     * When {@code useBulk} is {@code true}, the data are written in sorted batches of complete elements, by using the
+     * fastest write path of the {@code mapper} if it is a {@link fr.inria.atlanmod.neoemf.data.BulkLoader}. In this
+     * case, the elements must not be already defined in the {@code mapper}.
+     *
+     * @param mapper  the mapper where to write
+     * @param useBulk {@code true} if the data must be written in bulk
+     *
+     * @return this migrator (for chaining)
+     *
+     * @see BulkMapperWriter
+     */
+    @Nonnull
+    public Migrator<T> toMapper(DataMapper mapper, boolean useBulk) {
+        return to(useBulk ? new BulkMapperWriter(mapper) : new DefaultMapperWriter(mapper));
     }
 
     /**
@@ -246,6 +319,8 @@ public final class Migrator<T> {
 
     /**
      * Specifies the XMI {@code file} where to write the data.
+     * <p>
+     * If the file is compressed, the compression runs in a dedicated thread, concurrently with the writing.
      *
      * @param file           the file where to write
      * @param useCompression {@code true} if the XMI file must be compressed
@@ -256,17 +331,20 @@ public final class Migrator<T> {
      */
     @Nonnull
     public Migrator<T> toXmi(File file, boolean useCompression) throws IOException {
-        OutputStream out = new FileOutputStream(file);
-        streamsToClose.add(out);
+        OutputStream out;
 
         if (useCompression) {
-            ZipOutputStream zipOut = new ZipOutputStream(new FileOutputStream(file));
+            ZipOutputStream zipOut = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
             zipOut.putNextEntry(new ZipEntry(ZXMI_CONTENT));
-            streamsToClose.add(zipOut);
 
-            out = zipOut;
+            // Compress in a dedicated thread, while the XMI is written
+            out = new AsyncOutputStream(zipOut);
+        }
+        else {
+            out = new FileOutputStream(file);
         }
 
+        streamsToClose.add(out);
         return toXmi(out);
     }
 
@@ -284,6 +362,38 @@ public final class Migrator<T> {
         return to(new XmiStreamWriter(stream));
     }
 
+    /**
+     * Specifies the binary snapshot {@code file} where to write the data.
+     *
+     * @param file the file where to write
+     *
+     * @return this migrator (for chaining)
+     *
+     * @throws IOException if an I/O error occurs during the creation
+     * @see SnapshotStreamWriter
+     */
+    @Nonnull
+    public Migrator<T> toSnapshot(File file) throws IOException {
+        OutputStream out = new FileOutputStream(file);
+        streamsToClose.add(out);
+
+        return toSnapshot(out);
+    }
+
+    /**
+     * Specifies the {@code stream} where to write the data as a binary snapshot.
+     *
+     * @param stream the stream where to write
+     *
+     * @return this migrator (for chaining)
+     *
+     * @see SnapshotStreamWriter
+     */
+    @Nonnull
+    public Migrator<T> toSnapshot(@WillNotClose OutputStream stream) {
+        return to(new SnapshotStreamWriter(stream));
+    }
+
     //endregion
 
     //region Listeners
@@ -356,6 +466,65 @@ public final class Migrator<T> {
         return with(new ProgressEventListener(InputStream.class.cast(source)));
     }
 
+    /**
+     * Reads the features of the next elements concurrently, with the given number of threads, while the previous
+     * elements are written. The read mapper must support concurrent reads.
+     * <p>
+     * <b>WARNING:</b> This feature can only be used when reading a {@link DataMapper}.
+     *
+     * @param parallelism the number of threads used to read the next elements
+     *
+     * @return this migrator (for chaining)
+     *
+     * @throws IllegalArgumentException if {@code parallelism} is not positive
+     * @see DefaultMapperReader#usePrefetch(int)
+     */
+    @Nonnull
+    public Migrator<T> withPrefetch(@Nonnegative int parallelism) {
+        checkArgument(parallelism > 0, "parallelism (%d) must be > 0", parallelism);
+        checkState(DefaultMapperReader.class.isInstance(reader), "Prefetch feature can only be used when reading a mapper");
+        DefaultMapperReader.class.cast(reader).usePrefetch(parallelism);
+        return this;
+    }
+
+    /**
+     * Resolves the XPath references in compact mode, by hashing the paths without building any string. This reduces
+     * the memory used to import large XMI files without identifiers.
+     * <p>
+     * <b>WARNING:</b> This feature can only be used when reading a XMI file or a stream. The generated identifiers differ
+     * from the identifiers generated in the default mode.
+     *
+     * @return this migrator (for chaining)
+     *
+     * @see fr.inria.atlanmod.neoemf.io.processor.XPathResolver#XPathResolver(boolean)
+     */
+    @Nonnull
+    public Migrator<T> withCompactXPath() {
+        checkState(AbstractXmiStreamReader.class.isInstance(reader), "Compact XPath feature can only be used when reading a XMI file or stream");
+        AbstractXmiStreamReader.class.cast(reader).useCompactXPath(true);
+        return this;
+    }
+
+    //endregion
+
+    //region Execution
+
+    /**
+     * Notifies the writers and listeners in a dedicated thread, so that reading and resolving the source, and writing
+     * the result run concurrently.
+     * <p>
+     * Events are transmitted in batches through a bounded queue, and are notified in the order they have been read.
+     *
+     * @return this migrator (for chaining)
+     *
+     * @see PipelineProcessor
+     */
+    @Nonnull
+    public Migrator<T> withPipeline() {
+        pipelined = true;
+        return this;
+    }
+
     //endregion
 
     /**
@@ -371,19 +540,37 @@ public final class Migrator<T> {
             Collection<Handler> handlers = new ArrayList<>(listeners.size() + writers.size());
             handlers.addAll(listeners);
             handlers.addAll(writers);
-            reader.addNext(new NoopProcessor(handlers));
-
-            reader.read(source);
+            if (pipelined) {
+                try (PipelineProcessor pipeline = new PipelineProcessor(handlers)) {
+                    reader.addNext(pipeline);
+                    reader.read(source);
+                }
+            }
+            else {
+                reader.addNext(new NoopProcessor(handlers));
+                reader.read(source);
+            }
         }
-        finally {
-            closeAll();
+        catch (Throwable e) {
+            closeAll(e);
+            throw e;
         }
+
+        // Closing the streams may complete the writing, such as an asynchronous compression: failures are reported
+        closeAll(null);
     }
 
     /**
      * Closes all internal streams.
+     *
+     * @param failure the failure of the migration, to which the failures of closing are added as suppressed
+     *                exceptions, or {@code null} if the migration has succeeded
+     *
+     * @throws IOException if the migration has succeeded but a stream cannot be closed
      */
-    private void closeAll() {
+    private void closeAll(@Nullable Throwable failure) throws IOException {
+        IOException closeFailure = null;
+
         for (Closeable closeable : streamsToClose) {
             try {
                 if (ZipOutputStream.class.isInstance(closeable)) {
@@ -393,8 +580,20 @@ public final class Migrator<T> {
                 closeable.close();
             }
             catch (IOException e) {
-                Log.warn(e);
+                if (nonNull(failure)) {
+                    failure.addSuppressed(e);
+                }
+                else if (isNull(closeFailure)) {
+                    closeFailure = e;
+                }
+                else {
+                    closeFailure.addSuppressed(e);
+                }
             }
         }
+
+        if (nonNull(closeFailure)) {
+            throw closeFailure;
+        }
     }
 }
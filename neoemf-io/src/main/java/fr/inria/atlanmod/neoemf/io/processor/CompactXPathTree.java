@@ -0,0 +1,317 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.io.processor;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkArgument;
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static fr.inria.atlanmod.commons.Preconditions.checkState;
+import static fr.inria.atlanmod.neoemf.io.util.XPathConstants.INDEX_SEPARATOR;
+import static fr.inria.atlanmod.neoemf.io.util.XPathConstants.START_ELT;
+import static fr.inria.atlanmod.neoemf.io.util.XPathConstants.START_EXPR;
+import static java.util.Objects.isNull;
+
+/**
+ * A compact structure representing an XPath, that identifies each path by a 64-bit hash instead of a string.
+ * <p>
+ * The hash of a path is computed incrementally from the hash of its parent, the name of its last segment and its index,
+ * so that no string is built for the elements, nor for the references. Only the elements that have not ended yet are
+ * held, in primitive arrays that are reused: the children of an element are released as soon as it ends, whatever the
+ * width of the model. The names of the elements are interned as {@code int}s to count the occurrences of each name.
+ * <p>
+ * The hashes are not compatible with the hashes of the string paths built by the {@link XPathTree}.
+ */
+@ParametersAreNonnullByDefault
+class CompactXPathTree {
+
+    /**
+     * The hash of the empty path, which is the parent of the root elements.
+     */
+    private static final long SEED = 0xcbf29ce484222325L;
+
+    /**
+     * The prime used to hash the names, as defined by FNV-1a.
+     */
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    /**
+     * The default number of levels allocated in this tree.
+     */
+    private static final int DEFAULT_DEPTH = 16;
+
+    /**
+     * The index of each name, in order of appearance.
+     */
+    private final Map<String, Integer> names = new HashMap<>();
+
+    /**
+     * The hash of the path of each open element, by depth. The level {@code 0} is the empty path.
+     */
+    private long[] hashes = new long[DEFAULT_DEPTH];
+
+    /**
+     * The unique stamp of each open element, by depth. A stamp is never {@code 0}.
+     */
+    private long[] stamps = new long[DEFAULT_DEPTH];
+
+    /**
+     * The last index of the children of each open element, by depth and by name.
+     */
+    private int[][] indices = new int[DEFAULT_DEPTH][];
+
+    /**
+     * The stamp of the element that defined each value of {@link #indices}. A value is outdated if its stamp differs
+     * from the stamp of the current element at the same depth, so nothing needs to be cleared when an element ends.
+     */
+    private long[][] owners = new long[DEFAULT_DEPTH][];
+
+    /**
+     * The number of open elements.
+     */
+    @Nonnegative
+    private int depth;
+
+    /**
+     * The last stamp given to an element.
+     */
+    private long lastStamp;
+
+    /**
+     * The hash of the path of the first root element, or {@code null} if no element has been added yet.
+     */
+    private Long rootHash;
+
+    /**
+     * Constructs a new {@code CompactXPathTree}.
+     */
+    public CompactXPathTree() {
+        hashes[0] = SEED;
+        stamps[0] = ++lastStamp;
+    }
+
+    /**
+     * Creates or increments the element with the specified {@code name}, as child of the last open element. If a
+     * previous child has the same {@code name}, the index of the new element is incremented, otherwise it is {@code 0}.
+     *
+     * @param name the name of the element
+     *
+     * @return the hash of the path of the element
+     */
+    public long createOrIncrement(String name) {
+        checkNotNull(name, "name");
+
+        final int index = nextIndex(depth, intern(name));
+        final long hash = hash(hashes[depth], hashName(name, 0, name.length()), index);
+
+        ensureDepth(++depth);
+        hashes[depth] = hash;
+        stamps[depth] = ++lastStamp;
+
+        if (isNull(rootHash)) {
+            rootHash = hash;
+        }
+
+        return hash;
+    }
+
+    /**
+     * Removes the last open element, and releases its children.
+     *
+     * @throws NoSuchElementException if no element is open
+     */
+    public void clearLast() {
+        if (depth == 0) {
+            throw new NoSuchElementException();
+        }
+        depth--;
+    }
+
+    /**
+     * Computes the hash of the given XPath {@code expression}, as it would be returned by {@link
+     * #createOrIncrement(String)} for the referenced element.
+     * <p>
+     * The expression can start with {@code //@}, relative to the first root element, or with {@code /@}. A segment
+     * without index has the index {@code 0}, and a trailing {@code /} is ignored.
+     *
+     * @param expression the XPath expression
+     *
+     * @return the hash of the path of the referenced element
+     *
+     * @throws IllegalArgumentException if the {@code expression} is not an XPath expression
+     */
+    public long resolve(String expression) {
+        checkNotNull(expression, "expression");
+
+        long hash;
+        int position;
+
+        if (expression.startsWith(START_EXPR)) {
+            checkState(!isNull(rootHash), "No root element has been defined");
+            hash = rootHash;
+            position = START_EXPR.length();
+        }
+        else {
+            checkArgument(expression.startsWith(START_ELT), "Not an XPath expression: %s", expression);
+            hash = SEED;
+            position = START_ELT.length();
+        }
+
+        final int length = expression.length();
+        final char separator = INDEX_SEPARATOR.charAt(0);
+
+        while (position < length) {
+            int end = expression.indexOf('/', position);
+            if (end == -1) {
+                end = length;
+            }
+
+            // Split the segment as '<name>.<index>', without creating any substring
+            int nameEnd = end;
+            int index = 0;
+
+            final int dot = expression.indexOf(separator, position);
+            if (dot != -1 && dot < end) {
+                nameEnd = dot;
+                index = parseIndex(expression, dot + 1, end);
+            }
+
+            hash = hash(hash, hashName(expression, position, nameEnd), index);
+
+            // Skip the '/@' of the next segment
+            position = end + START_ELT.length();
+        }
+
+        return hash;
+    }
+
+    /**
+     * Returns the index of the next child with the given {@code name} of the element at the given {@code level}.
+     *
+     * @param level the depth of the parent element
+     * @param name  the index of the name of the child
+     *
+     * @return the index of the child
+     */
+    @Nonnegative
+    private int nextIndex(@Nonnegative int level, @Nonnegative int name) {
+        if (isNull(indices[level]) || indices[level].length <= name) {
+            final int newLength = Math.max(names.size(), DEFAULT_DEPTH);
+            indices[level] = isNull(indices[level]) ? new int[newLength] : Arrays.copyOf(indices[level], newLength);
+            owners[level] = isNull(owners[level]) ? new long[newLength] : Arrays.copyOf(owners[level], newLength);
+        }
+
+        if (owners[level][name] != stamps[level]) {
+            owners[level][name] = stamps[level];
+            indices[level][name] = 0;
+        }
+        else {
+            indices[level][name]++;
+        }
+
+        return indices[level][name];
+    }
+
+    /**
+     * Returns the index of the given {@code name}, and interns it if necessary.
+     *
+     * @param name the name
+     *
+     * @return the index of the name
+     */
+    @Nonnegative
+    private int intern(String name) {
+        Integer index = names.get(name);
+        if (isNull(index)) {
+            index = names.size();
+            names.put(name, index);
+        }
+        return index;
+    }
+
+    /**
+     * Ensures that this tree can hold the given {@code level}.
+     *
+     * @param level the depth to hold
+     */
+    private void ensureDepth(@Nonnegative int level) {
+        if (level >= hashes.length) {
+            final int newLength = hashes.length * 2;
+            hashes = Arrays.copyOf(hashes, newLength);
+            stamps = Arrays.copyOf(stamps, newLength);
+            indices = Arrays.copyOf(indices, newLength);
+            owners = Arrays.copyOf(owners, newLength);
+        }
+    }
+
+    /**
+     * Parses the decimal index in the range {@code [start, end)} of the {@code expression}.
+     *
+     * @param expression the XPath expression
+     * @param start      the start of the index, inclusive
+     * @param end        the end of the index, exclusive
+     *
+     * @return the index
+     *
+     * @throws IllegalArgumentException if the range does not represent an index
+     */
+    @Nonnegative
+    private static int parseIndex(CharSequence expression, int start, int end) {
+        checkArgument(start < end, "Missing index in %s", expression);
+
+        int index = 0;
+        for (int i = start; i < end; i++) {
+            final int digit = Character.digit(expression.charAt(i), 10);
+            checkArgument(digit >= 0, "Malformed index in %s", expression);
+            index = index * 10 + digit;
+        }
+        return index;
+    }
+
+    /**
+     * Hashes the characters in the range {@code [start, end)} of the {@code value} with FNV-1a.
+     *
+     * @param value the characters to hash
+     * @param start the start of the range, inclusive
+     * @param end   the end of the range, exclusive
+     *
+     * @return the hash of the range
+     */
+    private static long hashName(CharSequence value, int start, int end) {
+        long hash = SEED;
+        for (int i = start; i < end; i++) {
+            hash ^= value.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Computes the hash of a path from the hash of its parent and its last segment.
+     *
+     * @param parent the hash of the parent path
+     * @param name   the hash of the name of the last segment
+     * @param index  the index of the last segment
+     *
+     * @return the hash of the path
+     */
+    private static long hash(long parent, long name, int index) {
+        // Mixes the segment with the finalizer of SplitMix64, to keep the order of the segments significant
+        long hash = (parent * 0x9e3779b97f4a7c15L + name) * 0xc2b2ae3d27d4eb4fL + index;
+        hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+        return hash ^ (hash >>> 31);
+    }
+}
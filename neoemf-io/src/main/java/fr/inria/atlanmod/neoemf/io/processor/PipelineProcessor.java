@@ -0,0 +1,297 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.io.processor;
+
+import fr.inria.atlanmod.neoemf.io.AbstractNotifier;
+import fr.inria.atlanmod.neoemf.io.Handler;
+import fr.inria.atlanmod.neoemf.io.Notifier;
+import fr.inria.atlanmod.neoemf.io.bean.BasicAttribute;
+import fr.inria.atlanmod.neoemf.io.bean.BasicElement;
+import fr.inria.atlanmod.neoemf.io.bean.BasicReference;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkArgument;
+import static java.util.Objects.nonNull;
+
+/**
+ * A {@link Processor} that notifies its handlers in a dedicated thread, in order to process the events of the previous
+ * stages and of the next stages concurrently.
+ * <p>
+ * Events are grouped in batches, and transmitted in a bounded queue: when the queue is full, the previous stages wait
+ * for the handlers to progress. All events are notified in the order they have been received.
+ * <p>
+ * Events must not be modified after being sent to this processor.
+ */
+@ParametersAreNonnullByDefault
+public final class PipelineProcessor extends AbstractNotifier<Handler> implements Processor, Closeable {
+
+    /**
+     * The default number of events in a batch.
+     */
+    @Nonnegative
+    public static final int DEFAULT_BATCH_SIZE = 1024;
+
+    /**
+     * The default number of batches waiting to be notified.
+     */
+    @Nonnegative
+    public static final int DEFAULT_QUEUE_CAPACITY = 64;
+
+    /**
+     * The batch that signals the end of the events.
+     */
+    @Nonnull
+    private static final List<Event> END = Collections.emptyList();
+
+    /**
+     * The number of events in a batch.
+     */
+    @Nonnegative
+    private final int batchSize;
+
+    /**
+     * The batches waiting to be notified.
+     */
+    @Nonnull
+    private final BlockingQueue<List<Event>> queue;
+
+    /**
+     * The thread that notifies the handlers.
+     */
+    @Nonnull
+    private final Thread consumer;
+
+    /**
+     * The current batch of events, not sent yet.
+     */
+    @Nonnull
+    private List<Event> currentBatch;
+
+    /**
+     * The first exception thrown by a handler, or {@code null} if no exception has been thrown.
+     */
+    @Nullable
+    private volatile Throwable failure;
+
+    /**
+     * Constructs a new {@code PipelineProcessor} with the default settings.
+     *
+     * @param handlers the handlers to notify
+     */
+    public PipelineProcessor(Collection<Handler> handlers) {
+        this(handlers, DEFAULT_BATCH_SIZE, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Constructs a new {@code PipelineProcessor}.
+     *
+     * @param handlers      the handlers to notify
+     * @param batchSize     the number of events in a batch
+     * @param queueCapacity the number of batches waiting to be notified
+     */
+    public PipelineProcessor(Collection<Handler> handlers, @Nonnegative int batchSize, @Nonnegative int queueCapacity) {
+        checkArgument(batchSize > 0, "batchSize (%d) must be > 0", batchSize);
+        checkArgument(queueCapacity > 0, "queueCapacity (%d) must be > 0", queueCapacity);
+
+        addNext(handlers);
+
+        this.batchSize = batchSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.currentBatch = new ArrayList<>(batchSize);
+
+        this.consumer = new Thread(this::consume, "neoemf-io-pipeline");
+        this.consumer.setDaemon(true);
+    }
+
+    @Override
+    protected boolean supportsMultiTargets() {
+        return true;
+    }
+
+    @Override
+    public void onInitialize() throws IOException {
+        consumer.start();
+
+        send(Notifier::notifyInitialize);
+    }
+
+    @Override
+    public void onStartElement(BasicElement element) throws IOException {
+        send(n -> n.notifyStartElement(element));
+    }
+
+    @Override
+    public void onAttribute(BasicAttribute attribute) throws IOException {
+        send(n -> n.notifyAttribute(attribute));
+    }
+
+    @Override
+    public void onReference(BasicReference reference) throws IOException {
+        send(n -> n.notifyReference(reference));
+    }
+
+    @Override
+    public void onEndElement() throws IOException {
+        send(Notifier::notifyEndElement);
+    }
+
+    @Override
+    public void onComplete() throws IOException {
+        send(Notifier::notifyComplete);
+        flush();
+        put(END);
+
+        try {
+            consumer.join();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the handlers");
+        }
+
+        checkFailure();
+    }
+
+    /**
+     * Stops the notification of the handlers, if they are still running.
+     * <p>
+     * This method must be called if the previous stages fail, and has no effect after {@link #onComplete()}.
+     */
+    @Override
+    public void close() {
+        if (consumer.isAlive()) {
+            consumer.interrupt();
+        }
+    }
+
+    /**
+     * Adds the {@code event} to the current batch, and sends the batch if it is full.
+     *
+     * @param event the event to send
+     *
+     * @throws IOException if a handler has failed
+     */
+    private void send(Event event) throws IOException {
+        checkFailure();
+
+        currentBatch.add(event);
+
+        if (currentBatch.size() >= batchSize) {
+            flush();
+        }
+    }
+
+    /**
+     * Sends the current batch.
+     *
+     * @throws IOException if the current thread is interrupted while waiting
+     */
+    private void flush() throws IOException {
+        if (!currentBatch.isEmpty()) {
+            put(currentBatch);
+            currentBatch = new ArrayList<>(batchSize);
+        }
+    }
+
+    /**
+     * Puts the {@code batch} in the queue, waiting if necessary for space to become available.
+     *
+     * @param batch the batch to put
+     *
+     * @throws IOException if the current thread is interrupted while waiting
+     */
+    private void put(List<Event> batch) throws IOException {
+        try {
+            queue.put(batch);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the handlers");
+        }
+    }
+
+    /**
+     * Re-throws the exception thrown by a handler, if any.
+     *
+     * @throws IOException if a handler has failed
+     */
+    private void checkFailure() throws IOException {
+        final Throwable t = failure;
+
+        if (nonNull(t)) {
+            if (t instanceof IOException) {
+                throw (IOException) t;
+            }
+            else if (t instanceof RuntimeException) {
+                throw (RuntimeException) t;
+            }
+            else if (t instanceof Error) {
+                throw (Error) t;
+            }
+            throw new IOException(t);
+        }
+    }
+
+    /**
+     * Notifies the handlers of all the batches in the queue, until the end of the events.
+     * <p>
+     * If a handler fails, the remaining batches are discarded, to unblock the previous stages.
+     */
+    private void consume() {
+        try {
+            for (List<Event> batch = queue.take(); batch != END; batch = queue.take()) {
+                if (nonNull(failure)) {
+                    continue;
+                }
+
+                try {
+                    for (Event event : batch) {
+                        event.notifyTo(this);
+                    }
+                }
+                catch (Throwable t) {
+                    failure = t;
+                }
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * An event to notify.
+     */
+    @FunctionalInterface
+    private interface Event {
+
+        /**
+         * Notifies this event to the handlers of the given {@code notifier}.
+         *
+         * @param notifier the notifier
+         *
+         * @throws IOException if an I/O error occurs during the notification
+         */
+        void notifyTo(Notifier notifier) throws IOException;
+    }
+}
@@ -31,6 +31,10 @@ import static java.util.Objects.nonNull;
 
 /**
  * A {@link Processor} that analyses XPath references and transforms them in {@link fr.inria.atlanmod.neoemf.core.Id}.
+ * <p>
+ * In compact mode, the paths are hashed incrementally by a {@link CompactXPathTree}, without building any string: this
+ * mode is intended for large documents without identifiers. The generated identifiers differ from the identifiers
+ * generated in the default mode.
  */
 @ParametersAreNonnullByDefault
 public class XPathResolver extends AbstractProcessor {
@@ -50,10 +54,20 @@ public class XPathResolver extends AbstractProcessor {
     private final IdProvider idProvider = Id.getProvider();
 
     /**
-     * The XPath structure.
+     * {@code true} if the paths are resolved by a {@link CompactXPathTree}.
+     */
+    private final boolean compact;
+
+    /**
+     * The XPath structure, used in the default mode.
      */
     private XPathTree paths;
 
+    /**
+     * The compact XPath structure, used in compact mode.
+     */
+    private CompactXPathTree compactPaths;
+
     /**
      * The start of an XPath expression in this {@link XPathResolver}.
      * <p>
@@ -67,9 +81,30 @@ public class XPathResolver extends AbstractProcessor {
      */
     private Boolean ignore;
 
+    /**
+     * Constructs a new {@code XPathResolver} in the default mode.
+     */
+    public XPathResolver() {
+        this(false);
+    }
+
+    /**
+     * Constructs a new {@code XPathResolver}.
+     *
+     * @param compact {@code true} if the paths must be resolved in compact mode
+     */
+    public XPathResolver(boolean compact) {
+        this.compact = compact;
+    }
+
     @Override
     public void onInitialize() throws IOException {
-        paths = new XPathTree();
+        if (compact) {
+            compactPaths = new CompactXPathTree();
+        }
+        else {
+            paths = new XPathTree();
+        }
 
         notifyInitialize();
     }
@@ -97,7 +132,12 @@ public class XPathResolver extends AbstractProcessor {
     public void onEndElement() throws IOException {
         if (!ignore) {
             // Removes children of the last element
-            paths.clearLast();
+            if (compact) {
+                compactPaths.clearLast();
+            }
+            else {
+                paths.clearLast();
+            }
         }
 
         notifyEndElement();
@@ -121,6 +161,9 @@ public class XPathResolver extends AbstractProcessor {
             checkNotNull(rawId, "raw id must be set");
             id = getOrGenerateId(rawId);
         }
+        else if (compact) {
+            id = idProvider.fromLong(compactPaths.createOrIncrement(element.getName()));
+        }
         else {
             // Increments the number of occurrence for this path
             // Processes the raw identifier from the path of the element in XML tree
@@ -155,6 +198,9 @@ public class XPathResolver extends AbstractProcessor {
         if (ignore || !rawValue.startsWith(START_EXPR) && !rawValue.startsWith(START_ELT)) {
             referencedId = getOrGenerateId(rawValue);
         }
+        else if (compact) {
+            referencedId = idProvider.fromLong(compactPaths.resolve(rawValue));
+        }
         else {
             // Replace the start of the given reference "//@" -> "/@<rootname>.<index>"
             String path = rawValue.replaceFirst(START_EXPR, expressionStart);
@@ -34,10 +34,31 @@ import static java.util.Objects.nonNull;
 @ParametersAreNonnullByDefault
 public abstract class AbstractXmiStreamReader extends AbstractStreamReader {
 
+    /**
+     * {@code true} if the XPath references are resolved in compact mode.
+     *
+     * @see XPathResolver#XPathResolver(boolean)
+     */
+    private boolean compactXPath;
+
+    /**
+     * Defines whether the XPath references must be resolved in compact mode, without building any string. This mode is
+     * intended for large documents without identifiers.
+     * <p>
+     * This option must be defined before binding this reader to its next notifier.
+     *
+     * @param compactXPath {@code true} if the XPath references must be resolved in compact mode
+     *
+     * @see XPathResolver#XPathResolver(boolean)
+     */
+    public void useCompactXPath(boolean compactXPath) {
+        this.compactXPath = compactXPath;
+    }
+
     @Nonnull
     @Override
     protected List<AbstractProcessor> createProcessors() {
-        return Arrays.asList(new EcoreMapper(), new XPathResolver());
+        return Arrays.asList(new EcoreMapper(), new XPathResolver(compactXPath));
     }
 
     @Override
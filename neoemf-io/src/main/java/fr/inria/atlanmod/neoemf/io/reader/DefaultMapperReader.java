@@ -9,7 +9,6 @@
 package fr.inria.atlanmod.neoemf.io.reader;
 
 import fr.inria.atlanmod.neoemf.core.Id;
-import fr.inria.atlanmod.neoemf.data.bean.AbstractFeatureBean;
 import fr.inria.atlanmod.neoemf.data.bean.ClassBean;
 import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
 import fr.inria.atlanmod.neoemf.data.mapping.DataMapper;
@@ -21,202 +20,325 @@ import fr.inria.atlanmod.neoemf.io.bean.Data;
 import fr.inria.atlanmod.neoemf.resource.PersistentResource;
 import fr.inria.atlanmod.neoemf.util.EFeatures;
 
-import org.eclipse.emf.ecore.EAttribute;
 import org.eclipse.emf.ecore.EClass;
-import org.eclipse.emf.ecore.EReference;
 import org.eclipse.emf.ecore.EStructuralFeature;
 import org.eclipse.emf.ecore.util.FeatureMapUtil;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
+import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 
+import static fr.inria.atlanmod.commons.Preconditions.checkArgument;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
 /**
  * The default implementation of a {@link Reader} that reads data from a {@link fr.inria.atlanmod.neoemf.data.mapping.DataMapper}.
+ * <p>
+ * The containment tree is traversed iteratively, whatever its depth. Only the elements on the current path and their
+ * next children are held in memory, but each of these elements is fully read: the values of all its features, and the
+ * identifiers of all its contained elements, are materialized. The memory used therefore grows with the depth of the
+ * containment tree and the number of values of the elements on the current path, and, when prefetching is enabled,
+ * with the window of children read in advance for each of them.
+ * <p>
+ * When prefetching is enabled, the features of the next children of each element on the current path are read
+ * concurrently by dedicated threads, while the previous elements are notified: the mapper must then support concurrent
+ * reads. Events are notified in the same order as without prefetching.
  */
 @ParametersAreNonnullByDefault
 public class DefaultMapperReader extends AbstractReader<DataMapper> {
 
     /**
-     * A LIFO that holds the current {@link EClass} chain. It contains the current element and the previous.
+     * The default number of children read in advance for each element on the current path, when prefetching is
+     * enabled.
+     */
+    @Nonnegative
+    public static final int DEFAULT_PREFETCH_WINDOW = 64;
+
+    /**
+     * The description of each meta-class, identified by their {@link ClassBean}.
      */
     @Nonnull
-    private final Deque<EClass> classes = new ArrayDeque<>();
+    private final Map<ClassBean, ClassInfo> classes = new ConcurrentHashMap<>();
+
+    /**
+     * The number of threads used to read the next elements, or {@code 0} if prefetching is disabled.
+     */
+    @Nonnegative
+    private int parallelism;
+
+    /**
+     * The number of children read in advance for each element on the current path.
+     */
+    @Nonnegative
+    private int window = 1;
 
     /**
      * The mapper to read.
      */
     private DataMapper mapper;
 
+    /**
+     * The executor that reads the next elements, or {@code null} if prefetching is disabled.
+     */
+    @Nullable
+    private ExecutorService executor;
+
+    /**
+     * Enables the prefetching of the next elements with the default window.
+     *
+     * @param parallelism the number of threads used to read the next elements, or {@code 0} to disable prefetching
+     *
+     * @see #DEFAULT_PREFETCH_WINDOW
+     */
+    public void usePrefetch(@Nonnegative int parallelism) {
+        usePrefetch(parallelism, DEFAULT_PREFETCH_WINDOW);
+    }
+
+    /**
+     * Enables the prefetching of the next elements.
+     *
+     * @param parallelism the number of threads used to read the next elements, or {@code 0} to disable prefetching
+     * @param window      the number of children read in advance for each element on the current path
+     */
+    public void usePrefetch(@Nonnegative int parallelism, @Nonnegative int window) {
+        checkArgument(parallelism >= 0, "parallelism (%d) must be >= 0", parallelism);
+        checkArgument(window > 0, "window (%d) must be > 0", window);
+
+        this.parallelism = parallelism;
+        this.window = parallelism > 0 ? window : 1;
+    }
+
     @Override
     public void read(DataMapper source) throws IOException {
         mapper = source;
 
         notifyInitialize();
 
-        SingleFeatureBean rootKey = SingleFeatureBean.of(PersistentResource.ROOT_ID, -1);
-        Iterable<Id> rootReferences = source.allReferencesOf(rootKey).collect(Collectors.toList());
-        for (Id id : rootReferences) {
-            readElement(id, true);
+        if (parallelism > 0) {
+            executor = Executors.newFixedThreadPool(parallelism, r -> {
+                Thread thread = new Thread(r, "neoemf-io-prefetch");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        try {
+            SingleFeatureBean rootKey = SingleFeatureBean.of(PersistentResource.ROOT_ID, -1);
+            List<Id> rootReferences = source.allReferencesOf(rootKey).collect(Collectors.toList());
+            readAll(rootReferences);
+        }
+        finally {
+            if (nonNull(executor)) {
+                executor.shutdownNow();
+                executor = null;
+            }
         }
 
         notifyComplete();
     }
 
     /**
-     * Reads the element identified by its {@code id}.
+     * Reads the elements identified by their {@code id}, and recursively their content, without recursion.
      *
-     * @param id     the identifier of the element
-     * @param isRoot {@code true} if the element is a root element
+     * @param rootReferences the identifier of the root elements
      */
-    private void readElement(Id id, boolean isRoot) throws IOException {
-        // Retrieve the meta-class and namespace
-        EClass eClass = mapper.metaClassOf(id)
-                .map(ClassBean::get)
-                .<IllegalArgumentException>orElseThrow(IllegalArgumentException::new);
+    private void readAll(List<Id> rootReferences) throws IOException {
+        // A LIFO that holds the elements on the current path; the first frame holds the root elements
+        Deque<Frame> path = new ArrayDeque<>();
+        path.addLast(new Frame(null, rootReferences));
+
+        while (!path.isEmpty()) {
+            Frame frame = path.getLast();
+            Element next = frame.next();
+
+            if (isNull(next)) {
+                path.removeLast();
+                if (nonNull(frame.parent)) {
+                    notifyEndElement();
+                }
+            }
+            else if (isNull(frame.parent) || frame.parent.contains(next)) {
+                readElement(next, frame.parent);
+                path.addLast(new Frame(next, next.containments));
+            }
+        }
+    }
+
+    /**
+     * Notifies the given {@code element} and its features.
+     *
+     * @param element the element
+     * @param parent  the container of the element, or {@code null} if the element is a root element
+     */
+    private void readElement(Element element, @Nullable Element parent) throws IOException {
+        final EClass eClass = element.info.eClass;
 
         // Retrieve the name of the element
         // If root it's the name of the meta-class, otherwise the name of the containing feature from the previous class
-        String name = isRoot ? eClass.getName() : mapper.containerOf(id)
-                .map(SingleFeatureBean::id)
-                .map(classes.getLast()::getEStructuralFeature)
-                .map(EStructuralFeature::getName)
-                .<IllegalStateException>orElseThrow(IllegalStateException::new);
-
-        // Create the meta-class
-        BasicClass metaClass = new BasicClass(eClass);
+        String name;
+        if (isNull(parent)) {
+            name = eClass.getName();
+        }
+        else {
+            EStructuralFeature eFeature = parent.info.eClass.getEStructuralFeature(element.container.id());
+            if (isNull(eFeature)) {
+                throw new IllegalStateException();
+            }
+            name = eFeature.getName();
+        }
 
         // Create the element
-        BasicElement element = new BasicElement()
+        BasicElement basicElement = new BasicElement()
                 .setName(name)
-                .setId(Data.resolved(id))
-                .setRoot(isRoot)
-                .setMetaClass(metaClass);
+                .setId(Data.resolved(element.id))
+                .setRoot(isNull(parent))
+                .setMetaClass(new BasicClass(eClass));
 
-        notifyStartElement(element);
-        classes.addLast(eClass);
+        notifyStartElement(basicElement);
 
         // Process all features
-        readAllFeatures(id, eClass);
+        for (int i = 0; i < element.values.length; i++) {
+            SingleFeatureBean feature = SingleFeatureBean.of(element.id, element.info.featureIds[i]);
+            EStructuralFeature eFeature = element.info.features[i];
 
-        classes.removeLast();
-        notifyEndElement();
+            for (Object value : element.values[i]) {
+                if (EFeatures.isAttribute(eFeature)) {
+                    createAttribute(feature, eFeature, value);
+                }
+                else {
+                    createReference(feature, eFeature, (Id) value);
+                }
+            }
+        }
     }
 
     /**
-     * Reads all values of the features of the {@code eClass} for the given {@code id}.
+     * Reads the meta-class, the container and all the features of the element identified by its {@code id}.
+     * <p>
+     * All the values of the features are materialized, so the size of the returned element grows with the number of
+     * values and contained elements. This method can be called concurrently.
+     *
+     * @param id the identifier of the element
      *
-     * @param id     the identifier of the element
-     * @param eClass the meta-class of the element
+     * @return the element
      */
-    private void readAllFeatures(Id id, EClass eClass) throws IOException {
+    @Nonnull
+    private Element load(Id id) {
+        // Retrieve the meta-class and namespace
+        ClassBean metaClass = mapper.metaClassOf(id).<IllegalArgumentException>orElseThrow(IllegalArgumentException::new);
+        ClassInfo info = infoOf(metaClass);
+
+        SingleFeatureBean container = mapper.containerOf(id).orElse(null);
+
+        List<?>[] values = new List<?>[info.features.length];
         List<Id> containments = new ArrayList<>();
 
-        // Read all feature of the element, and notify the next handler
-        for (EStructuralFeature f : eClass.getEAllStructuralFeatures()) {
-            containments.addAll(readFeature(id, eClass, f));
-        }
+        for (int i = 0; i < info.features.length; i++) {
+            SingleFeatureBean feature = SingleFeatureBean.of(id, info.featureIds[i]);
+            EStructuralFeature eFeature = info.features[i];
+
+            if (EFeatures.isAttribute(eFeature)) {
+                values[i] = !eFeature.isMany()
+                        ? mapper.valueOf(feature).map(Collections::singletonList).orElseGet(Collections::emptyList)
+                        : mapper.allValuesOf(feature).collect(Collectors.toList());
+            }
+            else {
+                List<Id> references = !eFeature.isMany()
+                        ? mapper.referenceOf(feature).map(Collections::singletonList).orElseGet(Collections::emptyList)
+                        : mapper.allReferencesOf(feature).collect(Collectors.toList());
 
-        // Read the next element only if containerOf(next) == parent
-        for (Id r : containments) {
-            if (mapper.containerOf(r).map(AbstractFeatureBean::owner).filter(id::equals).isPresent()) {
-                readElement(r, false);
+                if (EFeatures.asReference(eFeature).isContainment()) {
+                    containments.addAll(references);
+                }
+
+                values[i] = references;
             }
         }
+
+        return new Element(id, info, container, values, containments);
     }
 
     /**
-     * Reads the value(s) of the {@code eFeature} for the given {@code id}.
+     * Returns the description of the given {@code metaClass}, and creates it if necessary.
      *
-     * @param id       the identifier of the element
-     * @param eClass   the identifier of the element
-     * @param eFeature the feature
+     * @param metaClass the meta-class
      *
-     * @return a stream of containment references
+     * @return the description of the meta-class
      */
     @Nonnull
-    private List<Id> readFeature(Id id, EClass eClass, EStructuralFeature eFeature) throws IOException {
-        final SingleFeatureBean bean = SingleFeatureBean.of(id, eClass.getFeatureID(eFeature));
-
-        if (EFeatures.isAttribute(eFeature)) {
-            readAttribute(bean, EFeatures.asAttribute(eFeature));
-            return Collections.emptyList();
+    private ClassInfo infoOf(ClassBean metaClass) {
+        ClassInfo info = classes.get(metaClass);
+        if (nonNull(info)) {
+            return info;
         }
-        else {
-            return readReference(bean, EFeatures.asReference(eFeature));
+
+        // The EMF model is not thread-safe: resolve the meta-classes one at a time
+        synchronized (classes) {
+            return classes.computeIfAbsent(metaClass, c -> new ClassInfo(c.get()));
         }
     }
 
     /**
-     * Reads the value(s) of the {@code eAttribute} for the given {@code bean}.
+     * Starts reading the element identified by its {@code id}, in a dedicated thread if prefetching is enabled.
      *
-     * @param feature    the owner of the attribute
-     * @param eAttribute the associated EMF attribute
+     * @param id the identifier of the element
+     *
+     * @return the future element
      */
-    private void readAttribute(SingleFeatureBean feature, EAttribute eAttribute) throws IOException {
-        if (!eAttribute.isMany()) {
-            Optional<Object> value = mapper.valueOf(feature);
-            if (value.isPresent()) {
-                createAttribute(feature, eAttribute, value.get());
-            }
-        }
-        else {
-            Iterable<Object> values = mapper.allValuesOf(feature).collect(Collectors.toList());
-            for (Object v : values) {
-                createAttribute(feature, eAttribute, v);
-            }
-        }
+    @Nonnull
+    private Future<Element> submit(Id id) {
+        return nonNull(executor)
+                ? executor.submit(() -> load(id))
+                : CompletableFuture.completedFuture(load(id));
     }
 
     /**
-     * Reads the value(s) of the {@code eReference} for the given {@code bean}.
+     * Waits for the given {@code element} to be read.
      *
-     * @param feature    the owner of the reference
-     * @param eReference the associated EMF reference
+     * @param element the future element
      *
-     * @return a list of containment references
+     * @return the element
+     *
+     * @throws IOException if the current thread is interrupted while waiting
      */
     @Nonnull
-    private List<Id> readReference(SingleFeatureBean feature, EReference eReference) throws IOException {
-        boolean isContainment = eReference.isContainment();
-
-        if (!eReference.isMany()) {
-            Optional<Id> reference = mapper.referenceOf(feature);
-            if (reference.isPresent()) {
-                createReference(feature, eReference, reference.get());
-            }
-
-            if (isContainment) {
-                return reference.map(Collections::singletonList).orElseGet(Collections::emptyList);
-            }
+    private Element await(Future<Element> element) throws IOException {
+        try {
+            return element.get();
         }
-        else {
-            List<Id> references = mapper.allReferencesOf(feature).collect(Collectors.toList());
-
-            List<Id> containments = new ArrayList<>();
-
-            for (Id r : references) {
-                Optional<Id> id = Optional.ofNullable(createReference(feature, eReference, r));
-                if (isContainment && id.isPresent()) {
-                    containments.add(id.get());
-                }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while reading the next elements");
+        }
+        catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
             }
-
-            if (isContainment) {
-                return Collections.unmodifiableList(containments);
+            else if (cause instanceof Error) {
+                throw (Error) cause;
             }
+            throw new IOException(cause);
         }
-
-        return Collections.emptyList();
     }
 
     /**
@@ -226,13 +348,13 @@ public class DefaultMapperReader extends AbstractReader<DataMapper> {
      * @param eAttribute the associated EMF attribute
      * @param value      the value of the attribute
      */
-    private void createAttribute(SingleFeatureBean feature, EAttribute eAttribute, Object value) throws IOException {
+    private void createAttribute(SingleFeatureBean feature, EStructuralFeature eAttribute, Object value) throws IOException {
         checkFeatureMap(eAttribute);
 
         BasicAttribute attribute = new BasicAttribute()
                 .setOwner(feature.owner())
                 .setId(feature.id())
-                .setReal(eAttribute)
+                .setReal(EFeatures.asAttribute(eAttribute))
                 .setValue(Data.resolved(value));
 
         notifyAttribute(attribute);
@@ -244,22 +366,17 @@ public class DefaultMapperReader extends AbstractReader<DataMapper> {
      * @param feature    the owner of the reference
      * @param eReference the associated EMF reference
      * @param value      the value of the reference
-     *
-     * @return the identifier of the referenced element if the reference is a containment, {@code null} otherwise
      */
-    @Nullable
-    private Id createReference(SingleFeatureBean feature, EReference eReference, Id value) throws IOException {
+    private void createReference(SingleFeatureBean feature, EStructuralFeature eReference, Id value) throws IOException {
         checkFeatureMap(eReference);
 
         BasicReference reference = new BasicReference()
                 .setOwner(feature.owner())
                 .setId(feature.id())
-                .setReal(eReference)
+                .setReal(EFeatures.asReference(eReference))
                 .setValue(Data.resolved(value));
 
         notifyReference(reference);
-
-        return eReference.isContainment() ? value : null;
     }
 
     /**
@@ -275,4 +392,175 @@ public class DefaultMapperReader extends AbstractReader<DataMapper> {
             throw new UnsupportedOperationException("FeatureMaps are not supported yet: Use standard EMF to export your model");
         }
     }
+
+    /**
+     * An element on the current path, with the next children to read.
+     */
+    @ParametersAreNonnullByDefault
+    private final class Frame {
+
+        /**
+         * The element that contains the children, or {@code null} if the children are the root elements.
+         */
+        @Nullable
+        private final Element parent;
+
+        /**
+         * The identifier of the children that are not read yet.
+         */
+        @Nonnull
+        private final Iterator<Id> pending;
+
+        /**
+         * The children being read, in order.
+         */
+        @Nonnull
+        private final Deque<Future<Element>> loading = new ArrayDeque<>();
+
+        /**
+         * Constructs a new {@code Frame}.
+         *
+         * @param parent   the element that contains the children, or {@code null} if the children are the root
+         *                 elements
+         * @param children the identifier of the children
+         */
+        Frame(@Nullable Element parent, List<Id> children) {
+            this.parent = parent;
+            this.pending = children.iterator();
+        }
+
+        /**
+         * Returns the next child, and starts reading the following children.
+         *
+         * @return the next child, or {@code null} if all children have been read
+         *
+         * @throws IOException if the current thread is interrupted while waiting
+         */
+        @Nullable
+        Element next() throws IOException {
+            fill();
+
+            if (loading.isEmpty()) {
+                return null;
+            }
+
+            Element next = await(loading.pollFirst());
+            fill();
+            return next;
+        }
+
+        /**
+         * Starts reading the next children, until the window is full.
+         */
+        private void fill() {
+            while (loading.size() < window && pending.hasNext()) {
+                loading.addLast(submit(pending.next()));
+            }
+        }
+    }
+
+    /**
+     * A fully read element.
+     */
+    @ParametersAreNonnullByDefault
+    private static final class Element {
+
+        /**
+         * The identifier of this element.
+         */
+        @Nonnull
+        private final Id id;
+
+        /**
+         * The description of the meta-class of this element.
+         */
+        @Nonnull
+        private final ClassInfo info;
+
+        /**
+         * The container of this element, or {@code null} if it is not contained.
+         */
+        @Nullable
+        private final SingleFeatureBean container;
+
+        /**
+         * The values of each feature of the meta-class, in the order of {@link ClassInfo#features}.
+         */
+        @Nonnull
+        private final List<?>[] values;
+
+        /**
+         * The identifier of all the elements referenced by a containment reference.
+         */
+        @Nonnull
+        private final List<Id> containments;
+
+        /**
+         * Constructs a new {@code Element}.
+         *
+         * @param id           the identifier of this element
+         * @param info         the description of the meta-class of this element
+         * @param container    the container of this element
+         * @param values       the values of each feature of the meta-class
+         * @param containments the identifier of the contained elements
+         */
+        Element(Id id, ClassInfo info, @Nullable SingleFeatureBean container, List<?>[] values, List<Id> containments) {
+            this.id = id;
+            this.info = info;
+            this.container = container;
+            this.values = values;
+            this.containments = containments;
+        }
+
+        /**
+         * Checks whether this element is the container of the given {@code element}.
+         *
+         * @param element the element
+         *
+         * @return {@code true} if this element contains the {@code element}
+         */
+        boolean contains(Element element) {
+            return nonNull(element.container) && element.container.owner().equals(id);
+        }
+    }
+
+    /**
+     * The description of a meta-class, computed once.
+     */
+    @ParametersAreNonnullByDefault
+    private static final class ClassInfo {
+
+        /**
+         * The meta-class.
+         */
+        @Nonnull
+        private final EClass eClass;
+
+        /**
+         * All the features of the meta-class.
+         */
+        @Nonnull
+        private final EStructuralFeature[] features;
+
+        /**
+         * The identifier of each feature, in the order of {@link #features}.
+         */
+        @Nonnull
+        private final int[] featureIds;
+
+        /**
+         * Constructs a new {@code ClassInfo}.
+         *
+         * @param eClass the meta-class
+         */
+        ClassInfo(EClass eClass) {
+            this.eClass = eClass;
+            this.features = eClass.getEAllStructuralFeatures().toArray(new EStructuralFeature[0]);
+            this.featureIds = new int[features.length];
+
+            for (int i = 0; i < features.length; i++) {
+                featureIds[i] = eClass.getFeatureID(features[i]);
+            }
+        }
+    }
 }
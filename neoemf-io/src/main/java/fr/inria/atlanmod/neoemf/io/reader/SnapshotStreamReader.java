@@ -0,0 +1,255 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.io.reader;
+
+import fr.inria.atlanmod.neoemf.core.Id;
+import fr.inria.atlanmod.neoemf.core.IdProvider;
+import fr.inria.atlanmod.neoemf.data.bean.ClassBean;
+import fr.inria.atlanmod.neoemf.io.bean.BasicAttribute;
+import fr.inria.atlanmod.neoemf.io.bean.BasicClass;
+import fr.inria.atlanmod.neoemf.io.bean.BasicElement;
+import fr.inria.atlanmod.neoemf.io.bean.BasicReference;
+import fr.inria.atlanmod.neoemf.io.bean.Data;
+import fr.inria.atlanmod.neoemf.io.util.SnapshotConstants;
+import fr.inria.atlanmod.neoemf.io.util.SnapshotInput;
+import fr.inria.atlanmod.neoemf.util.EFeatures;
+
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EStructuralFeature;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StreamCorruptedException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static java.util.Objects.isNull;
+
+/**
+ * A {@link Reader} that reads data from a binary snapshot, written by a {@link fr.inria.atlanmod.neoemf.io.writer.SnapshotStreamWriter}.
+ * <p>
+ * Events are notified as soon as they are read. The {@link org.eclipse.emf.ecore.EPackage}s of the model must be
+ * registered before reading.
+ *
+ * @see SnapshotConstants
+ */
+@ParametersAreNonnullByDefault
+public class SnapshotStreamReader extends AbstractReader<InputStream> {
+
+    /**
+     * The {@link IdProvider} used to read identifiers.
+     */
+    @Nonnull
+    private final IdProvider idProvider = Id.getProvider();
+
+    /**
+     * The meta-classes defined in the snapshot, in order of definition.
+     */
+    @Nonnull
+    private final List<BasicClass> classes = new ArrayList<>();
+
+    /**
+     * The element names defined in the snapshot, in order of definition.
+     */
+    @Nonnull
+    private final List<String> names = new ArrayList<>();
+
+    /**
+     * A LIFO that holds the identifier of the elements that have not ended yet.
+     */
+    @Nonnull
+    private final Deque<Id> identifiers = new ArrayDeque<>();
+
+    /**
+     * A LIFO that holds the meta-class of the elements that have not ended yet.
+     */
+    @Nonnull
+    private final Deque<EClass> metaClasses = new ArrayDeque<>();
+
+    @Override
+    public void read(InputStream source) throws IOException {
+        checkNotNull(source, "source");
+
+        final SnapshotInput in = new SnapshotInput(source);
+        in.readHeader();
+
+        notifyInitialize();
+
+        for (byte tag = in.readByte(); tag != SnapshotConstants.END; tag = in.readByte()) {
+            switch (tag) {
+                case SnapshotConstants.CLASS:
+                    readClass(in);
+                    break;
+                case SnapshotConstants.NAME:
+                    names.add(in.readString());
+                    break;
+                case SnapshotConstants.START_ELEMENT:
+                    readStartElement(in);
+                    break;
+                case SnapshotConstants.END_ELEMENT:
+                    identifiers.removeLast();
+                    metaClasses.removeLast();
+                    notifyEndElement();
+                    break;
+                case SnapshotConstants.ATTRIBUTE:
+                    readAttribute(in);
+                    break;
+                case SnapshotConstants.REFERENCE:
+                    readReference(in, identifiers.getLast(), metaClasses.getLast());
+                    break;
+                case SnapshotConstants.REFERENCE_FROM:
+                    readReferenceFrom(in);
+                    break;
+                default:
+                    throw new StreamCorruptedException(String.format("Unknown record: %d", tag));
+            }
+        }
+
+        notifyComplete();
+    }
+
+    /**
+     * Reads the definition of a meta-class.
+     *
+     * @param in the input to read
+     *
+     * @throws IOException if an I/O error occurs when reading
+     */
+    private void readClass(SnapshotInput in) throws IOException {
+        final String name = in.readString();
+        final String uri = in.readString();
+
+        final EClass eClass = ClassBean.of(name, uri).get();
+        classes.add(new BasicClass(eClass));
+    }
+
+    /**
+     * Reads and notifies the start of an element.
+     *
+     * @param in the input to read
+     *
+     * @throws IOException if an I/O error occurs when reading
+     */
+    private void readStartElement(SnapshotInput in) throws IOException {
+        final int flags = in.readVarInt();
+        final Id id = idProvider.fromLong(in.readVarLong());
+        final BasicClass metaClass = classAt(in.readVarInt());
+        final String name = names.get(in.readVarInt());
+
+        BasicElement element = new BasicElement()
+                .setName(name)
+                .setId(Data.resolved(id))
+                .setRoot((flags & SnapshotConstants.FLAG_ROOT) != 0)
+                .setMetaClass(metaClass);
+
+        notifyStartElement(element);
+
+        identifiers.addLast(id);
+        metaClasses.addLast(metaClass.getReal());
+    }
+
+    /**
+     * Reads and notifies a value of an attribute of the current element.
+     *
+     * @param in the input to read
+     *
+     * @throws IOException if an I/O error occurs when reading
+     */
+    private void readAttribute(SnapshotInput in) throws IOException {
+        final int featureId = in.readVarInt();
+        final Object value = in.readValue();
+
+        BasicAttribute attribute = new BasicAttribute()
+                .setOwner(identifiers.getLast())
+                .setId(featureId)
+                .setReal(EFeatures.asAttribute(featureOf(metaClasses.getLast(), featureId)))
+                .setValue(Data.resolved(value));
+
+        notifyAttribute(attribute);
+    }
+
+    /**
+     * Reads and notifies a value of a reference of another element than the current element.
+     *
+     * @param in the input to read
+     *
+     * @throws IOException if an I/O error occurs when reading
+     */
+    private void readReferenceFrom(SnapshotInput in) throws IOException {
+        final Id owner = idProvider.fromLong(in.readVarLong());
+        final EClass ownerClass = classAt(in.readVarInt()).getReal();
+
+        readReference(in, owner, ownerClass);
+    }
+
+    /**
+     * Reads and notifies a value of a reference.
+     *
+     * @param in         the input to read
+     * @param owner      the owner of the reference
+     * @param ownerClass the meta-class of the owner
+     *
+     * @throws IOException if an I/O error occurs when reading
+     */
+    private void readReference(SnapshotInput in, Id owner, EClass ownerClass) throws IOException {
+        final int featureId = in.readVarInt();
+        final Id value = idProvider.fromLong(in.readVarLong());
+
+        BasicReference reference = new BasicReference()
+                .setOwner(owner)
+                .setId(featureId)
+                .setReal(EFeatures.asReference(featureOf(ownerClass, featureId)))
+                .setValue(Data.resolved(value));
+
+        notifyReference(reference);
+    }
+
+    /**
+     * Returns the meta-class defined at the given {@code index}.
+     *
+     * @param index the index of the meta-class
+     *
+     * @return the meta-class
+     *
+     * @throws StreamCorruptedException if no meta-class is defined at this index
+     */
+    @Nonnull
+    private BasicClass classAt(@Nonnegative int index) throws StreamCorruptedException {
+        if (index >= classes.size()) {
+            throw new StreamCorruptedException(String.format("Undefined meta-class: %d", index));
+        }
+        return classes.get(index);
+    }
+
+    /**
+     * Returns the feature of the {@code eClass} identified by the given {@code featureId}.
+     *
+     * @param eClass    the meta-class
+     * @param featureId the identifier of the feature
+     *
+     * @return the feature
+     *
+     * @throws StreamCorruptedException if the meta-class has no such feature
+     */
+    @Nonnull
+    private EStructuralFeature featureOf(EClass eClass, int featureId) throws StreamCorruptedException {
+        final EStructuralFeature eFeature = eClass.getEStructuralFeature(featureId);
+        if (isNull(eFeature)) {
+            throw new StreamCorruptedException(String.format("Undefined feature %d in %s", featureId, eClass.getName()));
+        }
+        return eFeature;
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.io.util;
+
+import fr.inria.atlanmod.commons.Throwables;
+import fr.inria.atlanmod.commons.annotation.Static;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * A utility class that contains all the constants used in a binary snapshot.
+ * <p>
+ * A snapshot starts with the {@link #MAGIC} number and the {@link #VERSION} of the format, followed by a sequence of
+ * records, in the order of the events of the model. Each record starts with its tag:
+ * <ul>
+ * <li>{@link #CLASS} {@code <name> <uri>}: defines the next meta-class of the dictionary</li>
+ * <li>{@link #NAME} {@code <name>}: defines the next element name of the dictionary</li>
+ * <li>{@link #START_ELEMENT} {@code <flags> <id> <class> <name>}: starts an element</li>
+ * <li>{@link #ATTRIBUTE} {@code <feature> <value>}: a value of an attribute of the current element</li>
+ * <li>{@link #REFERENCE} {@code <feature> <id>}: a value of a reference of the current element</li>
+ * <li>{@link #REFERENCE_FROM} {@code <owner> <class> <feature> <id>}: a value of a reference of another element</li>
+ * <li>{@link #END_ELEMENT}: ends the current element</li>
+ * <li>{@link #END}: ends the snapshot</li>
+ * </ul>
+ * Identifiers are written as unsigned variable-length {@code long}s, while meta-classes, names and features are written
+ * as unsigned variable-length {@code int}s, as indices in their dictionary or as feature identifiers. Values start with
+ * their type, and strings are prefixed by their length in UTF-8.
+ *
+ * @see SnapshotOutput
+ * @see SnapshotInput
+ */
+@Static
+@ParametersAreNonnullByDefault
+public final class SnapshotConstants {
+
+    /**
+     * The magic number at the start of a snapshot: {@code NEOS} in ASCII.
+     */
+    public static final int MAGIC = 0x4E454F53;
+
+    /**
+     * The current version of the format.
+     */
+    public static final int VERSION = 1;
+
+    // region Records
+
+    /**
+     * The tag of the record that ends the snapshot.
+     */
+    public static final byte END = 0;
+
+    /**
+     * The tag of the record that defines a meta-class.
+     */
+    public static final byte CLASS = 1;
+
+    /**
+     * The tag of the record that defines an element name.
+     */
+    public static final byte NAME = 2;
+
+    /**
+     * The tag of the record that starts an element.
+     */
+    public static final byte START_ELEMENT = 3;
+
+    /**
+     * The tag of the record that ends the current element.
+     */
+    public static final byte END_ELEMENT = 4;
+
+    /**
+     * The tag of the record that defines a value of an attribute of the current element.
+     */
+    public static final byte ATTRIBUTE = 5;
+
+    /**
+     * The tag of the record that defines a value of a reference of the current element.
+     */
+    public static final byte REFERENCE = 6;
+
+    /**
+     * The tag of the record that defines a value of a reference of another element, such as a containment reference
+     * notified by the contained element.
+     */
+    public static final byte REFERENCE_FROM = 7;
+
+    /**
+     * The flag of a root element.
+     */
+    public static final int FLAG_ROOT = 0x1;
+
+    // endregion
+
+    // region Values
+
+    /**
+     * The type of a {@code null} value.
+     */
+    public static final byte TYPE_NULL = 0;
+
+    /**
+     * The type of a {@link String}.
+     */
+    public static final byte TYPE_STRING = 1;
+
+    /**
+     * The type of a {@link Boolean} equal to {@code false}.
+     */
+    public static final byte TYPE_FALSE = 2;
+
+    /**
+     * The type of a {@link Boolean} equal to {@code true}.
+     */
+    public static final byte TYPE_TRUE = 3;
+
+    /**
+     * The type of a {@link Byte}.
+     */
+    public static final byte TYPE_BYTE = 4;
+
+    /**
+     * The type of a {@link Short}.
+     */
+    public static final byte TYPE_SHORT = 5;
+
+    /**
+     * The type of a {@link Character}.
+     */
+    public static final byte TYPE_CHAR = 6;
+
+    /**
+     * The type of an {@link Integer}.
+     */
+    public static final byte TYPE_INT = 7;
+
+    /**
+     * The type of a {@link Long}.
+     */
+    public static final byte TYPE_LONG = 8;
+
+    /**
+     * The type of a {@link Float}.
+     */
+    public static final byte TYPE_FLOAT = 9;
+
+    /**
+     * The type of a {@link Double}.
+     */
+    public static final byte TYPE_DOUBLE = 10;
+
+    /**
+     * The type of any other value of the {@link #SERIALIZABLE_CLASSES}, written with the Java serialization.
+     */
+    public static final byte TYPE_SERIALIZED = 11;
+
+    /**
+     * The name of the classes that can be written as a {@link #TYPE_SERIALIZED} value: the standard value types of
+     * attributes, and the classes they are made of. Any other class is rejected when writing, and when reading.
+     */
+    @Nonnull
+    public static final Set<String> SERIALIZABLE_CLASSES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "java.lang.Number",
+            "java.lang.String",
+            "java.lang.Boolean",
+            "java.lang.Byte",
+            "java.lang.Short",
+            "java.lang.Character",
+            "java.lang.Integer",
+            "java.lang.Long",
+            "java.lang.Float",
+            "java.lang.Double",
+            "java.math.BigInteger",
+            "java.math.BigDecimal",
+            "java.util.Date",
+            "[Z",
+            "[B",
+            "[S",
+            "[C",
+            "[I",
+            "[J",
+            "[F",
+            "[D",
+            "[Ljava.lang.String;"
+    )));
+
+    // endregion
+
+    private SnapshotConstants() {
+        throw Throwables.notInstantiableClass(getClass());
+    }
+}
@@ -0,0 +1,395 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.io.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamClass;
+import java.io.StreamCorruptedException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.annotation.WillNotClose;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+
+/**
+ * A buffered input that reads the primitive types of a binary snapshot from an {@link InputStream}.
+ *
+ * @see SnapshotConstants
+ * @see SnapshotOutput
+ */
+@ParametersAreNonnullByDefault
+public final class SnapshotInput {
+
+    /**
+     * The size of the buffer, in bytes.
+     */
+    @Nonnegative
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * The stream where to read the bytes.
+     */
+    @Nonnull
+    private final InputStream in;
+
+    /**
+     * The bytes read from the stream.
+     */
+    @Nonnull
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+
+    /**
+     * The position of the next byte to read in the {@link #buffer}.
+     */
+    @Nonnegative
+    private int position;
+
+    /**
+     * The number of bytes in the {@link #buffer}.
+     */
+    @Nonnegative
+    private int limit;
+
+    /**
+     * Constructs a new {@code SnapshotInput}.
+     *
+     * @param in the stream where to read the bytes
+     */
+    public SnapshotInput(@WillNotClose InputStream in) {
+        this.in = checkNotNull(in, "in");
+    }
+
+    /**
+     * Reads and checks the header of a snapshot.
+     *
+     * @return the version of the format of the snapshot
+     *
+     * @throws IOException if an I/O error occurs when reading, or if the stream is not a snapshot of a supported
+     *                     version
+     */
+    @Nonnegative
+    public int readHeader() throws IOException {
+        if (readInt() != SnapshotConstants.MAGIC) {
+            throw new StreamCorruptedException("Not a snapshot");
+        }
+
+        final int version = readVarInt();
+        if (version < 1 || version > SnapshotConstants.VERSION) {
+            throw new StreamCorruptedException(String.format("Unsupported snapshot version: %d", version));
+        }
+        return version;
+    }
+
+    /**
+     * Reads a single byte.
+     *
+     * @return the byte
+     *
+     * @throws IOException if an I/O error occurs when reading
+     */
+    public byte readByte() throws IOException {
+        if (position == limit) {
+            fill();
+        }
+        return buffer[position++];
+    }
+
+    /**
+     * Reads an {@code int} on 4 bytes, in big-endian order.
+     *
+     * @return the value
+     *
+     * @throws IOException if an I/O error occurs when reading
+     */
+    public int readInt() throws IOException {
+        return (readByte() & 0xFF) << 24
+                | (readByte() & 0xFF) << 16
+                | (readByte() & 0xFF) << 8
+                | readByte() & 0xFF;
+    }
+
+    /**
+     * Reads a {@code long} on 8 bytes, in big-endian order.
+     *
+     * @return the value
+     *
+     * @throws IOException if an I/O error occurs when reading
+     */
+    public long readLong() throws IOException {
+        return (long) readInt() << 32 | readInt() & 0xFFFFFFFFL;
+    }
+
+    /**
+     * Reads an unsigned {@code int} written on 1 to 5 bytes.
+     *
+     * @return the value
+     *
+     * @throws IOException if an I/O error occurs when reading
+     */
+    public int readVarInt() throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            final byte b = readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new StreamCorruptedException("Malformed variable-length int");
+    }
+
+    /**
+     * Reads an unsigned {@code long} written on 1 to 10 bytes.
+     *
+     * @return the value
+     *
+     * @throws IOException if an I/O error occurs when reading
+     */
+    public long readVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            final byte b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new StreamCorruptedException("Malformed variable-length long");
+    }
+
+    /**
+     * Reads a {@link String}, prefixed by the length of its UTF-8 encoding.
+     *
+     * @return the value
+     *
+     * @throws IOException if an I/O error occurs when reading
+     */
+    @Nonnull
+    public String readString() throws IOException {
+        final int length = readLength();
+
+        // Decode the string directly from the buffer when possible
+        if (length <= limit - position) {
+            String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+        return new String(readBytes(length), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads an array of bytes, prefixed by its length.
+     *
+     * @return the value
+     *
+     * @throws IOException if an I/O error occurs when reading
+     */
+    @Nonnull
+    public byte[] readBytes() throws IOException {
+        return readBytes(readLength());
+    }
+
+    /**
+     * Reads a value of an attribute, prefixed by its type.
+     *
+     * @return the value
+     *
+     * @throws IOException if an I/O error occurs when reading
+     */
+    @Nullable
+    public Object readValue() throws IOException {
+        final byte type = readByte();
+
+        switch (type) {
+            case SnapshotConstants.TYPE_NULL:
+                return null;
+            case SnapshotConstants.TYPE_STRING:
+                return readString();
+            case SnapshotConstants.TYPE_FALSE:
+                return Boolean.FALSE;
+            case SnapshotConstants.TYPE_TRUE:
+                return Boolean.TRUE;
+            case SnapshotConstants.TYPE_BYTE:
+                return readByte();
+            case SnapshotConstants.TYPE_SHORT:
+                return (short) unZigZag(readVarInt());
+            case SnapshotConstants.TYPE_CHAR:
+                return (char) readVarInt();
+            case SnapshotConstants.TYPE_INT:
+                return unZigZag(readVarInt());
+            case SnapshotConstants.TYPE_LONG:
+                return unZigZag(readVarLong());
+            case SnapshotConstants.TYPE_FLOAT:
+                return Float.intBitsToFloat(readInt());
+            case SnapshotConstants.TYPE_DOUBLE:
+                return Double.longBitsToDouble(readLong());
+            case SnapshotConstants.TYPE_SERIALIZED:
+                return deserialize(readBytes());
+            default:
+                throw new StreamCorruptedException(String.format("Unknown value type: %d", type));
+        }
+    }
+
+    /**
+     * Reads the length of a string or of an array of bytes.
+     *
+     * @return the length
+     *
+     * @throws StreamCorruptedException if the length is negative
+     * @throws IOException              if an I/O error occurs when reading
+     */
+    @Nonnegative
+    private int readLength() throws IOException {
+        final int length = readVarInt();
+        if (length < 0) {
+            throw new StreamCorruptedException(String.format("Invalid length: %d", length));
+        }
+        return length;
+    }
+
+    /**
+     * Reads the given number of bytes.
+     * <p>
+     * The length comes from the stream, so the resulting array grows as the bytes are read, instead of being allocated
+     * at once: a length larger than the remaining input fails with an {@link EOFException} after allocating at most
+     * twice the number of bytes actually read.
+     *
+     * @param length the number of bytes to read
+     *
+     * @return the bytes
+     *
+     * @throws EOFException if the end of the stream is reached before reading {@code length} bytes
+     * @throws IOException  if an I/O error occurs when reading
+     */
+    @Nonnull
+    private byte[] readBytes(@Nonnegative int length) throws IOException {
+        byte[] value = new byte[Math.min(length, BUFFER_SIZE)];
+
+        int offset = Math.min(length, limit - position);
+        System.arraycopy(buffer, position, value, 0, offset);
+        position += offset;
+
+        while (offset < length) {
+            if (offset == value.length) {
+                value = Arrays.copyOf(value, (int) Math.min(length, 2L * value.length));
+            }
+
+            int read = in.read(value, offset, value.length - offset);
+            if (read == -1) {
+                throw new EOFException();
+            }
+            offset += read;
+        }
+
+        return value;
+    }
+
+    /**
+     * Fills the {@link #buffer} with the next bytes of the stream.
+     *
+     * @throws EOFException if the end of the stream has been reached
+     * @throws IOException  if an I/O error occurs when reading
+     */
+    private void fill() throws IOException {
+        int read = in.read(buffer, 0, buffer.length);
+        if (read == -1) {
+            throw new EOFException();
+        }
+
+        position = 0;
+        limit = read;
+    }
+
+    /**
+     * Deserializes the given {@code bytes} with the Java serialization.
+     * <p>
+     * Only the {@link SnapshotConstants#SERIALIZABLE_CLASSES} are resolved, so that a snapshot cannot instantiate arbitrary classes.
+     *
+     * @param bytes the bytes to deserialize
+     *
+     * @return the value
+     *
+     * @throws InvalidClassException if the bytes describe a class that is not allowed
+     * @throws IOException           if an I/O error occurs during the deserialization
+     */
+    @Nonnull
+    private static Object deserialize(byte[] bytes) throws IOException {
+        try (ObjectInputStream objects = new FilteringObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return objects.readObject();
+        }
+        catch (ClassNotFoundException e) {
+            throw new InvalidClassException(e.getMessage());
+        }
+    }
+
+    /**
+     * Decodes a signed {@code int} encoded by {@link SnapshotOutput}.
+     *
+     * @param value the value to decode
+     *
+     * @return the decoded value
+     */
+    private static int unZigZag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Decodes a signed {@code long} encoded by {@link SnapshotOutput}.
+     *
+     * @param value the value to decode
+     *
+     * @return the decoded value
+     */
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * An {@link ObjectInputStream} that only resolves the {@link SnapshotConstants#SERIALIZABLE_CLASSES}.
+     * <p>
+     * The classes are checked by name, before being loaded, and proxy classes are always rejected.
+     */
+    @ParametersAreNonnullByDefault
+    private static final class FilteringObjectInputStream extends ObjectInputStream {
+
+        /**
+         * Constructs a new {@code FilteringObjectInputStream}.
+         *
+         * @param in the stream where to read the serialized object
+         *
+         * @throws IOException if an I/O error occurs when reading the stream header
+         */
+        FilteringObjectInputStream(InputStream in) throws IOException {
+            super(in);
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            if (!SnapshotConstants.SERIALIZABLE_CLASSES.contains(desc.getName())) {
+                throw new InvalidClassException(desc.getName(), "Not an allowed value type");
+            }
+            return super.resolveClass(desc);
+        }
+
+        @Override
+        protected Class<?> resolveProxyClass(String[] interfaces) throws IOException {
+            throw new InvalidClassException("Proxy classes are not allowed value types");
+        }
+    }
+}
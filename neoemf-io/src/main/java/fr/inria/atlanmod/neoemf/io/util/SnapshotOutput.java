@@ -0,0 +1,300 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.io.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.annotation.WillNotClose;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static java.util.Objects.isNull;
+
+/**
+ * A buffered output that writes the primitive types of a binary snapshot into an {@link OutputStream}.
+ *
+ * @see SnapshotConstants
+ * @see SnapshotInput
+ */
+@ParametersAreNonnullByDefault
+public final class SnapshotOutput implements Flushable {
+
+    /**
+     * The size of the buffer, in bytes.
+     */
+    @Nonnegative
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * The stream where to write the bytes.
+     */
+    @Nonnull
+    private final OutputStream out;
+
+    /**
+     * The bytes not written yet.
+     */
+    @Nonnull
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+
+    /**
+     * The number of bytes in the {@link #buffer}.
+     */
+    @Nonnegative
+    private int count;
+
+    /**
+     * Constructs a new {@code SnapshotOutput}.
+     *
+     * @param out the stream where to write the bytes
+     */
+    public SnapshotOutput(@WillNotClose OutputStream out) {
+        this.out = checkNotNull(out, "out");
+    }
+
+    /**
+     * Writes the header of a snapshot, with the current version of the format.
+     *
+     * @throws IOException if an I/O error occurs when writing
+     */
+    public void writeHeader() throws IOException {
+        writeInt(SnapshotConstants.MAGIC);
+        writeVarInt(SnapshotConstants.VERSION);
+    }
+
+    /**
+     * Writes a single byte.
+     *
+     * @param value the byte to write
+     *
+     * @throws IOException if an I/O error occurs when writing
+     */
+    public void writeByte(int value) throws IOException {
+        if (count == buffer.length) {
+            flushBuffer();
+        }
+        buffer[count++] = (byte) value;
+    }
+
+    /**
+     * Writes an {@code int} on 4 bytes, in big-endian order.
+     *
+     * @param value the value to write
+     *
+     * @throws IOException if an I/O error occurs when writing
+     */
+    public void writeInt(int value) throws IOException {
+        writeByte(value >>> 24);
+        writeByte(value >>> 16);
+        writeByte(value >>> 8);
+        writeByte(value);
+    }
+
+    /**
+     * Writes a {@code long} on 8 bytes, in big-endian order.
+     *
+     * @param value the value to write
+     *
+     * @throws IOException if an I/O error occurs when writing
+     */
+    public void writeLong(long value) throws IOException {
+        writeInt((int) (value >>> 32));
+        writeInt((int) value);
+    }
+
+    /**
+     * Writes an unsigned {@code int} on 1 to 5 bytes, 7 bits at a time.
+     *
+     * @param value the value to write
+     *
+     * @throws IOException if an I/O error occurs when writing
+     */
+    public void writeVarInt(int value) throws IOException {
+        int v = value;
+        while ((v & ~0x7F) != 0) {
+            writeByte((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        writeByte(v);
+    }
+
+    /**
+     * Writes an unsigned {@code long} on 1 to 10 bytes, 7 bits at a time.
+     *
+     * @param value the value to write
+     *
+     * @throws IOException if an I/O error occurs when writing
+     */
+    public void writeVarLong(long value) throws IOException {
+        long v = value;
+        while ((v & ~0x7FL) != 0) {
+            writeByte((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        writeByte((int) v);
+    }
+
+    /**
+     * Writes a {@link String}, prefixed by the length of its UTF-8 encoding.
+     *
+     * @param value the value to write
+     *
+     * @throws IOException if an I/O error occurs when writing
+     */
+    public void writeString(String value) throws IOException {
+        writeBytes(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Writes an array of bytes, prefixed by its length.
+     *
+     * @param value the value to write
+     *
+     * @throws IOException if an I/O error occurs when writing
+     */
+    public void writeBytes(byte[] value) throws IOException {
+        writeVarInt(value.length);
+
+        if (value.length > buffer.length - count) {
+            flushBuffer();
+        }
+
+        if (value.length > buffer.length) {
+            out.write(value);
+        }
+        else {
+            System.arraycopy(value, 0, buffer, count, value.length);
+            count += value.length;
+        }
+    }
+
+    /**
+     * Writes a value of an attribute, prefixed by its type.
+     *
+     * @param value the value to write
+     *
+     * @throws IOException if an I/O error occurs when writing
+     * @throws NotSerializableException if the value is not a primitive, a {@link String} or one of the {@link
+     *                                  SnapshotConstants#SERIALIZABLE_CLASSES}
+     */
+    public void writeValue(@Nullable Object value) throws IOException {
+        if (isNull(value)) {
+            writeByte(SnapshotConstants.TYPE_NULL);
+        }
+        else if (value instanceof String) {
+            writeByte(SnapshotConstants.TYPE_STRING);
+            writeString((String) value);
+        }
+        else if (value instanceof Boolean) {
+            writeByte((Boolean) value ? SnapshotConstants.TYPE_TRUE : SnapshotConstants.TYPE_FALSE);
+        }
+        else if (value instanceof Integer) {
+            writeByte(SnapshotConstants.TYPE_INT);
+            writeVarInt(zigZag((Integer) value));
+        }
+        else if (value instanceof Long) {
+            writeByte(SnapshotConstants.TYPE_LONG);
+            writeVarLong(zigZag((Long) value));
+        }
+        else if (value instanceof Double) {
+            writeByte(SnapshotConstants.TYPE_DOUBLE);
+            writeLong(Double.doubleToLongBits((Double) value));
+        }
+        else if (value instanceof Float) {
+            writeByte(SnapshotConstants.TYPE_FLOAT);
+            writeInt(Float.floatToIntBits((Float) value));
+        }
+        else if (value instanceof Short) {
+            writeByte(SnapshotConstants.TYPE_SHORT);
+            writeVarInt(zigZag((Short) value));
+        }
+        else if (value instanceof Byte) {
+            writeByte(SnapshotConstants.TYPE_BYTE);
+            writeByte((Byte) value);
+        }
+        else if (value instanceof Character) {
+            writeByte(SnapshotConstants.TYPE_CHAR);
+            writeVarInt((Character) value);
+        }
+        else if (SnapshotConstants.SERIALIZABLE_CLASSES.contains(value.getClass().getName())) {
+            writeByte(SnapshotConstants.TYPE_SERIALIZED);
+            writeBytes(serialize(value));
+        }
+        else {
+            throw new NotSerializableException(value.getClass().getName());
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    /**
+     * Writes the content of the {@link #buffer} into the underlying stream.
+     *
+     * @throws IOException if an I/O error occurs when writing
+     */
+    private void flushBuffer() throws IOException {
+        if (count > 0) {
+            out.write(buffer, 0, count);
+            count = 0;
+        }
+    }
+
+    /**
+     * Serializes the given {@code value} with the Java serialization.
+     *
+     * @param value the value to serialize
+     *
+     * @return the serialized value
+     *
+     * @throws IOException if an I/O error occurs during the serialization
+     */
+    @Nonnull
+    private static byte[] serialize(Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream objects = new ObjectOutputStream(bytes)) {
+            objects.writeObject(value);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Encodes a signed {@code int} so that small negative values are written on few bytes.
+     *
+     * @param value the value to encode
+     *
+     * @return the encoded value
+     */
+    private static int zigZag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    /**
+     * Encodes a signed {@code long} so that small negative values are written on few bytes.
+     *
+     * @param value the value to encode
+     *
+     * @return the encoded value
+     */
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+}
@@ -0,0 +1,368 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.io.writer;
+
+import fr.inria.atlanmod.neoemf.core.Id;
+import fr.inria.atlanmod.neoemf.data.BulkLoader;
+import fr.inria.atlanmod.neoemf.data.bean.ClassBean;
+import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
+import fr.inria.atlanmod.neoemf.data.mapping.DataMapper;
+import fr.inria.atlanmod.neoemf.io.bean.BasicAttribute;
+import fr.inria.atlanmod.neoemf.io.bean.BasicClass;
+import fr.inria.atlanmod.neoemf.io.bean.BasicElement;
+import fr.inria.atlanmod.neoemf.io.bean.BasicReference;
+import fr.inria.atlanmod.neoemf.resource.PersistentResource;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkArgument;
+import static fr.inria.atlanmod.commons.Preconditions.checkState;
+import static java.util.Objects.isNull;
+
+/**
+ * A {@link Writer} that persists data into a {@link DataMapper} in bulk, for importing large models.
+ * <p>
+ * Unlike the {@link DefaultMapperWriter}, this writer does not write each feature as soon as it is received: the values
+ * of a multi-valued feature are merged until the end of their owner, and the complete elements are grouped in batches,
+ * sorted by key. When the mapper is a {@link BulkLoader}, each batch is written with its fastest write path, without
+ * reading the current size of the multi-valued features.
+ * <p>
+ * The elements must not be already defined in the mapper. This writer should be used with a
+ * {@link fr.inria.atlanmod.neoemf.data.Backend} directly, rather than with a store chain.
+ */
+@ParametersAreNonnullByDefault
+public class BulkMapperWriter extends AbstractWriter<DataMapper> {
+
+    /**
+     * The default number of elements in a batch.
+     */
+    @Nonnegative
+    public static final int DEFAULT_BATCH_SIZE = 10_000;
+
+    /**
+     * The feature of the 'ROOT' node that holds the root elements.
+     */
+    @Nonnull
+    private static final SingleFeatureBean ROOT_FEATURE = SingleFeatureBean.of(PersistentResource.ROOT_ID, -1);
+
+    /**
+     * The loader where to write the batches.
+     */
+    @Nonnull
+    private final BulkLoader loader;
+
+    /**
+     * The number of elements in a batch.
+     */
+    @Nonnegative
+    private final int batchSize;
+
+    /**
+     * A LIFO that holds the identifier of the elements that have not ended yet.
+     */
+    @Nonnull
+    private final Deque<Id> openElements = new ArrayDeque<>();
+
+    /**
+     * The multi-valued attributes of the elements that have not ended yet.
+     */
+    @Nonnull
+    private final Map<SingleFeatureBean, List<Object>> pendingValues = new HashMap<>();
+
+    /**
+     * The multi-valued references of the elements that have not ended yet.
+     */
+    @Nonnull
+    private final Map<SingleFeatureBean, List<Id>> pendingReferences = new HashMap<>();
+
+    /**
+     * The root elements, added as content of the 'ROOT' node at the end of the import.
+     */
+    @Nonnull
+    private final List<Id> rootElements = new ArrayList<>();
+
+    /**
+     * The current batch, not written yet.
+     */
+    @Nonnull
+    private Batch currentBatch = new Batch();
+
+    /**
+     * Constructs a new {@code BulkMapperWriter} with the given {@code mapper} and the default batch size.
+     *
+     * @param mapper the mapper where to write data
+     */
+    public BulkMapperWriter(DataMapper mapper) {
+        this(mapper, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Constructs a new {@code BulkMapperWriter} with the given {@code mapper}.
+     *
+     * @param mapper    the mapper where to write data
+     * @param batchSize the number of elements in a batch
+     */
+    public BulkMapperWriter(DataMapper mapper, @Nonnegative int batchSize) {
+        super(mapper);
+
+        checkArgument(batchSize > 0, "batchSize (%d) must be > 0", batchSize);
+
+        this.loader = BulkLoader.class.isInstance(mapper)
+                ? BulkLoader.class.cast(mapper)
+                : new MapperLoader(mapper);
+
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void onInitialize() {
+        // Create the 'ROOT' node with the default meta-class, if it does not exist yet
+        BasicClass metaClass = BasicClass.DEFAULT;
+        target.metaClassFor(PersistentResource.ROOT_ID, ClassBean.of(metaClass.getName(), metaClass.getNamespace().getUri()));
+    }
+
+    @Override
+    public void onComplete() {
+        while (!openElements.isEmpty()) {
+            endElement(openElements.removeLast());
+        }
+        flush();
+
+        // The 'ROOT' node can already contain elements
+        if (!rootElements.isEmpty()) {
+            target.appendAllReferences(ROOT_FEATURE, rootElements);
+            rootElements.clear();
+        }
+
+        target.save();
+    }
+
+    @Override
+    public void onStartElement(BasicElement element) throws IOException {
+        super.onStartElement(element);
+
+        final Id id = element.getId().getResolved();
+        final BasicClass metaClass = element.getMetaClass();
+
+        ClassBean previous = currentBatch.metaClasses.put(id, ClassBean.of(metaClass.getName(), metaClass.getNamespace().getUri()));
+        checkState(isNull(previous), "An element with the same Id (%s) is already defined", id.toHexString());
+
+        openElements.addLast(id);
+
+        if (element.isRoot()) {
+            rootElements.add(id);
+        }
+    }
+
+    @Override
+    public void onEndElement() throws IOException {
+        super.onEndElement();
+
+        endElement(openElements.removeLast());
+    }
+
+    @Override
+    public void onAttribute(BasicAttribute attribute, List<Object> values) {
+        SingleFeatureBean bean = SingleFeatureBean.of(attribute.getOwner(), attribute.getId());
+
+        if (!attribute.isMany()) {
+            currentBatch.values.put(bean, values.get(0));
+        }
+        else {
+            pendingValues.computeIfAbsent(bean, b -> new ArrayList<>()).addAll(values);
+        }
+    }
+
+    @Override
+    public void onReference(BasicReference reference, List<Id> values) {
+        SingleFeatureBean bean = SingleFeatureBean.of(reference.getOwner(), reference.getId());
+
+        // Update the containment reference if needed
+        if (reference.isContainment()) {
+            values.forEach(i -> currentBatch.containers.put(i, bean));
+        }
+
+        if (!reference.isMany()) {
+            currentBatch.references.put(bean, values.get(0));
+        }
+        else {
+            pendingReferences.computeIfAbsent(bean, b -> new ArrayList<>()).addAll(values);
+        }
+    }
+
+    /**
+     * Moves the multi-valued features of the given element in the current batch, and writes the batch if it is full.
+     *
+     * @param id the identifier of the ended element
+     */
+    private void endElement(Id id) {
+        moveTo(pendingValues, currentBatch.manyValues, id);
+        moveTo(pendingReferences, currentBatch.manyReferences, id);
+
+        if (++currentBatch.size >= batchSize) {
+            flush();
+        }
+    }
+
+    /**
+     * Moves all the features of the {@code owner} from the {@code pending} features to the {@code batch}.
+     *
+     * @param pending the pending features
+     * @param batch   the features of the batch
+     * @param owner   the owner of the features to move
+     * @param <V>     the type of values
+     */
+    private <V> void moveTo(Map<SingleFeatureBean, List<V>> pending, Map<SingleFeatureBean, List<V>> batch, Id owner) {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Iterator<Map.Entry<SingleFeatureBean, List<V>>> iter = pending.entrySet().iterator();
+        while (iter.hasNext()) {
+            Map.Entry<SingleFeatureBean, List<V>> e = iter.next();
+            if (e.getKey().owner().equals(owner)) {
+                batch.put(e.getKey(), e.getValue());
+                iter.remove();
+            }
+        }
+    }
+
+    /**
+     * Writes the current batch.
+     */
+    private void flush() {
+        if (currentBatch.size == 0) {
+            return;
+        }
+
+        loader.loadMetaClasses(currentBatch.metaClasses);
+        loader.loadContainers(currentBatch.containers);
+        loader.loadValues(currentBatch.values);
+        loader.loadAllValues(currentBatch.manyValues);
+        loader.loadReferences(currentBatch.references);
+        loader.loadAllReferences(currentBatch.manyReferences);
+
+        currentBatch = new Batch();
+    }
+
+    /**
+     * A group of complete elements, sorted by key.
+     */
+    @ParametersAreNonnullByDefault
+    private static final class Batch {
+
+        /**
+         * The meta-class of the elements.
+         */
+        @Nonnull
+        private final SortedMap<Id, ClassBean> metaClasses = new TreeMap<>();
+
+        /**
+         * The container of the elements.
+         */
+        @Nonnull
+        private final SortedMap<Id, SingleFeatureBean> containers = new TreeMap<>();
+
+        /**
+         * The single-valued attributes of the elements.
+         */
+        @Nonnull
+        private final SortedMap<SingleFeatureBean, Object> values = new TreeMap<>();
+
+        /**
+         * The multi-valued attributes of the elements.
+         */
+        @Nonnull
+        private final SortedMap<SingleFeatureBean, List<Object>> manyValues = new TreeMap<>();
+
+        /**
+         * The single-valued references of the elements.
+         */
+        @Nonnull
+        private final SortedMap<SingleFeatureBean, Id> references = new TreeMap<>();
+
+        /**
+         * The multi-valued references of the elements.
+         */
+        @Nonnull
+        private final SortedMap<SingleFeatureBean, List<Id>> manyReferences = new TreeMap<>();
+
+        /**
+         * The number of complete elements in this batch.
+         */
+        @Nonnegative
+        private int size;
+    }
+
+    /**
+     * A {@link BulkLoader} that writes the batches with the standard methods of a {@link DataMapper}, used when the
+     * mapper does not support bulk loading.
+     */
+    @ParametersAreNonnullByDefault
+    private static final class MapperLoader implements BulkLoader {
+
+        /**
+         * The mapper where to write data.
+         */
+        @Nonnull
+        private final DataMapper mapper;
+
+        /**
+         * Constructs a new {@code MapperLoader}.
+         *
+         * @param mapper the mapper where to write data
+         */
+        MapperLoader(DataMapper mapper) {
+            this.mapper = mapper;
+        }
+
+        @Override
+        public void loadMetaClasses(SortedMap<Id, ClassBean> metaClasses) {
+            metaClasses.forEach(mapper::metaClassFor);
+        }
+
+        @Override
+        public void loadContainers(SortedMap<Id, SingleFeatureBean> containers) {
+            containers.forEach(mapper::containerFor);
+        }
+
+        @Override
+        public void loadValues(SortedMap<SingleFeatureBean, Object> values) {
+            values.forEach(mapper::valueFor);
+        }
+
+        @Override
+        public void loadAllValues(SortedMap<SingleFeatureBean, List<Object>> values) {
+            values.forEach(mapper::allValuesFor);
+        }
+
+        @Override
+        public void loadReferences(SortedMap<SingleFeatureBean, Id> references) {
+            references.forEach(mapper::referenceFor);
+        }
+
+        @Override
+        public void loadAllReferences(SortedMap<SingleFeatureBean, List<Id>> references) {
+            references.forEach(mapper::allReferencesFor);
+        }
+    }
+}
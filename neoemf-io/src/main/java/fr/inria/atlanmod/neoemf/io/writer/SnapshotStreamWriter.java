@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.io.writer;
+
+import fr.inria.atlanmod.commons.log.Log;
+import fr.inria.atlanmod.neoemf.core.Id;
+import fr.inria.atlanmod.neoemf.data.bean.ClassBean;
+import fr.inria.atlanmod.neoemf.io.bean.BasicAttribute;
+import fr.inria.atlanmod.neoemf.io.bean.BasicClass;
+import fr.inria.atlanmod.neoemf.io.bean.BasicElement;
+import fr.inria.atlanmod.neoemf.io.bean.BasicReference;
+import fr.inria.atlanmod.neoemf.io.util.SnapshotConstants;
+import fr.inria.atlanmod.neoemf.io.util.SnapshotOutput;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.annotation.WillNotClose;
+
+import static fr.inria.atlanmod.commons.Preconditions.checkEqualTo;
+import static fr.inria.atlanmod.commons.Preconditions.checkNotNull;
+import static java.util.Objects.isNull;
+
+/**
+ * A {@link Writer} that writes data into a binary snapshot.
+ * <p>
+ * Events are written as soon as they are received, without accumulating the values of multi-valued features: the
+ * memory used does not depend on the size of the model. Meta-classes and element names are written once, and then
+ * referenced by their index.
+ *
+ * @see SnapshotConstants
+ * @see fr.inria.atlanmod.neoemf.io.reader.SnapshotStreamReader
+ */
+@ParametersAreNonnullByDefault
+public class SnapshotStreamWriter implements Writer {
+
+    /**
+     * The output where to write the snapshot.
+     */
+    @Nonnull
+    private final SnapshotOutput out;
+
+    /**
+     * The index of each meta-class already written.
+     */
+    @Nonnull
+    private final Map<ClassBean, Integer> classes = new HashMap<>();
+
+    /**
+     * The index of each element name already written.
+     */
+    @Nonnull
+    private final Map<String, Integer> names = new HashMap<>();
+
+    /**
+     * A LIFO that holds the elements that have not ended yet.
+     */
+    @Nonnull
+    private final Deque<OpenElement> openElements = new ArrayDeque<>();
+
+    /**
+     * Constructs a new {@code SnapshotStreamWriter} with the given {@code stream}.
+     *
+     * @param stream the stream where to write data
+     */
+    public SnapshotStreamWriter(@WillNotClose OutputStream stream) {
+        this.out = new SnapshotOutput(checkNotNull(stream, "stream"));
+
+        Log.debug("{0} created", getClass().getSimpleName());
+    }
+
+    @Override
+    public void onInitialize() throws IOException {
+        out.writeHeader();
+    }
+
+    @Override
+    public void onStartElement(BasicElement element) throws IOException {
+        final Id id = element.getId().getResolved();
+        final BasicClass metaClass = element.getMetaClass();
+
+        final int classIndex = indexOf(ClassBean.of(metaClass.getName(), metaClass.getNamespace().getUri()));
+        final int nameIndex = indexOf(element.getName());
+
+        out.writeByte(SnapshotConstants.START_ELEMENT);
+        out.writeVarInt(element.isRoot() ? SnapshotConstants.FLAG_ROOT : 0);
+        out.writeVarLong(id.toLong());
+        out.writeVarInt(classIndex);
+        out.writeVarInt(nameIndex);
+
+        openElements.addLast(new OpenElement(id, classIndex));
+    }
+
+    @Override
+    public void onAttribute(BasicAttribute attribute) throws IOException {
+        checkEqualTo(openElements.getLast().id, attribute.getOwner(),
+                "%s is not the owner of this attribute (%s)", openElements.getLast().id, attribute.getOwner());
+
+        out.writeByte(SnapshotConstants.ATTRIBUTE);
+        out.writeVarInt(attribute.getId());
+        out.writeValue(attribute.getValue().getResolved());
+    }
+
+    @Override
+    public void onReference(BasicReference reference) throws IOException {
+        final Id owner = reference.getOwner();
+        final Id value = reference.getValue().getResolved();
+
+        if (openElements.getLast().id.equals(owner)) {
+            out.writeByte(SnapshotConstants.REFERENCE);
+        }
+        else {
+            // The owner is an ancestor of the current element, such as the container of a containment reference
+            out.writeByte(SnapshotConstants.REFERENCE_FROM);
+            out.writeVarLong(owner.toLong());
+            out.writeVarInt(classIndexOf(owner));
+        }
+
+        out.writeVarInt(reference.getId());
+        out.writeVarLong(value.toLong());
+    }
+
+    @Override
+    public void onEndElement() throws IOException {
+        openElements.removeLast();
+
+        out.writeByte(SnapshotConstants.END_ELEMENT);
+    }
+
+    @Override
+    public void onComplete() throws IOException {
+        out.writeByte(SnapshotConstants.END);
+        out.flush();
+    }
+
+    /**
+     * Returns the index of the {@code metaClass}, and writes its definition if it is not defined yet.
+     *
+     * @param metaClass the meta-class
+     *
+     * @return the index of the meta-class
+     *
+     * @throws IOException if an I/O error occurs when writing
+     */
+    @Nonnegative
+    private int indexOf(ClassBean metaClass) throws IOException {
+        Integer index = classes.get(metaClass);
+
+        if (isNull(index)) {
+            index = classes.size();
+            classes.put(metaClass, index);
+
+            out.writeByte(SnapshotConstants.CLASS);
+            out.writeString(metaClass.name());
+            out.writeString(metaClass.uri());
+        }
+
+        return index;
+    }
+
+    /**
+     * Returns the index of the element {@code name}, and writes its definition if it is not defined yet.
+     *
+     * @param name the name of an element
+     *
+     * @return the index of the name
+     *
+     * @throws IOException if an I/O error occurs when writing
+     */
+    @Nonnegative
+    private int indexOf(String name) throws IOException {
+        Integer index = names.get(name);
+
+        if (isNull(index)) {
+            index = names.size();
+            names.put(name, index);
+
+            out.writeByte(SnapshotConstants.NAME);
+            out.writeString(name);
+        }
+
+        return index;
+    }
+
+    /**
+     * Returns the index of the meta-class of the open element identified by {@code id}.
+     *
+     * @param id the identifier of the element
+     *
+     * @return the index of the meta-class
+     *
+     * @throws IllegalStateException if the element is not open
+     */
+    @Nonnegative
+    private int classIndexOf(Id id) {
+        Iterator<OpenElement> iter = openElements.descendingIterator();
+        while (iter.hasNext()) {
+            OpenElement element = iter.next();
+            if (element.id.equals(id)) {
+                return element.classIndex;
+            }
+        }
+
+        throw new IllegalStateException(String.format("%s is not an open element", id));
+    }
+
+    /**
+     * An element that has not ended yet.
+     */
+    @ParametersAreNonnullByDefault
+    private static final class OpenElement {
+
+        /**
+         * The identifier of the element.
+         */
+        @Nonnull
+        private final Id id;
+
+        /**
+         * The index of the meta-class of the element.
+         */
+        @Nonnegative
+        private final int classIndex;
+
+        /**
+         * Constructs a new {@code OpenElement}.
+         *
+         * @param id         the identifier of the element
+         * @param classIndex the index of the meta-class of the element
+         */
+        OpenElement(Id id, @Nonnegative int classIndex) {
+            this.id = id;
+            this.classIndex = classIndex;
+        }
+    }
+}
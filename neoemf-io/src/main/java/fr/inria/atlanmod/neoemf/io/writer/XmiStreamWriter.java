@@ -16,6 +16,7 @@ import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 
+import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 import javax.annotation.ParametersAreNonnullByDefault;
 import javax.xml.stream.XMLOutputFactory;
@@ -28,6 +29,12 @@ import javax.xml.stream.XMLStreamWriter;
 @ParametersAreNonnullByDefault
 public class XmiStreamWriter extends AbstractXmiStreamWriter {
 
+    /**
+     * The size of the buffer between the XML writer and the {@link #target}, in bytes.
+     */
+    @Nonnegative
+    private static final int BUFFER_SIZE = 64 * 1024;
+
     /**
      * The XML writer on the {@link #target}.
      */
@@ -48,7 +55,7 @@ public class XmiStreamWriter extends AbstractXmiStreamWriter {
         configure(factory);
 
         try {
-            writer = factory.createXMLStreamWriter(new BufferedOutputStream(stream), XmiConstants.ENCODING);
+            writer = factory.createXMLStreamWriter(new BufferedOutputStream(stream, BUFFER_SIZE), XmiConstants.ENCODING);
         }
         catch (XMLStreamException e) {
             throw new IOException(e);
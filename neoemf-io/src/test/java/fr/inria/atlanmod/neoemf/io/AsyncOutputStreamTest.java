@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.io;
+
+import fr.inria.atlanmod.commons.AbstractTest;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+/**
+ * A test-case about {@link AsyncOutputStream}.
+ */
+@ParametersAreNonnullByDefault
+class AsyncOutputStreamTest extends AbstractTest {
+
+    @Test
+    void testAllBytesAreWritten() throws IOException {
+        byte[] bytes = new byte[10_000];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) i;
+        }
+
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+        try (OutputStream out = new AsyncOutputStream(target, 64, 2)) {
+            out.write(bytes, 0, 5_000);
+            out.write(bytes[5_000]);
+            out.write(bytes, 5_001, bytes.length - 5_001);
+        }
+
+        assertThat(target.toByteArray()).isEqualTo(bytes);
+    }
+
+    @Test
+    void testFailureIsThrownOnCloseAndUnderlyingStreamIsClosed() throws IOException {
+        FailingOutputStream target = new FailingOutputStream();
+
+        AsyncOutputStream out = new AsyncOutputStream(target, 64, 2);
+        out.write(new byte[32]);
+
+        // The chunk is only written when closing, so the failure can only be reported by close()
+        Throwable thrown = catchThrowable(out::close);
+        assertThat(thrown).isInstanceOf(IOException.class).hasMessage("Disk full");
+        assertThat(target.closed).isTrue();
+    }
+
+    @Test
+    void testFailureIsThrownOnWrite() {
+        FailingOutputStream target = new FailingOutputStream();
+
+        AsyncOutputStream out = new AsyncOutputStream(target, 1, 1);
+
+        Throwable thrown = catchThrowable(() -> {
+            for (int i = 0; i < 1_000; i++) {
+                out.write(i);
+            }
+        });
+        assertThat(thrown).isInstanceOf(IOException.class).hasMessage("Disk full");
+
+        assertThat(catchThrowable(out::close)).isInstanceOf(IOException.class);
+        assertThat(target.closed).isTrue();
+    }
+
+    /**
+     * An {@link OutputStream} that fails on each write.
+     */
+    @ParametersAreNonnullByDefault
+    private static final class FailingOutputStream extends OutputStream {
+
+        /**
+         * {@code true} if this stream has been closed.
+         */
+        volatile boolean closed;
+
+        @Override
+        public void write(int b) throws IOException {
+            throw new IOException("Disk full");
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            throw new IOException("Disk full");
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -70,4 +70,33 @@ class ExportTest extends AbstractFileBasedTest {
         actual.eResource().unload();
         expected.eResource().unload();
     }
+
+    /**
+     * Checks the export from a {@link Backend} to a file, with the next elements read concurrently.
+     */
+    @Tag("slow")
+    @ParameterizedTest(name = "[{index}] source = {0}: useCompression = {1}")
+    @ArgumentsSource(UriProvider.UncompressedWithBooleans.class)
+    void testDirectExportWithPrefetch(URI uri, Boolean useCompression) throws IOException {
+        final File targetFile = new File(currentTempFile() + "." + (useCompression ? "z" : Strings.EMPTY) + "xmi");
+        Log.info("Exporting to file with prefetch... [{0}]", targetFile);
+
+        try (DataMapper mapper = new DefaultInMemoryBackend(); InputStream in = new URL(uri.toString()).openStream()) {
+            Migrator.fromXmi(in).toMapper(mapper).migrate();
+
+            Migrator.fromMapper(mapper)
+                    .withPrefetch(2)
+                    .toXmi(targetFile, useCompression)
+                    .migrate();
+        }
+
+        // Comparing with EMF
+        EObject actual = ResourceManager.load(URI.createFileURI(targetFile.toString()));
+        EObject expected = ResourceManager.load(uri);
+
+        ModelComparisonUtils.assertEObjectAreEqual(actual, expected);
+
+        actual.eResource().unload();
+        expected.eResource().unload();
+    }
 }
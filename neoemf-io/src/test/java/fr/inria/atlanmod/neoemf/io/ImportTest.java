@@ -14,6 +14,7 @@ import fr.inria.atlanmod.neoemf.bind.Bindings;
 import fr.inria.atlanmod.neoemf.data.Backend;
 import fr.inria.atlanmod.neoemf.data.BackendFactoryRegistry;
 import fr.inria.atlanmod.neoemf.data.im.DefaultInMemoryBackend;
+import fr.inria.atlanmod.neoemf.io.provider.MigrationMode;
 import fr.inria.atlanmod.neoemf.io.provider.UriProvider;
 import fr.inria.atlanmod.neoemf.io.util.ResourceManager;
 import fr.inria.atlanmod.neoemf.resource.PersistentResource;
@@ -64,17 +65,17 @@ class ImportTest extends AbstractFileBasedTest {
     }
 
     /**
-     * Checks the import from a file to a {@link Backend}.
+     * Checks the import from a file to a {@link Backend}, with each {@link MigrationMode}.
      */
     @Tag("slow")
-    @ParameterizedTest(name = "[{index}] source = {0}")
-    @ArgumentsSource(UriProvider.All.class)
-    void testDirectImport(URI uri) throws IOException {
+    @ParameterizedTest(name = "[{index}] source = {0}, mode = {1}")
+    @ArgumentsSource(UriProvider.AllWithModes.class)
+    void testDirectImport(URI uri, MigrationMode mode) throws IOException {
         final File sourceFile = currentTempFile();
-        Log.info("Importing from file... [{0}]", sourceFile);
+        Log.info("Importing from file in {1} mode... [{0}]", sourceFile, mode);
 
         try (Backend backend = new DefaultInMemoryBackend(); InputStream in = new URL(uri.toString()).openStream()) {
-            Migrator.fromXmi(in).toMapper(backend).migrate();
+            mode.migrate(Migrator.fromXmi(in), backend);
 
             EObject actual = createMockResource(uri, backend).getContents().get(0);
             EObject expected = ResourceManager.load(uri);
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.io;
+
+import fr.inria.atlanmod.commons.AbstractFileBasedTest;
+import fr.inria.atlanmod.commons.log.Log;
+import fr.inria.atlanmod.neoemf.bind.Bindings;
+import fr.inria.atlanmod.neoemf.data.Backend;
+import fr.inria.atlanmod.neoemf.data.BackendFactoryRegistry;
+import fr.inria.atlanmod.neoemf.data.im.DefaultInMemoryBackend;
+import fr.inria.atlanmod.neoemf.data.mapping.DataMapper;
+import fr.inria.atlanmod.neoemf.io.provider.UriProvider;
+import fr.inria.atlanmod.neoemf.io.util.ResourceManager;
+import fr.inria.atlanmod.neoemf.resource.PersistentResource;
+import fr.inria.atlanmod.neoemf.resource.PersistentResourceFactory;
+import fr.inria.atlanmod.neoemf.util.ModelComparisonUtils;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ArgumentsSource;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * A test-case about the export and the import of a model as a binary snapshot.
+ */
+@ParametersAreNonnullByDefault
+class SnapshotTest extends AbstractFileBasedTest {
+
+    @BeforeAll
+    static void registerPackages() {
+        ResourceManager.registerAllPackages();
+    }
+
+    /**
+     * Creates a {@link PersistentResource} on the given {@code backend}.
+     *
+     * @param uri     the URI of the resource
+     * @param backend the backend of the resource
+     *
+     * @return a new {@link PersistentResource}
+     */
+    @Nonnull
+    private static PersistentResource createMockResource(URI uri, Backend backend) throws IOException {
+        BackendFactoryRegistry.getInstance().register(Bindings.schemeOf(MockBackendFactory.MockUriFactory.class), new MockBackendFactory(backend));
+
+        PersistentResource resource = PersistentResourceFactory.getInstance().createResource(new MockBackendFactory.MockUriFactory().createLocalUri(uri));
+        resource.save(new MockBackendFactory.MockConfig());
+        return resource;
+    }
+
+    /**
+     * Checks the export from a {@link Backend} to a snapshot, and the import of this snapshot to another
+     * {@link Backend}.
+     */
+    @Tag("slow")
+    @ParameterizedTest(name = "[{index}] source = {0}")
+    @ArgumentsSource(UriProvider.All.class)
+    void testMapperToSnapshotToMapper(URI uri) throws IOException {
+        final File snapshotFile = new File(currentTempFile() + ".snapshot");
+        Log.info("Exporting to snapshot... [{0}]", snapshotFile);
+
+        try (DataMapper mapper = new DefaultInMemoryBackend(); InputStream in = new URL(uri.toString()).openStream()) {
+            Migrator.fromXmi(in).toMapper(mapper).migrate();
+            Migrator.fromMapper(mapper).toSnapshot(snapshotFile).migrate();
+        }
+
+        try (Backend backend = new DefaultInMemoryBackend()) {
+            Migrator.fromSnapshot(snapshotFile).toMapper(backend).migrate();
+
+            EObject actual = createMockResource(uri, backend).getContents().get(0);
+            EObject expected = ResourceManager.load(uri);
+
+            // Comparing with EMF
+            ModelComparisonUtils.assertEObjectAreEqual(actual, expected);
+
+            expected.eResource().unload();
+        }
+    }
+
+    /**
+     * Checks the conversion from a XMI file to a snapshot, and the import of this snapshot to a {@link Backend}.
+     */
+    @Tag("slow")
+    @ParameterizedTest(name = "[{index}] source = {0}")
+    @ArgumentsSource(UriProvider.All.class)
+    void testXmiToSnapshotToMapper(URI uri) throws IOException {
+        final File snapshotFile = new File(currentTempFile() + ".snapshot");
+        Log.info("Converting to snapshot... [{0}]", snapshotFile);
+
+        try (InputStream in = new URL(uri.toString()).openStream()) {
+            Migrator.fromXmi(in).toSnapshot(snapshotFile).migrate();
+        }
+
+        try (Backend backend = new DefaultInMemoryBackend()) {
+            Migrator.fromSnapshot(snapshotFile).toMapper(backend).migrate();
+
+            EObject actual = createMockResource(uri, backend).getContents().get(0);
+            EObject expected = ResourceManager.load(uri);
+
+            // Comparing with EMF
+            ModelComparisonUtils.assertEObjectAreEqual(actual, expected);
+
+            expected.eResource().unload();
+        }
+    }
+
+    /**
+     * Checks the conversion from a snapshot to a XMI file.
+     */
+    @Tag("slow")
+    @ParameterizedTest(name = "[{index}] source = {0}")
+    @ArgumentsSource(UriProvider.All.class)
+    void testSnapshotToXmi(URI uri) throws IOException {
+        final File snapshotFile = new File(currentTempFile() + ".snapshot");
+        final File targetFile = new File(currentTempFile() + ".xmi");
+        Log.info("Converting from snapshot... [{0}]", targetFile);
+
+        try (DataMapper mapper = new DefaultInMemoryBackend(); InputStream in = new URL(uri.toString()).openStream()) {
+            Migrator.fromXmi(in).toMapper(mapper).migrate();
+            Migrator.fromMapper(mapper).toSnapshot(snapshotFile).migrate();
+        }
+
+        Migrator.fromSnapshot(snapshotFile).toXmi(targetFile).migrate();
+
+        // Comparing with EMF
+        EObject actual = ResourceManager.load(URI.createFileURI(targetFile.toString()));
+        EObject expected = ResourceManager.load(uri);
+
+        ModelComparisonUtils.assertEObjectAreEqual(actual, expected);
+
+        actual.eResource().unload();
+        expected.eResource().unload();
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.io.processor;
+
+import fr.inria.atlanmod.commons.AbstractTest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+/**
+ * A test-case about {@link CompactXPathTree}.
+ */
+@ParametersAreNonnullByDefault
+class CompactXPathTreeTest extends AbstractTest {
+
+    @Test
+    void testCreateOrIncrement() {
+        CompactXPathTree tree = new CompactXPathTree();
+
+        long root = tree.createOrIncrement("Model");
+        long first = tree.createOrIncrement("elements");
+        tree.clearLast();
+        long second = tree.createOrIncrement("elements");
+        tree.clearLast();
+        long other = tree.createOrIncrement("others");
+        tree.clearLast();
+
+        assertThat(root).isNotEqualTo(first).isNotEqualTo(second).isNotEqualTo(other);
+        assertThat(first).isNotEqualTo(second).isNotEqualTo(other);
+        assertThat(second).isNotEqualTo(other);
+
+        assertThat(tree.resolve("/@Model.0")).isEqualTo(root);
+        assertThat(tree.resolve("/@Model.0/@elements.0")).isEqualTo(first);
+        assertThat(tree.resolve("/@Model.0/@elements.1")).isEqualTo(second);
+        assertThat(tree.resolve("/@Model.0/@others.0")).isEqualTo(other);
+    }
+
+    @Test
+    void testClearLastReleasesChildren() {
+        CompactXPathTree tree = new CompactXPathTree();
+        tree.createOrIncrement("Model");
+
+        tree.createOrIncrement("elements");
+        long firstChild = tree.createOrIncrement("children");
+        tree.clearLast();
+        tree.clearLast();
+
+        // The index of the children starts again from 0 in a new parent
+        tree.createOrIncrement("elements");
+        long secondChild = tree.createOrIncrement("children");
+
+        assertThat(tree.resolve("/@Model.0/@elements.0/@children.0")).isEqualTo(firstChild);
+        assertThat(tree.resolve("/@Model.0/@elements.1/@children.0")).isEqualTo(secondChild);
+    }
+
+    @Test
+    void testResolveShortExpressions() {
+        CompactXPathTree tree = new CompactXPathTree();
+        tree.createOrIncrement("Model");
+        long element = tree.createOrIncrement("elements");
+        long child = tree.createOrIncrement("children");
+
+        assertThat(tree.resolve("//@elements.0")).isEqualTo(element);
+        assertThat(tree.resolve("//@elements")).isEqualTo(element);
+        assertThat(tree.resolve("//@elements.0/")).isEqualTo(element);
+        assertThat(tree.resolve("//@elements/@children")).isEqualTo(child);
+        assertThat(tree.resolve("/@Model/@elements.0/@children.0")).isEqualTo(child);
+    }
+
+    @Test
+    void testResolveInvalidExpression() {
+        CompactXPathTree tree = new CompactXPathTree();
+        tree.createOrIncrement("Model");
+
+        Throwable thrown = catchThrowable(() -> tree.resolve("/@Model.x"));
+        assertThat(thrown).isExactlyInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testClearLastWithoutElement() {
+        CompactXPathTree tree = new CompactXPathTree();
+
+        Throwable thrown = catchThrowable(tree::clearLast);
+        assertThat(thrown).isExactlyInstanceOf(NoSuchElementException.class);
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.io.provider;
+
+import fr.inria.atlanmod.neoemf.data.mapping.DataMapper;
+import fr.inria.atlanmod.neoemf.io.Migrator;
+
+import java.io.IOException;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * The different ways of importing a XMI file into a {@link DataMapper} with a {@link Migrator}.
+ */
+@ParametersAreNonnullByDefault
+public enum MigrationMode {
+
+    /**
+     * The default migration.
+     */
+    DEFAULT,
+
+    /**
+     * The migration with a pipeline.
+     *
+     * @see Migrator#withPipeline()
+     */
+    PIPELINE,
+
+    /**
+     * The migration with a bulk writer.
+     *
+     * @see Migrator#toMapper(DataMapper, boolean)
+     */
+    BULK,
+
+    /**
+     * The migration with XPath references resolved in compact mode.
+     *
+     * @see Migrator#withCompactXPath()
+     */
+    COMPACT_XPATH;
+
+    /**
+     * Configures the {@code migrator} to write in the {@code mapper} with this mode, and runs the migration.
+     *
+     * @param migrator the migrator reading a XMI file or stream
+     * @param mapper   the mapper where to write
+     *
+     * @throws IOException if an I/O error occurs when migrating
+     */
+    public void migrate(Migrator<?> migrator, DataMapper mapper) throws IOException {
+        switch (this) {
+            case PIPELINE:
+                migrator.toMapper(mapper).withPipeline().migrate();
+                break;
+            case BULK:
+                migrator.toMapper(mapper, true).migrate();
+                break;
+            case COMPACT_XPATH:
+                migrator.withCompactXPath().toMapper(mapper).migrate();
+                break;
+            default:
+                migrator.toMapper(mapper).migrate();
+                break;
+        }
+    }
+}
@@ -94,6 +94,21 @@ public final class UriProvider {
         }
     }
 
+    /**
+     * An {@link ArgumentsProvider} with all {@link URI}s managed by {@link ResourceManager}, associated with all {@link
+     * MigrationMode}s.
+     * <p>
+     * It includes compressed resources.
+     */
+    @ParametersAreNonnullByDefault
+    public static class AllWithModes implements ArgumentsProvider {
+
+        @Override
+        public Stream<? extends Arguments> provideArguments(ExtensionContext extensionContext) {
+            return allUris().flatMap(u -> Stream.of(MigrationMode.values()).map(m -> Arguments.of(u, m)));
+        }
+    }
+
     /**
      * An {@link ArgumentsProvider} with all {@link URI}s managed by {@link ResourceManager}, associated with their type
      * (with {@code xmi:id} usage or not).
@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.io.util;
+
+import fr.inria.atlanmod.commons.AbstractTest;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.NotSerializableException;
+import java.io.ObjectOutputStream;
+import java.io.StreamCorruptedException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+/**
+ * A test-case about {@link SnapshotOutput} and {@link SnapshotInput}.
+ */
+class SnapshotCodecTest extends AbstractTest {
+
+    @Test
+    void testHeader() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SnapshotOutput out = new SnapshotOutput(bytes);
+        out.writeHeader();
+        out.flush();
+
+        SnapshotInput in = new SnapshotInput(new ByteArrayInputStream(bytes.toByteArray()));
+        assertThat(in.readHeader()).isEqualTo(SnapshotConstants.VERSION);
+    }
+
+    @Test
+    void testInvalidHeader() {
+        SnapshotInput in = new SnapshotInput(new ByteArrayInputStream(new byte[]{'<', '?', 'x', 'm', 'l'}));
+
+        Throwable thrown = catchThrowable(in::readHeader);
+        assertThat(thrown).isInstanceOf(StreamCorruptedException.class);
+    }
+
+    @Test
+    void testVarInt() throws IOException {
+        List<Integer> values = Arrays.asList(0, 1, 127, 128, 16383, 16384, Integer.MAX_VALUE, -1, Integer.MIN_VALUE);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SnapshotOutput out = new SnapshotOutput(bytes);
+        for (int value : values) {
+            out.writeVarInt(value);
+        }
+        out.flush();
+
+        SnapshotInput in = new SnapshotInput(new ByteArrayInputStream(bytes.toByteArray()));
+        for (int value : values) {
+            assertThat(in.readVarInt()).isEqualTo(value);
+        }
+    }
+
+    @Test
+    void testVarLong() throws IOException {
+        List<Long> values = Arrays.asList(0L, 1L, 127L, 128L, 1L << 35, Long.MAX_VALUE, -1L, Long.MIN_VALUE);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SnapshotOutput out = new SnapshotOutput(bytes);
+        for (long value : values) {
+            out.writeVarLong(value);
+        }
+        out.flush();
+
+        SnapshotInput in = new SnapshotInput(new ByteArrayInputStream(bytes.toByteArray()));
+        for (long value : values) {
+            assertThat(in.readVarLong()).isEqualTo(value);
+        }
+    }
+
+    @Test
+    void testSmallVarIntSize() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SnapshotOutput out = new SnapshotOutput(bytes);
+        out.writeVarInt(127);
+        out.writeVarLong(127L);
+        out.flush();
+
+        assertThat(bytes.size()).isEqualTo(2);
+    }
+
+    @Test
+    void testValues() throws IOException {
+        char[] longChars = new char[100_000];
+        Arrays.fill(longChars, '\u00e9');
+
+        List<Object> values = Arrays.asList(
+                null, "", "value", new String(longChars), true, false,
+                (byte) -3, (short) -300, 'c', -42, Integer.MAX_VALUE, -42L, Long.MIN_VALUE, 1.5f, -2.25d,
+                BigInteger.TEN, new BigDecimal("-1.25"), new Date(0),
+                new short[]{1, -2}, new double[]{1.5, -2.25}, new boolean[]{true, false}, new String[]{"value0", "value1"});
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SnapshotOutput out = new SnapshotOutput(bytes);
+        for (Object value : values) {
+            out.writeValue(value);
+        }
+        out.flush();
+
+        SnapshotInput in = new SnapshotInput(new ByteArrayInputStream(bytes.toByteArray()));
+        for (Object value : values) {
+            assertThat(in.readValue()).isEqualTo(value);
+        }
+    }
+
+    @Test
+    void testNotSerializableValue() {
+        SnapshotOutput out = new SnapshotOutput(new ByteArrayOutputStream());
+
+        Throwable thrown = catchThrowable(() -> out.writeValue(new Object()));
+        assertThat(thrown).isInstanceOf(NotSerializableException.class);
+    }
+
+    @Test
+    void testReadAfterEnd() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SnapshotOutput out = new SnapshotOutput(bytes);
+        out.writeString("value");
+        out.flush();
+
+        SnapshotInput in = new SnapshotInput(new ByteArrayInputStream(bytes.toByteArray()));
+        assertThat(in.readString()).isEqualTo("value");
+
+        Throwable thrown = catchThrowable(in::readByte);
+        assertThat(thrown).isInstanceOf(EOFException.class);
+    }
+
+    @Test
+    void testNotAllowedSerializedValue() throws IOException {
+        List<String> value = new ArrayList<>(Arrays.asList("value0", "value1"));
+
+        // The value is serializable, but would be refused when reading: it is rejected when writing
+        SnapshotOutput out = new SnapshotOutput(new ByteArrayOutputStream());
+        assertThat(catchThrowable(() -> out.writeValue(value))).isInstanceOf(NotSerializableException.class);
+
+        // A snapshot containing it anyway is refused when reading
+        ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+        try (ObjectOutputStream objects = new ObjectOutputStream(serialized)) {
+            objects.writeObject(value);
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SnapshotOutput forged = new SnapshotOutput(bytes);
+        forged.writeByte(SnapshotConstants.TYPE_SERIALIZED);
+        forged.writeBytes(serialized.toByteArray());
+        forged.flush();
+
+        SnapshotInput in = new SnapshotInput(new ByteArrayInputStream(bytes.toByteArray()));
+
+        Throwable thrown = catchThrowable(in::readValue);
+        assertThat(thrown).isInstanceOf(InvalidClassException.class);
+    }
+
+    @Test
+    void testNegativeLength() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SnapshotOutput out = new SnapshotOutput(bytes);
+        out.writeVarInt(-1);
+        out.writeVarInt(-1);
+        out.flush();
+
+        SnapshotInput in = new SnapshotInput(new ByteArrayInputStream(bytes.toByteArray()));
+
+        assertThat(catchThrowable(in::readString)).isInstanceOf(StreamCorruptedException.class);
+        assertThat(catchThrowable(in::readBytes)).isInstanceOf(StreamCorruptedException.class);
+    }
+
+    @Test
+    void testLengthLargerThanInput() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SnapshotOutput out = new SnapshotOutput(bytes);
+        out.writeVarInt(Integer.MAX_VALUE);
+        out.writeString("value");
+        out.flush();
+
+        SnapshotInput in = new SnapshotInput(new ByteArrayInputStream(bytes.toByteArray()));
+
+        Throwable thrown = catchThrowable(in::readBytes);
+        assertThat(thrown).isInstanceOf(EOFException.class);
+    }
+}
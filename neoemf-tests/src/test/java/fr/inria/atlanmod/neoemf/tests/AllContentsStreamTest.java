@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.tests;
+
+import fr.inria.atlanmod.commons.collect.MoreIterables;
+import fr.inria.atlanmod.neoemf.config.BaseConfig;
+import fr.inria.atlanmod.neoemf.config.ImmutableConfig;
+import fr.inria.atlanmod.neoemf.context.Context;
+import fr.inria.atlanmod.neoemf.resource.PersistentResource;
+import fr.inria.atlanmod.neoemf.tests.provider.ContextProvider;
+import fr.inria.atlanmod.neoemf.tests.sample.Node;
+import fr.inria.atlanmod.neoemf.tests.sample.Tree;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ArgumentsSource;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * A test-case about the {@link PersistentResource#allContentsStream(boolean)} method.
+ */
+@ParametersAreNonnullByDefault
+class AllContentsStreamTest extends AbstractResourceBasedTest {
+
+    /**
+     * The expected number of elements in the resource.
+     */
+    private static final int ELEMENT_COUNT = 1 + 5 + 5 * 10 + 5 * 10 * 4;
+
+    /**
+     * Checks that a sequential stream returns the same elements, in the same order, as {@link
+     * Resource#getAllContents()}.
+     */
+    @ParameterizedTest
+    @ArgumentsSource(ContextProvider.All.class)
+    void testSequentialStream(Context context) throws IOException {
+        try (PersistentResource resource = createPersistentResource(context)) {
+            fillResource(resource);
+
+            assertSameContents(resource, false);
+        }
+    }
+
+    /**
+     * Checks that a parallel stream returns the same elements as {@link Resource#getAllContents()} on a read-only
+     * resource.
+     */
+    @ParameterizedTest
+    @ArgumentsSource(ContextProvider.All.class)
+    void testParallelStream(Context context) throws IOException {
+        ImmutableConfig config = new BaseConfig<>().merge(context.config()).readOnly();
+
+        try (PersistentResource resource = loadReadOnlyResource(context, config)) {
+            assertSameContents(resource, true);
+        }
+    }
+
+    /**
+     * Checks that a parallel stream returns the same elements as {@link Resource#getAllContents()} on a read-only
+     * resource loaded with the caching stores.
+     */
+    @ParameterizedTest
+    @ArgumentsSource(ContextProvider.All.class)
+    void testParallelStreamLoaded(Context context) throws IOException {
+        ImmutableConfig config = new BaseConfig<>().merge(context.config())
+                .cacheSizes()
+                .cacheFeatures()
+                .cacheContainers()
+                .cacheMetaClasses()
+                .readOnly();
+
+        try (PersistentResource resource = loadReadOnlyResource(context, config)) {
+            assertSameContents(resource, true);
+        }
+    }
+
+    /**
+     * Creates, fills and saves a resource in the given {@code context}, and loads it back with the given read-only
+     * {@code config}.
+     * <p>
+     * Parallel streams navigate the resource from several threads, so they are only tested on the contexts that
+     * support concurrent reads.
+     *
+     * @param context the current context
+     * @param config  the read-only configuration to load the resource with
+     *
+     * @return the read-only resource
+     */
+    @Nonnull
+    private PersistentResource loadReadOnlyResource(Context context, ImmutableConfig config) throws IOException {
+        assumeTrue(context.isPersistent(), "The context is transient");
+        assumeFalse(context.name().startsWith("HBase"), "HBase does not support concurrent reads");
+        assumeFalse(context.name().startsWith("Blueprints"), "Blueprints does not support concurrent reads");
+
+        PersistentResource resource = createPersistentResource(context);
+        fillResource(resource);
+
+        resource.save(context.config());
+        resource.unload();
+        resource.load(config);
+
+        return resource;
+    }
+
+    /**
+     * Fills the {@code resource} with a tree of several levels.
+     *
+     * @param resource the resource to fill
+     */
+    private void fillResource(Resource resource) {
+        Tree rootTree = EFACTORY.createTree();
+        rootTree.setName("RootTree");
+
+        IntStream.range(0, 5).forEachOrdered(i -> {
+            Tree tree = EFACTORY.createTree();
+            tree.setName("Tree" + i);
+            rootTree.getChildren().add(tree);
+
+            IntStream.range(0, 10).forEachOrdered(j -> {
+                Tree subTree = EFACTORY.createTree();
+                subTree.setName("Tree" + i + '-' + j);
+                tree.getChildren().add(subTree);
+
+                IntStream.range(0, 4).forEachOrdered(k -> {
+                    Node node = EFACTORY.createPhysicalNode();
+                    node.setLabel("Physical" + i + '-' + j + '-' + k);
+                    subTree.getNodes().add(node);
+                });
+            });
+        });
+
+        resource.getContents().add(rootTree);
+    }
+
+    /**
+     * Asserts that the stream of the {@code resource} returns the same elements as {@link Resource#getAllContents()}.
+     *
+     * @param resource the resource to test
+     * @param parallel {@code true} if the stream is parallel
+     */
+    private void assertSameContents(PersistentResource resource, boolean parallel) {
+        List<EObject> expected = MoreIterables.stream(resource::getAllContents).collect(Collectors.toList());
+        assertThat(expected).hasSize(ELEMENT_COUNT);
+
+        List<EObject> actual = resource.allContentsStream(parallel).collect(Collectors.<EObject>toList());
+
+        if (parallel) {
+            assertThat(actual).containsExactlyInAnyOrder(expected.toArray(new EObject[0]));
+        }
+        else {
+            assertThat(actual).containsExactlyElementsOf(expected);
+        }
+    }
+}
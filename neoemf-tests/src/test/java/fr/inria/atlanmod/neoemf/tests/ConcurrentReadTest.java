@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2013-2018 Atlanmod, Inria, LS2N, and IMT Nantes.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.tests;
+
+import fr.inria.atlanmod.commons.collect.MoreIterables;
+import fr.inria.atlanmod.neoemf.config.BaseConfig;
+import fr.inria.atlanmod.neoemf.config.ImmutableConfig;
+import fr.inria.atlanmod.neoemf.context.Context;
+import fr.inria.atlanmod.neoemf.resource.PersistentResource;
+import fr.inria.atlanmod.neoemf.tests.provider.ContextProvider;
+import fr.inria.atlanmod.neoemf.tests.sample.Node;
+import fr.inria.atlanmod.neoemf.tests.sample.Tree;
+
+import org.eclipse.emf.ecore.EObject;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ArgumentsSource;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * A test-case about the navigation of a read-only {@link PersistentResource} by several threads at the same time.
+ */
+@ParametersAreNonnullByDefault
+class ConcurrentReadTest extends AbstractResourceBasedTest {
+
+    /**
+     * The number of threads navigating the resource.
+     */
+    private static final int THREADS = 8;
+
+    /**
+     * The number of traversals made by each thread.
+     */
+    private static final int TRAVERSALS = 5;
+
+    /**
+     * The expected number of elements in the resource.
+     */
+    private static final int ELEMENT_COUNT = 1 + 5 + 5 * 10 + 5 * 10 * 4;
+
+    /**
+     * Checks that several threads traversing the same read-only resource read the same contents, in the same order,
+     * as a single thread.
+     */
+    @ParameterizedTest
+    @ArgumentsSource(ContextProvider.All.class)
+    void testConcurrentTraversals(Context context) throws Exception {
+        try (PersistentResource resource = loadReadOnlyResource(context)) {
+            final List<String> expected = describe(resource);
+            assertThat(expected).hasSize(ELEMENT_COUNT);
+
+            // Unload the objects, so that they are resolved concurrently
+            resource.unload();
+            resource.load(readOnlyConfig(context));
+
+            for (List<String> actual : runConcurrently(() -> describe(resource))) {
+                assertThat(actual).containsExactlyElementsOf(expected);
+            }
+        }
+    }
+
+    /**
+     * Checks that several threads navigating the containment of the same read-only resource resolve the same objects.
+     */
+    @ParameterizedTest
+    @ArgumentsSource(ContextProvider.All.class)
+    void testConcurrentContainers(Context context) throws Exception {
+        try (PersistentResource resource = loadReadOnlyResource(context)) {
+            final List<EObject> expected = MoreIterables.stream(resource::getAllContents).collect(Collectors.toList());
+            assertThat(expected).hasSize(ELEMENT_COUNT);
+
+            for (List<EObject> actual : runConcurrently(() -> containersOf(resource))) {
+                // Each object, except the root, is contained by another object of the resource
+                assertThat(actual).hasSize(ELEMENT_COUNT - 1);
+                assertThat(expected).containsAll(actual);
+            }
+        }
+    }
+
+    /**
+     * Creates, fills and saves a resource in the given {@code context}, and loads it back in read-only mode.
+     *
+     * @param context the current context
+     *
+     * @return the read-only resource
+     */
+    @Nonnull
+    private PersistentResource loadReadOnlyResource(Context context) throws IOException {
+        assumeTrue(context.isPersistent(), "The context is transient");
+        assumeFalse(context.name().startsWith("HBase"), "HBase does not support concurrent reads");
+        assumeFalse(context.name().startsWith("Blueprints"), "Blueprints does not support concurrent reads");
+
+        PersistentResource resource = createPersistentResource(context);
+        fillResource(resource);
+
+        resource.save(context.config());
+        resource.unload();
+        resource.load(readOnlyConfig(context));
+
+        return resource;
+    }
+
+    /**
+     * Returns the read-only configuration of the {@code context}, with the caching stores and a small bounded object
+     * cache, in order to share as many structures as possible between threads.
+     *
+     * @param context the current context
+     *
+     * @return the configuration
+     */
+    @Nonnull
+    private ImmutableConfig readOnlyConfig(Context context) {
+        return new BaseConfig<>().merge(context.config())
+                .cacheObjects(20)
+                .cacheSizes()
+                .cacheFeatures()
+                .cacheContainers()
+                .cacheMetaClasses()
+                .readOnly();
+    }
+
+    /**
+     * Runs the {@code task} {@link #TRAVERSALS} times in each of {@link #THREADS} threads, started at the same time,
+     * and returns their results.
+     *
+     * @param task the task to run
+     * @param <T>  the type of results
+     *
+     * @return the results of all the runs
+     */
+    @Nonnull
+    private <T> List<T> runConcurrently(Callable<T> task) throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        final CountDownLatch start = new CountDownLatch(1);
+
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS * TRAVERSALS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+
+            start.countDown();
+
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get(1, TimeUnit.MINUTES));
+            }
+            return results;
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Traverses the {@code resource}, and describes each object with its name or its label.
+     *
+     * @param resource the resource to traverse
+     *
+     * @return the description of each object, in traversal order
+     */
+    @Nonnull
+    private List<String> describe(PersistentResource resource) {
+        return MoreIterables.stream(resource::getAllContents)
+                .map(o -> Tree.class.isInstance(o) ? Tree.class.cast(o).getName() : Node.class.cast(o).getLabel())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Traverses the {@code resource}, and returns the container of each object that is not a root.
+     *
+     * @param resource the resource to traverse
+     *
+     * @return the containers, in traversal order
+     */
+    @Nonnull
+    private List<EObject> containersOf(PersistentResource resource) {
+        return MoreIterables.stream(resource::getAllContents)
+                .map(EObject::eContainer)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Fills the {@code resource} with a tree of several levels.
+     *
+     * @param resource the resource to fill
+     */
+    private void fillResource(PersistentResource resource) {
+        Tree rootTree = EFACTORY.createTree();
+        rootTree.setName("RootTree");
+
+        IntStream.range(0, 5).forEachOrdered(i -> {
+            Tree tree = EFACTORY.createTree();
+            tree.setName("Tree" + i);
+            rootTree.getChildren().add(tree);
+
+            IntStream.range(0, 10).forEachOrdered(j -> {
+                Tree subTree = EFACTORY.createTree();
+                subTree.setName("Tree" + i + '-' + j);
+                tree.getChildren().add(subTree);
+
+                IntStream.range(0, 4).forEachOrdered(k -> {
+                    Node node = EFACTORY.createPhysicalNode();
+                    node.setLabel("Physical" + i + '-' + j + '-' + k);
+                    subTree.getNodes().add(node);
+                });
+            });
+        });
+
+        resource.getContents().add(rootTree);
+    }
+}
@@ -13,6 +13,7 @@ import fr.inria.atlanmod.neoemf.context.Context;
 import fr.inria.atlanmod.neoemf.data.Backend;
 import fr.inria.atlanmod.neoemf.data.mapping.DataMapper;
 import fr.inria.atlanmod.neoemf.io.Migrator;
+import fr.inria.atlanmod.neoemf.io.provider.MigrationMode;
 import fr.inria.atlanmod.neoemf.io.util.ResourceManager;
 import fr.inria.atlanmod.neoemf.tests.AbstractResourceBasedTest;
 import fr.inria.atlanmod.neoemf.tests.provider.ContextProvider;
@@ -51,19 +52,22 @@ class DirectMigrationTest extends AbstractResourceBasedTest {
     }
 
     /**
-     * Checks the import from a file to a {@link Backend}.
+     * Checks the import from a file to a {@link Backend}, with each {@link MigrationMode}.
      */
     @Tag("slowest")
-    @ParameterizedTest(name = "[{index}] {0} <- {1}")
-    @ArgumentsSource(ContextProvider.AllWithUris.class)
-    void testDirectImport(Context context, URI uri) throws IOException {
+    @ParameterizedTest(name = "[{index}] {0} <- {1} ({2})")
+    @ArgumentsSource(ContextProvider.AllWithUrisAndModes.class)
+    void testDirectImport(Context context, URI uri, MigrationMode mode) throws IOException {
         assumeTrue(context.isPersistent(), "The context is transient");
 
         final File sourceFile = currentTempFile();
-        Log.info("Importing from file... [{0}]", sourceFile);
+        Log.info("Importing from file in {1} mode... [{0}]", sourceFile, mode);
 
-        try (DataMapper mapper = context.createMapper(sourceFile); InputStream in = new URL(uri.toString()).openStream()) {
-            Migrator.fromXmi(in).toMapper(mapper).migrate();
+        // The bulk writer only uses the fastest write path when writing directly in the back-end
+        DataMapper mapper = mode == MigrationMode.BULK ? context.createBackend(sourceFile) : context.createMapper(sourceFile);
+
+        try (DataMapper m = mapper; InputStream in = new URL(uri.toString()).openStream()) {
+            mode.migrate(Migrator.fromXmi(in), m);
         }
 
         // Comparing with EMF
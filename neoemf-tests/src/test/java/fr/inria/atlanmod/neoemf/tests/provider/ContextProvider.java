@@ -11,6 +11,7 @@ package fr.inria.atlanmod.neoemf.tests.provider;
 import fr.inria.atlanmod.commons.annotation.Static;
 import fr.inria.atlanmod.commons.collect.MoreIterables;
 import fr.inria.atlanmod.neoemf.context.Context;
+import fr.inria.atlanmod.neoemf.io.provider.MigrationMode;
 import fr.inria.atlanmod.neoemf.io.provider.UriProvider;
 import fr.inria.atlanmod.neoemf.io.util.ResourceManager;
 
@@ -81,6 +82,20 @@ public final class ContextProvider {
         }
     }
 
+    /**
+     * An {@link ArgumentsProvider} with all {@link Context}s associated with all {@link URI}s managed by {@link
+     * ResourceManager}, and all {@link MigrationMode}s.
+     */
+    @ParametersAreNonnullByDefault
+    public static class AllWithUrisAndModes implements ArgumentsProvider {
+
+        @Override
+        public Stream<? extends Arguments> provideArguments(ExtensionContext context) {
+            return allContexts().flatMap(c -> UriProvider.allUris()
+                    .flatMap(u -> Stream.of(MigrationMode.values()).map(m -> Arguments.of(c, u, m))));
+        }
+    }
+
     /**
      * An {@link ArgumentsProvider} with all {@link Context}s associated with all {@link Boolean} variants.
      */